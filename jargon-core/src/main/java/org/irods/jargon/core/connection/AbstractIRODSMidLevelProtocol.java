@@ -10,9 +10,13 @@ import java.nio.channels.ClosedChannelException;
 import org.irods.jargon.core.connection.auth.AuthResponse;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.packinstr.AbstractIRODSPackingInstruction;
+import org.irods.jargon.core.packinstr.GeneralAdminInp;
 import org.irods.jargon.core.packinstr.IRodsPI;
+import org.irods.jargon.core.packinstr.ModAccessControlInp;
+import org.irods.jargon.core.packinstr.ModAvuMetadataInp;
 import org.irods.jargon.core.packinstr.RErrMsg;
 import org.irods.jargon.core.packinstr.Tag;
+import org.irods.jargon.core.packinstr.UserAdminInp;
 import org.irods.jargon.core.protovalues.ErrorEnum;
 import org.irods.jargon.core.protovalues.RequestTypes;
 import org.irods.jargon.core.utils.IRODSConstants;
@@ -546,7 +550,37 @@ public abstract class AbstractIRODSMidLevelProtocol {
 			throw new IllegalArgumentException(err);
 		}
 
-		return irodsFunction(IRODSConstants.RODS_API_REQ, irodsPI.getParsedTags(), irodsPI.getApiNumber());
+		Tag response = irodsFunction(IRODSConstants.RODS_API_REQ, irodsPI.getParsedTags(), irodsPI.getApiNumber());
+		evictCachedQueryResultsAfterChange(irodsPI);
+		return response;
+	}
+
+	/**
+	 * Administrative, permission and metadata changes are sent through
+	 * {@code irodsFunction(IRodsPI)}, so evict any cached query results they
+	 * affect here, rather than in each access object.
+	 *
+	 * @param irodsPI
+	 *            {@link IRodsPI} that was successfully sent
+	 */
+	private void evictCachedQueryResultsAfterChange(final IRodsPI irodsPI) {
+		if (irodsSession == null) {
+			return;
+		}
+
+		if (irodsPI instanceof GeneralAdminInp || irodsPI instanceof UserAdminInp) {
+			irodsSession.evictCachedQueryResultsForCatalogChange();
+		} else if (irodsPI instanceof ModAccessControlInp) {
+			irodsSession.evictCachedQueryResultsForPath(((ModAccessControlInp) irodsPI).getAbsolutePath());
+		} else if (irodsPI instanceof ModAvuMetadataInp) {
+			ModAvuMetadataInp modAvuMetadataInp = (ModAvuMetadataInp) irodsPI;
+			if (modAvuMetadataInp.getMetadataTargetType() == ModAvuMetadataInp.MetadataTargetType.COLLECTION
+					|| modAvuMetadataInp.getMetadataTargetType() == ModAvuMetadataInp.MetadataTargetType.DATA_OBJECT) {
+				irodsSession.evictCachedQueryResultsForPath(modAvuMetadataInp.getTargetIdentifier());
+			} else {
+				irodsSession.evictCachedQueryResultsForCatalogChange();
+			}
+		}
 	}
 
 	/**
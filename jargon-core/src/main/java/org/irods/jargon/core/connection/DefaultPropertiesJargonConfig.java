@@ -608,4 +608,59 @@ public class DefaultPropertiesJargonConfig implements JargonProperties {
 		return verifyPropExistsAndGetAsBoolean("rule.engine.set.destination.when.auto");
 
 	}
+
+	@Override
+	public boolean isUsingObjStatCache() {
+		return verifyPropExistsAndGetAsBoolean("use.objstat.cache");
+	}
+
+	@Override
+	public long getObjStatCacheTimeToLiveMillis() {
+		return verifyPropExistsAndGetAsLong("objstat.cache.time.to.live.millis");
+	}
+
+	@Override
+	public int getObjStatCacheMaxEntriesPerAccount() {
+		return verifyPropExistsAndGetAsInt("objstat.cache.max.entries.per.account");
+	}
+
+	@Override
+	public int getPreparedGenQueryCacheMaxEntries() {
+		return verifyPropExistsAndGetAsInt("prepared.genquery.cache.max.entries");
+	}
+
+	@Override
+	public int getRuleTemplateCacheMaxEntries() {
+		return verifyPropExistsAndGetAsInt("rule.template.cache.max.entries");
+	}
+
+	@Override
+	public boolean isUsingGenQueryResultCache() {
+		return verifyPropExistsAndGetAsBoolean("use.genquery.result.cache");
+	}
+
+	@Override
+	public int getGenQueryResultCacheMaxEntries() {
+		return verifyPropExistsAndGetAsInt("genquery.result.cache.max.entries");
+	}
+
+	@Override
+	public long getGenQueryResultCacheTimeToLiveMillis() {
+		return verifyPropExistsAndGetAsLong("genquery.result.cache.time.to.live.millis");
+	}
+
+	@Override
+	public long getGenQueryResultCacheCatalogTimeToLiveMillis() {
+		return verifyPropExistsAndGetAsLong("genquery.result.cache.catalog.time.to.live.millis");
+	}
+
+	@Override
+	public String getDiscoveredServerPropertiesCacheFile() {
+		return verifyPropExistsAndGetAsString("discovered.server.properties.cache.file");
+	}
+
+	@Override
+	public long getDiscoveredServerPropertiesCacheValidityMillis() {
+		return verifyPropExistsAndGetAsLong("discovered.server.properties.cache.validity.millis");
+	}
 }
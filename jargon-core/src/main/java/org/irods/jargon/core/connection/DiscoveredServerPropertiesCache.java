@@ -3,9 +3,21 @@
  */
 package org.irods.jargon.core.connection;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.irods.jargon.core.exception.JargonException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,6 +41,11 @@ import org.slf4j.LoggerFactory;
  * This class also includes other cacheable data, such as the
  * {@code IRODSServerProperties} that is otherwise repeatedly obtained from
  * iRODS on connection
+ * <p>
+ * The cache may be saved to a local file, and loaded again by a later process,
+ * so that short lived clients do not need to rediscover the properties of the
+ * same servers. Entries loaded from a file are only used if they were cached
+ * within a given validity window.
  *
  * @author Mike Conway - DICE (www.irods.org)
  *
@@ -40,9 +57,33 @@ public class DiscoveredServerPropertiesCache {
 	private ConcurrentHashMap<String, IRODSServerProperties> cacheOfIRODSServerProperties = new ConcurrentHashMap<String, IRODSServerProperties>(
 			8, 0.9f, 1);
 
+	/**
+	 * Time (in millis since the epoch) each host and zone entry was last
+	 * cached, used to expire entries persisted to a file
+	 */
+	private ConcurrentHashMap<String, Long> cacheTimes = new ConcurrentHashMap<String, Long>(
+			8, 0.9f, 1);
+
+	/**
+	 * Set when the cache is changed, and cleared when it is persisted, so that
+	 * the file is only written when there is something new to save
+	 */
+	private final AtomicBoolean modifiedSincePersisted = new AtomicBoolean(
+			false);
+
 	public static final Logger log = LoggerFactory
 			.getLogger(DiscoveredServerPropertiesCache.class);
 
+	private static final String ENTRY_PREFIX = "entry.";
+	private static final String KEY_SUFFIX = ".key";
+	private static final String CACHED_AT_SUFFIX = ".cachedAt";
+	private static final String ICAT_ENABLED_SUFFIX = ".server.icatEnabled";
+	private static final String BOOT_TIME_SUFFIX = ".server.bootTime";
+	private static final String REL_VERSION_SUFFIX = ".server.relVersion";
+	private static final String API_VERSION_SUFFIX = ".server.apiVersion";
+	private static final String RODS_ZONE_SUFFIX = ".server.rodsZone";
+	private static final String PROP_INFIX = ".prop.";
+
 	/*
 	 * basic properties that can be cached
 	 */
@@ -179,6 +220,7 @@ public class DiscoveredServerPropertiesCache {
 
 		String cacheKey = buildHostPlusZone(host, myZone);
 		cacheOfIRODSServerProperties.remove(cacheKey);
+		modifiedSincePersisted.set(true);
 
 	}
 
@@ -210,6 +252,7 @@ public class DiscoveredServerPropertiesCache {
 		Map<String, String> zoneCache = getCacheForHostAndZone(host, myZone);
 		if (zoneCache != null) {
 			zoneCache.remove(propertyName);
+			modifiedSincePersisted.set(true);
 		}
 	}
 
@@ -234,6 +277,7 @@ public class DiscoveredServerPropertiesCache {
 
 		String cacheKey = buildHostPlusZone(host, myZone);
 		discoveredServerPropertiesCache.remove(cacheKey);
+		modifiedSincePersisted.set(true);
 
 	}
 
@@ -269,6 +313,8 @@ public class DiscoveredServerPropertiesCache {
 		String cacheKey = buildHostPlusZone(host, myZone);
 
 		cacheOfIRODSServerProperties.put(cacheKey, irodsServerProperties);
+		cacheTimes.put(cacheKey, System.currentTimeMillis());
+		modifiedSincePersisted.set(true);
 	}
 
 	/**
@@ -309,7 +355,275 @@ public class DiscoveredServerPropertiesCache {
 
 		getCacheForHostAndZoneAndAddIfNotThere(host, myZone).put(propertyName,
 				value);
+		cacheTimes.put(buildHostPlusZone(host, myZone),
+				System.currentTimeMillis());
+		modifiedSincePersisted.set(true);
+
+	}
+
+	/**
+	 * Save the cached server properties and discovered properties to a local
+	 * file, so they may be loaded by
+	 * {@link #loadFromFile(File, long)} in a later process. The file is
+	 * written to a uniquely named temporary file in the same directory and
+	 * atomically moved over the old one, so a reader sees either the old or
+	 * the new file, and processes sharing the file do not write over each
+	 * other's temporary file.
+	 *
+	 * @param cacheFile
+	 *            {@link File} to write
+	 * @throws JargonException
+	 */
+	public void persistToFile(final File cacheFile) throws JargonException {
+
+		if (cacheFile == null) {
+			throw new IllegalArgumentException("null cacheFile");
+		}
+
+		log.info("persistToFile():{}", cacheFile);
+
+		/*
+		 * Cleared before the entries are read, so a change made while the file
+		 * is written is saved the next time
+		 */
+		modifiedSincePersisted.set(false);
+
+		Properties properties = new Properties();
+		int index = 0;
+		for (Map.Entry<String, Long> entry : cacheTimes.entrySet()) {
+			IRODSServerProperties irodsServerProperties = cacheOfIRODSServerProperties
+					.get(entry.getKey());
+			Map<String, String> zoneCache = discoveredServerPropertiesCache
+					.get(entry.getKey());
+			if (irodsServerProperties == null && zoneCache == null) {
+				// deleted since it was cached
+				continue;
+			}
+
+			String prefix = ENTRY_PREFIX + index;
+			properties.setProperty(prefix + KEY_SUFFIX, entry.getKey());
+			properties.setProperty(prefix + CACHED_AT_SUFFIX,
+					String.valueOf(entry.getValue()));
+
+			if (irodsServerProperties != null) {
+				properties.setProperty(prefix + ICAT_ENABLED_SUFFIX,
+						irodsServerProperties.getIcatEnabled().name());
+				properties.setProperty(prefix + BOOT_TIME_SUFFIX, String
+						.valueOf(irodsServerProperties.getServerBootTime()));
+				properties.setProperty(prefix + REL_VERSION_SUFFIX,
+						IrodsVersion.RODS_PREFIX
+								+ irodsServerProperties.getIrodsVersion()
+										.getOrigVersion());
+				properties.setProperty(prefix + API_VERSION_SUFFIX,
+						irodsServerProperties.getApiVersion());
+				properties.setProperty(prefix + RODS_ZONE_SUFFIX,
+						irodsServerProperties.getRodsZone());
+			}
+
+			if (zoneCache != null) {
+				for (Map.Entry<String, String> prop : zoneCache.entrySet()) {
+					properties.setProperty(prefix + PROP_INFIX + prop.getKey(),
+							prop.getValue());
+				}
+			}
+			index++;
+		}
+
+		File parent = cacheFile.getAbsoluteFile().getParentFile();
+		if (parent != null && !parent.exists()) {
+			parent.mkdirs();
+		}
+
+		File tempFile = null;
+		OutputStream out = null;
+		try {
+			tempFile = File.createTempFile("." + cacheFile.getName() + ".",
+					".tmp", parent);
+			out = new FileOutputStream(tempFile);
+			properties.store(out, "jargon discovered server properties");
+			out.close();
+			out = null;
+			Files.move(tempFile.toPath(), cacheFile.getAbsoluteFile()
+					.toPath(), StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+			tempFile = null;
+		} catch (IOException e) {
+			log.error("error writing discovered server properties", e);
+			modifiedSincePersisted.set(true);
+			throw new JargonException(
+					"error writing discovered server properties to:"
+							+ cacheFile, e);
+		} finally {
+			if (out != null) {
+				try {
+					out.close();
+				} catch (IOException e) {
+					// ignore
+				}
+			}
+
+			if (tempFile != null) {
+				tempFile.delete();
+			}
+		}
+
+		log.info("persisted {} entries", index);
+	}
+
+	/**
+	 * Save the cache to a local file as in {@link #persistToFile(File)}, but
+	 * only if it has changed since it was last saved
+	 *
+	 * @param cacheFile
+	 *            {@link File} to write
+	 * @return {@code boolean} that is {@code true} if the file was written
+	 * @throws JargonException
+	 */
+	public boolean persistToFileIfModified(final File cacheFile)
+			throws JargonException {
+
+		if (cacheFile == null) {
+			throw new IllegalArgumentException("null cacheFile");
+		}
+
+		if (!modifiedSincePersisted.get()) {
+			log.debug("discovered server properties not modified, not persisted");
+			return false;
+		}
+
+		persistToFile(cacheFile);
+		return true;
+	}
+
+	/**
+	 * @return {@code boolean} that is {@code true} if the cache has changed
+	 *         since it was last persisted
+	 */
+	public boolean isModifiedSincePersisted() {
+		return modifiedSincePersisted.get();
+	}
+
+	/**
+	 * Load server properties and discovered properties saved by
+	 * {@link #persistToFile(File)}. Entries cached longer ago than the
+	 * validity window are skipped. A missing file is not an error, and
+	 * nothing is loaded.
+	 *
+	 * @param cacheFile
+	 *            {@link File} to read
+	 * @param validityMillis
+	 *            {@code long} with the time in milliseconds a saved entry is
+	 *            considered valid
+	 * @return {@code int} with the number of host and zone entries loaded
+	 * @throws JargonException
+	 */
+	public int loadFromFile(final File cacheFile, final long validityMillis)
+			throws JargonException {
+
+		if (cacheFile == null) {
+			throw new IllegalArgumentException("null cacheFile");
+		}
+
+		log.info("loadFromFile():{}", cacheFile);
+
+		if (!cacheFile.exists()) {
+			log.info("no cache file, nothing loaded");
+			return 0;
+		}
+
+		Properties properties = new Properties();
+		InputStream in = null;
+		try {
+			in = new FileInputStream(cacheFile);
+			properties.load(in);
+		} catch (IOException e) {
+			log.error("error reading discovered server properties", e);
+			throw new JargonException(
+					"error reading discovered server properties", e);
+		} finally {
+			if (in != null) {
+				try {
+					in.close();
+				} catch (IOException e) {
+					// ignore
+				}
+			}
+		}
+
+		long now = System.currentTimeMillis();
+		int loaded = 0;
+		for (int index = 0;; index++) {
+			String prefix = ENTRY_PREFIX + index;
+			String cacheKey = properties.getProperty(prefix + KEY_SUFFIX);
+			if (cacheKey == null) {
+				break;
+			}
+
+			long cachedAt;
+			try {
+				cachedAt = Long.parseLong(properties.getProperty(prefix
+						+ CACHED_AT_SUFFIX, "0"));
+			} catch (NumberFormatException e) {
+				log.warn("invalid cache time for entry:{}, skipped", cacheKey);
+				continue;
+			}
+
+			if (now - cachedAt > validityMillis) {
+				log.debug("entry expired, skipped:{}", cacheKey);
+				continue;
+			}
+
+			Long current = cacheTimes.get(cacheKey);
+			if (current != null && current >= cachedAt) {
+				log.debug("entry already cached, skipped:{}", cacheKey);
+				continue;
+			}
+
+			String icatEnabled = properties.getProperty(prefix
+					+ ICAT_ENABLED_SUFFIX);
+			if (icatEnabled != null) {
+				try {
+					cacheOfIRODSServerProperties.put(cacheKey,
+							IRODSServerProperties.instance(
+									IRODSServerProperties.IcatEnabled
+											.valueOf(icatEnabled),
+									Integer.parseInt(properties
+											.getProperty(prefix
+													+ BOOT_TIME_SUFFIX)),
+									properties.getProperty(prefix
+											+ REL_VERSION_SUFFIX), properties
+											.getProperty(prefix
+													+ API_VERSION_SUFFIX),
+									properties.getProperty(prefix
+											+ RODS_ZONE_SUFFIX)));
+				} catch (RuntimeException e) {
+					log.warn("invalid server properties for entry:{}, skipped",
+							cacheKey);
+					continue;
+				}
+			}
+
+			String propPrefix = prefix + PROP_INFIX;
+			Map<String, String> props = new HashMap<String, String>();
+			for (String name : properties.stringPropertyNames()) {
+				if (name.startsWith(propPrefix)) {
+					props.put(name.substring(propPrefix.length()),
+							properties.getProperty(name));
+				}
+			}
+
+			if (!props.isEmpty()) {
+				discoveredServerPropertiesCache.putIfAbsent(cacheKey,
+						new ConcurrentHashMap<String, String>(8, 0.9f, 1));
+				discoveredServerPropertiesCache.get(cacheKey).putAll(props);
+			}
+
+			cacheTimes.put(cacheKey, cachedAt);
+			loaded++;
+		}
 
+		log.info("loaded {} entries", loaded);
+		return loaded;
 	}
 
 	/**
@@ -49,6 +49,8 @@ public class EnvironmentalInfoAccessor {
 		log.debug("checking for cached properties...");
 
 		if (irodsProtocol.getIrodsSession() != null) {
+			irodsProtocol.getIrodsSession()
+					.warmUpDiscoveredServerPropertiesCacheIfNeeded();
 			IRODSServerProperties cached = irodsProtocol
 					.getIrodsSession()
 					.getDiscoveredServerPropertiesCache()
@@ -94,6 +96,9 @@ public class EnvironmentalInfoAccessor {
 							irodsProtocol.getIrodsAccount().getHost(),
 							irodsProtocol.getIrodsAccount().getZone(), props);
 			log.debug("cached the props for host and zone:{}", props);
+
+			irodsProtocol.getIrodsSession()
+					.persistDiscoveredServerPropertiesCacheIfModified();
 		}
 		return props;
 	}
@@ -3,6 +3,7 @@
  */
 package org.irods.jargon.core.connection;
 
+import java.io.File;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
@@ -22,14 +23,17 @@ import org.irods.jargon.core.pub.IRODSFileSystem;
 import org.irods.jargon.core.pub.IRODSGenQueryExecutorImpl.QueryCloseBehavior;
 import org.irods.jargon.core.query.GenQueryBuilderException;
 import org.irods.jargon.core.query.GenQueryProcessor;
+import org.irods.jargon.core.query.GenQueryResultCache;
 import org.irods.jargon.core.query.IRODSGenQueryBuilder;
 import org.irods.jargon.core.query.IRODSGenQueryFromBuilder;
 import org.irods.jargon.core.query.IRODSQueryResultRow;
 import org.irods.jargon.core.query.IRODSQueryResultSetInterface;
 import org.irods.jargon.core.query.JargonQueryException;
+import org.irods.jargon.core.query.PreparedGenQueryCache;
 import org.irods.jargon.core.query.QueryConditionOperators;
 import org.irods.jargon.core.query.RodsGenQueryEnum;
 import org.irods.jargon.core.query.TranslatedIRODSGenQuery;
+import org.irods.jargon.core.rule.IrodsRuleTemplateCache;
 import org.irods.jargon.core.transfer.AbstractRestartManager;
 import org.irods.jargon.core.transfer.DefaultTransferControlBlock;
 import org.irods.jargon.core.transfer.MemoryBasedTransferRestartManager;
@@ -119,6 +123,7 @@ public class IRODSSession {
 	 */
 	public synchronized void setX509TrustManager(final X509TrustManager x509TrustManager) {
 		this.x509TrustManager = x509TrustManager;
+		sslContextCache.invalidate();
 	}
 
 	/**
@@ -155,6 +160,47 @@ public class IRODSSession {
 	 */
 	private final DiscoveredServerPropertiesCache discoveredServerPropertiesCache = new DiscoveredServerPropertiesCache();
 
+	/**
+	 * Cache of the {@code SSLContext} used for SSL connections, so that TLS
+	 * sessions may be resumed across connections. This is invalidated when the
+	 * {@code X509TrustManager} is changed.
+	 */
+	private final SslContextCache sslContextCache = new SslContextCache();
+
+	/**
+	 * Indicates that the saved discovered server properties have been loaded
+	 * by {@link #warmUpDiscoveredServerPropertiesCache()}
+	 */
+	private boolean discoveredServerPropertiesCacheWarmedUp = false;
+
+	/**
+	 * Cache of {@code ObjStat} values per account, lazily created on first
+	 * access based on the {@code JargonProperties}. Once created, changing the
+	 * properties does not resize the cache, though
+	 * {@link JargonProperties#isUsingObjStatCache()} is consulted on each use.
+	 */
+	private ObjStatCache objStatCache = null;
+
+	/**
+	 * Cache of translated GenQuery shapes, lazily created on first access
+	 * based on the {@code JargonProperties}
+	 */
+	private PreparedGenQueryCache preparedGenQueryCache = null;
+
+	/**
+	 * Cache of translated rules, lazily created on first access based on the
+	 * {@code JargonProperties}
+	 */
+	private IrodsRuleTemplateCache irodsRuleTemplateCache = null;
+
+	/**
+	 * Cache of GenQuery results, lazily created on first access based on the
+	 * {@code JargonProperties}.
+	 * {@link JargonProperties#isUsingGenQueryResultCache()} is consulted on
+	 * each use.
+	 */
+	private GenQueryResultCache genQueryResultCache = null;
+
 	/**
 	 * Get the {@code JargonProperties} that contains metadata to tune the
 	 * behavior of Jargon. This will either be the default, loaded from the
@@ -261,6 +307,7 @@ public class IRODSSession {
 
 		log.debug("all sessions closed for this Thread");
 		sessionMap.set(null);
+		persistDiscoveredServerPropertiesCacheIfModified();
 	}
 
 	public IRODSSession(final JargonProperties jargonProperties) {
@@ -595,6 +642,8 @@ public class IRODSSession {
 			sessionMap.set(null);
 		}
 
+		persistDiscoveredServerPropertiesCacheIfModified();
+
 	}
 
 	/**
@@ -736,6 +785,260 @@ public class IRODSSession {
 		return getJargonProperties().isUsingDiscoveredServerPropertiesCache();
 	}
 
+	/**
+	 * Load the discovered server properties saved to the file given by
+	 * {@link JargonProperties#getDiscoveredServerPropertiesCacheFile()}, so
+	 * that connections to servers described in the file skip the server info
+	 * call. This may be called at startup to warm the cache. Saved entries
+	 * older than
+	 * {@link JargonProperties#getDiscoveredServerPropertiesCacheValidityMillis()}
+	 * are ignored. If no file is configured this does nothing.
+	 *
+	 * @return {@code int} with the number of host and zone entries loaded
+	 * @throws JargonException
+	 */
+	public int warmUpDiscoveredServerPropertiesCache() throws JargonException {
+		String cacheFile = getJargonProperties().getDiscoveredServerPropertiesCacheFile();
+		synchronized (this) {
+			discoveredServerPropertiesCacheWarmedUp = true;
+		}
+
+		if (cacheFile == null || cacheFile.isEmpty()) {
+			log.debug("no discovered server properties cache file configured");
+			return 0;
+		}
+
+		return discoveredServerPropertiesCache.loadFromFile(new File(cacheFile),
+				getJargonProperties().getDiscoveredServerPropertiesCacheValidityMillis());
+	}
+
+	/**
+	 * Warm the discovered server properties cache the first time this is
+	 * called for the session, see
+	 * {@link #warmUpDiscoveredServerPropertiesCache()}. Errors reading the
+	 * file are logged and ignored, as the properties can be obtained from the
+	 * server.
+	 */
+	void warmUpDiscoveredServerPropertiesCacheIfNeeded() {
+		synchronized (this) {
+			if (discoveredServerPropertiesCacheWarmedUp) {
+				return;
+			}
+		}
+
+		try {
+			warmUpDiscoveredServerPropertiesCache();
+		} catch (JargonException e) {
+			log.warn("unable to load discovered server properties cache file, ignored", e);
+		}
+	}
+
+	/**
+	 * Save the discovered server properties cache to the file given by
+	 * {@link JargonProperties#getDiscoveredServerPropertiesCacheFile()}. If no
+	 * file is configured this does nothing.
+	 *
+	 * @throws JargonException
+	 */
+	public void persistDiscoveredServerPropertiesCache() throws JargonException {
+		String cacheFile = getJargonProperties().getDiscoveredServerPropertiesCacheFile();
+		if (cacheFile == null || cacheFile.isEmpty()) {
+			log.debug("no discovered server properties cache file configured");
+			return;
+		}
+
+		discoveredServerPropertiesCache.persistToFile(new File(cacheFile));
+	}
+
+	/**
+	 * Save the discovered server properties cache as in
+	 * {@link #persistDiscoveredServerPropertiesCache()}, if it has changed
+	 * since it was last saved. This is done when connections are closed, so
+	 * that properties discovered while connected, such as the checksum type or
+	 * specific query support, are saved. Errors writing the file are logged
+	 * and ignored.
+	 */
+	void persistDiscoveredServerPropertiesCacheIfModified() {
+		String cacheFile = getJargonProperties().getDiscoveredServerPropertiesCacheFile();
+		if (cacheFile == null || cacheFile.isEmpty()) {
+			return;
+		}
+
+		try {
+			discoveredServerPropertiesCache.persistToFileIfModified(new File(cacheFile));
+		} catch (JargonException e) {
+			log.warn("unable to save discovered server properties cache file, ignored", e);
+		}
+	}
+
+	/**
+	 * Get the cache of the {@code SSLContext} used for SSL connections, this
+	 * also exposes TLS handshake counts and timings
+	 *
+	 * @return {@link SslContextCache}
+	 */
+	public SslContextCache getSslContextCache() {
+		return sslContextCache;
+	}
+
+	/**
+	 * Get (lazily) the session cache of {@code ObjStat} values. Changes made
+	 * through this client should evict affected paths from this cache
+	 * regardless of whether it is in use, as this is cheap when the cache is
+	 * empty.
+	 *
+	 * @return {@link ObjStatCache}
+	 */
+	public ObjStatCache getObjStatCache() {
+		synchronized (this) {
+			if (objStatCache == null) {
+				log.debug("creating objStatCache");
+				objStatCache = new ObjStatCache(jargonProperties.getObjStatCacheMaxEntriesPerAccount(),
+						jargonProperties.getObjStatCacheTimeToLiveMillis());
+			}
+			return objStatCache;
+		}
+	}
+
+	/**
+	 * Get (lazily) the session cache of prepared GenQuery shapes, keyed by
+	 * shape and iRODS server version
+	 *
+	 * @return {@link PreparedGenQueryCache}
+	 */
+	public PreparedGenQueryCache getPreparedGenQueryCache() {
+		synchronized (this) {
+			if (preparedGenQueryCache == null) {
+				log.debug("creating preparedGenQueryCache");
+				preparedGenQueryCache = new PreparedGenQueryCache(
+						jargonProperties.getPreparedGenQueryCacheMaxEntries());
+			}
+			return preparedGenQueryCache;
+		}
+	}
+
+	/**
+	 * Get (lazily) the session cache of translated rules, keyed by rule text,
+	 * invocation settings and iRODS server version
+	 *
+	 * @return {@link IrodsRuleTemplateCache}
+	 */
+	public IrodsRuleTemplateCache getIrodsRuleTemplateCache() {
+		synchronized (this) {
+			if (irodsRuleTemplateCache == null) {
+				log.debug("creating irodsRuleTemplateCache");
+				irodsRuleTemplateCache = new IrodsRuleTemplateCache(
+						jargonProperties.getRuleTemplateCacheMaxEntries());
+			}
+			return irodsRuleTemplateCache;
+		}
+	}
+
+	/**
+	 * Get (lazily) the session cache of GenQuery results
+	 *
+	 * @return {@link GenQueryResultCache}
+	 */
+	public GenQueryResultCache getGenQueryResultCache() {
+		synchronized (this) {
+			if (genQueryResultCache == null) {
+				log.debug("creating genQueryResultCache");
+				genQueryResultCache = new GenQueryResultCache(jargonProperties.getGenQueryResultCacheMaxEntries(),
+						jargonProperties.getGenQueryResultCacheTimeToLiveMillis(),
+						jargonProperties.getGenQueryResultCacheCatalogTimeToLiveMillis());
+			}
+			return genQueryResultCache;
+		}
+	}
+
+	/**
+	 * Handy method to see if we're using the GenQuery result cache. This is set
+	 * in the jargon properties.
+	 *
+	 * @return {@code boolean}
+	 */
+	public boolean isUsingGenQueryResultCache() {
+		// getjargonProperties is already sync'd
+		return getJargonProperties().isUsingGenQueryResultCache();
+	}
+
+	/**
+	 * Evict cached state for a path that was changed through this client. The
+	 * {@code ObjStat} of the path is evicted for the given account, and cached
+	 * query results that refer to the path, its parents or children are
+	 * evicted for all accounts.
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} that made the change
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the absolute path that was changed
+	 */
+	public void evictCachedStateForPath(final IRODSAccount irodsAccount, final String irodsAbsolutePath) {
+		getObjStatCache().evict(irodsAccount, irodsAbsolutePath);
+		evictCachedQueryResultsForPath(irodsAbsolutePath);
+	}
+
+	/**
+	 * Evict cached state for a path that was changed through this client,
+	 * along with the {@code ObjStat} of any children, as for a collection that
+	 * was moved or removed.
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} that made the change
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the absolute path that was changed
+	 */
+	public void evictCachedStateForPathAndChildren(final IRODSAccount irodsAccount, final String irodsAbsolutePath) {
+		getObjStatCache().evictPathAndChildren(irodsAccount, irodsAbsolutePath);
+		evictCachedQueryResultsForPath(irodsAbsolutePath);
+	}
+
+	/**
+	 * Evict cached query results that refer to a path (including parents and
+	 * children) that was changed through this client. This is cheap if the
+	 * result cache has not been used.
+	 *
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the absolute path that was changed
+	 */
+	public void evictCachedQueryResultsForPath(final String irodsAbsolutePath) {
+		GenQueryResultCache cache;
+		synchronized (this) {
+			cache = genQueryResultCache;
+		}
+		if (cache != null) {
+			cache.evictByPath(irodsAbsolutePath);
+		}
+	}
+
+	/**
+	 * Evict cached query results about users, groups, resources and zones,
+	 * after an administrative change made through this client.
+	 */
+	public void evictCachedQueryResultsForCatalogChange() {
+		GenQueryResultCache cache;
+		synchronized (this) {
+			cache = genQueryResultCache;
+		}
+		if (cache != null) {
+			cache.evictByFamily(GenQueryResultCache.QueryFamily.USER);
+			cache.evictByFamily(GenQueryResultCache.QueryFamily.RESOURCE);
+			cache.evictByFamily(GenQueryResultCache.QueryFamily.ZONE);
+			cache.evictByFamily(GenQueryResultCache.QueryFamily.OTHER);
+		}
+	}
+
+	/**
+	 * Handy method to see if we're using the {@code ObjStat} cache. This is set
+	 * in the jargon properties.
+	 *
+	 * @return {@code boolean}
+	 */
+	public boolean isUsingObjStatCache() {
+		// getjargonProperties is already sync'd
+		return getJargonProperties().isUsingObjStatCache();
+	}
+
 	/**
 	 * Get a reference to a factory that can return checksum computation
 	 * strategies on local file systems
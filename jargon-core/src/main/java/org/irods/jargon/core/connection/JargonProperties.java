@@ -322,6 +322,111 @@ public interface JargonProperties {
 	 */
 	boolean isUsingDiscoveredServerPropertiesCache();
 
+	/**
+	 * Determines if a session-level cache of {@code ObjStat} values is used by
+	 * {@code IRODSFile} attribute methods such as {@code isDirectory()},
+	 * {@code length()} and {@code lastModified()}. Listings made through the
+	 * file will pre-fill this cache, and mutations made through this client
+	 * will evict affected entries. Changes made by other clients will be
+	 * visible once a cached entry has expired.
+	 *
+	 * @return {@code boolean} that indicates whether the {@link ObjStatCache}
+	 *         held in the {@link IRODSSession} is consulted
+	 */
+	boolean isUsingObjStatCache();
+
+	/**
+	 * Time (in milliseconds) that an entry in the {@link ObjStatCache} is
+	 * considered valid
+	 *
+	 * @return {@code long} with the time to live for cached {@code ObjStat}
+	 *         values, in milliseconds
+	 */
+	long getObjStatCacheTimeToLiveMillis();
+
+	/**
+	 * Maximum number of {@code ObjStat} entries held in the
+	 * {@link ObjStatCache} for each account, after which the least recently
+	 * used entries are discarded
+	 *
+	 * @return {@code int} with the max number of cached entries per account
+	 */
+	int getObjStatCacheMaxEntriesPerAccount();
+
+	/**
+	 * Maximum number of translated query shapes held in the
+	 * {@code PreparedGenQueryCache} of the {@link IRODSSession}, after which
+	 * the least recently used shapes are discarded
+	 *
+	 * @return {@code int} with the max number of cached prepared queries
+	 */
+	int getPreparedGenQueryCacheMaxEntries();
+
+	/**
+	 * Maximum number of translated rules held in the
+	 * {@code IrodsRuleTemplateCache} of the {@link IRODSSession}, after which
+	 * the least recently used rules are discarded
+	 *
+	 * @return {@code int} with the max number of cached rule templates
+	 */
+	int getRuleTemplateCacheMaxEntries();
+
+	/**
+	 * Determines if a session-level cache of GenQuery results is used for
+	 * queries that are closed after the first page is returned. Changes made
+	 * through this client will evict affected results. Changes made by other
+	 * clients will be visible once a cached result has expired.
+	 *
+	 * @return {@code boolean} that indicates whether the
+	 *         {@code GenQueryResultCache} held in the {@link IRODSSession} is
+	 *         consulted
+	 */
+	boolean isUsingGenQueryResultCache();
+
+	/**
+	 * Maximum number of query results held in the
+	 * {@code GenQueryResultCache}, after which the least recently used
+	 * results are discarded
+	 *
+	 * @return {@code int} with the max number of cached results
+	 */
+	int getGenQueryResultCacheMaxEntries();
+
+	/**
+	 * Time (in milliseconds) that a cached result of a collection, data
+	 * object, metadata or other query is considered valid
+	 *
+	 * @return {@code long} with the time to live, in milliseconds
+	 */
+	long getGenQueryResultCacheTimeToLiveMillis();
+
+	/**
+	 * Time (in milliseconds) that a cached result of a user, group, resource
+	 * or zone query is considered valid. This data changes rarely, so may be
+	 * held longer.
+	 *
+	 * @return {@code long} with the time to live, in milliseconds
+	 */
+	long getGenQueryResultCacheCatalogTimeToLiveMillis();
+
+	/**
+	 * Local file used to save the discovered server properties cache of the
+	 * {@link IRODSSession}, so that a later process may load it instead of
+	 * asking each server again. Blank if the cache is not saved.
+	 *
+	 * @return {@code String} with the path of the cache file, or blank
+	 */
+	String getDiscoveredServerPropertiesCacheFile();
+
+	/**
+	 * Time (in milliseconds) that server properties saved to the
+	 * {@link #getDiscoveredServerPropertiesCacheFile()} are considered valid
+	 * when loaded
+	 *
+	 * @return {@code long} with the validity window, in milliseconds
+	 */
+	long getDiscoveredServerPropertiesCacheValidityMillis();
+
 	/**
 	 * Indicates that specific query should be used for collection listings with
 	 * permissions. This prevents expansion of groups. Note that Jargon will check
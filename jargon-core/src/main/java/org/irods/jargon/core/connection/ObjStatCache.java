@@ -0,0 +1,366 @@
+/**
+ *
+ */
+package org.irods.jargon.core.connection;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.irods.jargon.core.pub.domain.ObjStat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Session level cache of {@link ObjStat} values, kept per account and keyed by
+ * absolute path. This cache backs the attribute methods of {@code IRODSFile}
+ * (such as {@code isDirectory()}, {@code length()} and
+ * {@code lastModified()}) so that repeated questions about the same path do
+ * not each cost an objStat round trip. Listings will pre-fill the cache with
+ * the rows they have already obtained. Such entries are partial, as a listing
+ * row has no checksum, object path, collection path or replica number, and
+ * are only returned to callers that ask for them.
+ * <p>
+ * Each account has a bounded, least-recently-used map, and every entry
+ * expires after a configured time to live. Changes made through this client
+ * evict the affected paths. Changes made by other clients are only seen once
+ * an entry expires, so the time to live should be kept short. Whether the
+ * cache is consulted at all is controlled by
+ * {@link JargonProperties#isUsingObjStatCache()}.
+ * <p>
+ * Like the {@link DiscoveredServerPropertiesCache}, some 'fuzziness' is
+ * tolerated here. The worst case is asking iRODS again for an objStat.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class ObjStatCache {
+
+	public static final Logger log = LoggerFactory.getLogger(ObjStatCache.class);
+
+	private final ConcurrentHashMap<String, Map<String, CachedObjStat>> cacheByAccount = new ConcurrentHashMap<String, Map<String, CachedObjStat>>(
+			8, 0.9f, 1);
+
+	private final int maxEntriesPerAccount;
+	private final long timeToLiveMillis;
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxEntriesPerAccount
+	 *            {@code int} with the maximum number of entries kept for each
+	 *            account, after which the least recently used entries are
+	 *            discarded
+	 * @param timeToLiveMillis
+	 *            {@code long} with the time (in milliseconds) an entry is valid
+	 */
+	public ObjStatCache(final int maxEntriesPerAccount, final long timeToLiveMillis) {
+		if (maxEntriesPerAccount <= 0) {
+			throw new IllegalArgumentException("maxEntriesPerAccount must be > 0");
+		}
+
+		if (timeToLiveMillis <= 0) {
+			throw new IllegalArgumentException("timeToLiveMillis must be > 0");
+		}
+
+		this.maxEntriesPerAccount = maxEntriesPerAccount;
+		this.timeToLiveMillis = timeToLiveMillis;
+	}
+
+	/**
+	 * Get a complete cached {@code ObjStat} for the given account and path.
+	 * Partial entries from listings are not returned.
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} that obtained the objStat
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the absolute path to the file or collection
+	 * @return {@link ObjStat} or {@code null} if nothing is cached, if the
+	 *         cached entry has expired, or if it is partial
+	 */
+	public ObjStat retrieveObjStat(final IRODSAccount irodsAccount, final String irodsAbsolutePath) {
+		return retrieveObjStat(irodsAccount, irodsAbsolutePath, false);
+	}
+
+	/**
+	 * Get a cached {@code ObjStat} for the given account and path, optionally
+	 * accepting a partial entry from a listing. A partial entry has the object
+	 * type, size, owner, and create and modify times, but no checksum, object
+	 * path, collection path or replica number.
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} that obtained the objStat
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the absolute path to the file or collection
+	 * @param acceptPartial
+	 *            {@code boolean} that is {@code true} if a partial entry may be
+	 *            returned
+	 * @return {@link ObjStat} or {@code null} if nothing suitable is cached, or
+	 *         if the cached entry has expired
+	 */
+	public ObjStat retrieveObjStat(final IRODSAccount irodsAccount, final String irodsAbsolutePath,
+			final boolean acceptPartial) {
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (irodsAbsolutePath == null || irodsAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty irodsAbsolutePath");
+		}
+
+		Map<String, CachedObjStat> accountCache = cacheByAccount.get(irodsAccount.toString());
+		if (accountCache == null) {
+			return null;
+		}
+
+		synchronized (accountCache) {
+			CachedObjStat cachedObjStat = accountCache.get(irodsAbsolutePath);
+			if (cachedObjStat == null) {
+				return null;
+			}
+
+			if (cachedObjStat.expiresAt < System.currentTimeMillis()) {
+				log.debug("expired objStat for:{}", irodsAbsolutePath);
+				accountCache.remove(irodsAbsolutePath);
+				return null;
+			}
+
+			if (cachedObjStat.partial && !acceptPartial) {
+				log.debug("partial objStat for:{}", irodsAbsolutePath);
+				return null;
+			}
+
+			return cachedObjStat.objStat;
+		}
+	}
+
+	/**
+	 * Add a complete {@code ObjStat}, as returned by an objStat call, to the
+	 * cache for the given account, replacing any entry for the same path. Stand-in objStats generated by heuristic are not
+	 * cached.
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} that obtained the objStat
+	 * @param objStat
+	 *            {@link ObjStat} to cache, keyed by its absolute path
+	 */
+	public void cacheObjStat(final IRODSAccount irodsAccount, final ObjStat objStat) {
+		cacheObjStat(irodsAccount, objStat, false);
+	}
+
+	/**
+	 * Add a partial {@code ObjStat} built from a listing row to the cache for
+	 * the given account. A complete, unexpired entry for the same path is not
+	 * replaced.
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} that obtained the listing
+	 * @param objStat
+	 *            {@link ObjStat} to cache, keyed by its absolute path
+	 */
+	public void cacheObjStatFromListing(final IRODSAccount irodsAccount, final ObjStat objStat) {
+		cacheObjStat(irodsAccount, objStat, true);
+	}
+
+	private void cacheObjStat(final IRODSAccount irodsAccount, final ObjStat objStat, final boolean partial) {
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (objStat == null) {
+			throw new IllegalArgumentException("null objStat");
+		}
+
+		if (objStat.isStandInGeneratedObjStat()) {
+			log.debug("not caching stand-in objStat");
+			return;
+		}
+
+		if (objStat.getAbsolutePath() == null || objStat.getAbsolutePath().isEmpty()) {
+			throw new IllegalArgumentException("objStat has no absolute path");
+		}
+
+		Map<String, CachedObjStat> accountCache = getAccountCacheAndAddIfNotThere(irodsAccount);
+		long now = System.currentTimeMillis();
+		synchronized (accountCache) {
+			if (partial) {
+				CachedObjStat cachedObjStat = accountCache.get(objStat.getAbsolutePath());
+				if (cachedObjStat != null && !cachedObjStat.partial && cachedObjStat.expiresAt >= now) {
+					return;
+				}
+			}
+
+			accountCache.put(objStat.getAbsolutePath(), new CachedObjStat(objStat, now + timeToLiveMillis, partial));
+		}
+	}
+
+	/**
+	 * Remove any cached entry for the given path. If nothing is cached, silently
+	 * ignore.
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} that obtained the objStat
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the absolute path to the file or collection
+	 */
+	public void evict(final IRODSAccount irodsAccount, final String irodsAbsolutePath) {
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (irodsAbsolutePath == null || irodsAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty irodsAbsolutePath");
+		}
+
+		Map<String, CachedObjStat> accountCache = cacheByAccount.get(irodsAccount.toString());
+		if (accountCache == null) {
+			return;
+		}
+
+		synchronized (accountCache) {
+			accountCache.remove(irodsAbsolutePath);
+		}
+	}
+
+	/**
+	 * Remove any cached entry for the given path, and for every path underneath
+	 * it. This is used when a collection is deleted or renamed.
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} that obtained the objStat
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the absolute path to the collection
+	 */
+	public void evictPathAndChildren(final IRODSAccount irodsAccount, final String irodsAbsolutePath) {
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (irodsAbsolutePath == null || irodsAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty irodsAbsolutePath");
+		}
+
+		Map<String, CachedObjStat> accountCache = cacheByAccount.get(irodsAccount.toString());
+		if (accountCache == null) {
+			return;
+		}
+
+		String childPrefix = irodsAbsolutePath.endsWith("/") ? irodsAbsolutePath : irodsAbsolutePath + "/";
+
+		synchronized (accountCache) {
+			Iterator<String> paths = accountCache.keySet().iterator();
+			while (paths.hasNext()) {
+				String path = paths.next();
+				if (path.equals(irodsAbsolutePath) || path.startsWith(childPrefix)) {
+					paths.remove();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Clear all cached entries for the given account
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount}
+	 */
+	public void clear(final IRODSAccount irodsAccount) {
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		cacheByAccount.remove(irodsAccount.toString());
+	}
+
+	/**
+	 * Clear all cached entries for all accounts
+	 */
+	public void clear() {
+		cacheByAccount.clear();
+	}
+
+	/**
+	 * Get the number of entries held for the given account, including any that
+	 * have expired but not yet been removed
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount}
+	 * @return {@code int} with the count of cached entries
+	 */
+	public int size(final IRODSAccount irodsAccount) {
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		Map<String, CachedObjStat> accountCache = cacheByAccount.get(irodsAccount.toString());
+		if (accountCache == null) {
+			return 0;
+		}
+
+		synchronized (accountCache) {
+			return accountCache.size();
+		}
+	}
+
+	/**
+	 * @return the maxEntriesPerAccount
+	 */
+	public int getMaxEntriesPerAccount() {
+		return maxEntriesPerAccount;
+	}
+
+	/**
+	 * @return the timeToLiveMillis
+	 */
+	public long getTimeToLiveMillis() {
+		return timeToLiveMillis;
+	}
+
+	private Map<String, CachedObjStat> getAccountCacheAndAddIfNotThere(final IRODSAccount irodsAccount) {
+		String cacheKey = irodsAccount.toString();
+		Map<String, CachedObjStat> accountCache = cacheByAccount.get(cacheKey);
+		if (accountCache == null) {
+			cacheByAccount.putIfAbsent(cacheKey, new LruObjStatMap(maxEntriesPerAccount));
+			accountCache = cacheByAccount.get(cacheKey);
+		}
+		return accountCache;
+	}
+
+	/**
+	 * Access-ordered map that discards the least recently used entry once the
+	 * max size is exceeded
+	 */
+	private static class LruObjStatMap extends LinkedHashMap<String, CachedObjStat> {
+
+		private static final long serialVersionUID = 4410911539417420542L;
+		private final int maxEntries;
+
+		LruObjStatMap(final int maxEntries) {
+			super(16, 0.75f, true);
+			this.maxEntries = maxEntries;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<String, CachedObjStat> eldest) {
+			return size() > maxEntries;
+		}
+	}
+
+	private static class CachedObjStat {
+		private final ObjStat objStat;
+		private final long expiresAt;
+		private final boolean partial;
+
+		CachedObjStat(final ObjStat objStat, final long expiresAt, final boolean partial) {
+			this.objStat = objStat;
+			this.expiresAt = expiresAt;
+			this.partial = partial;
+		}
+	}
+
+}
@@ -48,6 +48,17 @@ public class SettableJargonProperties implements JargonProperties {
 	private boolean defaultToPublicIfNothingUnderRootWhenListing = true;
 	private long reconnectTimeInMillis = 600000L;
 	private boolean usingDiscoveredServerPropertiesCache = true;
+	private boolean usingObjStatCache = false;
+	private long objStatCacheTimeToLiveMillis = 10000L;
+	private int objStatCacheMaxEntriesPerAccount = 5000;
+	private int preparedGenQueryCacheMaxEntries = 200;
+	private int ruleTemplateCacheMaxEntries = 100;
+	private boolean usingGenQueryResultCache = false;
+	private int genQueryResultCacheMaxEntries = 1000;
+	private long genQueryResultCacheTimeToLiveMillis = 5000L;
+	private long genQueryResultCacheCatalogTimeToLiveMillis = 60000L;
+	private String discoveredServerPropertiesCacheFile = "";
+	private long discoveredServerPropertiesCacheValidityMillis = 86400000L;
 	private boolean usingSpecificQueryForCollectionListingsWithPermissions = true;
 	private boolean usingSpecQueryForDataObjPermissionsForUserInGroup = false;
 	private int pamTimeToLive = 0;
@@ -207,6 +218,18 @@ public class SettableJargonProperties implements JargonProperties {
 		defaultPythonRuleEngineIdentifier = jargonProperties.getDefaultPythonRuleEngineIdentifier();
 		defaultCppRuleEngineIdentifier = jargonProperties.getDefaultCppRuleEngineIdentifier();
 		this.rulesSetDestinationWhenAuto = jargonProperties.isRulesSetDestinationWhenAuto();
+		usingObjStatCache = jargonProperties.isUsingObjStatCache();
+		objStatCacheTimeToLiveMillis = jargonProperties.getObjStatCacheTimeToLiveMillis();
+		objStatCacheMaxEntriesPerAccount = jargonProperties.getObjStatCacheMaxEntriesPerAccount();
+		preparedGenQueryCacheMaxEntries = jargonProperties.getPreparedGenQueryCacheMaxEntries();
+		ruleTemplateCacheMaxEntries = jargonProperties.getRuleTemplateCacheMaxEntries();
+		usingGenQueryResultCache = jargonProperties.isUsingGenQueryResultCache();
+		genQueryResultCacheMaxEntries = jargonProperties.getGenQueryResultCacheMaxEntries();
+		genQueryResultCacheTimeToLiveMillis = jargonProperties.getGenQueryResultCacheTimeToLiveMillis();
+		genQueryResultCacheCatalogTimeToLiveMillis = jargonProperties.getGenQueryResultCacheCatalogTimeToLiveMillis();
+		discoveredServerPropertiesCacheFile = jargonProperties.getDiscoveredServerPropertiesCacheFile();
+		discoveredServerPropertiesCacheValidityMillis = jargonProperties
+				.getDiscoveredServerPropertiesCacheValidityMillis();
 	}
 
 	/*
@@ -746,6 +769,226 @@ public class SettableJargonProperties implements JargonProperties {
 		return usingDiscoveredServerPropertiesCache;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.connection.JargonProperties#isUsingObjStatCache()
+	 */
+	@Override
+	public synchronized boolean isUsingObjStatCache() {
+		return usingObjStatCache;
+	}
+
+	/**
+	 * @param usingObjStatCache
+	 *            {@code boolean} of {@code true} if {@code IRODSFile} attribute
+	 *            methods should consult the session {@link ObjStatCache}
+	 */
+	public synchronized void setUsingObjStatCache(final boolean usingObjStatCache) {
+		this.usingObjStatCache = usingObjStatCache;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.connection.JargonProperties#
+	 * getObjStatCacheTimeToLiveMillis()
+	 */
+	@Override
+	public synchronized long getObjStatCacheTimeToLiveMillis() {
+		return objStatCacheTimeToLiveMillis;
+	}
+
+	/**
+	 * @param objStatCacheTimeToLiveMillis
+	 *            {@code long} with the time (in milliseconds) a cached
+	 *            {@code ObjStat} is valid
+	 */
+	public synchronized void setObjStatCacheTimeToLiveMillis(final long objStatCacheTimeToLiveMillis) {
+		this.objStatCacheTimeToLiveMillis = objStatCacheTimeToLiveMillis;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.connection.JargonProperties#
+	 * getObjStatCacheMaxEntriesPerAccount()
+	 */
+	@Override
+	public synchronized int getObjStatCacheMaxEntriesPerAccount() {
+		return objStatCacheMaxEntriesPerAccount;
+	}
+
+	/**
+	 * @param objStatCacheMaxEntriesPerAccount
+	 *            {@code int} with the max number of {@code ObjStat} entries
+	 *            cached for each account
+	 */
+	public synchronized void setObjStatCacheMaxEntriesPerAccount(final int objStatCacheMaxEntriesPerAccount) {
+		this.objStatCacheMaxEntriesPerAccount = objStatCacheMaxEntriesPerAccount;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.connection.JargonProperties#
+	 * getPreparedGenQueryCacheMaxEntries()
+	 */
+	@Override
+	public synchronized int getPreparedGenQueryCacheMaxEntries() {
+		return preparedGenQueryCacheMaxEntries;
+	}
+
+	/**
+	 * @param preparedGenQueryCacheMaxEntries
+	 *            {@code int} with the max number of translated query shapes
+	 *            cached in the session
+	 */
+	public synchronized void setPreparedGenQueryCacheMaxEntries(final int preparedGenQueryCacheMaxEntries) {
+		this.preparedGenQueryCacheMaxEntries = preparedGenQueryCacheMaxEntries;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.connection.JargonProperties#
+	 * getRuleTemplateCacheMaxEntries()
+	 */
+	@Override
+	public synchronized int getRuleTemplateCacheMaxEntries() {
+		return ruleTemplateCacheMaxEntries;
+	}
+
+	/**
+	 * @param ruleTemplateCacheMaxEntries
+	 *            {@code int} with the max number of translated rules cached in
+	 *            the session
+	 */
+	public synchronized void setRuleTemplateCacheMaxEntries(final int ruleTemplateCacheMaxEntries) {
+		this.ruleTemplateCacheMaxEntries = ruleTemplateCacheMaxEntries;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.connection.JargonProperties#isUsingGenQueryResultCache()
+	 */
+	@Override
+	public synchronized boolean isUsingGenQueryResultCache() {
+		return usingGenQueryResultCache;
+	}
+
+	/**
+	 * @param usingGenQueryResultCache
+	 *            {@code boolean} indicating whether the session
+	 *            {@code GenQueryResultCache} is consulted
+	 */
+	public synchronized void setUsingGenQueryResultCache(final boolean usingGenQueryResultCache) {
+		this.usingGenQueryResultCache = usingGenQueryResultCache;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.connection.JargonProperties#
+	 * getGenQueryResultCacheMaxEntries()
+	 */
+	@Override
+	public synchronized int getGenQueryResultCacheMaxEntries() {
+		return genQueryResultCacheMaxEntries;
+	}
+
+	/**
+	 * @param genQueryResultCacheMaxEntries
+	 *            {@code int} with the max number of cached query results
+	 */
+	public synchronized void setGenQueryResultCacheMaxEntries(final int genQueryResultCacheMaxEntries) {
+		this.genQueryResultCacheMaxEntries = genQueryResultCacheMaxEntries;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.connection.JargonProperties#
+	 * getGenQueryResultCacheTimeToLiveMillis()
+	 */
+	@Override
+	public synchronized long getGenQueryResultCacheTimeToLiveMillis() {
+		return genQueryResultCacheTimeToLiveMillis;
+	}
+
+	/**
+	 * @param genQueryResultCacheTimeToLiveMillis
+	 *            {@code long} with the time in millis a cached collection,
+	 *            data object, metadata or other query result is valid
+	 */
+	public synchronized void setGenQueryResultCacheTimeToLiveMillis(final long genQueryResultCacheTimeToLiveMillis) {
+		this.genQueryResultCacheTimeToLiveMillis = genQueryResultCacheTimeToLiveMillis;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.connection.JargonProperties#
+	 * getGenQueryResultCacheCatalogTimeToLiveMillis()
+	 */
+	@Override
+	public synchronized long getGenQueryResultCacheCatalogTimeToLiveMillis() {
+		return genQueryResultCacheCatalogTimeToLiveMillis;
+	}
+
+	/**
+	 * @param genQueryResultCacheCatalogTimeToLiveMillis
+	 *            {@code long} with the time in millis a cached user, group,
+	 *            resource or zone query result is valid
+	 */
+	public synchronized void setGenQueryResultCacheCatalogTimeToLiveMillis(
+			final long genQueryResultCacheCatalogTimeToLiveMillis) {
+		this.genQueryResultCacheCatalogTimeToLiveMillis = genQueryResultCacheCatalogTimeToLiveMillis;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.connection.JargonProperties#
+	 * getDiscoveredServerPropertiesCacheFile()
+	 */
+	@Override
+	public synchronized String getDiscoveredServerPropertiesCacheFile() {
+		return discoveredServerPropertiesCacheFile;
+	}
+
+	/**
+	 * @param discoveredServerPropertiesCacheFile
+	 *            {@code String} with the path of the file the discovered
+	 *            server properties cache is saved to, or blank
+	 */
+	public synchronized void setDiscoveredServerPropertiesCacheFile(final String discoveredServerPropertiesCacheFile) {
+		this.discoveredServerPropertiesCacheFile = discoveredServerPropertiesCacheFile;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.connection.JargonProperties#
+	 * getDiscoveredServerPropertiesCacheValidityMillis()
+	 */
+	@Override
+	public synchronized long getDiscoveredServerPropertiesCacheValidityMillis() {
+		return discoveredServerPropertiesCacheValidityMillis;
+	}
+
+	/**
+	 * @param discoveredServerPropertiesCacheValidityMillis
+	 *            {@code long} with the time in millis saved server properties
+	 *            are valid
+	 */
+	public synchronized void setDiscoveredServerPropertiesCacheValidityMillis(
+			final long discoveredServerPropertiesCacheValidityMillis) {
+		this.discoveredServerPropertiesCacheValidityMillis = discoveredServerPropertiesCacheValidityMillis;
+	}
+
 	@Override
 	public synchronized boolean isUsingSpecificQueryForCollectionListingsWithPermissions() {
 		return usingSpecificQueryForCollectionListingsWithPermissions;
@@ -1000,7 +1243,19 @@ public class SettableJargonProperties implements JargonProperties {
 				.append(", defaultToPublicIfNothingUnderRootWhenListing=")
 				.append(defaultToPublicIfNothingUnderRootWhenListing).append(", reconnectTimeInMillis=")
 				.append(reconnectTimeInMillis).append(", usingDiscoveredServerPropertiesCache=")
-				.append(usingDiscoveredServerPropertiesCache)
+				.append(usingDiscoveredServerPropertiesCache).append(", usingObjStatCache=").append(usingObjStatCache)
+				.append(", objStatCacheTimeToLiveMillis=").append(objStatCacheTimeToLiveMillis)
+				.append(", objStatCacheMaxEntriesPerAccount=").append(objStatCacheMaxEntriesPerAccount)
+				.append(", preparedGenQueryCacheMaxEntries=").append(preparedGenQueryCacheMaxEntries)
+				.append(", ruleTemplateCacheMaxEntries=").append(ruleTemplateCacheMaxEntries)
+				.append(", usingGenQueryResultCache=").append(usingGenQueryResultCache)
+				.append(", genQueryResultCacheMaxEntries=").append(genQueryResultCacheMaxEntries)
+				.append(", genQueryResultCacheTimeToLiveMillis=").append(genQueryResultCacheTimeToLiveMillis)
+				.append(", genQueryResultCacheCatalogTimeToLiveMillis=")
+				.append(genQueryResultCacheCatalogTimeToLiveMillis)
+				.append(", discoveredServerPropertiesCacheFile=").append(discoveredServerPropertiesCacheFile)
+				.append(", discoveredServerPropertiesCacheValidityMillis=")
+				.append(discoveredServerPropertiesCacheValidityMillis)
 				.append(", usingSpecificQueryForCollectionListingsWithPermissions=")
 				.append(usingSpecificQueryForCollectionListingsWithPermissions)
 				.append(", usingSpecQueryForDataObjPermissionsForUserInGroup=")
@@ -4,9 +4,6 @@
 package org.irods.jargon.core.connection;
 
 import java.io.IOException;
-import java.security.KeyManagementException;
-import java.security.NoSuchAlgorithmException;
-import java.security.NoSuchProviderException;
 import java.util.ArrayList;
 import java.util.Arrays;
 
@@ -16,10 +13,8 @@ import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLParameters;
 import javax.net.ssl.SSLSocket;
 import javax.net.ssl.SSLSocketFactory;
-import javax.net.ssl.TrustManager;
 
 import org.irods.jargon.core.exception.JargonException;
-import org.irods.jargon.core.exception.JargonRuntimeException;
 import org.irods.jargon.core.packinstr.SSLStartInp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -69,39 +64,17 @@ class SslConnectionUtilities {
 			irodsCommands.irodsFunction(sslStartInp);
 		}
 
-		SSLContext ctx;
-		try {
-			ctx = SSLContext.getInstance("TLSv1.2", "SunJSSE");
-		} catch (NoSuchAlgorithmException e) {
-			try {
-				ctx = SSLContext.getInstance("TLSv1", "SunJSSE");
-			} catch (NoSuchAlgorithmException e1) {
-				// The TLS 1.0 provider should always be available.
-				throw new AssertionError(e1);
-			} catch (NoSuchProviderException e1) {
-				throw new AssertionError(e1);
-			}
-		} catch (NoSuchProviderException e) {
-			// The SunJSSE provider should always be available.
-			throw new AssertionError(e);
-		}
-		TrustManager[] trustManagers = null;
-
-		if (irodsCommands.getIrodsSession().getX509TrustManager() != null) {
-			trustManagers = new TrustManager[] { irodsCommands
-					.getIrodsSession().getX509TrustManager() };
-		}
-		try {
-			ctx.init(null, trustManagers, null);
-		} catch (KeyManagementException e1) {
-			log.error("error initializing ssl context:{}", e1);
-			throw new JargonRuntimeException("ssl context init exception", e1);
-		}
+		SslContextCache sslContextCache = irodsCommands.getIrodsSession()
+				.getSslContextCache();
+		SSLContext ctx = sslContextCache.getSSLContext(irodsCommands
+				.getIrodsSession().getX509TrustManager());
 
 		// if all went well (no exceptions) then the server is ready for the
 		// credential exchange, first grab an SSL enabled connection
 		log.debug("getting ssl socket factory");
-		SSLSocketFactory sslSocketFactory = ctx.getSocketFactory();
+		SSLSocketFactory sslSocketFactory = sslContextCache
+				.getSSLSocketFactory(irodsCommands.getIrodsSession()
+						.getX509TrustManager());
 		log.debug("supported cyphers:{}",
 				sslSocketFactory.getSupportedCipherSuites());
 
@@ -160,6 +133,7 @@ class SslConnectionUtilities {
 		}
 
 		log.debug("starting SSL handshake");
+		long handshakeStart = System.currentTimeMillis();
 		try {
 			sslSocket.setUseClientMode(true);
 			sslSocket.startHandshake();
@@ -167,7 +141,16 @@ class SslConnectionUtilities {
 			log.error("ssl exception in handshake", e);
 			throw new JargonException("unable to start SSL socket", e);
 		}
-		log.debug("ssl handshake successful");
+		long handshakeMillis = System.currentTimeMillis() - handshakeStart;
+
+		/*
+		 * a session created before this handshake started was resumed from
+		 * the session cache of the shared context
+		 */
+		boolean resumed = sslSocket.getSession().getCreationTime() < handshakeStart;
+		sslContextCache.recordHandshake(handshakeMillis, resumed);
+		log.debug("ssl handshake successful in {} ms, resumed:{}",
+				handshakeMillis, resumed);
 		return sslSocket;
 	}
 
@@ -0,0 +1,201 @@
+/**
+ *
+ */
+package org.irods.jargon.core.connection;
+
+import java.security.KeyManagementException;
+import java.security.NoSuchAlgorithmException;
+import java.security.NoSuchProviderException;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+
+import org.irods.jargon.core.exception.JargonRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Session level cache of the {@code SSLContext} used to wrap iRODS
+ * connections in SSL. Creating and initializing a context is costly, and each
+ * new context has its own TLS session cache, so a fresh context per connection
+ * means a full handshake per connection. Holding one context lets JSSE resume
+ * TLS sessions with the same host and port, which cuts the cost of short lived
+ * connections and of parallel transfer setup.
+ * <p>
+ * The context is built for the {@code X509TrustManager} in effect, and is
+ * replaced if a different trust manager is given, or after
+ * {@code invalidate()}. Handshake counts and timings are kept here as well, so
+ * the effect of session resumption can be observed.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class SslContextCache {
+
+	public static final Logger log = LoggerFactory
+			.getLogger(SslContextCache.class);
+
+	private SSLContext sslContext = null;
+	private SSLSocketFactory sslSocketFactory = null;
+	private X509TrustManager trustManagerForContext = null;
+	private long handshakeCount = 0L;
+	private long resumedHandshakeCount = 0L;
+	private long totalHandshakeMillis = 0L;
+	private long lastHandshakeMillis = 0L;
+
+	public SslContextCache() {
+	}
+
+	/**
+	 * Get the cached {@code SSLContext} for the given trust manager, creating
+	 * and initializing a new one if none is cached, or if the cached one was
+	 * built with a different trust manager
+	 *
+	 * @param x509TrustManager
+	 *            {@link X509TrustManager} for the context, may be
+	 *            {@code null} to use the default trust manager
+	 * @return {@link SSLContext}
+	 */
+	public synchronized SSLContext getSSLContext(
+			final X509TrustManager x509TrustManager) {
+		if (sslContext != null && trustManagerForContext == x509TrustManager) {
+			log.debug("using cached ssl context");
+			return sslContext;
+		}
+
+		log.info("creating ssl context");
+		sslContext = createSSLContext(x509TrustManager);
+		sslSocketFactory = sslContext.getSocketFactory();
+		trustManagerForContext = x509TrustManager;
+		return sslContext;
+	}
+
+	/**
+	 * Get the socket factory of the cached {@code SSLContext} for the given
+	 * trust manager, see {@link #getSSLContext(X509TrustManager)}
+	 *
+	 * @param x509TrustManager
+	 *            {@link X509TrustManager} for the context, may be
+	 *            {@code null} to use the default trust manager
+	 * @return {@link SSLSocketFactory}
+	 */
+	public synchronized SSLSocketFactory getSSLSocketFactory(
+			final X509TrustManager x509TrustManager) {
+		getSSLContext(x509TrustManager);
+		return sslSocketFactory;
+	}
+
+	/**
+	 * Discard the cached context, the next connection will create a new one
+	 * and do a full TLS handshake
+	 */
+	public synchronized void invalidate() {
+		log.info("invalidating ssl context");
+		sslContext = null;
+		sslSocketFactory = null;
+		trustManagerForContext = null;
+	}
+
+	/**
+	 * Record a completed TLS handshake
+	 *
+	 * @param elapsedMillis
+	 *            {@code long} with the time taken by the handshake
+	 * @param resumed
+	 *            {@code boolean} that indicates that a cached TLS session
+	 *            was resumed, rather than a full handshake
+	 */
+	public synchronized void recordHandshake(final long elapsedMillis,
+			final boolean resumed) {
+		handshakeCount++;
+		if (resumed) {
+			resumedHandshakeCount++;
+		}
+		totalHandshakeMillis += elapsedMillis;
+		lastHandshakeMillis = elapsedMillis;
+	}
+
+	/**
+	 * @return {@code long} with the number of TLS handshakes done
+	 */
+	public synchronized long getHandshakeCount() {
+		return handshakeCount;
+	}
+
+	/**
+	 * @return {@code long} with the number of TLS handshakes that resumed a
+	 *         cached session
+	 */
+	public synchronized long getResumedHandshakeCount() {
+		return resumedHandshakeCount;
+	}
+
+	/**
+	 * @return {@code long} with the total time in milliseconds spent in TLS
+	 *         handshakes
+	 */
+	public synchronized long getTotalHandshakeMillis() {
+		return totalHandshakeMillis;
+	}
+
+	/**
+	 * @return {@code long} with the time in milliseconds of the most recent
+	 *         TLS handshake
+	 */
+	public synchronized long getLastHandshakeMillis() {
+		return lastHandshakeMillis;
+	}
+
+	private SSLContext createSSLContext(final X509TrustManager x509TrustManager) {
+		SSLContext ctx;
+		try {
+			ctx = SSLContext.getInstance("TLSv1.2", "SunJSSE");
+		} catch (NoSuchAlgorithmException e) {
+			try {
+				ctx = SSLContext.getInstance("TLSv1", "SunJSSE");
+			} catch (NoSuchAlgorithmException e1) {
+				// The TLS 1.0 provider should always be available.
+				throw new AssertionError(e1);
+			} catch (NoSuchProviderException e1) {
+				throw new AssertionError(e1);
+			}
+		} catch (NoSuchProviderException e) {
+			// The SunJSSE provider should always be available.
+			throw new AssertionError(e);
+		}
+
+		TrustManager[] trustManagers = null;
+		if (x509TrustManager != null) {
+			trustManagers = new TrustManager[] { x509TrustManager };
+		}
+
+		try {
+			ctx.init(null, trustManagers, null);
+		} catch (KeyManagementException e1) {
+			log.error("error initializing ssl context:{}", e1);
+			throw new JargonRuntimeException("ssl context init exception", e1);
+		}
+
+		return ctx;
+	}
+
+	@Override
+	public synchronized String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SslContextCache:");
+		sb.append("\n   cached:");
+		sb.append(sslContext != null);
+		sb.append("\n   handshakeCount:");
+		sb.append(handshakeCount);
+		sb.append("\n   resumedHandshakeCount:");
+		sb.append(resumedHandshakeCount);
+		sb.append("\n   totalHandshakeMillis:");
+		sb.append(totalHandshakeMillis);
+		sb.append("\n   lastHandshakeMillis:");
+		sb.append(lastHandshakeMillis);
+		return sb.toString();
+	}
+
+}
@@ -1,10 +1,13 @@
 package org.irods.jargon.core.packinstr;
 
+import java.util.List;
+
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.query.GenQueryField;
 import org.irods.jargon.core.query.GenQueryOrderByField;
 import org.irods.jargon.core.query.GenQueryOrderByField.OrderByType;
 import org.irods.jargon.core.query.GenQuerySelectField;
+import org.irods.jargon.core.query.PreparedGenQuery;
 import org.irods.jargon.core.query.TranslatedGenQueryCondition;
 import org.irods.jargon.core.query.TranslatedIRODSGenQuery;
 import org.irods.jargon.core.utils.IRODSConstants;
@@ -191,18 +194,30 @@ public class GenQueryInp extends AbstractIRODSPackingInstruction implements
 				new Tag(CONTINUE_INX, continueIndex), // new query
 				new Tag(PARTIAL_START_INDEX, partialStartIndex) });
 
-		int optionVal = 0;
-
-		if (!getTranslatedIRODSQuery().isDistinct()) {
-			optionVal += 1;
-		}
-
-		if (getTranslatedIRODSQuery().isUpperCase()) {
-			optionVal += UPPER_CASE_WHERE;
-		}
-
-		if (getTranslatedIRODSQuery().isComputeTotalRowCount()) {
-			optionVal += RETURN_TOTAL_ROW_COUNT;
+		/*
+		 * A query bound from a prepared query carries the select and option
+		 * values worked out when it was prepared
+		 */
+		PreparedGenQuery preparedGenQuery = getTranslatedIRODSQuery()
+				.getPreparedGenQuery();
+
+		int optionVal;
+		String[] selectInxValues;
+		int[] selectIvalues;
+
+		if (preparedGenQuery == null) {
+			optionVal = computeOptions(translatedIRODSQuery.isDistinct(),
+					translatedIRODSQuery.isUpperCase(),
+					translatedIRODSQuery.isComputeTotalRowCount());
+			selectInxValues = computeSelectInxValues(translatedIRODSQuery
+					.getSelectFields());
+			selectIvalues = computeSelectIvalues(
+					translatedIRODSQuery.getSelectFields(),
+					translatedIRODSQuery.getOrderByFields());
+		} else {
+			optionVal = preparedGenQuery.getOptions();
+			selectInxValues = preparedGenQuery.getSelectInxValues();
+			selectIvalues = preparedGenQuery.getSelectIvalues();
 		}
 
 		message.addTag(new Tag(IRODSConstants.options, optionVal));
@@ -219,68 +234,17 @@ public class GenQueryInp extends AbstractIRODSPackingInstruction implements
 			message.addTag(Tag.createKeyValueTag("zone", zoneName));
 		}
 
-		Tag[] subTags = null;
-		int[] orderByFlags = new int[translatedIRODSQuery.getSelectFields()
-				.size()];
+		Tag[] subTags = new Tag[selectInxValues.length * 2 + 1];
+		subTags[0] = new Tag(IILEN, selectInxValues.length);
 		int j = 1;
-		int k = 0;
-
-		subTags = new Tag[translatedIRODSQuery.getSelectFields().size() * 2 + 1];
-		subTags[0] = new Tag(IILEN, translatedIRODSQuery.getSelectFields()
-				.size());
-
-		for (GenQuerySelectField select : translatedIRODSQuery
-				.getSelectFields()) {
-			subTags[j] = new Tag(INX, select.getSelectFieldNumericTranslation());
-
-			// see if there is a matching order by field and twiddle the bits
-
-			int orderByFlag = 0;
-			for (GenQueryOrderByField orderBy : translatedIRODSQuery
-					.getOrderByFields()) {
-				if (orderBy.getSelectFieldNumericTranslation().equals(
-						select.getSelectFieldNumericTranslation())) {
-					if (orderBy.getOrderByType() == OrderByType.ASC) {
-						orderByFlag = ORDER_BY;
-					} else if (orderBy.getOrderByType() == OrderByType.DESC) {
-						orderByFlag = ORDER_BY_DESC;
-					}
-					break;
-				}
 
-			}
-			orderByFlags[k++] = orderByFlag;
+		for (String selectInx : selectInxValues) {
+			subTags[j] = new Tag(INX, selectInx);
 			j++;
 		}
 
-		k = 0;
-		for (GenQuerySelectField select : translatedIRODSQuery
-				.getSelectFields()) {
-			int val = 1;
-			if (select.getSelectFieldType() == GenQueryField.SelectFieldTypes.FIELD) {
-				val = orderByFlags[k++];
-				if (val == 0) {
-					val = 1;
-				}
-			} else if (select.getSelectFieldType() == GenQueryField.SelectFieldTypes.AVG) {
-				val = 5;
-			} else if (select.getSelectFieldType() == GenQueryField.SelectFieldTypes.COUNT) {
-				val = 6;
-			} else if (select.getSelectFieldType() == GenQueryField.SelectFieldTypes.MAX) {
-				val = 3;
-			} else if (select.getSelectFieldType() == GenQueryField.SelectFieldTypes.MIN) {
-				val = 2;
-			} else if (select.getSelectFieldType() == GenQueryField.SelectFieldTypes.SUM) {
-				val = 4;
-			} else if (select.getSelectFieldType() == GenQueryField.SelectFieldTypes.FILE_ACCESS) {
-				val = 1024;
-			} else {
-				throw new JargonException(
-						"unknown select type, cannot translate to XML protocol:"
-								+ select.getSelectFieldType());
-			}
-
-			subTags[j] = new Tag(IVALUE, val);
+		for (int selectIvalue : selectIvalues) {
+			subTags[j] = new Tag(IVALUE, selectIvalue);
 			j++;
 		}
 
@@ -317,4 +281,113 @@ public class GenQueryInp extends AbstractIRODSPackingInstruction implements
 		return message;
 	}
 
+	/**
+	 * Compute the options value sent with a query
+	 *
+	 * @param distinct
+	 *            {@code boolean} indicating a distinct query
+	 * @param upperCase
+	 *            {@code boolean} indicating a case-insensitive where
+	 * @param computeTotalRowCount
+	 *            {@code boolean} indicating that a total row count is desired
+	 * @return {@code int} with the options value
+	 */
+	public static int computeOptions(final boolean distinct,
+			final boolean upperCase, final boolean computeTotalRowCount) {
+		int optionVal = 0;
+
+		if (!distinct) {
+			optionVal += 1;
+		}
+
+		if (upperCase) {
+			optionVal += UPPER_CASE_WHERE;
+		}
+
+		if (computeTotalRowCount) {
+			optionVal += RETURN_TOTAL_ROW_COUNT;
+		}
+
+		return optionVal;
+	}
+
+	/**
+	 * Compute the inx values sent for each select field
+	 *
+	 * @param selectFields
+	 *            {@code List} of {@link GenQuerySelectField}
+	 * @return {@code String[]} with the numeric translation of each select
+	 */
+	public static String[] computeSelectInxValues(
+			final List<GenQuerySelectField> selectFields) {
+		String[] selectInxValues = new String[selectFields.size()];
+		int i = 0;
+		for (GenQuerySelectField select : selectFields) {
+			selectInxValues[i++] = select.getSelectFieldNumericTranslation();
+		}
+		return selectInxValues;
+	}
+
+	/**
+	 * Compute the ivalue sent for each select field, which carries the order
+	 * by or aggregate type of the select
+	 *
+	 * @param selectFields
+	 *            {@code List} of {@link GenQuerySelectField}
+	 * @param orderByFields
+	 *            {@code List} of {@link GenQueryOrderByField}
+	 * @return {@code int[]} with the ivalue of each select
+	 * @throws JargonException
+	 *             if a select type cannot be sent
+	 */
+	public static int[] computeSelectIvalues(
+			final List<GenQuerySelectField> selectFields,
+			final List<GenQueryOrderByField> orderByFields)
+			throws JargonException {
+
+		int[] selectIvalues = new int[selectFields.size()];
+		int k = 0;
+
+		for (GenQuerySelectField select : selectFields) {
+			int val = 1;
+			if (select.getSelectFieldType() == GenQueryField.SelectFieldTypes.FIELD) {
+
+				// see if there is a matching order by field and twiddle the
+				// bits
+
+				for (GenQueryOrderByField orderBy : orderByFields) {
+					if (orderBy.getSelectFieldNumericTranslation().equals(
+							select.getSelectFieldNumericTranslation())) {
+						if (orderBy.getOrderByType() == OrderByType.ASC) {
+							val = ORDER_BY;
+						} else if (orderBy.getOrderByType() == OrderByType.DESC) {
+							val = ORDER_BY_DESC;
+						}
+						break;
+					}
+				}
+			} else if (select.getSelectFieldType() == GenQueryField.SelectFieldTypes.AVG) {
+				val = 5;
+			} else if (select.getSelectFieldType() == GenQueryField.SelectFieldTypes.COUNT) {
+				val = 6;
+			} else if (select.getSelectFieldType() == GenQueryField.SelectFieldTypes.MAX) {
+				val = 3;
+			} else if (select.getSelectFieldType() == GenQueryField.SelectFieldTypes.MIN) {
+				val = 2;
+			} else if (select.getSelectFieldType() == GenQueryField.SelectFieldTypes.SUM) {
+				val = 4;
+			} else if (select.getSelectFieldType() == GenQueryField.SelectFieldTypes.FILE_ACCESS) {
+				val = 1024;
+			} else {
+				throw new JargonException(
+						"unknown select type, cannot translate to XML protocol:"
+								+ select.getSelectFieldType());
+			}
+
+			selectIvalues[k++] = val;
+		}
+
+		return selectIvalues;
+	}
+
 }
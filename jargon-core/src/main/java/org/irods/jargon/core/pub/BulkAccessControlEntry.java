@@ -0,0 +1,102 @@
+/**
+ *
+ */
+package org.irods.jargon.core.pub;
+
+import org.irods.jargon.core.protovalues.FilePermissionEnum;
+
+/**
+ * A user and the permission to give that user, one column of the matrix of
+ * paths and users in a bulk access control change. A permission of
+ * {@code NONE} removes the user's access.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class BulkAccessControlEntry {
+
+	private final String userName;
+	private final String userZone;
+	private final FilePermissionEnum filePermission;
+
+	/**
+	 * Create an entry for a user and permission
+	 *
+	 * @param userName
+	 *            {@code String} with the iRODS user or group name (no #zone)
+	 * @param userZone
+	 *            {@code String} with the zone of the user, blank if not used
+	 * @param filePermission
+	 *            {@link FilePermissionEnum}, one of {@code READ},
+	 *            {@code WRITE}, {@code OWN}, or {@code NONE}
+	 * @return {@link BulkAccessControlEntry}
+	 */
+	public static BulkAccessControlEntry instance(final String userName,
+			final String userZone, final FilePermissionEnum filePermission) {
+		return new BulkAccessControlEntry(userName, userZone, filePermission);
+	}
+
+	private BulkAccessControlEntry(final String userName,
+			final String userZone, final FilePermissionEnum filePermission) {
+
+		if (userName == null || userName.isEmpty()) {
+			throw new IllegalArgumentException("null or empty userName");
+		}
+
+		if (userZone == null) {
+			throw new IllegalArgumentException(
+					"null userZone, set to blank if not used");
+		}
+
+		if (filePermission == null) {
+			throw new IllegalArgumentException("null filePermission");
+		}
+
+		if (filePermission != FilePermissionEnum.READ
+				&& filePermission != FilePermissionEnum.WRITE
+				&& filePermission != FilePermissionEnum.OWN
+				&& filePermission != FilePermissionEnum.NONE) {
+			throw new IllegalArgumentException(
+					"only READ, WRITE, OWN, and NONE are supported");
+		}
+
+		this.userName = userName;
+		this.userZone = userZone;
+		this.filePermission = filePermission;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sBuilder = new StringBuilder();
+		sBuilder.append("BulkAccessControlEntry");
+		sBuilder.append("\n\tuserName:");
+		sBuilder.append(userName);
+		sBuilder.append("\n\tuserZone:");
+		sBuilder.append(userZone);
+		sBuilder.append("\n\tfilePermission:");
+		sBuilder.append(filePermission);
+		return sBuilder.toString();
+	}
+
+	/**
+	 * @return the userName
+	 */
+	public String getUserName() {
+		return userName;
+	}
+
+	/**
+	 * @return the userZone
+	 */
+	public String getUserZone() {
+		return userZone;
+	}
+
+	/**
+	 * @return the filePermission
+	 */
+	public FilePermissionEnum getFilePermission() {
+		return filePermission;
+	}
+
+}
@@ -0,0 +1,140 @@
+/**
+ *
+ */
+package org.irods.jargon.core.pub;
+
+import org.irods.jargon.core.exception.JargonException;
+
+/**
+ * Represents a response to one path and user of a bulk access control change,
+ * includes success or failure, or for a dry run, whether the change would be
+ * made
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class BulkAccessControlResponse {
+
+	public enum ResultStatus {
+		OK, WOULD_CHANGE, UNCHANGED, MISSING_TARGET, OTHER_ERROR
+	}
+
+	private final String absolutePath;
+	private final BulkAccessControlEntry bulkAccessControlEntry;
+	private final ResultStatus resultStatus;
+	private final String message;
+	private final JargonException jargonException;
+
+	public static BulkAccessControlResponse instance(
+			final ResultStatus resultStatus, final String absolutePath,
+			final BulkAccessControlEntry bulkAccessControlEntry,
+			final String message) {
+		return new BulkAccessControlResponse(resultStatus, absolutePath,
+				bulkAccessControlEntry, message, null);
+	}
+
+	/**
+	 * Create a response for a change that iRODS rejected, keeping the
+	 * exception that was thrown
+	 *
+	 * @param resultStatus
+	 *            {@link ResultStatus}
+	 * @param absolutePath
+	 *            {@code String} with the path as given in the request
+	 * @param bulkAccessControlEntry
+	 *            {@link BulkAccessControlEntry} that was applied
+	 * @param message
+	 *            {@code String} with the message, blank if not used
+	 * @param jargonException
+	 *            {@link JargonException} that was thrown for the change, may
+	 *            be {@code null}
+	 * @return {@link BulkAccessControlResponse}
+	 */
+	public static BulkAccessControlResponse instance(
+			final ResultStatus resultStatus, final String absolutePath,
+			final BulkAccessControlEntry bulkAccessControlEntry,
+			final String message, final JargonException jargonException) {
+		return new BulkAccessControlResponse(resultStatus, absolutePath,
+				bulkAccessControlEntry, message, jargonException);
+	}
+
+	private BulkAccessControlResponse(final ResultStatus resultStatus,
+			final String absolutePath,
+			final BulkAccessControlEntry bulkAccessControlEntry,
+			final String message, final JargonException jargonException) {
+
+		if (resultStatus == null) {
+			throw new IllegalArgumentException("null resultStatus");
+		}
+
+		if (absolutePath == null) {
+			throw new IllegalArgumentException("null absolutePath");
+		}
+
+		if (bulkAccessControlEntry == null) {
+			throw new IllegalArgumentException("null bulkAccessControlEntry");
+		}
+
+		if (message == null) {
+			throw new IllegalArgumentException("null message");
+		}
+
+		this.resultStatus = resultStatus;
+		this.absolutePath = absolutePath;
+		this.bulkAccessControlEntry = bulkAccessControlEntry;
+		this.message = message;
+		this.jargonException = jargonException;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sBuilder = new StringBuilder();
+		sBuilder.append("BulkAccessControlResponse");
+		sBuilder.append("\n\tabsolutePath:");
+		sBuilder.append(absolutePath);
+		sBuilder.append("\n\tbulkAccessControlEntry:");
+		sBuilder.append(bulkAccessControlEntry);
+		sBuilder.append("\n\tresultStatus:");
+		sBuilder.append(resultStatus);
+		sBuilder.append("\n\tmessage:");
+		sBuilder.append(message);
+		return sBuilder.toString();
+	}
+
+	/**
+	 * @return the absolutePath as given in the request
+	 */
+	public String getAbsolutePath() {
+		return absolutePath;
+	}
+
+	/**
+	 * @return the bulkAccessControlEntry
+	 */
+	public BulkAccessControlEntry getBulkAccessControlEntry() {
+		return bulkAccessControlEntry;
+	}
+
+	/**
+	 * @return the resultStatus
+	 */
+	public ResultStatus getResultStatus() {
+		return resultStatus;
+	}
+
+	/**
+	 * @return the message
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+	/**
+	 * @return the {@link JargonException} thrown when the change was made, so
+	 *         that a caller may rethrow it, or {@code null} if there was none
+	 */
+	public JargonException getJargonException() {
+		return jargonException;
+	}
+
+}
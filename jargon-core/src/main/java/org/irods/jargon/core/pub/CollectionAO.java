@@ -1,6 +1,7 @@
 package org.irods.jargon.core.pub;
 
 import java.util.List;
+import java.util.Map;
 
 import org.irods.jargon.core.exception.DataNotFoundException;
 import org.irods.jargon.core.exception.DuplicateDataException;
@@ -816,6 +817,80 @@ public interface CollectionAO extends FileCatalogObjectAO {
 	void setAccessPermission(String zone, String absolutePath, String userName, boolean recursive,
 			FilePermissionEnum filePermission) throws JargonException;
 
+	/**
+	 * Apply a set of access permissions to each of a number of collections or
+	 * data objects, for example to give every member of a group access to a
+	 * list of project folders. Each path is looked up once, rather than once for
+	 * every user, and the permission requests for a path are then sent back to
+	 * back. A permission of {@code NONE} removes the user's access.
+	 * <p>
+	 * This operation is tolerant of missing paths and of permission changes
+	 * that iRODS rejects, which are reported in the responses. An exception is
+	 * only thrown if the connection is lost.
+	 * <p>
+	 * For a dry run nothing is changed. The current permissions of all the
+	 * paths are read with GenQuery, in batches rather than a query per path,
+	 * and each response tells whether the change would be made. Only the given
+	 * paths are checked, not the children of a collection.
+	 *
+	 * @param absolutePaths
+	 *            {@code List<String>} with the absolute paths of the collections
+	 *            or data objects
+	 * @param bulkAccessControlEntries
+	 *            {@code List} of {@link BulkAccessControlEntry} with the users
+	 *            and permissions to apply to each path
+	 * @param recursive
+	 *            {@code boolean} to indicate that the permissions must be
+	 *            recursively applied to the children of collections
+	 * @param dryRun
+	 *            {@code boolean} to indicate that the changes should only be
+	 *            reported, not made
+	 * @return {@code List} of {@link BulkAccessControlResponse}, one for each
+	 *         path and entry, in path order and then entry order
+	 * @throws JargonException
+	 *             if an unexpected exception not anticipated by the bulk
+	 *             process occurs
+	 */
+	List<BulkAccessControlResponse> setAccessPermissionsInBulk(List<String> absolutePaths,
+			List<BulkAccessControlEntry> bulkAccessControlEntries, boolean recursive, boolean dryRun)
+			throws JargonException;
+
+	/**
+	 * Apply a set of access permissions to each of a number of collections or
+	 * data objects, as in
+	 * {@link #setAccessPermissionsInBulk(List, List, boolean, boolean)}, with
+	 * the option of stopping at the first missing path or rejected change. When
+	 * stopping, the last response is the failure, and the later paths and
+	 * entries are neither changed nor reported. The exception thrown by iRODS
+	 * for a rejected change is kept in
+	 * {@link BulkAccessControlResponse#getJargonException()}.
+	 *
+	 * @param absolutePaths
+	 *            {@code List<String>} with the absolute paths of the collections
+	 *            or data objects
+	 * @param bulkAccessControlEntries
+	 *            {@code List} of {@link BulkAccessControlEntry} with the users
+	 *            and permissions to apply to each path
+	 * @param recursive
+	 *            {@code boolean} to indicate that the permissions must be
+	 *            recursively applied to the children of collections
+	 * @param dryRun
+	 *            {@code boolean} to indicate that the changes should only be
+	 *            reported, not made
+	 * @param stopOnFirstFailure
+	 *            {@code boolean} to indicate that no more changes should be
+	 *            made after a missing path or a rejected change
+	 * @return {@code List} of {@link BulkAccessControlResponse}, one for each
+	 *         path and entry that was processed, in path order and then entry
+	 *         order
+	 * @throws JargonException
+	 *             if an unexpected exception not anticipated by the bulk
+	 *             process occurs
+	 */
+	List<BulkAccessControlResponse> setAccessPermissionsInBulk(List<String> absolutePaths,
+			List<BulkAccessControlEntry> bulkAccessControlEntries, boolean recursive, boolean dryRun,
+			boolean stopOnFirstFailure) throws JargonException;
+
 	/**
 	 * Find the iRODS {@code Collection} with the given primary key in the ICAT
 	 *
@@ -884,6 +959,46 @@ public interface CollectionAO extends FileCatalogObjectAO {
 	List<BulkAVUOperationResponse> deleteBulkAVUMetadataFromCollection(String absolutePath, List<AvuData> avuData)
 			throws JargonException;
 
+	/**
+	 * Convenience method to add a set of AVU metadata to each of a number of
+	 * collections. This operation is tolerant of duplicate AVUs and missing
+	 * collections, which are reported in the responses for each collection.
+	 * Once a collection is found to be missing, no further AVU requests are sent
+	 * for it.
+	 *
+	 * @param absolutePaths
+	 *            {@code List<String>} with the absolute paths of the collections
+	 * @param avuData
+	 *            {@code List} of {@link org.irods.jargon.core.pub.domain.AvuData}
+	 *            with the AVU values to be added to each collection
+	 * @return {@code Map} of absolute path to the {@link BulkAVUOperationResponse}
+	 *         list for that collection, in the order given
+	 * @throws JargonException
+	 *             if an unexpected exception not anticipated by the bulk AVU
+	 *             process occurs
+	 */
+	Map<String, List<BulkAVUOperationResponse>> addBulkAVUMetadataToCollections(List<String> absolutePaths,
+			List<AvuData> avuData) throws JargonException;
+
+	/**
+	 * Convenience method to delete a set of AVU metadata from each of a number of
+	 * collections. This operation is tolerant of non-existent AVUs and missing
+	 * collections, which are reported in the responses for each collection.
+	 *
+	 * @param absolutePaths
+	 *            {@code List<String>} with the absolute paths of the collections
+	 * @param avuData
+	 *            {@code List} of {@link org.irods.jargon.core.pub.domain.AvuData}
+	 *            with the AVU values to be deleted from each collection
+	 * @return {@code Map} of absolute path to the {@link BulkAVUOperationResponse}
+	 *         list for that collection, in the order given
+	 * @throws JargonException
+	 *             if an unexpected exception not anticipated by the bulk AVU
+	 *             process occurs
+	 */
+	Map<String, List<BulkAVUOperationResponse>> deleteBulkAVUMetadataFromCollections(List<String> absolutePaths,
+			List<AvuData> avuData) throws JargonException;
+
 	/**
 	 * Do a buld delete of all AVUs associated with the collection
 	 *
@@ -1,8 +1,11 @@
 package org.irods.jargon.core.pub;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.irods.jargon.core.connection.AbstractIRODSMidLevelProtocol;
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSSession;
 import org.irods.jargon.core.exception.CatalogSQLException;
@@ -31,6 +34,7 @@ import org.irods.jargon.core.query.AVUQueryElement;
 import org.irods.jargon.core.query.AVUQueryOperatorEnum;
 import org.irods.jargon.core.query.GenQueryBuilderException;
 import org.irods.jargon.core.query.GenQueryField.SelectFieldTypes;
+import org.irods.jargon.core.query.GenQueryResultIterator;
 import org.irods.jargon.core.query.IRODSGenQueryBuilder;
 import org.irods.jargon.core.query.IRODSGenQueryFromBuilder;
 import org.irods.jargon.core.query.IRODSQueryResultRow;
@@ -69,6 +73,11 @@ import org.slf4j.LoggerFactory;
 public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements CollectionAO {
 
 	public static final String ERROR_IN_COLECTION_QUERY = "An error occurred in the query for the collection";
+	/**
+	 * Number of paths given in the IN condition of each permission query for a
+	 * bulk permission dry run
+	 */
+	static final int PERMISSION_QUERY_BATCH_SIZE = 100;
 	private final IRODSFileFactory irodsFileFactory = new IRODSFileFactoryImpl(getIRODSSession(), getIRODSAccount());
 	private final IRODSGenQueryExecutor irodsGenQueryExecutor = new IRODSGenQueryExecutorImpl(getIRODSSession(),
 			getIRODSAccount());
@@ -360,14 +369,14 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 
 		List<BulkAVUOperationResponse> responses = new ArrayList<BulkAVUOperationResponse>();
 
-		for (AvuData value : avuData) {
+		for (int i = 0; i < avuData.size(); i++) {
+			AvuData value = avuData.get(i);
 			try {
 				addAVUMetadata(absolutePath, value);
-			} catch (FileNotFoundException dnf) {
-				log.error("FileNotFoundException when adding an AVU, catch and add to response data", dnf);
-				responses.add(BulkAVUOperationResponse.instance(ResultStatus.MISSING_METADATA_TARGET, value,
-						dnf.getMessage()));
-				continue;
+			} catch (FileNotFoundException | DataNotFoundException dnf) {
+				log.error("collection not found when adding an AVU, catch and add to response data", dnf);
+				addMissingTargetResponses(responses, avuData, i, dnf.getMessage());
+				break;
 			} catch (DuplicateDataException dde) {
 				log.error("DuplicateDataException when adding an AVU, catch and add to response data", dde);
 				responses.add(BulkAVUOperationResponse.instance(ResultStatus.DUPLICATE_AVU, value, dde.getMessage()));
@@ -402,15 +411,14 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 
 		List<BulkAVUOperationResponse> responses = new ArrayList<BulkAVUOperationResponse>();
 
-		for (AvuData value : avuData) {
+		for (int i = 0; i < avuData.size(); i++) {
+			AvuData value = avuData.get(i);
 			try {
 				deleteAVUMetadata(absolutePath, value);
-			} catch (FileNotFoundException dnf) {
-				log.error("FileNotFoundException when deleti an AVU, catch and add to response data", dnf);
-				responses.add(BulkAVUOperationResponse.instance(ResultStatus.MISSING_METADATA_TARGET, value,
-						dnf.getMessage()));
-				continue;
-
+			} catch (FileNotFoundException | DataNotFoundException dnf) {
+				log.error("collection not found when deleting an AVU, catch and add to response data", dnf);
+				addMissingTargetResponses(responses, avuData, i, dnf.getMessage());
+				break;
 			}
 
 			log.info("treat as success...", value);
@@ -421,6 +429,78 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		return responses;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.pub.CollectionAO#addBulkAVUMetadataToCollections
+	 * (java.util.List, java.util.List)
+	 */
+	@Override
+	public Map<String, List<BulkAVUOperationResponse>> addBulkAVUMetadataToCollections(
+			final List<String> absolutePaths, final List<AvuData> avuData) throws JargonException {
+
+		log.info("addBulkAVUMetadataToCollections()");
+
+		if (absolutePaths == null) {
+			throw new IllegalArgumentException("null absolutePaths");
+		}
+
+		if (avuData == null || avuData.isEmpty()) {
+			throw new IllegalArgumentException("null or empty avuData");
+		}
+
+		Map<String, List<BulkAVUOperationResponse>> responses = new LinkedHashMap<String, List<BulkAVUOperationResponse>>();
+		for (String absolutePath : absolutePaths) {
+			responses.put(absolutePath, addBulkAVUMetadataToCollection(absolutePath, avuData));
+		}
+
+		log.info("...complete for {} collections", absolutePaths.size());
+		return responses;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.irods.jargon.core.pub.CollectionAO#deleteBulkAVUMetadataFromCollections
+	 * (java.util.List, java.util.List)
+	 */
+	@Override
+	public Map<String, List<BulkAVUOperationResponse>> deleteBulkAVUMetadataFromCollections(
+			final List<String> absolutePaths, final List<AvuData> avuData) throws JargonException {
+
+		log.info("deleteBulkAVUMetadataFromCollections()");
+
+		if (absolutePaths == null) {
+			throw new IllegalArgumentException("null absolutePaths");
+		}
+
+		if (avuData == null || avuData.isEmpty()) {
+			throw new IllegalArgumentException("null or empty avuData");
+		}
+
+		Map<String, List<BulkAVUOperationResponse>> responses = new LinkedHashMap<String, List<BulkAVUOperationResponse>>();
+		for (String absolutePath : absolutePaths) {
+			responses.put(absolutePath, deleteBulkAVUMetadataFromCollection(absolutePath, avuData));
+		}
+
+		log.info("...complete for {} collections", absolutePaths.size());
+		return responses;
+	}
+
+	/**
+	 * Mark the AVUs from the given index on as failed because the collection is
+	 * missing. No further requests are sent once the collection is found
+	 * missing.
+	 */
+	private void addMissingTargetResponses(final List<BulkAVUOperationResponse> responses,
+			final List<AvuData> avuData, final int fromIndex, final String message) {
+		for (int i = fromIndex; i < avuData.size(); i++) {
+			responses.add(BulkAVUOperationResponse.instance(ResultStatus.MISSING_METADATA_TARGET, avuData.get(i),
+					message == null ? "" : message));
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -1310,6 +1390,324 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.pub.CollectionAO#setAccessPermissionsInBulk(java
+	 * .util.List, java.util.List, boolean, boolean)
+	 */
+	@Override
+	public List<BulkAccessControlResponse> setAccessPermissionsInBulk(final List<String> absolutePaths,
+			final List<BulkAccessControlEntry> bulkAccessControlEntries, final boolean recursive, final boolean dryRun)
+			throws JargonException {
+		return setAccessPermissionsInBulk(absolutePaths, bulkAccessControlEntries, recursive, dryRun, false);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.pub.CollectionAO#setAccessPermissionsInBulk(java
+	 * .util.List, java.util.List, boolean, boolean, boolean)
+	 */
+	@Override
+	public List<BulkAccessControlResponse> setAccessPermissionsInBulk(final List<String> absolutePaths,
+			final List<BulkAccessControlEntry> bulkAccessControlEntries, final boolean recursive, final boolean dryRun,
+			final boolean stopOnFirstFailure) throws JargonException {
+
+		log.info("setAccessPermissionsInBulk()");
+
+		if (absolutePaths == null) {
+			throw new IllegalArgumentException("null absolutePaths");
+		}
+
+		if (bulkAccessControlEntries == null || bulkAccessControlEntries.isEmpty()) {
+			throw new IllegalArgumentException("null or empty bulkAccessControlEntries");
+		}
+
+		log.info("paths:{}", absolutePaths.size());
+		log.info("entries:{}", bulkAccessControlEntries.size());
+		log.info("recursive:{}", recursive);
+		log.info("dryRun:{}", dryRun);
+		log.info("stopOnFirstFailure:{}", stopOnFirstFailure);
+
+		// look up each path once, not once per user
+		Map<String, ObjStat> objStats = new LinkedHashMap<String, ObjStat>();
+		for (String absolutePath : absolutePaths) {
+			if (absolutePath == null || absolutePath.isEmpty()) {
+				throw new IllegalArgumentException("null or empty path in absolutePaths");
+			}
+
+			try {
+				objStats.put(absolutePath, getObjectStatForAbsolutePath(absolutePath));
+			} catch (FileNotFoundException fnf) {
+				log.warn("path not found for bulk permissions:{}", absolutePath);
+				objStats.put(absolutePath, null);
+			}
+		}
+
+		Map<String, Map<String, FilePermissionEnum>> currentPermissions = null;
+		if (dryRun) {
+			currentPermissions = listCurrentPermissionsOfPaths(new ArrayList<ObjStat>(objStats.values()));
+		}
+
+		AbstractIRODSMidLevelProtocol irodsProtocol = getIRODSProtocol();
+		List<BulkAccessControlResponse> responses = new ArrayList<BulkAccessControlResponse>();
+
+		for (Map.Entry<String, ObjStat> target : objStats.entrySet()) {
+			String absolutePath = target.getKey();
+			ObjStat objStat = target.getValue();
+
+			if (objStat == null) {
+				for (BulkAccessControlEntry bulkAccessControlEntry : bulkAccessControlEntries) {
+					responses.add(BulkAccessControlResponse.instance(
+							BulkAccessControlResponse.ResultStatus.MISSING_TARGET, absolutePath, bulkAccessControlEntry,
+							"path not found"));
+					if (stopOnFirstFailure) {
+						log.info("stopping at missing path:{}", absolutePath);
+						return responses;
+					}
+				}
+				continue;
+			}
+
+			String effectiveAbsPath = resolveAbsolutePathGivenObjStat(objStat);
+
+			if (dryRun) {
+				Map<String, FilePermissionEnum> permissionsOfPath = currentPermissions.get(effectiveAbsPath);
+				for (BulkAccessControlEntry bulkAccessControlEntry : bulkAccessControlEntries) {
+					if (isAccessPermissionUnchanged(bulkAccessControlEntry, permissionsOfPath)) {
+						responses.add(BulkAccessControlResponse.instance(
+								BulkAccessControlResponse.ResultStatus.UNCHANGED, absolutePath,
+								bulkAccessControlEntry, "permission already in place"));
+					} else {
+						responses.add(BulkAccessControlResponse.instance(
+								BulkAccessControlResponse.ResultStatus.WOULD_CHANGE, absolutePath,
+								bulkAccessControlEntry, "permission would be changed"));
+					}
+				}
+				continue;
+			}
+
+			// iRODS will not take a recursive permission on a collection with no children
+			boolean pathNeedsRecursive = false;
+			if (recursive && objStat.isSomeTypeOfCollection()) {
+				pathNeedsRecursive = getIRODSAccessObjectFactory()
+						.getCollectionAndDataObjectListAndSearchAO(getIRODSAccount())
+						.countDataObjectsAndCollectionsUnderPath(effectiveAbsPath) > 0;
+			}
+
+			for (BulkAccessControlEntry bulkAccessControlEntry : bulkAccessControlEntries) {
+				ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermission(
+						pathNeedsRecursive, bulkAccessControlEntry.getUserZone(), effectiveAbsPath,
+						bulkAccessControlEntry.getUserName(),
+						accessPermissionValue(bulkAccessControlEntry.getFilePermission()));
+				try {
+					irodsProtocol.irodsFunction(modAccessControlInp);
+				} catch (JargonException je) {
+					if (!irodsProtocol.isConnected()) {
+						log.error("connection lost setting bulk permissions", je);
+						throw je;
+					}
+					log.error("error setting permission, catch and add to response data", je);
+					responses.add(BulkAccessControlResponse.instance(
+							BulkAccessControlResponse.ResultStatus.OTHER_ERROR, absolutePath, bulkAccessControlEntry,
+							je.getMessage() == null ? "" : je.getMessage(), je));
+					if (stopOnFirstFailure) {
+						log.info("stopping at first rejected change");
+						return responses;
+					}
+					continue;
+				}
+
+				responses.add(BulkAccessControlResponse.instance(BulkAccessControlResponse.ResultStatus.OK,
+						absolutePath, bulkAccessControlEntry, ""));
+			}
+		}
+
+		log.info("...complete with {} responses", responses.size());
+		return responses;
+	}
+
+	/**
+	 * Read the current permissions of the given paths, with a query for a batch
+	 * of collections or of data objects at a time
+	 *
+	 * @param objStats
+	 *            {@code List} of {@link ObjStat}, {@code null} entries are
+	 *            skipped
+	 * @return {@code Map} of the absolute path to a {@code Map} of
+	 *         {@code user#zone} to permission
+	 * @throws JargonException
+	 */
+	private Map<String, Map<String, FilePermissionEnum>> listCurrentPermissionsOfPaths(final List<ObjStat> objStats)
+			throws JargonException {
+
+		Map<String, List<String>> collectionPathsByZone = new LinkedHashMap<String, List<String>>();
+		Map<String, List<String>> dataObjectPathsByZone = new LinkedHashMap<String, List<String>>();
+
+		for (ObjStat objStat : objStats) {
+			if (objStat == null) {
+				continue;
+			}
+
+			String absPath = resolveAbsolutePathGivenObjStat(objStat);
+			Map<String, List<String>> pathsByZone = objStat.isSomeTypeOfCollection() ? collectionPathsByZone
+					: dataObjectPathsByZone;
+			String zoneName = MiscIRODSUtils.getZoneInPath(absPath);
+			List<String> paths = pathsByZone.get(zoneName);
+			if (paths == null) {
+				paths = new ArrayList<String>();
+				pathsByZone.put(zoneName, paths);
+			}
+			paths.add(absPath);
+		}
+
+		Map<String, Map<String, FilePermissionEnum>> currentPermissions = new LinkedHashMap<String, Map<String, FilePermissionEnum>>();
+
+		try {
+			for (Map.Entry<String, List<String>> zonePaths : collectionPathsByZone.entrySet()) {
+				List<String> paths = zonePaths.getValue();
+				for (int i = 0; i < paths.size(); i += PERMISSION_QUERY_BATCH_SIZE) {
+					List<String> batch = paths.subList(i, Math.min(paths.size(), i + PERMISSION_QUERY_BATCH_SIZE));
+					IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+					builder.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_COLL_NAME)
+							.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_COLL_ACCESS_USER_NAME)
+							.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_COLL_ACCESS_USER_ZONE)
+							.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_COLL_ACCESS_TYPE)
+							.addConditionAsMultiValueCondition(RodsGenQueryEnum.COL_COLL_NAME,
+									QueryConditionOperators.IN, batch);
+					GenQueryResultIterator iterator = irodsGenQueryExecutor.executeIRODSQueryAsIterator(
+							builder.exportIRODSQueryFromBuilder(getJargonProperties().getMaxFilesAndDirsQueryMax()),
+							zonePaths.getKey(), false);
+					try {
+						while (iterator.hasNext()) {
+							IRODSQueryResultRow row = iterator.next();
+							addCurrentPermission(currentPermissions, row.getColumn(0), row.getColumn(1),
+									row.getColumn(2), row.getColumn(3));
+						}
+					} finally {
+						iterator.close();
+					}
+				}
+			}
+
+			for (Map.Entry<String, List<String>> zonePaths : dataObjectPathsByZone.entrySet()) {
+				List<String> paths = zonePaths.getValue();
+				for (int i = 0; i < paths.size(); i += PERMISSION_QUERY_BATCH_SIZE) {
+					List<String> batch = paths.subList(i, Math.min(paths.size(), i + PERMISSION_QUERY_BATCH_SIZE));
+					List<String> parents = new ArrayList<String>();
+					List<String> names = new ArrayList<String>();
+					for (String path : batch) {
+						CollectionAndPath collectionAndPath = MiscIRODSUtils
+								.separateCollectionAndPathFromGivenAbsolutePath(path);
+						if (!parents.contains(collectionAndPath.getCollectionParent())) {
+							parents.add(collectionAndPath.getCollectionParent());
+						}
+						if (!names.contains(collectionAndPath.getChildName())) {
+							names.add(collectionAndPath.getChildName());
+						}
+					}
+
+					IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+					builder.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_COLL_NAME)
+							.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_DATA_NAME)
+							.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_USER_NAME)
+							.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_USER_ZONE)
+							.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_DATA_ACCESS_TYPE)
+							.addConditionAsMultiValueCondition(RodsGenQueryEnum.COL_COLL_NAME,
+									QueryConditionOperators.IN, parents)
+							.addConditionAsMultiValueCondition(RodsGenQueryEnum.COL_DATA_NAME,
+									QueryConditionOperators.IN, names);
+					GenQueryResultIterator iterator = irodsGenQueryExecutor.executeIRODSQueryAsIterator(
+							builder.exportIRODSQueryFromBuilder(getJargonProperties().getMaxFilesAndDirsQueryMax()),
+							zonePaths.getKey(), false);
+					try {
+						while (iterator.hasNext()) {
+							IRODSQueryResultRow row = iterator.next();
+							// parents and names are matched separately, so drop other combinations
+							String path = row.getColumn(0) + "/" + row.getColumn(1);
+							if (batch.contains(path)) {
+								addCurrentPermission(currentPermissions, path, row.getColumn(2), row.getColumn(3),
+										row.getColumn(4));
+							}
+						}
+					} finally {
+						iterator.close();
+					}
+				}
+			}
+		} catch (JargonQueryException e) {
+			log.error("query exception for  query", e);
+			throw new JargonException("error in query loading current permissions for bulk permissions", e);
+		} catch (GenQueryBuilderException e) {
+			log.error("query exception for  query", e);
+			throw new JargonException("error in query loading current permissions for bulk permissions", e);
+		}
+
+		return currentPermissions;
+	}
+
+	private static void addCurrentPermission(final Map<String, Map<String, FilePermissionEnum>> currentPermissions,
+			final String absolutePath, final String userName, final String userZone, final String accessType) {
+		Map<String, FilePermissionEnum> permissionsOfPath = currentPermissions.get(absolutePath);
+		if (permissionsOfPath == null) {
+			permissionsOfPath = new LinkedHashMap<String, FilePermissionEnum>();
+			currentPermissions.put(absolutePath, permissionsOfPath);
+		}
+		permissionsOfPath.put(userName + "#" + userZone,
+				FilePermissionEnum.valueOf(IRODSDataConversionUtil.getIntOrZeroFromIRODSValue(accessType)));
+	}
+
+	/**
+	 * Tell whether an entry would leave the current permissions of a path as
+	 * they are. An entry with a blank zone matches the user in any zone.
+	 *
+	 * @param bulkAccessControlEntry
+	 *            {@link BulkAccessControlEntry} to check
+	 * @param permissionsOfPath
+	 *            {@code Map} of {@code user#zone} to the current permission, may
+	 *            be {@code null} if the path has none
+	 * @return {@code boolean} that is {@code true} if nothing would change
+	 */
+	static boolean isAccessPermissionUnchanged(final BulkAccessControlEntry bulkAccessControlEntry,
+			final Map<String, FilePermissionEnum> permissionsOfPath) {
+
+		FilePermissionEnum currentPermission = null;
+		if (permissionsOfPath != null) {
+			for (Map.Entry<String, FilePermissionEnum> permission : permissionsOfPath.entrySet()) {
+				String userAndZone = permission.getKey();
+				int zoneIndex = userAndZone.lastIndexOf('#');
+				if (!userAndZone.substring(0, zoneIndex).equals(bulkAccessControlEntry.getUserName())) {
+					continue;
+				}
+
+				if (bulkAccessControlEntry.getUserZone().isEmpty()
+						|| userAndZone.substring(zoneIndex + 1).equals(bulkAccessControlEntry.getUserZone())) {
+					currentPermission = permission.getValue();
+					break;
+				}
+			}
+		}
+
+		if (bulkAccessControlEntry.getFilePermission() == FilePermissionEnum.NONE) {
+			return currentPermission == null;
+		}
+
+		return currentPermission == bulkAccessControlEntry.getFilePermission();
+	}
+
+	private static String accessPermissionValue(final FilePermissionEnum filePermission) {
+		if (filePermission == FilePermissionEnum.OWN) {
+			return ModAccessControlInp.OWN_PERMISSION;
+		} else if (filePermission == FilePermissionEnum.WRITE) {
+			return ModAccessControlInp.WRITE_PERMISSION;
+		} else if (filePermission == FilePermissionEnum.READ) {
+			return ModAccessControlInp.READ_PERMISSION;
+		} else {
+			return ModAccessControlInp.NULL_PERMISSION;
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -1490,6 +1888,8 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermission(collNeedsRecursive, zone,
 				effectiveAbsPath, userName, ModAccessControlInp.NULL_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		// removing access may hide paths from this account
+		getIRODSSession().evictCachedStateForPathAndChildren(getIRODSAccount(), effectiveAbsPath);
 
 	}
 
@@ -1528,6 +1928,8 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermissionInAdminMode(
 				collNeedsRecursive, zone, effectiveAbsPath, userName, ModAccessControlInp.NULL_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		// removing access may hide paths from this account
+		getIRODSSession().evictCachedStateForPathAndChildren(getIRODSAccount(), effectiveAbsPath);
 
 	}
 
@@ -0,0 +1,285 @@
+/**
+ *
+ */
+package org.irods.jargon.core.pub;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.irods.jargon.core.connection.AbstractIRODSMidLevelProtocol;
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.exception.JargonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A fixed set of worker threads, each holding one iRODS connection (as
+ * {@code IRODSSession} keeps connections per thread), that take work from a
+ * shared queue. This is shared by the clients that multiplex many callers over
+ * a few connections, such as {@link MultiplexedGenQueryClient} and
+ * {@link RuleBatchExecutor}.
+ * <p>
+ * Work is added with {@link #submit(PooledWork)}, and its future is completed
+ * by the worker that runs it. Work whose future is already done when a worker
+ * takes it, as when it timed out in the queue, is skipped. A worker keeps its
+ * connection after ordinary iRODS errors, and only renews it when it has been
+ * lost or the error came from the network.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+class ConnectionWorkerPool {
+
+	private static final Logger log = LoggerFactory.getLogger(ConnectionWorkerPool.class);
+
+	private final IRODSAccessObjectFactory irodsAccessObjectFactory;
+	private final IRODSAccount irodsAccount;
+	private final String shutdownMessage;
+	private final BlockingQueue<PooledWork<?>> pendingWork = new LinkedBlockingQueue<PooledWork<?>>();
+	private final List<Thread> workers = new ArrayList<Thread>();
+	private final AtomicBoolean shutdown = new AtomicBoolean(false);
+	private final AtomicLong submittedCount = new AtomicLong();
+	private final AtomicLong completedCount = new AtomicLong();
+	private final AtomicLong failedCount = new AtomicLong();
+
+	/**
+	 * Constructor, starts the worker threads. Connections are opened by each
+	 * worker when it runs its first work.
+	 *
+	 * @param irodsAccessObjectFactory
+	 *            {@link IRODSAccessObjectFactory} used to obtain connections
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for the work
+	 * @param connectionCount
+	 *            {@code int} with the number of connections (and worker
+	 *            threads), must be at least 1
+	 * @param threadNamePrefix
+	 *            {@code String} that prefixes the name of each worker thread
+	 * @param shutdownMessage
+	 *            {@code String} with the message of the exception for work
+	 *            that is not run because of a shutdown
+	 */
+	ConnectionWorkerPool(final IRODSAccessObjectFactory irodsAccessObjectFactory, final IRODSAccount irodsAccount,
+			final int connectionCount, final String threadNamePrefix, final String shutdownMessage) {
+
+		if (irodsAccessObjectFactory == null) {
+			throw new IllegalArgumentException("null irodsAccessObjectFactory");
+		}
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (connectionCount < 1) {
+			throw new IllegalArgumentException("connectionCount must be at least 1");
+		}
+
+		this.irodsAccessObjectFactory = irodsAccessObjectFactory;
+		this.irodsAccount = irodsAccount;
+		this.shutdownMessage = shutdownMessage;
+
+		log.info("starting {} connection workers for account:{}", connectionCount, irodsAccount);
+		for (int i = 0; i < connectionCount; i++) {
+			Thread worker = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					runWorker();
+				}
+			}, threadNamePrefix + i);
+			worker.setDaemon(true);
+			workers.add(worker);
+			worker.start();
+		}
+	}
+
+	/**
+	 * Queue work to run on the next idle connection
+	 *
+	 * @param work
+	 *            {@link PooledWork} to run
+	 * @return {@code CompletableFuture} of the work, completed exceptionally
+	 *         right away if the pool is shut down
+	 */
+	<T> CompletableFuture<T> submit(final PooledWork<T> work) {
+
+		if (work == null) {
+			throw new IllegalArgumentException("null work");
+		}
+
+		if (shutdown.get()) {
+			work.future.completeExceptionally(new JargonException(shutdownMessage));
+			return work.future;
+		}
+
+		submittedCount.incrementAndGet();
+		pendingWork.add(work);
+
+		/*
+		 * shutdown may have drained the queue between the check and the add, so
+		 * make sure this work is not left waiting
+		 */
+		if (shutdown.get() && pendingWork.remove(work)) {
+			work.future.completeExceptionally(new JargonException(shutdownMessage));
+		}
+
+		return work.future;
+	}
+
+	/**
+	 * Stop the workers and return their connections. Work that has not started
+	 * is completed exceptionally, work that is running is allowed to finish.
+	 *
+	 * @return {@code boolean} that is {@code true} if this call shut the pool
+	 *         down, {@code false} if it was already shut down
+	 */
+	boolean shutdown() {
+		if (!shutdown.compareAndSet(false, true)) {
+			return false;
+		}
+
+		log.info("shutting down connection workers");
+		for (Thread worker : workers) {
+			worker.interrupt();
+		}
+
+		PooledWork<?> work;
+		while ((work = pendingWork.poll()) != null) {
+			work.future.completeExceptionally(new JargonException(shutdownMessage));
+		}
+		return true;
+	}
+
+	int getQueueDepth() {
+		return pendingWork.size();
+	}
+
+	int getConnectionCount() {
+		return workers.size();
+	}
+
+	long getSubmittedCount() {
+		return submittedCount.get();
+	}
+
+	long getCompletedCount() {
+		return completedCount.get();
+	}
+
+	long getFailedCount() {
+		return failedCount.get();
+	}
+
+	boolean isShutdown() {
+		return shutdown.get();
+	}
+
+	/**
+	 * Worker loop, takes work from the queue and runs it on this thread's
+	 * connection, which is returned when the worker stops
+	 */
+	private void runWorker() {
+		try {
+			while (!shutdown.get()) {
+				PooledWork<?> work;
+				try {
+					work = pendingWork.poll(1, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					break;
+				}
+
+				if (work == null) {
+					continue;
+				}
+
+				if (work.future.isDone()) {
+					log.debug("work completed before it was run, skipping");
+					continue;
+				}
+
+				runWork(work);
+			}
+		} finally {
+			log.debug("connection worker stopping");
+			irodsAccessObjectFactory.closeSessionAndEatExceptions(irodsAccount);
+		}
+	}
+
+	private <T> void runWork(final PooledWork<T> work) {
+		try {
+			T result = work.run(irodsAccessObjectFactory, irodsAccount);
+			completedCount.incrementAndGet();
+			if (!work.future.complete(result)) {
+				log.warn("work finished after its future was completed, result is discarded");
+			}
+		} catch (Exception e) {
+			failedCount.incrementAndGet();
+			if (isConnectionLost(e)) {
+				log.warn("work failed and connection is lost, connection will be renewed", e);
+				irodsAccessObjectFactory.closeSessionAndEatExceptions(irodsAccount);
+			} else {
+				log.warn("work failed, connection is kept", e);
+			}
+			work.future.completeExceptionally(e);
+		}
+	}
+
+	/**
+	 * Decide if the connection of this worker should be renewed after an
+	 * error, which is when it is no longer connected or the error came from
+	 * the network. An error reported by iRODS leaves the connection usable.
+	 */
+	private boolean isConnectionLost(final Exception e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof IOException) {
+				return true;
+			}
+		}
+
+		IRODSSession irodsSession = irodsAccessObjectFactory.getIrodsSession();
+		if (irodsSession == null) {
+			return false;
+		}
+
+		Map<String, AbstractIRODSMidLevelProtocol> irodsProtocols = irodsSession.getIRODSCommandsMap();
+		if (irodsProtocols == null) {
+			return false;
+		}
+
+		AbstractIRODSMidLevelProtocol irodsProtocol = irodsProtocols.get(irodsAccount.toString());
+		return irodsProtocol != null && !irodsProtocol.isConnected();
+	}
+
+	/**
+	 * Work waiting for a connection, with the future for its caller
+	 *
+	 * @param <T>
+	 *            type of the result of the work
+	 */
+	abstract static class PooledWork<T> {
+		final CompletableFuture<T> future = new CompletableFuture<T>();
+
+		/**
+		 * Run the work on the connection of the calling worker thread
+		 *
+		 * @param irodsAccessObjectFactory
+		 *            {@link IRODSAccessObjectFactory} of the pool
+		 * @param irodsAccount
+		 *            {@link IRODSAccount} of the pool
+		 * @return the result that completes the future
+		 * @throws Exception
+		 *             completes the future exceptionally
+		 */
+		abstract T run(IRODSAccessObjectFactory irodsAccessObjectFactory, IRODSAccount irodsAccount)
+				throws Exception;
+	}
+
+}
@@ -2,6 +2,7 @@ package org.irods.jargon.core.pub;
 
 import java.io.File;
 import java.util.List;
+import java.util.Map;
 
 import org.irods.jargon.core.checksum.ChecksumValue;
 import org.irods.jargon.core.exception.DataNotFoundException;
@@ -1082,6 +1083,41 @@ public interface DataObjectAO extends FileCatalogObjectAO {
 	List<BulkAVUOperationResponse> deleteBulkAVUMetadataFromDataObject(String absolutePath, List<AvuData> avuData)
 			throws JargonException;
 
+	/**
+	 * Given a list of avu metadata, add all of them to each of the given data
+	 * objects. Each data object is resolved once, and the AVU requests are then
+	 * sent one after the other on the same connection. A response list is
+	 * returned for each data object, as in
+	 * {@code addBulkAVUMetadataToDataObject()}, so that a missing data object or
+	 * a duplicate AVU is reported rather than thrown.
+	 *
+	 * @param absolutePaths
+	 *            {@code List<String>} with the absolute paths to the data objects
+	 * @param avuData
+	 *            {@code List} of {@link AvuData} for each AVU to be added.
+	 * @return {@code Map} of absolute path to the {@link BulkAVUOperationResponse}
+	 *         list for that data object, in the order given
+	 * @throws JargonException
+	 */
+	Map<String, List<BulkAVUOperationResponse>> addBulkAVUMetadataToDataObjects(List<String> absolutePaths,
+			List<AvuData> avuData) throws JargonException;
+
+	/**
+	 * Given a list of avu metadata, delete all of them from each of the given
+	 * data objects. A response list is returned for each data object, as in
+	 * {@code deleteBulkAVUMetadataFromDataObject()}.
+	 *
+	 * @param absolutePaths
+	 *            {@code List<String>} with the absolute paths to the data objects
+	 * @param avuData
+	 *            {@code List} of {@link AvuData} for each AVU to be deleted.
+	 * @return {@code Map} of absolute path to the {@link BulkAVUOperationResponse}
+	 *         list for that data object, in the order given
+	 * @throws JargonException
+	 */
+	Map<String, List<BulkAVUOperationResponse>> deleteBulkAVUMetadataFromDataObjects(List<String> absolutePaths,
+			List<AvuData> avuData) throws JargonException;
+
 	/**
 	 * Clear all AVUs from the given data object by doing a bulk delete operation
 	 *
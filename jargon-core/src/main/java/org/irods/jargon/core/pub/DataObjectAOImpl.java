@@ -7,7 +7,9 @@ import java.io.InputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.irods.jargon.core.checksum.ChecksumValue;
 import org.irods.jargon.core.connection.ConnectionConstants;
@@ -15,6 +17,7 @@ import org.irods.jargon.core.connection.ConnectionProgressStatus;
 import org.irods.jargon.core.connection.ConnectionProgressStatusListener;
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.connection.ObjStatCache;
 import org.irods.jargon.core.exception.CatNoAccessException;
 import org.irods.jargon.core.exception.DataNotFoundException;
 import org.irods.jargon.core.exception.DuplicateDataException;
@@ -377,8 +380,12 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		TransferControlBlock effectiveTransferControlBlock = checkTransferControlBlockForOptionsAndSetDefaultsIfNotSpecified(
 				transferControlBlock);
 
-		putCommonProcessing(localFile, irodsFileDestination, ignoreChecks, effectiveTransferControlBlock,
-				transferStatusCallbackListener);
+		try {
+			putCommonProcessing(localFile, irodsFileDestination, ignoreChecks, effectiveTransferControlBlock,
+					transferStatusCallbackListener);
+		} finally {
+			evictPutTargetFromObjStatCache(localFile, irodsFileDestination);
+		}
 
 	}
 
@@ -423,7 +430,11 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		if (overwrite) {
 			effectiveTransferControlBlock.getTransferOptions().setForceOption(ForceOption.USE_FORCE);
 		}
-		putCommonProcessing(localFile, irodsFileDestination, false, effectiveTransferControlBlock, null);
+		try {
+			putCommonProcessing(localFile, irodsFileDestination, false, effectiveTransferControlBlock, null);
+		} finally {
+			evictPutTargetFromObjStatCache(localFile, irodsFileDestination);
+		}
 
 	}
 
@@ -469,10 +480,33 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 				transferControlBlock);
 
 		// no callback listener for client side operations, may add later
-		putCommonProcessing(localFile, irodsFileDestination, true, effectiveTransferControlBlock, null);
+		try {
+			putCommonProcessing(localFile, irodsFileDestination, true, effectiveTransferControlBlock, null);
+		} finally {
+			evictPutTargetFromObjStatCache(localFile, irodsFileDestination);
+		}
 
 	}
 
+	/**
+	 * A put may create or overwrite the target, which may be given as the data
+	 * object itself or as the parent collection, so evict both possibilities
+	 *
+	 * @param localFile
+	 *            {@code File} that was the source of the put
+	 * @param irodsFileDestination
+	 *            {@link IRODSFile} that was the target of the put
+	 * @throws JargonException
+	 */
+	private void evictPutTargetFromObjStatCache(final File localFile, final IRODSFile irodsFileDestination)
+			throws JargonException {
+		ObjStatCache objStatCache = getIRODSSession().getObjStatCache();
+		String targetPath = irodsFileDestination.getAbsolutePath();
+		objStatCache.evict(getIRODSAccount(), targetPath);
+		objStatCache.evict(getIRODSAccount(), targetPath + "/" + localFile.getName());
+		getIRODSSession().evictCachedQueryResultsForPath(targetPath);
+	}
+
 	/**
 	 * @param localFile
 	 * @param irodsFileDestination
@@ -1747,16 +1781,30 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 			throw new IllegalArgumentException("null or empty avuData");
 		}
 
+		MiscIRODSUtils.checkPathSizeForMax(absolutePath);
+
 		List<BulkAVUOperationResponse> responses = new ArrayList<BulkAVUOperationResponse>();
 
-		for (AvuData value : avuData) {
+		/*
+		 * Resolve the target once for all of the AVUs, rather than once per AVU
+		 */
+		String absPath;
+		try {
+			absPath = resolveDataObjectPathForAVUOperation(absolutePath);
+		} catch (FileNotFoundException fnf) {
+			log.error("data object not found when adding AVUs, catch and add to response data", fnf);
+			addMissingTargetResponses(responses, avuData, 0, fnf.getMessage());
+			return responses;
+		}
+
+		for (int i = 0; i < avuData.size(); i++) {
+			AvuData value = avuData.get(i);
 			try {
-				addAVUMetadata(absolutePath, value);
+				sendAddAVUMetadata(absPath, value);
 			} catch (DataNotFoundException dnf) {
 				log.error("dataNotFoundException when adding an AVU, catch and add to response data", dnf);
-				responses.add(BulkAVUOperationResponse.instance(ResultStatus.MISSING_METADATA_TARGET, value,
-						dnf.getMessage()));
-				continue;
+				addMissingTargetResponses(responses, avuData, i, dnf.getMessage());
+				break;
 			} catch (DuplicateDataException dde) {
 				log.error("DuplicateDataException when adding an AVU, catch and add to response data", dde);
 				responses.add(BulkAVUOperationResponse.instance(ResultStatus.DUPLICATE_AVU, value, dde.getMessage()));
@@ -1772,6 +1820,35 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		return responses;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.pub.DataObjectAO#addBulkAVUMetadataToDataObjects
+	 * (java.util.List, java.util.List)
+	 */
+	@Override
+	public Map<String, List<BulkAVUOperationResponse>> addBulkAVUMetadataToDataObjects(
+			final List<String> absolutePaths, final List<AvuData> avuData) throws JargonException {
+
+		log.info("addBulkAVUMetadataToDataObjects()");
+
+		if (absolutePaths == null) {
+			throw new IllegalArgumentException("null absolutePaths");
+		}
+
+		if (avuData == null || avuData.isEmpty()) {
+			throw new IllegalArgumentException("null or empty avuData");
+		}
+
+		Map<String, List<BulkAVUOperationResponse>> responses = new LinkedHashMap<String, List<BulkAVUOperationResponse>>();
+		for (String absolutePath : absolutePaths) {
+			responses.put(absolutePath, addBulkAVUMetadataToDataObject(absolutePath, avuData));
+		}
+
+		log.info("...complete for {} data objects", absolutePaths.size());
+		return responses;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -1785,21 +1862,35 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 
 		log.info("deleteBulkAVUMetadataFromDataObject()");
 
+		if (absolutePath == null || absolutePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty absolute path");
+		}
+
 		if (avuData == null || avuData.isEmpty()) {
 			throw new IllegalArgumentException("null or empty avuData");
 		}
 
+		MiscIRODSUtils.checkPathSizeForMax(absolutePath);
+
 		List<BulkAVUOperationResponse> responses = new ArrayList<BulkAVUOperationResponse>();
 
-		for (AvuData value : avuData) {
+		String absPath;
+		try {
+			absPath = resolveDataObjectPathForAVUOperation(absolutePath);
+		} catch (FileNotFoundException fnf) {
+			log.error("data object not found when deleting AVUs, catch and add to response data", fnf);
+			addMissingTargetResponses(responses, avuData, 0, fnf.getMessage());
+			return responses;
+		}
+
+		for (int i = 0; i < avuData.size(); i++) {
+			AvuData value = avuData.get(i);
 			try {
-				deleteAVUMetadata(absolutePath, value);
+				sendDeleteAVUMetadata(absPath, value);
 			} catch (DataNotFoundException dnf) {
-				log.error("dataNotFoundException when deleti an AVU, catch and add to response data", dnf);
-				responses.add(BulkAVUOperationResponse.instance(ResultStatus.MISSING_METADATA_TARGET, value,
-						dnf.getMessage()));
-				continue;
-
+				log.error("dataNotFoundException when deleting an AVU, catch and add to response data", dnf);
+				addMissingTargetResponses(responses, avuData, i, dnf.getMessage());
+				break;
 			}
 
 			log.info("treat as success...", value);
@@ -1813,37 +1904,48 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 	/*
 	 * (non-Javadoc)
 	 * 
-	 * @see org.irods.jargon.core.pub.DataObjectAO#addAVUMetadata(java.lang.String,
-	 * org.irods.jargon.core.pub.domain.AvuData)
+	 * @see
+	 * org.irods.jargon.core.pub.DataObjectAO#deleteBulkAVUMetadataFromDataObjects
+	 * (java.util.List, java.util.List)
 	 */
 	@Override
-	public void addAVUMetadata(final String absolutePath, final AvuData avuData)
-			throws OperationNotSupportedForCollectionTypeException, DataNotFoundException, DuplicateDataException,
-			JargonException {
+	public Map<String, List<BulkAVUOperationResponse>> deleteBulkAVUMetadataFromDataObjects(
+			final List<String> absolutePaths, final List<AvuData> avuData) throws JargonException {
 
-		if (absolutePath == null || absolutePath.isEmpty()) {
-			throw new IllegalArgumentException(NULL_OR_EMPTY_ABSOLUTE_PATH);
+		log.info("deleteBulkAVUMetadataFromDataObjects()");
+
+		if (absolutePaths == null) {
+			throw new IllegalArgumentException("null absolutePaths");
 		}
 
-		if (avuData == null) {
-			throw new IllegalArgumentException("null AVU data");
+		if (avuData == null || avuData.isEmpty()) {
+			throw new IllegalArgumentException("null or empty avuData");
 		}
 
-		MiscIRODSUtils.checkPathSizeForMax(absolutePath);
+		Map<String, List<BulkAVUOperationResponse>> responses = new LinkedHashMap<String, List<BulkAVUOperationResponse>>();
+		for (String absolutePath : absolutePaths) {
+			responses.put(absolutePath, deleteBulkAVUMetadataFromDataObject(absolutePath, avuData));
+		}
 
-		log.info("adding avu metadata to data object: {}", avuData);
-		log.info("absolute path: {}", absolutePath);
+		log.info("...complete for {} data objects", absolutePaths.size());
+		return responses;
+	}
 
-		/*
-		 * Handle soft links by munging the path
-		 */
+	/**
+	 * Get the path to send AVU operations to, following soft links, and
+	 * checking that the collection type supports AVUs
+	 *
+	 * @param absolutePath
+	 *            {@code String} with the absolute path to the data object
+	 * @return {@code String} with the resolved absolute path
+	 * @throws FileNotFoundException
+	 * @throws OperationNotSupportedForCollectionTypeException
+	 * @throws JargonException
+	 */
+	private String resolveDataObjectPathForAVUOperation(final String absolutePath)
+			throws FileNotFoundException, OperationNotSupportedForCollectionTypeException, JargonException {
 
-		ObjStat objStat;
-		try {
-			objStat = this.retrieveObjStat(absolutePath);
-		} catch (Exception e) {
-			throw new DataNotFoundException(e);
-		}
+		ObjStat objStat = this.retrieveObjStat(absolutePath);
 
 		if (objStat.getSpecColType() == SpecColType.MOUNTED_COLL) {
 			log.info("objStat indicates collection type that does not support this operation:{}", objStat);
@@ -1851,7 +1953,34 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 					"The special collection type does not support this operation");
 		}
 
-		String absPath = resolveAbsolutePathGivenObjStat(objStat);
+		return resolveAbsolutePathGivenObjStat(objStat);
+	}
+
+	/**
+	 * Mark the AVUs from the given index on as failed because the target is
+	 * missing. No further requests are sent once the target is found missing.
+	 */
+	private void addMissingTargetResponses(final List<BulkAVUOperationResponse> responses,
+			final List<AvuData> avuData, final int fromIndex, final String message) {
+		for (int i = fromIndex; i < avuData.size(); i++) {
+			responses.add(BulkAVUOperationResponse.instance(ResultStatus.MISSING_METADATA_TARGET, avuData.get(i),
+					message == null ? "" : message));
+		}
+	}
+
+	/**
+	 * Send an add AVU request for a path that has already been resolved
+	 *
+	 * @param absPath
+	 *            {@code String} with the resolved path to the data object
+	 * @param avuData
+	 *            {@link AvuData} to add
+	 * @throws DataNotFoundException
+	 * @throws DuplicateDataException
+	 * @throws JargonException
+	 */
+	private void sendAddAVUMetadata(final String absPath, final AvuData avuData)
+			throws DataNotFoundException, DuplicateDataException, JargonException {
 
 		final ModAvuMetadataInp modifyAvuMetadataInp = ModAvuMetadataInp.instanceForAddDataObjectMetadata(absPath,
 				avuData);
@@ -1875,6 +2004,84 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		}
 
 		log.debug("metadata added");
+	}
+
+	/**
+	 * Send a delete AVU request for a path that has already been resolved
+	 *
+	 * @param absPath
+	 *            {@code String} with the resolved path to the data object
+	 * @param avuData
+	 *            {@link AvuData} to delete
+	 * @throws DataNotFoundException
+	 * @throws JargonException
+	 */
+	private void sendDeleteAVUMetadata(final String absPath, final AvuData avuData)
+			throws DataNotFoundException, JargonException {
+
+		final ModAvuMetadataInp modifyAvuMetadataInp = ModAvuMetadataInp.instanceForDeleteDataObjectMetadata(absPath,
+				avuData);
+
+		log.debug("sending avu request");
+
+		try {
+			getIRODSProtocol().irodsFunction(modifyAvuMetadataInp);
+		} catch (JargonException je) {
+
+			if (je.getMessage().indexOf("-817000") > -1) {
+				throw new DataNotFoundException("Target data object was not found, could not remove AVU");
+			}
+
+			log.error("jargon exception removing AVU metadata", je);
+			throw je;
+		}
+
+		log.debug("metadata removed");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.pub.DataObjectAO#addAVUMetadata(java.lang.String,
+	 * org.irods.jargon.core.pub.domain.AvuData)
+	 */
+	@Override
+	public void addAVUMetadata(final String absolutePath, final AvuData avuData)
+			throws OperationNotSupportedForCollectionTypeException, DataNotFoundException, DuplicateDataException,
+			JargonException {
+
+		if (absolutePath == null || absolutePath.isEmpty()) {
+			throw new IllegalArgumentException(NULL_OR_EMPTY_ABSOLUTE_PATH);
+		}
+
+		if (avuData == null) {
+			throw new IllegalArgumentException("null AVU data");
+		}
+
+		MiscIRODSUtils.checkPathSizeForMax(absolutePath);
+
+		log.info("adding avu metadata to data object: {}", avuData);
+		log.info("absolute path: {}", absolutePath);
+
+		/*
+		 * Handle soft links by munging the path
+		 */
+
+		ObjStat objStat;
+		try {
+			objStat = this.retrieveObjStat(absolutePath);
+		} catch (Exception e) {
+			throw new DataNotFoundException(e);
+		}
+
+		if (objStat.getSpecColType() == SpecColType.MOUNTED_COLL) {
+			log.info("objStat indicates collection type that does not support this operation:{}", objStat);
+			throw new OperationNotSupportedForCollectionTypeException(
+					"The special collection type does not support this operation");
+		}
+
+		String absPath = resolveAbsolutePathGivenObjStat(objStat);
+		sendAddAVUMetadata(absPath, avuData);
 
 	}
 
@@ -2099,25 +2306,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		}
 
 		String absPath = resolveAbsolutePathGivenObjStat(objStat);
-
-		final ModAvuMetadataInp modifyAvuMetadataInp = ModAvuMetadataInp.instanceForDeleteDataObjectMetadata(absPath,
-				avuData);
-
-		log.debug("sending avu request");
-
-		try {
-			getIRODSProtocol().irodsFunction(modifyAvuMetadataInp);
-		} catch (JargonException je) {
-
-			if (je.getMessage().indexOf("-817000") > -1) {
-				throw new DataNotFoundException("Target data object was not found, could not remove AVU");
-			}
-
-			log.error("jargon exception removing AVU metadata", je);
-			throw je;
-		}
-
-		log.debug("metadata removed");
+		sendDeleteAVUMetadata(absPath, avuData);
 	}
 
 	/*
@@ -2484,6 +2673,8 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		} catch (JargonException je) {
 			log.error("error copying irods file", je);
 			throw je;
+		} finally {
+			getIRODSSession().evictCachedStateForPath(getIRODSAccount(), myTargetFile.getAbsolutePath());
 		}
 		log.info("copy complete");
 
@@ -3182,6 +3373,8 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermission(false, zone, absPath,
 				userName, ModAccessControlInp.NULL_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		// removing access may hide the data object from this account
+		getIRODSSession().evictCachedStateForPath(getIRODSAccount(), absPath);
 	}
 
 	/*
@@ -3222,6 +3415,8 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermissionInAdminMode(false, zone,
 				absPath, userName, ModAccessControlInp.NULL_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		// removing access may hide the data object from this account
+		getIRODSSession().evictCachedStateForPath(getIRODSAccount(), absPath);
 	}
 
 	/*
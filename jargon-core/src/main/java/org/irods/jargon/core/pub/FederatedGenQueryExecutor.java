@@ -0,0 +1,393 @@
+/**
+ *
+ */
+package org.irods.jargon.core.pub;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.query.AbstractIRODSGenQuery;
+import org.irods.jargon.core.query.GenQueryResultIterator;
+import org.irods.jargon.core.query.IRODSQueryResultRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the same GenQuery against a set of federated zones in parallel and
+ * merges the results, so that a cross-zone search takes about as long as the
+ * slowest zone rather than the sum of all zones.
+ * <p>
+ * Each zone is queried on a thread of an executor that is kept for the life of
+ * this instance, or that is supplied by the caller. As {@code IRODSSession}
+ * holds connections per thread, each zone query uses its own connection from
+ * the protocol manager, which is returned when that zone query completes. The
+ * calling thread's connection is only used to list the zones.
+ * <p>
+ * Each zone has its own timeout, counted from the start of its query, so a
+ * slow zone does not use up the time of the others. Zones that fail, or that
+ * do not answer in time, are reported in the {@link FederatedQueryResult}
+ * along with the rows from the zones that did answer.
+ * <p>
+ * Call {@link #shutdown()} when done to release the threads of this instance.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class FederatedGenQueryExecutor {
+
+	private static final Logger log = LoggerFactory.getLogger(FederatedGenQueryExecutor.class);
+
+	private final IRODSAccessObjectFactory irodsAccessObjectFactory;
+	private final IRODSAccount irodsAccount;
+	private final ExecutorService executorService;
+	private final boolean ownsExecutorService;
+	private final ScheduledThreadPoolExecutor timeoutScheduler;
+
+	/**
+	 * Constructor, zone queries run on a thread pool kept by this instance,
+	 * whose idle threads are let go after a minute
+	 *
+	 * @param irodsAccessObjectFactory
+	 *            {@link IRODSAccessObjectFactory} used to obtain connections
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for the query, in the local zone
+	 */
+	public FederatedGenQueryExecutor(final IRODSAccessObjectFactory irodsAccessObjectFactory,
+			final IRODSAccount irodsAccount) {
+		this(irodsAccessObjectFactory, irodsAccount, null);
+	}
+
+	/**
+	 * Constructor, zone queries run on the given executor. The executor is
+	 * not shut down by {@link #shutdown()}.
+	 *
+	 * @param irodsAccessObjectFactory
+	 *            {@link IRODSAccessObjectFactory} used to obtain connections
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for the query, in the local zone
+	 * @param executorService
+	 *            {@code ExecutorService} that runs the zone queries, or
+	 *            {@code null} to use a thread pool kept by this instance. If
+	 *            it has fewer threads than there are zones, zones wait for a
+	 *            thread, and their timeout starts once they run.
+	 */
+	public FederatedGenQueryExecutor(final IRODSAccessObjectFactory irodsAccessObjectFactory,
+			final IRODSAccount irodsAccount, final ExecutorService executorService) {
+
+		if (irodsAccessObjectFactory == null) {
+			throw new IllegalArgumentException("null irodsAccessObjectFactory");
+		}
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		this.irodsAccessObjectFactory = irodsAccessObjectFactory;
+		this.irodsAccount = irodsAccount;
+
+		if (executorService == null) {
+			this.executorService = Executors.newCachedThreadPool(new ThreadFactory() {
+				@Override
+				public Thread newThread(final Runnable runnable) {
+					Thread thread = new Thread(runnable, "federated-query");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+			ownsExecutorService = true;
+		} else {
+			this.executorService = executorService;
+			ownsExecutorService = false;
+		}
+
+		timeoutScheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+			@Override
+			public Thread newThread(final Runnable runnable) {
+				Thread thread = new Thread(runnable, "federated-query-timeout");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		timeoutScheduler.setKeepAliveTime(60, TimeUnit.SECONDS);
+		timeoutScheduler.allowCoreThreadTimeOut(true);
+		timeoutScheduler.setRemoveOnCancelPolicy(true);
+	}
+
+	/**
+	 * Release the threads kept by this instance. A supplied executor is left
+	 * running. Queries in progress are interrupted.
+	 */
+	public void shutdown() {
+		log.info("shutdown()");
+		if (ownsExecutorService) {
+			executorService.shutdownNow();
+		}
+		timeoutScheduler.shutdownNow();
+	}
+
+	/**
+	 * Run the query in every zone known to the catalog, as listed by
+	 * {@link ZoneAO#listZoneNames()}
+	 *
+	 * @param irodsQuery
+	 *            {@link AbstractIRODSGenQuery} to run in each zone, typically
+	 *            an {@code IRODSGenQueryFromBuilder}
+	 * @param perZoneTimeoutMillis
+	 *            {@code long} with the time each zone has to answer, counted
+	 *            from the start of its query, or 0 to wait without limit
+	 * @param mergeOrder
+	 *            {@code Comparator} for {@link IRODSQueryResultRow} that matches
+	 *            the order-by of the query, so that the zone results may be
+	 *            merged in order. May be {@code null}, in which case zone results
+	 *            are appended in zone order.
+	 * @return {@link FederatedQueryResult}
+	 * @throws JargonException
+	 */
+	public FederatedQueryResult executeInAllZones(final AbstractIRODSGenQuery irodsQuery,
+			final long perZoneTimeoutMillis, final Comparator<IRODSQueryResultRow> mergeOrder)
+			throws JargonException {
+
+		log.info("executeInAllZones()");
+		List<String> zoneNames = irodsAccessObjectFactory.getZoneAO(irodsAccount).listZoneNames();
+		return executeInZones(irodsQuery, zoneNames, perZoneTimeoutMillis, mergeOrder);
+	}
+
+	/**
+	 * Run the query in each of the given zones
+	 *
+	 * @param irodsQuery
+	 *            {@link AbstractIRODSGenQuery} to run in each zone, typically
+	 *            an {@code IRODSGenQueryFromBuilder}
+	 * @param zoneNames
+	 *            {@code List<String>} with the zones to query
+	 * @param perZoneTimeoutMillis
+	 *            {@code long} with the time each zone has to answer, counted
+	 *            from the start of its query, or 0 to wait without limit
+	 * @param mergeOrder
+	 *            {@code Comparator} for {@link IRODSQueryResultRow} that matches
+	 *            the order-by of the query, so that the zone results may be
+	 *            merged in order. May be {@code null}, in which case zone results
+	 *            are appended in zone order.
+	 * @return {@link FederatedQueryResult}
+	 * @throws JargonException
+	 */
+	public FederatedQueryResult executeInZones(final AbstractIRODSGenQuery irodsQuery, final List<String> zoneNames,
+			final long perZoneTimeoutMillis, final Comparator<IRODSQueryResultRow> mergeOrder)
+			throws JargonException {
+
+		log.info("executeInZones()");
+
+		if (irodsQuery == null) {
+			throw new IllegalArgumentException("null irodsQuery");
+		}
+
+		if (zoneNames == null) {
+			throw new IllegalArgumentException("null zoneNames");
+		}
+
+		if (perZoneTimeoutMillis < 0) {
+			throw new IllegalArgumentException("perZoneTimeoutMillis < 0");
+		}
+
+		log.info("query:{}", irodsQuery);
+		log.info("zones:{}", zoneNames);
+
+		Map<String, List<IRODSQueryResultRow>> resultsByZone = new LinkedHashMap<String, List<IRODSQueryResultRow>>();
+		Map<String, Exception> failedZones = new LinkedHashMap<String, Exception>();
+		List<String> timedOutZones = new ArrayList<String>();
+
+		if (zoneNames.isEmpty()) {
+			return new FederatedQueryResult(new ArrayList<IRODSQueryResultRow>(), resultsByZone, failedZones,
+					timedOutZones);
+		}
+
+		Map<String, CompletableFuture<List<IRODSQueryResultRow>>> zoneFutures = new LinkedHashMap<String, CompletableFuture<List<IRODSQueryResultRow>>>();
+		Map<String, Future<?>> zoneTasks = new LinkedHashMap<String, Future<?>>();
+		try {
+			for (final String zoneName : zoneNames) {
+				final CompletableFuture<List<IRODSQueryResultRow>> zoneFuture = new CompletableFuture<List<IRODSQueryResultRow>>();
+				zoneFutures.put(zoneName, zoneFuture);
+				zoneTasks.put(zoneName, executorService.submit(new Runnable() {
+					@Override
+					public void run() {
+						runOneZone(irodsQuery, zoneName, zoneFuture, perZoneTimeoutMillis);
+					}
+				}));
+			}
+		} catch (RejectedExecutionException e) {
+			for (Future<?> zoneTask : zoneTasks.values()) {
+				zoneTask.cancel(true);
+			}
+			throw new JargonException("federated query executor is shut down", e);
+		}
+
+		for (Map.Entry<String, CompletableFuture<List<IRODSQueryResultRow>>> entry : zoneFutures.entrySet()) {
+			try {
+				resultsByZone.put(entry.getKey(), entry.getValue().get());
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof TimeoutException) {
+					log.warn("zone:{} did not answer in time", entry.getKey());
+					zoneTasks.get(entry.getKey()).cancel(true);
+					timedOutZones.add(entry.getKey());
+				} else {
+					log.warn("zone:{} failed", entry.getKey(), e.getCause());
+					failedZones.put(entry.getKey(),
+							e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+				}
+			} catch (InterruptedException e) {
+				for (Future<?> zoneTask : zoneTasks.values()) {
+					zoneTask.cancel(true);
+				}
+				Thread.currentThread().interrupt();
+				throw new JargonException("interrupted waiting for federated query", e);
+			}
+		}
+
+		FederatedQueryResult federatedQueryResult = new FederatedQueryResult(
+				mergeResults(resultsByZone, mergeOrder), resultsByZone, failedZones, timedOutZones);
+		log.info("federatedQueryResult:{}", federatedQueryResult);
+		return federatedQueryResult;
+	}
+
+	/**
+	 * Run the query in one zone on the current thread, completing the zone
+	 * future with the rows, the error, or a {@code TimeoutException} if the
+	 * zone does not answer in time
+	 */
+	private void runOneZone(final AbstractIRODSGenQuery irodsQuery, final String zoneName,
+			final CompletableFuture<List<IRODSQueryResultRow>> zoneFuture, final long timeoutMillis) {
+
+		ScheduledFuture<?> timeout = null;
+		try {
+			if (timeoutMillis > 0) {
+				timeout = timeoutScheduler.schedule(new Runnable() {
+					@Override
+					public void run() {
+						zoneFuture.completeExceptionally(
+								new TimeoutException("zone did not answer within " + timeoutMillis + " ms"));
+					}
+				}, timeoutMillis, TimeUnit.MILLISECONDS);
+			}
+
+			zoneFuture.complete(queryOneZone(irodsQuery, zoneName));
+		} catch (Exception e) {
+			zoneFuture.completeExceptionally(e);
+		} finally {
+			if (timeout != null) {
+				timeout.cancel(false);
+			}
+
+			// the caller waits on the future, so never leave it open
+			if (!zoneFuture.isDone()) {
+				zoneFuture.completeExceptionally(new JargonException("zone query ended without a result"));
+			}
+		}
+	}
+
+	/**
+	 * Run the query in one zone, reading all pages, on the current thread. The
+	 * connection for this thread is returned when done.
+	 */
+	private List<IRODSQueryResultRow> queryOneZone(final AbstractIRODSGenQuery irodsQuery, final String zoneName)
+			throws Exception {
+		log.info("querying zone:{}", zoneName);
+		List<IRODSQueryResultRow> rows = new ArrayList<IRODSQueryResultRow>();
+		try {
+			GenQueryResultIterator iterator = irodsAccessObjectFactory.getIRODSGenQueryExecutor(irodsAccount)
+					.executeIRODSQueryAsIterator(irodsQuery, zoneName, true);
+			try {
+				while (iterator.hasNext()) {
+					rows.add(iterator.next());
+				}
+			} finally {
+				iterator.close();
+			}
+			log.info("zone:{} returned {} rows", zoneName, rows.size());
+			return rows;
+		} finally {
+			irodsAccessObjectFactory.closeSessionAndEatExceptions(irodsAccount);
+		}
+	}
+
+	/**
+	 * Merge the zone results. Each zone list is already in order, so if an
+	 * order is given this is a k-way merge.
+	 */
+	static List<IRODSQueryResultRow> mergeResults(final Map<String, List<IRODSQueryResultRow>> resultsByZone,
+			final Comparator<IRODSQueryResultRow> mergeOrder) {
+
+		int total = 0;
+		for (List<IRODSQueryResultRow> zoneRows : resultsByZone.values()) {
+			total += zoneRows.size();
+		}
+
+		List<IRODSQueryResultRow> merged = new ArrayList<IRODSQueryResultRow>(total);
+
+		if (mergeOrder == null) {
+			for (List<IRODSQueryResultRow> zoneRows : resultsByZone.values()) {
+				merged.addAll(zoneRows);
+			}
+			return merged;
+		}
+
+		PriorityQueue<ZoneCursor> cursors = new PriorityQueue<ZoneCursor>(Math.max(1, resultsByZone.size()),
+				new Comparator<ZoneCursor>() {
+					@Override
+					public int compare(final ZoneCursor o1, final ZoneCursor o2) {
+						return mergeOrder.compare(o1.current(), o2.current());
+					}
+				});
+
+		for (List<IRODSQueryResultRow> zoneRows : resultsByZone.values()) {
+			if (!zoneRows.isEmpty()) {
+				cursors.add(new ZoneCursor(zoneRows));
+			}
+		}
+
+		while (!cursors.isEmpty()) {
+			ZoneCursor cursor = cursors.poll();
+			merged.add(cursor.current());
+			if (cursor.advance()) {
+				cursors.add(cursor);
+			}
+		}
+
+		return merged;
+	}
+
+	private static class ZoneCursor {
+		private final List<IRODSQueryResultRow> rows;
+		private int index = 0;
+
+		ZoneCursor(final List<IRODSQueryResultRow> rows) {
+			this.rows = rows;
+		}
+
+		IRODSQueryResultRow current() {
+			return rows.get(index);
+		}
+
+		boolean advance() {
+			index++;
+			return index < rows.size();
+		}
+	}
+
+}
@@ -0,0 +1,123 @@
+/**
+ *
+ */
+package org.irods.jargon.core.pub;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.irods.jargon.core.query.IRODSQueryResultRow;
+
+/**
+ * Results of a query that was run against a set of federated zones by the
+ * {@link FederatedGenQueryExecutor}. Holds the merged result rows, as well as
+ * the rows from each zone that answered, and the zones that failed or did not
+ * answer in time. A query with missing zones still returns the rows that were
+ * obtained, so check {@code isComplete()} before treating the results as the
+ * full answer.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class FederatedQueryResult {
+
+	private final List<IRODSQueryResultRow> results;
+	private final Map<String, List<IRODSQueryResultRow>> resultsByZone;
+	private final Map<String, Exception> failedZones;
+	private final List<String> timedOutZones;
+
+	/**
+	 * Constructor
+	 *
+	 * @param results
+	 *            {@code List} of {@link IRODSQueryResultRow} merged from all
+	 *            zones that answered
+	 * @param resultsByZone
+	 *            {@code Map} of zone name to the rows from that zone
+	 * @param failedZones
+	 *            {@code Map} of zone name to the error returned by that zone
+	 * @param timedOutZones
+	 *            {@code List} of zone names that did not answer in time
+	 */
+	public FederatedQueryResult(final List<IRODSQueryResultRow> results,
+			final Map<String, List<IRODSQueryResultRow>> resultsByZone, final Map<String, Exception> failedZones,
+			final List<String> timedOutZones) {
+
+		if (results == null) {
+			throw new IllegalArgumentException("null results");
+		}
+
+		if (resultsByZone == null) {
+			throw new IllegalArgumentException("null resultsByZone");
+		}
+
+		if (failedZones == null) {
+			throw new IllegalArgumentException("null failedZones");
+		}
+
+		if (timedOutZones == null) {
+			throw new IllegalArgumentException("null timedOutZones");
+		}
+
+		this.results = Collections.unmodifiableList(new ArrayList<IRODSQueryResultRow>(results));
+		this.resultsByZone = Collections
+				.unmodifiableMap(new LinkedHashMap<String, List<IRODSQueryResultRow>>(resultsByZone));
+		this.failedZones = Collections.unmodifiableMap(new LinkedHashMap<String, Exception>(failedZones));
+		this.timedOutZones = Collections.unmodifiableList(new ArrayList<String>(timedOutZones));
+	}
+
+	/**
+	 * @return {@code boolean} of {@code true} if every zone answered without
+	 *         error
+	 */
+	public boolean isComplete() {
+		return failedZones.isEmpty() && timedOutZones.isEmpty();
+	}
+
+	/**
+	 * @return the merged results from all zones that answered
+	 */
+	public List<IRODSQueryResultRow> getResults() {
+		return results;
+	}
+
+	/**
+	 * @return the results from each zone that answered, keyed by zone name
+	 */
+	public Map<String, List<IRODSQueryResultRow>> getResultsByZone() {
+		return resultsByZone;
+	}
+
+	/**
+	 * @return the error from each zone that failed, keyed by zone name
+	 */
+	public Map<String, Exception> getFailedZones() {
+		return failedZones;
+	}
+
+	/**
+	 * @return the names of the zones that did not answer in time
+	 */
+	public List<String> getTimedOutZones() {
+		return timedOutZones;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sBuilder = new StringBuilder();
+		sBuilder.append("FederatedQueryResult");
+		sBuilder.append("\n\tresults size:");
+		sBuilder.append(results.size());
+		sBuilder.append("\n\tzones answered:");
+		sBuilder.append(resultsByZone.keySet());
+		sBuilder.append("\n\tfailedZones:");
+		sBuilder.append(failedZones.keySet());
+		sBuilder.append("\n\ttimedOutZones:");
+		sBuilder.append(timedOutZones);
+		return sBuilder.toString();
+	}
+
+}
@@ -352,6 +352,10 @@ public interface IRODSFileSystemAO extends IRODSAccessObject {
 	/**
 	 * Handy method to return the
 	 * {@code ObjStat} that represents the given iRODS file path
+	 * <p>
+	 * If the {@code use.objstat.cache} jargon property is set, an unexpired
+	 * value in the {@code ObjStatCache} held by the {@code IRODSSession} will
+	 * be returned without calling iRODS.
 	 *
 	 * @param irodsAbsolutePath
 	 *            {@code String} with the iRODS file absolute path
@@ -362,6 +366,61 @@ public interface IRODSFileSystemAO extends IRODSAccessObject {
 	ObjStat getObjStat(String irodsAbsolutePath) throws FileNotFoundException,
 			JargonException;
 
+	/**
+	 * Return the {@code ObjStat} for the given iRODS file path, always asking
+	 * iRODS and ignoring any value in the {@code ObjStatCache}. If the cache
+	 * is in use, the fresh value replaces the cached entry.
+	 *
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the iRODS file absolute path
+	 * @return {@link ObjStat}, note that a {@code FileNotFoundException}
+	 *         will result if the file is not in iRODS
+	 * @throws JargonException
+	 */
+	ObjStat getObjStatBypassingCache(String irodsAbsolutePath)
+			throws FileNotFoundException, JargonException;
+
+	/**
+	 * Return the {@code ObjStat} for the given iRODS file path for use in the
+	 * attribute methods of {@code IRODSFile}, such as {@code isDirectory()}
+	 * and {@code length()}. Unlike {@link #getObjStat(String)}, a cached
+	 * value pre-filled from a listing may be returned. Such a value has the
+	 * object type, size, owner, and create and modify times, but no checksum,
+	 * object path, collection path or replica number.
+	 *
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the iRODS file absolute path
+	 * @return {@link ObjStat}, note that a {@code FileNotFoundException}
+	 *         will result if the file is not in iRODS
+	 * @throws JargonException
+	 */
+	ObjStat getObjStatForFileAttributes(String irodsAbsolutePath)
+			throws FileNotFoundException, JargonException;
+
+	/**
+	 * Remove any cached {@code ObjStat} for the given path, and for any paths
+	 * underneath it, so that the next attribute call on an {@code IRODSFile}
+	 * asks iRODS. Cached query results that refer to the path, its parents or
+	 * children, such as a listing of the parent collection, are removed as
+	 * well.
+	 *
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the iRODS file absolute path
+	 */
+	void evictObjStatFromCache(String irodsAbsolutePath);
+
+	/**
+	 * Remove any cached {@code ObjStat} for the given path, which is known to
+	 * be a data object, along with cached query results that refer to the
+	 * path or its parents. This is cheaper than
+	 * {@link #evictObjStatFromCache(String)}, as there are no children to look
+	 * for.
+	 *
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the iRODS data object absolute path
+	 */
+	void evictDataObjectFromCache(String irodsAbsolutePath);
+
 	void fileClose(int fileDescriptor, boolean putOpr) throws JargonException;
 
 }
\ No newline at end of file
@@ -28,6 +28,7 @@ import org.irods.jargon.core.packinstr.OpenedDataObjInp;
 import org.irods.jargon.core.packinstr.Tag;
 import org.irods.jargon.core.protovalues.FilePermissionEnum;
 import org.irods.jargon.core.pub.domain.ObjStat;
+import org.irods.jargon.core.pub.domain.ObjStat.SpecColType;
 import org.irods.jargon.core.pub.domain.Resource;
 import org.irods.jargon.core.pub.io.IRODSFile;
 import org.irods.jargon.core.pub.io.IRODSFileSystemAOHelper;
@@ -426,8 +427,127 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 	@Override
 	public ObjStat getObjStat(final String irodsAbsolutePath) throws FileNotFoundException, JargonException {
 		log.info("getObjStat(final String irodsAbsolutePath)");
-		return collectionAndDataObjectListAndSearchAO
+
+		if (getIRODSSession().isUsingObjStatCache()) {
+			ObjStat objStat = getIRODSSession().getObjStatCache().retrieveObjStat(getIRODSAccount(),
+					irodsAbsolutePath);
+			if (objStat != null) {
+				log.debug("objStat from cache:{}", objStat);
+				return objStat;
+			}
+		}
+
+		return getObjStatBypassingCache(irodsAbsolutePath);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.irods.jargon.core.pub.IRODSFileSystemAO#getObjStatForFileAttributes(
+	 * java.lang.String)
+	 */
+	@Override
+	public ObjStat getObjStatForFileAttributes(final String irodsAbsolutePath)
+			throws FileNotFoundException, JargonException {
+		log.info("getObjStatForFileAttributes(final String irodsAbsolutePath)");
+
+		if (getIRODSSession().isUsingObjStatCache()) {
+			ObjStat objStat = getIRODSSession().getObjStatCache().retrieveObjStat(getIRODSAccount(),
+					irodsAbsolutePath, true);
+			if (objStat != null) {
+				log.debug("objStat from cache:{}", objStat);
+				return objStat;
+			}
+		}
+
+		return getObjStatBypassingCache(irodsAbsolutePath);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.irods.jargon.core.pub.IRODSFileSystemAO#getObjStatBypassingCache(java.
+	 * lang.String)
+	 */
+	@Override
+	public ObjStat getObjStatBypassingCache(final String irodsAbsolutePath)
+			throws FileNotFoundException, JargonException {
+		log.info("getObjStatBypassingCache(final String irodsAbsolutePath)");
+		ObjStat objStat = collectionAndDataObjectListAndSearchAO
 				.retrieveObjectStatForPathWithHeuristicPathGuessing(irodsAbsolutePath);
+
+		if (getIRODSSession().isUsingObjStatCache()) {
+			getIRODSSession().getObjStatCache().cacheObjStat(getIRODSAccount(), objStat);
+		}
+
+		return objStat;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.irods.jargon.core.pub.IRODSFileSystemAO#evictObjStatFromCache(java.lang
+	 * .String)
+	 */
+	@Override
+	public void evictObjStatFromCache(final String irodsAbsolutePath) {
+		log.info("evictObjStatFromCache()");
+
+		if (irodsAbsolutePath == null || irodsAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty irodsAbsolutePath");
+		}
+
+		getIRODSSession().evictCachedStateForPathAndChildren(getIRODSAccount(), irodsAbsolutePath);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.irods.jargon.core.pub.IRODSFileSystemAO#evictDataObjectFromCache(java.
+	 * lang.String)
+	 */
+	@Override
+	public void evictDataObjectFromCache(final String irodsAbsolutePath) {
+		log.info("evictDataObjectFromCache()");
+
+		if (irodsAbsolutePath == null || irodsAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty irodsAbsolutePath");
+		}
+
+		getIRODSSession().evictCachedStateForPath(getIRODSAccount(), irodsAbsolutePath);
+	}
+
+	/**
+	 * Pre-fill the {@code ObjStatCache} with the data already obtained in a
+	 * listing, so that attribute calls on the listed files do not each require
+	 * an objStat. Special collections are skipped, as the listing does not
+	 * carry enough information to resolve their paths. The entries are cached
+	 * as partial, so they are only used for file attributes.
+	 *
+	 * @param entry
+	 *            {@link CollectionAndDataObjectListingEntry} from a listing
+	 */
+	private void cacheObjStatFromListingEntry(final CollectionAndDataObjectListingEntry entry) {
+
+		if (entry.getSpecColType() != SpecColType.NORMAL) {
+			return;
+		}
+
+		ObjStat objStat = new ObjStat();
+		objStat.setAbsolutePath(entry.getFormattedAbsolutePath());
+		objStat.setObjectType(entry.getObjectType());
+		objStat.setSpecColType(SpecColType.NORMAL);
+		objStat.setDataId(entry.getId());
+		objStat.setObjSize(entry.getDataSize());
+		objStat.setOwnerName(entry.getOwnerName());
+		objStat.setOwnerZone(entry.getOwnerZone());
+		objStat.setCreatedAt(entry.getCreatedAt());
+		objStat.setModifiedAt(entry.getModifiedAt());
+		getIRODSSession().getObjStatCache().cacheObjStatFromListing(getIRODSAccount(), objStat);
 	}
 
 	/*
@@ -450,6 +570,7 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 
 		boolean lastEntry = false;
 		int ctr = 0;
+		boolean cacheEntries = getIRODSSession().isUsingObjStatCache();
 
 		if (!lastEntry) {
 			entries = collectionAndDataObjectListAndSearchAO.listCollectionsUnderPath(irodsFile.getAbsolutePath(), ctr);
@@ -458,6 +579,9 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 				subdirs.add(MiscIRODSUtils.getLastPathComponentForGiveAbsolutePath(entry.getPathOrName()));
 				lastEntry = entry.isLastResult();
 				ctr = entry.getCount();
+				if (cacheEntries) {
+					cacheObjStatFromListingEntry(entry);
+				}
 			}
 		}
 
@@ -470,6 +594,9 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 				subdirs.add(entry.getPathOrName());
 				lastEntry = entry.isLastResult();
 				ctr = entry.getCount();
+				if (cacheEntries) {
+					cacheObjStatFromListingEntry(entry);
+				}
 			}
 		}
 
@@ -899,6 +1026,7 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 
 		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, dataObjInp.getParsedTags(),
 				DataObjInp.CREATE_FILE_API_NBR);
+		getIRODSSession().evictCachedStateForPath(getIRODSAccount(), absolutePath);
 		if (response == null) {
 			String msg = "null response from IRODS call";
 			log.error(msg);
@@ -942,6 +1070,8 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 			log.info("directory already exists in mkdir, log and ignore");
 		}
 
+		getIRODSSession().evictCachedStateForPath(getIRODSAccount(), irodsFile.getAbsolutePath());
+
 		log.debug("mkdir succesful");
 	}
 
@@ -1002,6 +1132,7 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 		DataObjInp dataObjInp = DataObjInp.instanceForDeleteWithForce(irodsFile.getAbsolutePath());
 		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, dataObjInp.getParsedTags(),
 				DataObjInp.DELETE_FILE_API_NBR);
+		getIRODSSession().evictCachedStateForPath(getIRODSAccount(), irodsFile.getAbsolutePath());
 
 		if (response != null) {
 			String msg = "unexpected response from irods, expected null message - logged and ignored ";
@@ -1042,6 +1173,8 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 		} catch (DuplicateDataException dde) {
 			log.warn(
 					"duplicate data exception logged and ignored, see GForge: [#639] 809000 errors on delete operations when trash file already exists");
+		} finally {
+			getIRODSSession().evictCachedStateForPath(getIRODSAccount(), irodsFile.getAbsolutePath());
 		}
 
 	}
@@ -1075,6 +1208,7 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, collInp.getParsedTags(),
 				CollInp.RMDIR_API_NBR);
 
+		getIRODSSession().evictCachedStateForPathAndChildren(getIRODSAccount(), irodsFile.getAbsolutePath());
 		processClientStatusMessages(response);
 
 		log.info("deletion successful");
@@ -1108,6 +1242,7 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, collInp.getParsedTags(),
 				CollInp.RMDIR_API_NBR);
 
+		getIRODSSession().evictCachedStateForPathAndChildren(getIRODSAccount(), irodsFile.getAbsolutePath());
 		processClientStatusMessages(response);
 
 		log.info("deletion successful");
@@ -1160,6 +1295,8 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 				toFile.getAbsolutePath());
 		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, dataObjCopyInp.getParsedTags(),
 				DataObjCopyInp.RENAME_FILE_API_NBR);
+		getIRODSSession().evictCachedStateForPathAndChildren(getIRODSAccount(), fromFile.getAbsolutePath());
+		getIRODSSession().evictCachedStateForPathAndChildren(getIRODSAccount(), toFile.getAbsolutePath());
 
 		if (response != null) {
 			log.warn("unexpected response from irods, expected null message - logged and ignored ");
@@ -1190,6 +1327,8 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 				toFile.getAbsolutePath());
 		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, dataObjCopyInp.getParsedTags(),
 				DataObjCopyInp.RENAME_FILE_API_NBR);
+		getIRODSSession().evictCachedStateForPath(getIRODSAccount(), fromFile.getAbsolutePath());
+		getIRODSSession().evictCachedStateForPath(getIRODSAccount(), toFile.getAbsolutePath());
 
 		if (response != null) {
 			log.warn("unexpected response from irods, expected null message - logged and ignored ");
@@ -1300,6 +1439,7 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 
 		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, dataObjCopyInp.getParsedTags(),
 				apiNbr);
+		getIRODSSession().evictCachedStateForPath(getIRODSAccount(), absolutePathToSourceFile);
 
 		if (response != null) {
 			log.warn("unexpected response from irods, expected null message - logged and ignored ");
@@ -3,10 +3,16 @@
  */
 package org.irods.jargon.core.pub;
 
+import java.util.stream.Stream;
+
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.query.AbstractIRODSGenQuery;
+import org.irods.jargon.core.query.GenQueryResultIterator;
+import org.irods.jargon.core.query.IRODSGenQueryFromBuilder;
+import org.irods.jargon.core.query.IRODSQueryResultRow;
 import org.irods.jargon.core.query.IRODSQueryResultSet;
 import org.irods.jargon.core.query.JargonQueryException;
+import org.irods.jargon.core.query.PreparedGenQuery;
 
 /**
  * Access object to process 'iquest-like' GenQuery.
@@ -212,4 +218,67 @@ public interface IRODSGenQueryExecutor extends IRODSAccessObject {
 	IRODSQueryResultSet getMoreResults(IRODSQueryResultSet irodsQueryResultSet)
 			throws JargonException, JargonQueryException;
 
+	/**
+	 * Execute an iquest-like query and return an iterator over the result rows.
+	 * The iterator obtains further pages from iRODS as they are needed, so that
+	 * the caller does not need to handle continuation, and only about two pages
+	 * of results are held in memory at a time.
+	 * <p>
+	 * The query is closed in iRODS once the last row is read. If iteration stops
+	 * early, the caller must call {@code close()} on the returned iterator.
+	 *
+	 * @param irodsQuery
+	 *            {@link org.irods.jargon.core.query.AbstractIRODSGenQuery} that
+	 *            will wrap the given query
+	 * @param zoneName
+	 *            {@code String} ({@code null} or blank if not used) that
+	 *            indicates an optional zone for the query
+	 * @param prefetchNextPage
+	 *            {@code boolean} that indicates whether the next page of results
+	 *            should be requested in the background while the current page is
+	 *            read
+	 * @return {@link GenQueryResultIterator} positioned before the first row
+	 * @throws JargonException
+	 * @throws JargonQueryException
+	 */
+	GenQueryResultIterator executeIRODSQueryAsIterator(AbstractIRODSGenQuery irodsQuery, String zoneName,
+			boolean prefetchNextPage) throws JargonException, JargonQueryException;
+
+	/**
+	 * Execute an iquest-like query and return a {@code Stream} of the result
+	 * rows, with the next page of results requested in the background. This is
+	 * a convenience over {@code executeIRODSQueryAsIterator()}.
+	 * <p>
+	 * The stream must be closed (e.g. with try-with-resources) if it is not
+	 * read to the end, so that the query is released in iRODS.
+	 *
+	 * @param irodsQuery
+	 *            {@link org.irods.jargon.core.query.AbstractIRODSGenQuery} that
+	 *            will wrap the given query
+	 * @param zoneName
+	 *            {@code String} ({@code null} or blank if not used) that
+	 *            indicates an optional zone for the query
+	 * @return {@code Stream} of {@link IRODSQueryResultRow}
+	 * @throws JargonException
+	 * @throws JargonQueryException
+	 */
+	Stream<IRODSQueryResultRow> executeIRODSQueryAsStream(AbstractIRODSGenQuery irodsQuery, String zoneName)
+			throws JargonException, JargonQueryException;
+
+	/**
+	 * Get a {@link PreparedGenQuery} for the shape of the given builder query,
+	 * using the translation cached in the session for this shape and iRODS
+	 * server version if there is one. Conditions built with the value
+	 * {@link PreparedGenQuery#PARAMETER} are bound with
+	 * {@code PreparedGenQuery.bind()}, and the resulting query may be passed
+	 * to any of the execute methods.
+	 *
+	 * @param irodsGenQueryFromBuilder
+	 *            {@link IRODSGenQueryFromBuilder} with the shape of the query
+	 * @return {@link PreparedGenQuery} that may be kept and shared between
+	 *         threads
+	 * @throws JargonException
+	 */
+	PreparedGenQuery prepareQuery(IRODSGenQueryFromBuilder irodsGenQueryFromBuilder) throws JargonException;
+
 }
@@ -1,12 +1,19 @@
 package org.irods.jargon.core.pub;
 
+import java.util.stream.Stream;
+
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSSession;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.query.AbstractIRODSGenQuery;
 import org.irods.jargon.core.query.GenQueryProcessor;
+import org.irods.jargon.core.query.GenQueryResultCache;
+import org.irods.jargon.core.query.GenQueryResultIterator;
+import org.irods.jargon.core.query.IRODSGenQueryFromBuilder;
+import org.irods.jargon.core.query.IRODSQueryResultRow;
 import org.irods.jargon.core.query.IRODSQueryResultSet;
 import org.irods.jargon.core.query.JargonQueryException;
+import org.irods.jargon.core.query.PreparedGenQuery;
 import org.irods.jargon.core.query.TranslatedIRODSGenQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -157,9 +164,8 @@ IRODSGenQueryExecutor {
 		TranslatedIRODSGenQuery translatedIRODSQuery = genQueryProcessor
 				.translateProvidedQuery(irodsQuery);
 
-		return genQueryProcessor.executeTranslatedIRODSQuery(
-				translatedIRODSQuery, 0, partialStartIndex,
-				QueryCloseBehavior.AUTO_CLOSE, zoneName);
+		return executeAndCloseConsultingResultCache(genQueryProcessor,
+				translatedIRODSQuery, partialStartIndex, zoneName);
 	}
 
 	/*
@@ -204,9 +210,8 @@ IRODSGenQueryExecutor {
 		TranslatedIRODSGenQuery translatedIRODSQuery = genQueryProcessor
 				.translateProvidedQuery(irodsQuery);
 
-		return genQueryProcessor.executeTranslatedIRODSQuery(
-				translatedIRODSQuery, 0, partialStartIndex,
-				QueryCloseBehavior.AUTO_CLOSE, zoneName);
+		return executeAndCloseConsultingResultCache(genQueryProcessor,
+				translatedIRODSQuery, partialStartIndex, zoneName);
 	}
 
 	/*
@@ -286,4 +291,110 @@ IRODSGenQueryExecutor {
 		genQueryProcessor.closeResults(irodsQueryResultSet);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.IRODSGenQueryExecutor#
+	 * executeIRODSQueryAsIterator
+	 * (org.irods.jargon.core.query.AbstractIRODSGenQuery, java.lang.String,
+	 * boolean)
+	 */
+	@Override
+	public GenQueryResultIterator executeIRODSQueryAsIterator(
+			final AbstractIRODSGenQuery irodsQuery, final String zoneName,
+			final boolean prefetchNextPage) throws JargonException,
+			JargonQueryException {
+
+		log.info("executeIRODSQueryAsIterator()");
+
+		if (irodsQuery == null) {
+			throw new IllegalArgumentException("null irodsQuery");
+		}
+
+		log.info("query: {}", irodsQuery);
+		log.info("prefetchNextPage:{}", prefetchNextPage);
+
+		GenQueryProcessor genQueryProcessor = new GenQueryProcessor(
+				getIRODSProtocol());
+		TranslatedIRODSGenQuery translatedIRODSQuery = genQueryProcessor
+				.translateProvidedQuery(irodsQuery);
+
+		return new GenQueryResultIterator(genQueryProcessor,
+				translatedIRODSQuery, zoneName, prefetchNextPage);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.IRODSGenQueryExecutor#
+	 * executeIRODSQueryAsStream
+	 * (org.irods.jargon.core.query.AbstractIRODSGenQuery, java.lang.String)
+	 */
+	@Override
+	public Stream<IRODSQueryResultRow> executeIRODSQueryAsStream(
+			final AbstractIRODSGenQuery irodsQuery, final String zoneName)
+					throws JargonException, JargonQueryException {
+
+		log.info("executeIRODSQueryAsStream()");
+		return executeIRODSQueryAsIterator(irodsQuery, zoneName, true)
+				.stream();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.pub.IRODSGenQueryExecutor#prepareQuery(org.irods
+	 * .jargon.core.query.IRODSGenQueryFromBuilder)
+	 */
+	@Override
+	public PreparedGenQuery prepareQuery(
+			final IRODSGenQueryFromBuilder irodsGenQueryFromBuilder)
+					throws JargonException {
+
+		log.info("prepareQuery()");
+
+		if (irodsGenQueryFromBuilder == null) {
+			throw new IllegalArgumentException("null irodsGenQueryFromBuilder");
+		}
+
+		return getIRODSSession().getPreparedGenQueryCache().retrieveOrPrepare(
+				getIRODSServerProperties().getIrodsVersion().getOrigVersion(),
+				irodsGenQueryFromBuilder);
+	}
+
+	/**
+	 * Run a query that is closed after the first page, using the session
+	 * {@link GenQueryResultCache} if it is in use
+	 */
+	private IRODSQueryResultSet executeAndCloseConsultingResultCache(
+			final GenQueryProcessor genQueryProcessor,
+			final TranslatedIRODSGenQuery translatedIRODSQuery,
+			final int partialStartIndex, final String zoneName)
+			throws JargonException {
+
+		if (!getIRODSSession().isUsingGenQueryResultCache()) {
+			return genQueryProcessor.executeTranslatedIRODSQuery(
+					translatedIRODSQuery, 0, partialStartIndex,
+					QueryCloseBehavior.AUTO_CLOSE, zoneName);
+		}
+
+		GenQueryResultCache genQueryResultCache = getIRODSSession()
+				.getGenQueryResultCache();
+		String key = GenQueryResultCache.computeKey(getIRODSAccount(),
+				zoneName, partialStartIndex, translatedIRODSQuery);
+		IRODSQueryResultSet resultSet = genQueryResultCache.retrieve(key,
+				translatedIRODSQuery);
+		if (resultSet != null) {
+			log.info("query results found in cache");
+			return resultSet;
+		}
+
+		resultSet = genQueryProcessor.executeTranslatedIRODSQuery(
+				translatedIRODSQuery, 0, partialStartIndex,
+				QueryCloseBehavior.AUTO_CLOSE, zoneName);
+		genQueryResultCache.cacheResult(key, resultSet);
+		return resultSet;
+	}
+
 }
@@ -0,0 +1,195 @@
+/**
+ *
+ */
+package org.irods.jargon.core.pub;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.pub.ConnectionWorkerPool.PooledWork;
+import org.irods.jargon.core.query.AbstractIRODSGenQuery;
+import org.irods.jargon.core.query.IRODSQueryResultSet;
+import org.irods.jargon.core.query.JargonQueryException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lets many threads run GenQueries over a small, fixed set of iRODS
+ * connections, so that a mid-tier with many request threads does not hold an
+ * agent per thread for short catalog queries.
+ * <p>
+ * The iRODS protocol has no request ids, so a connection can only carry one
+ * request at a time. This client runs a fixed number of worker threads, each
+ * of which holds one connection (as {@code IRODSSession} keeps connections per
+ * thread). Callers add queries to a shared queue and get a
+ * {@code CompletableFuture} back right away, and the next idle worker runs the
+ * query and completes the future. Callers never wait on a protocol lock, only
+ * on the future. A worker keeps its connection after a query fails in iRODS,
+ * and renews it when it is lost or the failure came from the network.
+ * <p>
+ * Queries are run with
+ * {@link IRODSGenQueryExecutor#executeIRODSQueryAndCloseResultInZone(AbstractIRODSGenQuery, int, String)},
+ * so no query state is left on a connection between requests. Further pages
+ * are obtained by submitting the query again with a partial start index, as
+ * {@code getMoreResults()} is not available.
+ * <p>
+ * All queries run as the one {@link IRODSAccount} given to the constructor.
+ * Call {@link #shutdown()} when done to return the worker connections.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class MultiplexedGenQueryClient {
+
+	private static final Logger log = LoggerFactory.getLogger(MultiplexedGenQueryClient.class);
+
+	private final ConnectionWorkerPool connectionWorkerPool;
+
+	/**
+	 * Constructor, starts the worker threads. Connections are opened by each
+	 * worker when it runs its first query.
+	 *
+	 * @param irodsAccessObjectFactory
+	 *            {@link IRODSAccessObjectFactory} used to obtain connections
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for the queries
+	 * @param connectionCount
+	 *            {@code int} with the number of connections (and worker
+	 *            threads) to share among callers, must be at least 1
+	 */
+	public MultiplexedGenQueryClient(final IRODSAccessObjectFactory irodsAccessObjectFactory,
+			final IRODSAccount irodsAccount, final int connectionCount) {
+
+		connectionWorkerPool = new ConnectionWorkerPool(irodsAccessObjectFactory, irodsAccount, connectionCount,
+				"multiplexed-query-", "query client is shut down");
+	}
+
+	/**
+	 * Queue a query to run in the local zone
+	 *
+	 * @param irodsQuery
+	 *            {@link AbstractIRODSGenQuery} to run
+	 * @param partialStartIndex
+	 *            {@code int} with the offset of the first result to return
+	 * @return {@code CompletableFuture} that is completed with the
+	 *         {@link IRODSQueryResultSet}, or exceptionally with the error
+	 */
+	public CompletableFuture<IRODSQueryResultSet> submit(final AbstractIRODSGenQuery irodsQuery,
+			final int partialStartIndex) {
+		return submitInZone(irodsQuery, partialStartIndex, "");
+	}
+
+	/**
+	 * Queue a query to run in the given zone
+	 *
+	 * @param irodsQuery
+	 *            {@link AbstractIRODSGenQuery} to run
+	 * @param partialStartIndex
+	 *            {@code int} with the offset of the first result to return
+	 * @param zoneName
+	 *            {@code String} ({@code null} or blank if not used) with the
+	 *            zone for the query
+	 * @return {@code CompletableFuture} that is completed with the
+	 *         {@link IRODSQueryResultSet}, or exceptionally with the error
+	 */
+	public CompletableFuture<IRODSQueryResultSet> submitInZone(final AbstractIRODSGenQuery irodsQuery,
+			final int partialStartIndex, final String zoneName) {
+
+		if (irodsQuery == null) {
+			throw new IllegalArgumentException("null irodsQuery");
+		}
+
+		if (partialStartIndex < 0) {
+			throw new IllegalArgumentException("partialStartIndex < 0");
+		}
+
+		return connectionWorkerPool.submit(new PendingQuery(irodsQuery, partialStartIndex,
+				zoneName == null ? "" : zoneName));
+	}
+
+	/**
+	 * Stop the workers and return their connections. Queries that have not
+	 * started are completed exceptionally, queries that are running are allowed
+	 * to finish.
+	 */
+	public void shutdown() {
+		if (connectionWorkerPool.shutdown()) {
+			log.info("shut down query workers");
+		}
+	}
+
+	/**
+	 * @return {@code int} with the number of queries waiting for a connection
+	 */
+	public int getQueueDepth() {
+		return connectionWorkerPool.getQueueDepth();
+	}
+
+	/**
+	 * @return {@code int} with the number of connections (worker threads)
+	 */
+	public int getConnectionCount() {
+		return connectionWorkerPool.getConnectionCount();
+	}
+
+	/**
+	 * @return {@code long} with the number of queries submitted
+	 */
+	public long getSubmittedCount() {
+		return connectionWorkerPool.getSubmittedCount();
+	}
+
+	/**
+	 * @return {@code long} with the number of queries that returned a result
+	 */
+	public long getCompletedCount() {
+		return connectionWorkerPool.getCompletedCount();
+	}
+
+	/**
+	 * @return {@code long} with the number of queries that failed
+	 */
+	public long getFailedCount() {
+		return connectionWorkerPool.getFailedCount();
+	}
+
+	/**
+	 * @return {@code boolean} that is {@code true} once {@link #shutdown()}
+	 *         has been called
+	 */
+	public boolean isShutdown() {
+		return connectionWorkerPool.isShutdown();
+	}
+
+	/**
+	 * A query waiting for a connection, with the future for its caller
+	 */
+	private static class PendingQuery extends PooledWork<IRODSQueryResultSet> {
+		private final AbstractIRODSGenQuery irodsQuery;
+		private final int partialStartIndex;
+		private final String zoneName;
+
+		PendingQuery(final AbstractIRODSGenQuery irodsQuery, final int partialStartIndex, final String zoneName) {
+			this.irodsQuery = irodsQuery;
+			this.partialStartIndex = partialStartIndex;
+			this.zoneName = zoneName;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see
+		 * org.irods.jargon.core.pub.ConnectionWorkerPool.PooledWork#run(org.
+		 * irods.jargon.core.pub.IRODSAccessObjectFactory,
+		 * org.irods.jargon.core.connection.IRODSAccount)
+		 */
+		@Override
+		IRODSQueryResultSet run(final IRODSAccessObjectFactory irodsAccessObjectFactory,
+				final IRODSAccount irodsAccount) throws JargonException, JargonQueryException {
+			return irodsAccessObjectFactory.getIRODSGenQueryExecutor(irodsAccount)
+					.executeIRODSQueryAndCloseResultInZone(irodsQuery, partialStartIndex, zoneName);
+		}
+	}
+
+}
@@ -1,6 +1,7 @@
 package org.irods.jargon.core.pub;
 
 import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
 
 import org.irods.jargon.core.exception.JargonException;
 
@@ -101,4 +102,38 @@ public interface RemoteExecutionOfCommandsAO extends IRODSAccessObject {
 			String absolutePathOfIrodsFileThatWillBeUsedToFindHostToExecuteOn)
 					throws JargonException;
 
+	/**
+	 * Execute a script remotely, writing its standard output and standard
+	 * error to the given channels as the output arrives, with no staging of
+	 * the output on the client. This requires a server that can stream large
+	 * results. Reading from iRODS waits when the channels fall behind, and
+	 * closing a channel stops the command output.
+	 *
+	 * @param commandToExecuteWithoutArguments
+	 *            {@code String} with the command name. Do not provide
+	 *            input arguments here.
+	 * @param argumentsToPassWithCommand
+	 *            {@code String} with the arguments for the command.
+	 * @param executionHost
+	 *            {@code String} with the name of the host on which to run
+	 *            the command, blank if not used
+	 * @param stdoutChannel
+	 *            {@code WritableByteChannel} for the standard output
+	 * @param stderrChannel
+	 *            {@code WritableByteChannel} for the standard error, may be
+	 *            the same as {@code stdoutChannel}
+	 * @param readAheadChunks
+	 *            {@code int} with the most chunks of output read ahead of the
+	 *            channels
+	 * @return {@code long} with the number of bytes written
+	 * @throws JargonException
+	 */
+	long executeARemoteCommandAndStreamToChannels(
+			final String commandToExecuteWithoutArguments,
+			final String argumentsToPassWithCommand,
+			final String executionHost,
+			final WritableByteChannel stdoutChannel,
+			final WritableByteChannel stderrChannel, final int readAheadChunks)
+					throws JargonException;
+
 }
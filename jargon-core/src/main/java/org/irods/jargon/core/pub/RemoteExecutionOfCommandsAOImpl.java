@@ -4,6 +4,7 @@
 package org.irods.jargon.core.pub;
 
 import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
 
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSSession;
@@ -141,6 +142,32 @@ public class RemoteExecutionOfCommandsAOImpl extends IRODSGenericAO implements
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.pub.RemoteExecutionOfCommandsAO#
+	 * executeARemoteCommandAndStreamToChannels(java.lang.String,
+	 * java.lang.String, java.lang.String,
+	 * java.nio.channels.WritableByteChannel,
+	 * java.nio.channels.WritableByteChannel, int)
+	 */
+	@Override
+	public long executeARemoteCommandAndStreamToChannels(
+			final String commandToExecuteWithoutArguments,
+			final String argumentsToPassWithCommand,
+			final String executionHost,
+			final WritableByteChannel stdoutChannel,
+			final WritableByteChannel stderrChannel, final int readAheadChunks)
+			throws JargonException {
+		log.info("executing remote command streaming to channels");
+		// input parms checked in instance method
+		RemoteExecutionService remoteExecuteService = RemoteExecuteServiceImpl
+				.instance(getIRODSProtocol(), commandToExecuteWithoutArguments,
+						argumentsToPassWithCommand, executionHost);
+		return remoteExecuteService.executeAndStreamToChannels(stdoutChannel,
+				stderrChannel, readAheadChunks);
+	}
+
 	/**
 	 * Inquire if this irodsServer has the ability to stream large results back.
 	 *
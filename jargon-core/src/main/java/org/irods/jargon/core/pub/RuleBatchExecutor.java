@@ -0,0 +1,286 @@
+/**
+ *
+ */
+package org.irods.jargon.core.pub;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.pub.ConnectionWorkerPool.PooledWork;
+import org.irods.jargon.core.rule.IRODSRule;
+import org.irods.jargon.core.rule.IRODSRuleExecResult;
+import org.irods.jargon.core.rule.IRODSRuleParameter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs batches of independent rules over a small, fixed set of iRODS
+ * connections, so that a workflow with hundreds of rules to run does not wait
+ * on each one in turn on a single connection.
+ * <p>
+ * The iRODS protocol has no request ids, so a connection can only run one rule
+ * at a time. This executor runs a fixed number of worker threads, each of
+ * which holds one connection (as {@code IRODSSession} keeps connections per
+ * thread). Callers add rules to a shared queue and get a
+ * {@code CompletableFuture} back right away, and the next idle worker runs the
+ * rule and completes the future.
+ * <p>
+ * Rules are run with
+ * {@link RuleProcessingAO#executePreparedRule(IRODSRule, List)}, so a rule
+ * from {@link RuleProcessingAO#prepareRule(String, org.irods.jargon.core.rule.RuleInvocationConfiguration)}
+ * may be submitted many times with different parameters and is only
+ * translated once. Any client side put or get actions the rule asks for are
+ * carried out by the worker while processing the rule result, and so on the
+ * same connection that the rule runs on. A worker keeps its connection after a
+ * rule fails in iRODS, and renews it when it is lost or the failure came from
+ * the network.
+ * <p>
+ * A rule may be given a timeout, after which its future is completed
+ * exceptionally with a {@code TimeoutException}. A rule that times out while
+ * waiting in the queue is not run. The protocol has no way to cancel a rule
+ * that iRODS is already running, so such a rule holds its connection until it
+ * finishes, and its result is discarded.
+ * <p>
+ * All rules run as the one {@link IRODSAccount} given to the constructor.
+ * Call {@link #shutdown()} when done to return the worker connections.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class RuleBatchExecutor {
+
+	private static final Logger log = LoggerFactory.getLogger(RuleBatchExecutor.class);
+
+	private final ConnectionWorkerPool connectionWorkerPool;
+	private final ScheduledExecutorService timeoutScheduler;
+	private final AtomicLong timedOutCount = new AtomicLong();
+
+	/**
+	 * Constructor, starts the worker threads. Connections are opened by each
+	 * worker when it runs its first rule.
+	 *
+	 * @param irodsAccessObjectFactory
+	 *            {@link IRODSAccessObjectFactory} used to obtain connections
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for the rules
+	 * @param connectionCount
+	 *            {@code int} with the number of connections (and worker
+	 *            threads) that run rules, must be at least 1
+	 */
+	public RuleBatchExecutor(final IRODSAccessObjectFactory irodsAccessObjectFactory, final IRODSAccount irodsAccount,
+			final int connectionCount) {
+
+		connectionWorkerPool = new ConnectionWorkerPool(irodsAccessObjectFactory, irodsAccount, connectionCount,
+				"rule-batch-", "rule executor is shut down");
+
+		timeoutScheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(final Runnable runnable) {
+				Thread thread = new Thread(runnable, "rule-batch-timeout");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * Queue a rule to run
+	 *
+	 * @param preparedRule
+	 *            {@link IRODSRule} from {@code RuleProcessingAO.prepareRule()}
+	 * @param inputParameterOverrides
+	 *            {@code List} of {@link IRODSRuleParameter} that override the
+	 *            parameters derived from the rule body, may be {@code null}
+	 * @param timeoutMillis
+	 *            {@code long} with the milliseconds to wait for the result, or
+	 *            0 to wait as long as the rule takes
+	 * @return {@code CompletableFuture} that is completed with the
+	 *         {@link IRODSRuleExecResult}, or exceptionally with the error
+	 */
+	public CompletableFuture<IRODSRuleExecResult> submit(final IRODSRule preparedRule,
+			final List<IRODSRuleParameter> inputParameterOverrides, final long timeoutMillis) {
+
+		if (preparedRule == null) {
+			throw new IllegalArgumentException("null preparedRule");
+		}
+
+		if (timeoutMillis < 0) {
+			throw new IllegalArgumentException("timeoutMillis < 0");
+		}
+
+		final PendingRule pendingRule = new PendingRule(preparedRule, inputParameterOverrides);
+
+		if (timeoutMillis > 0 && !connectionWorkerPool.isShutdown()) {
+			scheduleTimeout(pendingRule, timeoutMillis);
+		}
+
+		return connectionWorkerPool.submit(pendingRule);
+	}
+
+	/**
+	 * Queue a rule to run once for each set of parameter overrides, as when
+	 * the same harvesting rule is run over many objects
+	 *
+	 * @param preparedRule
+	 *            {@link IRODSRule} from {@code RuleProcessingAO.prepareRule()}
+	 * @param inputParameterOverrideSets
+	 *            {@code List} with a {@code List} of {@link IRODSRuleParameter}
+	 *            overrides for each run of the rule
+	 * @param timeoutMillis
+	 *            {@code long} with the milliseconds to wait for each result, or
+	 *            0 to wait as long as each rule takes
+	 * @return {@code List} of {@code CompletableFuture}, in the order of the
+	 *         parameter override sets
+	 */
+	public List<CompletableFuture<IRODSRuleExecResult>> submitAll(final IRODSRule preparedRule,
+			final List<List<IRODSRuleParameter>> inputParameterOverrideSets, final long timeoutMillis) {
+
+		if (inputParameterOverrideSets == null) {
+			throw new IllegalArgumentException("null inputParameterOverrideSets");
+		}
+
+		List<CompletableFuture<IRODSRuleExecResult>> futures = new ArrayList<CompletableFuture<IRODSRuleExecResult>>(
+				inputParameterOverrideSets.size());
+		for (List<IRODSRuleParameter> inputParameterOverrides : inputParameterOverrideSets) {
+			futures.add(submit(preparedRule, inputParameterOverrides, timeoutMillis));
+		}
+		return futures;
+	}
+
+	/**
+	 * Stop the workers and return their connections. Rules that have not
+	 * started are completed exceptionally, rules that are running are allowed
+	 * to finish.
+	 */
+	public void shutdown() {
+		if (connectionWorkerPool.shutdown()) {
+			log.info("shut down rule workers");
+			timeoutScheduler.shutdownNow();
+		}
+	}
+
+	/**
+	 * @return {@code int} with the number of rules waiting for a connection
+	 */
+	public int getQueueDepth() {
+		return connectionWorkerPool.getQueueDepth();
+	}
+
+	/**
+	 * @return {@code int} with the number of connections (worker threads)
+	 */
+	public int getConnectionCount() {
+		return connectionWorkerPool.getConnectionCount();
+	}
+
+	/**
+	 * @return {@code long} with the number of rules submitted
+	 */
+	public long getSubmittedCount() {
+		return connectionWorkerPool.getSubmittedCount();
+	}
+
+	/**
+	 * @return {@code long} with the number of rules that returned a result
+	 */
+	public long getCompletedCount() {
+		return connectionWorkerPool.getCompletedCount();
+	}
+
+	/**
+	 * @return {@code long} with the number of rules that failed
+	 */
+	public long getFailedCount() {
+		return connectionWorkerPool.getFailedCount();
+	}
+
+	/**
+	 * @return {@code long} with the number of rules that timed out
+	 */
+	public long getTimedOutCount() {
+		return timedOutCount.get();
+	}
+
+	/**
+	 * @return {@code boolean} that is {@code true} once {@link #shutdown()}
+	 *         has been called
+	 */
+	public boolean isShutdown() {
+		return connectionWorkerPool.isShutdown();
+	}
+
+	/**
+	 * Complete the rule's future with a {@code TimeoutException} if it is not
+	 * done in time, and cancel the timer if it is
+	 */
+	private void scheduleTimeout(final PendingRule pendingRule, final long timeoutMillis) {
+		final ScheduledFuture<?> timeout;
+		try {
+			timeout = timeoutScheduler.schedule(new Runnable() {
+			@Override
+			public void run() {
+					// counted first, so that a caller woken by the timeout sees it
+					timedOutCount.incrementAndGet();
+					if (pendingRule.future.completeExceptionally(
+							new TimeoutException("rule did not complete within " + timeoutMillis + " ms"))) {
+						log.warn("rule timed out after {} ms", timeoutMillis);
+					} else {
+						timedOutCount.decrementAndGet();
+					}
+				}
+			}, timeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (RejectedExecutionException e) {
+			// shut down since the check, the rule will not be queued
+			log.debug("rule executor shut down, timeout not scheduled");
+			return;
+		}
+
+		pendingRule.future.whenComplete(new BiConsumer<IRODSRuleExecResult, Throwable>() {
+			@Override
+			public void accept(final IRODSRuleExecResult result, final Throwable throwable) {
+				timeout.cancel(false);
+			}
+		});
+	}
+
+	/**
+	 * A rule waiting for a connection, with the future for its caller
+	 */
+	private static class PendingRule extends PooledWork<IRODSRuleExecResult> {
+		private final IRODSRule preparedRule;
+		private final List<IRODSRuleParameter> inputParameterOverrides;
+
+		PendingRule(final IRODSRule preparedRule, final List<IRODSRuleParameter> inputParameterOverrides) {
+			this.preparedRule = preparedRule;
+			this.inputParameterOverrides = inputParameterOverrides;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see
+		 * org.irods.jargon.core.pub.ConnectionWorkerPool.PooledWork#run(org.
+		 * irods.jargon.core.pub.IRODSAccessObjectFactory,
+		 * org.irods.jargon.core.connection.IRODSAccount)
+		 */
+		@Override
+		IRODSRuleExecResult run(final IRODSAccessObjectFactory irodsAccessObjectFactory,
+				final IRODSAccount irodsAccount) throws JargonException {
+			return irodsAccessObjectFactory.getRuleProcessingAO(irodsAccount).executePreparedRule(preparedRule,
+					inputParameterOverrides);
+		}
+	}
+
+}
@@ -5,6 +5,7 @@ import java.util.List;
 import org.irods.jargon.core.exception.DataNotFoundException;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.pub.domain.DelayedRuleExecution;
+import org.irods.jargon.core.rule.IRODSRule;
 import org.irods.jargon.core.rule.IRODSRuleExecResult;
 import org.irods.jargon.core.rule.IRODSRuleParameter;
 import org.irods.jargon.core.rule.JargonRuleException;
@@ -267,6 +268,47 @@ public interface RuleProcessingAO extends IRODSAccessObject {
 	IRODSRuleExecResult executeRule(String irodsRuleAsString, List<IRODSRuleParameter> inputParameterOverrides,
 			final RuleInvocationConfiguration ruleInvocationConfiguration) throws JargonRuleException, JargonException;
 
+	/**
+	 * Translate a rule once, for repeated execution with
+	 * {@code executePreparedRule()}. The rule type is detected and the rule text
+	 * parsed only the first time a given rule text and configuration is seen,
+	 * after which the translation is taken from the session
+	 * {@link org.irods.jargon.core.rule.IrodsRuleTemplateCache}. The
+	 * {@code executeRule()} methods use the same cache.
+	 *
+	 * @param irodsRuleAsString
+	 *            {@code String} with the rule body, as well as input and output
+	 *            parameters.
+	 * @param ruleInvocationConfiguration
+	 *            {@link RuleInvocationConfiguration} that represents the type of
+	 *            rule engine the user wishes this rule to be run on
+	 * @return {@link IRODSRule} template with the parameters derived from the
+	 *         rule body. The template is shared and must not be changed.
+	 * @throws JargonRuleException
+	 *             if an exception occurred in rule translation.
+	 * @throws JargonException
+	 */
+	IRODSRule prepareRule(String irodsRuleAsString, RuleInvocationConfiguration ruleInvocationConfiguration)
+			throws JargonRuleException, JargonException;
+
+	/**
+	 * Run a rule from {@code prepareRule()}, binding the given parameter
+	 * overrides without translating the rule again
+	 *
+	 * @param preparedRule
+	 *            {@link IRODSRule} from {@code prepareRule()}
+	 * @param inputParameterOverrides
+	 *            {@code List} of {@link IRODSRuleParameter} that overrides the
+	 *            parameters derived from the rule body, may be {@code null}
+	 * @return {@link IRODSRuleExecResult} that represents the results of processing
+	 *         the rule.
+	 * @throws JargonRuleException
+	 * @throws JargonException
+	 *             if iRODS processing resulted in an error.
+	 */
+	IRODSRuleExecResult executePreparedRule(IRODSRule preparedRule, List<IRODSRuleParameter> inputParameterOverrides)
+			throws JargonRuleException, JargonException;
+
 	/**
 	 * Delete selected rule from the delayed execution queue.
 	 * <p>
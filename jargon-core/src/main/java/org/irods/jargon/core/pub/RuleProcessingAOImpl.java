@@ -41,6 +41,7 @@ import org.irods.jargon.core.rule.IRODSRuleExecResultOutputParameter.OutputParam
 import org.irods.jargon.core.rule.IRODSRuleParameter;
 import org.irods.jargon.core.rule.IrodsRuleFactory;
 import org.irods.jargon.core.rule.IrodsRuleInvocationTypeEnum;
+import org.irods.jargon.core.rule.IrodsRuleTemplateCache;
 import org.irods.jargon.core.rule.JargonRuleException;
 import org.irods.jargon.core.rule.RuleEngineInstanceChooser;
 import org.irods.jargon.core.rule.RuleInvocationConfiguration;
@@ -48,7 +49,6 @@ import org.irods.jargon.core.rule.RuleTypeEvaluator;
 import org.irods.jargon.core.transfer.TransferControlBlock;
 import org.irods.jargon.core.utils.Base64;
 import org.irods.jargon.core.utils.IRODSConstants;
-import org.irods.jargon.core.utils.LocalFileUtils;
 import org.irods.jargon.core.utils.TagHandlingUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -163,7 +163,7 @@ public final class RuleProcessingAOImpl extends IRODSGenericAO implements RulePr
 			 */
 		}
 
-		String ruleString = LocalFileUtils.getClasspathResourceFileAsString(resourcePath);
+		String ruleString = getIRODSSession().getIrodsRuleTemplateCache().retrieveOrLoadResourceRuleText(resourcePath);
 
 		// rule is now a string, run it
 
@@ -316,11 +316,54 @@ public final class RuleProcessingAOImpl extends IRODSGenericAO implements RulePr
 
 		log.info("executing rule: {}", irodsRuleAsString);
 		log.info("with configuration:{}", ruleInvocationConfiguration);
+		return executePreparedRule(prepareRule(irodsRuleAsString, ruleInvocationConfiguration),
+				inputParameterOverrides);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.RuleProcessingAO#prepareRule(java.lang.String,
+	 * org.irods.jargon.core.rule.RuleInvocationConfiguration)
+	 */
+	@Override
+	public IRODSRule prepareRule(final String irodsRuleAsString,
+			final RuleInvocationConfiguration ruleInvocationConfiguration) throws JargonRuleException, JargonException {
+		log.info("prepareRule()");
+		if (irodsRuleAsString == null || irodsRuleAsString.isEmpty()) {
+			throw new IllegalArgumentException("null or empty irodsRuleAsString");
+		}
+
+		if (ruleInvocationConfiguration == null) {
+			throw new IllegalArgumentException("null ruleInvocationConfiguration");
+		}
+
 		IrodsRuleFactory irodsRuleFactory = new IrodsRuleFactory(this.getIRODSAccessObjectFactory(),
 				this.getIRODSAccount());
-		final IRODSRule irodsRule = irodsRuleFactory.instanceIrodsRule(irodsRuleAsString, inputParameterOverrides,
-				ruleInvocationConfiguration);
-		log.debug("translated rule: {}", irodsRule);
+		return getIRODSSession().getIrodsRuleTemplateCache().retrieveOrTranslate(
+				getIRODSServerProperties().getIrodsVersion().getOrigVersion(), irodsRuleAsString,
+				ruleInvocationConfiguration, irodsRuleFactory);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.pub.RuleProcessingAO#executePreparedRule(org.irods.
+	 * jargon.core.rule.IRODSRule, java.util.List)
+	 */
+	@Override
+	public IRODSRuleExecResult executePreparedRule(final IRODSRule preparedRule,
+			final List<IRODSRuleParameter> inputParameterOverrides) throws JargonRuleException, JargonException {
+		log.info("executePreparedRule()");
+		if (preparedRule == null) {
+			throw new IllegalArgumentException("null preparedRule");
+		}
+
+		// tolerate null inputParameterOverrides
+
+		final IRODSRule irodsRule = IrodsRuleTemplateCache.bindParameters(preparedRule, inputParameterOverrides);
+		log.debug("bound rule: {}", irodsRule);
 
 		log.debug("decorating the rule with the appropriate rule engine instance");
 		RuleEngineInstanceChooser ruleEngineInstanceChooser = new RuleEngineInstanceChooser(this.getJargonProperties(),
@@ -693,7 +693,7 @@ public class IRODSFileImpl extends File implements IRODSFile {
 		boolean isDir = false;
 		try {
 
-			ObjStat objStat = irodsFileSystemAO.getObjStat(getAbsolutePath());
+			ObjStat objStat = irodsFileSystemAO.getObjStatForFileAttributes(getAbsolutePath());
 
 			if (objStat.getObjectType() == ObjectType.COLLECTION || objStat.getObjectType() == ObjectType.LOCAL_DIR) {
 				isDir = true;
@@ -720,12 +720,12 @@ public class IRODSFileImpl extends File implements IRODSFile {
 		boolean isFile = false;
 
 		try {
-			ObjStat objStat = irodsFileSystemAO.getObjStat(getAbsolutePath());
+			ObjStat objStat = irodsFileSystemAO.getObjStatForFileAttributes(getAbsolutePath());
 
 			if (objStat == null) {
 
 				log.info("looking up objStat, not cached in file");
-				objStat = irodsFileSystemAO.getObjStat(getAbsolutePath());
+				objStat = irodsFileSystemAO.getObjStatForFileAttributes(getAbsolutePath());
 			}
 
 			if (objStat.getObjectType() == ObjectType.DATA_OBJECT || objStat.getObjectType() == ObjectType.LOCAL_FILE) {
@@ -771,7 +771,7 @@ public class IRODSFileImpl extends File implements IRODSFile {
 		log.info("lastModified() for path:{}", getAbsolutePath());
 		long lastMod = 0L;
 		try {
-			ObjStat objStat = irodsFileSystemAO.getObjStat(getAbsolutePath());
+			ObjStat objStat = irodsFileSystemAO.getObjStatForFileAttributes(getAbsolutePath());
 			lastMod = objStat.getModifiedAt().getTime();
 		} catch (FileNotFoundException e) {
 			log.warn("file not found exception, return 0L", e);
@@ -796,7 +796,7 @@ public class IRODSFileImpl extends File implements IRODSFile {
 		long length = 0L;
 
 		try {
-			ObjStat objStat = irodsFileSystemAO.getObjStat(getAbsolutePath());
+			ObjStat objStat = irodsFileSystemAO.getObjStatForFileAttributes(getAbsolutePath());
 			length = objStat.getObjSize();
 		} catch (FileNotFoundException e) {
 			log.warn("file not found exception, return length of 0", e);
@@ -1323,6 +1323,11 @@ public class IRODSFileImpl extends File implements IRODSFile {
 
 		}
 
+		if (openFlags != null && openFlags != OpenFlags.READ) {
+			// size and modify time may have changed
+			irodsFileSystemAO.evictDataObjectFromCache(getAbsolutePath());
+		}
+
 		setFileDescriptor(-1);
 
 	}
@@ -0,0 +1,77 @@
+/**
+ *
+ */
+package org.irods.jargon.core.query;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.irods.jargon.core.exception.JargonException;
+
+/**
+ * A {@link PreparedGenQuery} with values bound to its parameters. This may be
+ * run by the {@code IRODSGenQueryExecutor} like any other query, and is
+ * translated without resolving the selects and fixed conditions again.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class BoundGenQuery extends AbstractIRODSGenQuery {
+
+	private final PreparedGenQuery preparedGenQuery;
+	private final List<String> values;
+
+	/**
+	 * Constructor, see {@link PreparedGenQuery#bind(List)}
+	 *
+	 * @param preparedGenQuery
+	 *            {@link PreparedGenQuery} that was bound
+	 * @param values
+	 *            {@code List<String>} with a value for each parameter
+	 */
+	BoundGenQuery(final PreparedGenQuery preparedGenQuery,
+			final List<String> values) {
+		super(preparedGenQuery.getNumberOfResultsDesired());
+		this.preparedGenQuery = preparedGenQuery;
+		this.values = Collections.unmodifiableList(values);
+	}
+
+	/**
+	 * Format the query in a format understandable by the mechanism that
+	 * translates the query to iRODS protocol and sends to iRODS.
+	 *
+	 * @return {@link TranslatedIRODSGenQuery} in a format ready to send to
+	 *         iRODS
+	 * @throws JargonException
+	 */
+	public TranslatedIRODSGenQuery convertToTranslatedIRODSGenQuery()
+			throws JargonException {
+		return preparedGenQuery.translate(values, this);
+	}
+
+	/**
+	 * @return the preparedGenQuery
+	 */
+	public PreparedGenQuery getPreparedGenQuery() {
+		return preparedGenQuery;
+	}
+
+	/**
+	 * @return the values bound to the parameters
+	 */
+	public List<String> getValues() {
+		return values;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("BoundGenQuery:");
+		sb.append("\n   preparedGenQuery:");
+		sb.append(preparedGenQuery);
+		sb.append("\n   values:");
+		sb.append(values);
+		return sb.toString();
+	}
+
+}
@@ -197,6 +197,9 @@ public class GenQueryProcessor {
 			} catch (GenQueryBuilderException e) {
 				throw new JargonException("invalid builder query", e);
 			}
+		} else if (irodsQuery instanceof BoundGenQuery) {
+			translatedIRODSQuery = ((BoundGenQuery) irodsQuery)
+					.convertToTranslatedIRODSGenQuery();
 		} else {
 			throw new JargonException("unknown type of irodsGenQuery");
 		}
@@ -0,0 +1,525 @@
+/**
+ *
+ */
+package org.irods.jargon.core.query;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.GenQueryInp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Session level cache of GenQuery results, used by the
+ * {@code IRODSGenQueryExecutor} for queries that are closed after the first
+ * page is returned. Entries are keyed by the query as it is sent to iRODS,
+ * along with the account and zone, so only identical requests share a result.
+ * <p>
+ * Each query is assigned a {@link QueryFamily} from the columns it refers to,
+ * and each family has its own time to live, so that mostly-static catalog
+ * data such as users, resources and zones may be held longer than collection
+ * listings. Changes made through this client evict entries, either by path
+ * (for collection, data object and metadata queries) or by family (for
+ * catalog administration). Changes made by other clients are only seen once
+ * an entry expires.
+ * <p>
+ * The cache is bounded, and discards the least recently used entries.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class GenQueryResultCache {
+
+	public static final Logger log = LoggerFactory
+			.getLogger(GenQueryResultCache.class);
+
+	/**
+	 * The kind of catalog data a query refers to, used to pick a time to live
+	 * and to scope eviction
+	 */
+	public enum QueryFamily {
+		COLLECTION_AND_DATA, METADATA, USER, RESOURCE, ZONE, OTHER
+	}
+
+	private final Map<String, CachedResult> cache;
+	private final Map<QueryFamily, Long> timeToLiveMillisByFamily = new EnumMap<QueryFamily, Long>(
+			QueryFamily.class);
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+	private final AtomicLong evictionCount = new AtomicLong();
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxEntries
+	 *            {@code int} with the maximum number of results held
+	 * @param timeToLiveMillis
+	 *            {@code long} with the time (in milliseconds) that results of
+	 *            collection, data object, metadata and other queries are valid
+	 * @param catalogTimeToLiveMillis
+	 *            {@code long} with the time (in milliseconds) that results of
+	 *            user, group, resource and zone queries are valid
+	 */
+	public GenQueryResultCache(final int maxEntries,
+			final long timeToLiveMillis, final long catalogTimeToLiveMillis) {
+
+		if (maxEntries <= 0) {
+			throw new IllegalArgumentException("maxEntries must be > 0");
+		}
+
+		if (timeToLiveMillis <= 0) {
+			throw new IllegalArgumentException("timeToLiveMillis must be > 0");
+		}
+
+		if (catalogTimeToLiveMillis <= 0) {
+			throw new IllegalArgumentException(
+					"catalogTimeToLiveMillis must be > 0");
+		}
+
+		cache = new LinkedHashMap<String, CachedResult>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(
+					final Map.Entry<String, CachedResult> eldest) {
+				return size() > maxEntries;
+			}
+		};
+
+		for (QueryFamily queryFamily : QueryFamily.values()) {
+			timeToLiveMillisByFamily.put(queryFamily, timeToLiveMillis);
+		}
+		timeToLiveMillisByFamily.put(QueryFamily.USER, catalogTimeToLiveMillis);
+		timeToLiveMillisByFamily.put(QueryFamily.RESOURCE,
+				catalogTimeToLiveMillis);
+		timeToLiveMillisByFamily.put(QueryFamily.ZONE, catalogTimeToLiveMillis);
+	}
+
+	/**
+	 * Compute the cache key for a query as it will be sent to iRODS
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} running the query
+	 * @param zoneName
+	 *            {@code String} with the optional zone for the query, may be
+	 *            {@code null}
+	 * @param partialStartIndex
+	 *            {@code int} with the offset of the first row desired
+	 * @param translatedIRODSGenQuery
+	 *            {@link TranslatedIRODSGenQuery} to be sent
+	 * @return {@code String} with the key
+	 * @throws JargonException
+	 */
+	public static String computeKey(final IRODSAccount irodsAccount,
+			final String zoneName, final int partialStartIndex,
+			final TranslatedIRODSGenQuery translatedIRODSGenQuery)
+			throws JargonException {
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (translatedIRODSGenQuery == null) {
+			throw new IllegalArgumentException("null translatedIRODSGenQuery");
+		}
+
+		StringBuilder sb = new StringBuilder();
+		sb.append(irodsAccount.getUserName());
+		sb.append('#');
+		sb.append(irodsAccount.getZone());
+		sb.append('@');
+		sb.append(irodsAccount.getHost());
+		sb.append(':');
+		sb.append(irodsAccount.getPort());
+		sb.append('|');
+		sb.append(irodsAccount.getProxyName());
+		sb.append('#');
+		sb.append(irodsAccount.getProxyZone());
+		sb.append('|');
+		sb.append(GenQueryInp.instanceWithPartialStart(translatedIRODSGenQuery,
+				partialStartIndex, zoneName).getParsedTags());
+		return sb.toString();
+	}
+
+	/**
+	 * Decide the family of a query from the columns it selects and
+	 * conditions on. Metadata on users and resources is changed by the same
+	 * requests as the users and resources themselves, so those queries are
+	 * in the user and resource families rather than the metadata family.
+	 *
+	 * @param translatedIRODSGenQuery
+	 *            {@link TranslatedIRODSGenQuery}
+	 * @return {@link QueryFamily}
+	 */
+	public static QueryFamily determineQueryFamily(
+			final TranslatedIRODSGenQuery translatedIRODSGenQuery) {
+
+		List<String> columnNames = new ArrayList<String>();
+		for (GenQuerySelectField selectField : translatedIRODSGenQuery
+				.getSelectFields()) {
+			columnNames.add(selectField.getSelectFieldColumnName());
+		}
+		for (TranslatedGenQueryCondition condition : translatedIRODSGenQuery
+				.getTranslatedQueryConditions()) {
+			columnNames.add(condition.getColumnName());
+		}
+
+		if (anyStartsWith(columnNames, "META_USER_")) {
+			return QueryFamily.USER;
+		} else if (anyStartsWith(columnNames, "META_RESC_")) {
+			return QueryFamily.RESOURCE;
+		} else if (anyStartsWith(columnNames, "META_")) {
+			return QueryFamily.METADATA;
+		} else if (anyStartsWith(columnNames, "COLL_", "DATA_", "D_")) {
+			return QueryFamily.COLLECTION_AND_DATA;
+		} else if (anyStartsWith(columnNames, "USER_")) {
+			return QueryFamily.USER;
+		} else if (anyStartsWith(columnNames, "R_", "RESC_")) {
+			return QueryFamily.RESOURCE;
+		} else if (anyStartsWith(columnNames, "ZONE_")) {
+			return QueryFamily.ZONE;
+		} else {
+			return QueryFamily.OTHER;
+		}
+	}
+
+	private static boolean anyStartsWith(final List<String> columnNames,
+			final String... prefixes) {
+		for (String columnName : columnNames) {
+			for (String prefix : prefixes) {
+				if (columnName.startsWith(prefix)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Collection paths named in the conditions of a query, with quotes and
+	 * any trailing wildcard or slash removed
+	 */
+	private static List<String> extractConditionPaths(
+			final TranslatedIRODSGenQuery translatedIRODSGenQuery) {
+		List<String> paths = new ArrayList<String>();
+		for (TranslatedGenQueryCondition condition : translatedIRODSGenQuery
+				.getTranslatedQueryConditions()) {
+			if (!condition.getColumnName().equals(
+					RodsGenQueryEnum.COL_COLL_NAME.getName())
+					&& !condition.getColumnName().equals(
+							RodsGenQueryEnum.COL_COLL_PARENT_NAME.getName())) {
+				continue;
+			}
+
+			String path = condition.getValue().trim();
+			if (path.startsWith("'") && path.endsWith("'")
+					&& path.length() > 1) {
+				path = path.substring(1, path.length() - 1);
+			}
+			while (path.endsWith("%")) {
+				path = path.substring(0, path.length() - 1);
+			}
+			paths.add(trimTrailingSlash(path));
+		}
+		return paths;
+	}
+
+	private static String trimTrailingSlash(final String path) {
+		String trimmed = path;
+		while (trimmed.length() > 1 && trimmed.endsWith("/")) {
+			trimmed = trimmed.substring(0, trimmed.length() - 1);
+		}
+		return trimmed;
+	}
+
+	/**
+	 * Is one path the same as, a parent of, or a child of the other
+	 */
+	private static boolean isPathRelated(final String path1,
+			final String path2) {
+		return isSameOrChild(path1, path2) || isSameOrChild(path2, path1);
+	}
+
+	private static boolean isSameOrChild(final String path, final String parent) {
+		if (path.equals(parent)) {
+			return true;
+		}
+		String prefix = parent.endsWith("/") ? parent : parent + "/";
+		return path.startsWith(prefix);
+	}
+
+	/**
+	 * Get a cached result for the given key
+	 *
+	 * @param key
+	 *            {@code String} from {@code computeKey()}
+	 * @param translatedIRODSGenQuery
+	 *            {@link TranslatedIRODSGenQuery} being run, which is
+	 *            referenced by the returned result set
+	 * @return {@link IRODSQueryResultSet} or {@code null} if nothing is
+	 *         cached, or if the cached entry has expired
+	 * @throws JargonException
+	 */
+	public IRODSQueryResultSet retrieve(final String key,
+			final TranslatedIRODSGenQuery translatedIRODSGenQuery)
+			throws JargonException {
+
+		if (key == null) {
+			throw new IllegalArgumentException("null key");
+		}
+
+		CachedResult cachedResult;
+		synchronized (cache) {
+			cachedResult = cache.get(key);
+			if (cachedResult != null
+					&& cachedResult.expiresAt < System.currentTimeMillis()) {
+				cache.remove(key);
+				cachedResult = null;
+			}
+		}
+
+		if (cachedResult == null) {
+			missCount.incrementAndGet();
+			return null;
+		}
+
+		hitCount.incrementAndGet();
+		return IRODSQueryResultSet.instance(translatedIRODSGenQuery,
+				new ArrayList<IRODSQueryResultRow>(cachedResult.results),
+				cachedResult.continuationIndex, cachedResult.totalRecords);
+	}
+
+	/**
+	 * Cache the result of a query
+	 *
+	 * @param key
+	 *            {@code String} from {@code computeKey()}
+	 * @param irodsQueryResultSet
+	 *            {@link IRODSQueryResultSet} returned by iRODS
+	 */
+	public void cacheResult(final String key,
+			final IRODSQueryResultSet irodsQueryResultSet) {
+
+		if (key == null) {
+			throw new IllegalArgumentException("null key");
+		}
+
+		if (irodsQueryResultSet == null) {
+			throw new IllegalArgumentException("null irodsQueryResultSet");
+		}
+
+		TranslatedIRODSGenQuery translatedIRODSGenQuery = irodsQueryResultSet
+				.getTranslatedIRODSQuery();
+		QueryFamily queryFamily = determineQueryFamily(translatedIRODSGenQuery);
+		CachedResult cachedResult = new CachedResult(
+				new ArrayList<IRODSQueryResultRow>(
+						irodsQueryResultSet.getResults()),
+				irodsQueryResultSet.getContinuationIndex(),
+				irodsQueryResultSet.getTotalRecords(), queryFamily,
+				extractConditionPaths(translatedIRODSGenQuery),
+				System.currentTimeMillis()
+						+ getTimeToLiveMillis(queryFamily));
+
+		synchronized (cache) {
+			cache.put(key, cachedResult);
+		}
+	}
+
+	/**
+	 * Evict results of collection, data object and metadata queries that
+	 * refer to the given path, its parents or its children. Such queries that
+	 * do not name a collection are evicted as well.
+	 *
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the absolute path that was changed
+	 */
+	public void evictByPath(final String irodsAbsolutePath) {
+		if (irodsAbsolutePath == null || irodsAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException(
+					"null or empty irodsAbsolutePath");
+		}
+
+		String path = trimTrailingSlash(irodsAbsolutePath);
+		int evicted = 0;
+
+		synchronized (cache) {
+			Iterator<CachedResult> iter = cache.values().iterator();
+			while (iter.hasNext()) {
+				CachedResult cachedResult = iter.next();
+				if (cachedResult.queryFamily != QueryFamily.COLLECTION_AND_DATA
+						&& cachedResult.queryFamily != QueryFamily.METADATA) {
+					continue;
+				}
+
+				boolean evict = cachedResult.paths.isEmpty();
+				for (String cachedPath : cachedResult.paths) {
+					if (evict) {
+						break;
+					}
+					evict = isPathRelated(path, cachedPath);
+				}
+
+				if (evict) {
+					iter.remove();
+					evicted++;
+				}
+			}
+		}
+
+		evictionCount.addAndGet(evicted);
+		log.debug("evicted {} results for path", evicted);
+	}
+
+	/**
+	 * Evict all results of queries in the given family
+	 *
+	 * @param queryFamily
+	 *            {@link QueryFamily} that was changed
+	 */
+	public void evictByFamily(final QueryFamily queryFamily) {
+		if (queryFamily == null) {
+			throw new IllegalArgumentException("null queryFamily");
+		}
+
+		int evicted = 0;
+		synchronized (cache) {
+			Iterator<CachedResult> iter = cache.values().iterator();
+			while (iter.hasNext()) {
+				if (iter.next().queryFamily == queryFamily) {
+					iter.remove();
+					evicted++;
+				}
+			}
+		}
+
+		evictionCount.addAndGet(evicted);
+		log.debug("evicted {} results for family {}", evicted, queryFamily);
+	}
+
+	/**
+	 * Discard all cached results
+	 */
+	public void clear() {
+		synchronized (cache) {
+			evictionCount.addAndGet(cache.size());
+			cache.clear();
+		}
+	}
+
+	/**
+	 * Set the time to live for results of a family of queries. This applies
+	 * to results cached after the change.
+	 *
+	 * @param queryFamily
+	 *            {@link QueryFamily}
+	 * @param timeToLiveMillis
+	 *            {@code long} with the time (in milliseconds) a result is
+	 *            valid
+	 */
+	public void setTimeToLiveMillis(final QueryFamily queryFamily,
+			final long timeToLiveMillis) {
+		if (queryFamily == null) {
+			throw new IllegalArgumentException("null queryFamily");
+		}
+
+		if (timeToLiveMillis <= 0) {
+			throw new IllegalArgumentException("timeToLiveMillis must be > 0");
+		}
+
+		synchronized (timeToLiveMillisByFamily) {
+			timeToLiveMillisByFamily.put(queryFamily, timeToLiveMillis);
+		}
+	}
+
+	/**
+	 * @param queryFamily
+	 *            {@link QueryFamily}
+	 * @return {@code long} with the time (in milliseconds) a result in the
+	 *         family is valid
+	 */
+	public long getTimeToLiveMillis(final QueryFamily queryFamily) {
+		synchronized (timeToLiveMillisByFamily) {
+			return timeToLiveMillisByFamily.get(queryFamily);
+		}
+	}
+
+	/**
+	 * @return {@code int} with the number of results held
+	 */
+	public int size() {
+		synchronized (cache) {
+			return cache.size();
+		}
+	}
+
+	/**
+	 * @return {@code long} with the number of lookups that found a result
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * @return {@code long} with the number of lookups that did not find a
+	 *         valid result
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * @return {@code long} with the number of results evicted by changes made
+	 *         through this client
+	 */
+	public long getEvictionCount() {
+		return evictionCount.get();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("GenQueryResultCache [size=");
+		sb.append(size());
+		sb.append(", hitCount=");
+		sb.append(getHitCount());
+		sb.append(", missCount=");
+		sb.append(getMissCount());
+		sb.append(", evictionCount=");
+		sb.append(getEvictionCount());
+		sb.append("]");
+		return sb.toString();
+	}
+
+	/**
+	 * A cached page of results, with what is needed to evict it
+	 */
+	private static final class CachedResult {
+		private final List<IRODSQueryResultRow> results;
+		private final int continuationIndex;
+		private final int totalRecords;
+		private final QueryFamily queryFamily;
+		private final List<String> paths;
+		private final long expiresAt;
+
+		CachedResult(final List<IRODSQueryResultRow> results,
+				final int continuationIndex, final int totalRecords,
+				final QueryFamily queryFamily, final List<String> paths,
+				final long expiresAt) {
+			this.results = results;
+			this.continuationIndex = continuationIndex;
+			this.totalRecords = totalRecords;
+			this.queryFamily = queryFamily;
+			this.paths = paths;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+}
@@ -0,0 +1,261 @@
+/**
+ *
+ */
+package org.irods.jargon.core.query;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.exception.JargonRuntimeException;
+import org.irods.jargon.core.pub.IRODSGenQueryExecutorImpl.QueryCloseBehavior;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Iterates over the rows of a GenQuery, fetching pages from iRODS as they are
+ * needed and handling the continuation index and the closing of the query on
+ * the server. At most the current page and the next page are held in memory,
+ * so large catalog scans may be done in constant memory.
+ * <p>
+ * If prefetch is enabled, the next page is requested on a background thread
+ * while the current page is consumed. The background request is done over the
+ * same connection as the original query, as iRODS ties the continuation to
+ * that connection. Calls on the connection are serialized, so other operations
+ * may be done while iterating, but they may wait on an outstanding prefetch.
+ * <p>
+ * The iterator will release the query on the server when the last row is
+ * read. If iteration stops early, {@code close()} must be called, or the
+ * {@code Stream} obtained from {@code stream()} must be closed (e.g. in a
+ * try-with-resources block). Errors from iRODS encountered while paging are
+ * thrown as {@link JargonRuntimeException}.
+ * <p>
+ * This object is not thread-safe, and should be consumed by one thread.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class GenQueryResultIterator implements Iterator<IRODSQueryResultRow>, Closeable {
+
+	private static final Logger log = LoggerFactory.getLogger(GenQueryResultIterator.class);
+
+	private final GenQueryProcessor genQueryProcessor;
+	private final String zoneName;
+	private final ExecutorService prefetchExecutor;
+	private IRODSQueryResultSet currentPage;
+	private Future<IRODSQueryResultSet> nextPage = null;
+	private int rowIndex = 0;
+	private boolean closed = false;
+
+	/**
+	 * Create an iterator, which will run the query and obtain the first page of
+	 * results
+	 *
+	 * @param genQueryProcessor
+	 *            {@link GenQueryProcessor} bound to the connection that will run
+	 *            the query
+	 * @param translatedIRODSGenQuery
+	 *            {@link TranslatedIRODSGenQuery} to run
+	 * @param zoneName
+	 *            {@code String} ({@code null} or blank if not used) that
+	 *            indicates an optional zone for the query
+	 * @param prefetchNextPage
+	 *            {@code boolean} that indicates whether the next page is
+	 *            obtained in the background while the current page is read
+	 * @throws JargonException
+	 */
+	public GenQueryResultIterator(final GenQueryProcessor genQueryProcessor,
+			final TranslatedIRODSGenQuery translatedIRODSGenQuery, final String zoneName,
+			final boolean prefetchNextPage) throws JargonException {
+
+		if (genQueryProcessor == null) {
+			throw new IllegalArgumentException("null genQueryProcessor");
+		}
+
+		if (translatedIRODSGenQuery == null) {
+			throw new IllegalArgumentException("null translatedIRODSGenQuery");
+		}
+
+		this.genQueryProcessor = genQueryProcessor;
+		this.zoneName = zoneName;
+
+		currentPage = genQueryProcessor.executeTranslatedIRODSQuery(translatedIRODSGenQuery, 0, 0,
+				QueryCloseBehavior.MANUAL_CLOSE, zoneName);
+
+		if (prefetchNextPage && currentPage.isHasMoreRecords()) {
+			prefetchExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(final Runnable runnable) {
+					Thread thread = new Thread(runnable, "genquery-prefetch");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		} else {
+			prefetchExecutor = null;
+		}
+
+		schedulePrefetch();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.util.Iterator#hasNext()
+	 */
+	@Override
+	public boolean hasNext() {
+		while (!closed) {
+			if (rowIndex < currentPage.getResults().size()) {
+				return true;
+			}
+
+			if (!currentPage.isHasMoreRecords()) {
+				log.debug("last page consumed");
+				close();
+				return false;
+			}
+
+			try {
+				currentPage = obtainNextPage();
+			} catch (JargonException e) {
+				log.error("error getting next page of query results", e);
+				closed = true;
+				shutdownPrefetch();
+				throw new JargonRuntimeException("error getting next page of query results", e);
+			}
+			rowIndex = 0;
+			schedulePrefetch();
+		}
+		return false;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.util.Iterator#next()
+	 */
+	@Override
+	public IRODSQueryResultRow next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException("no more query results");
+		}
+		return currentPage.getResults().get(rowIndex++);
+	}
+
+	/**
+	 * Get a sequential {@code Stream} over the remaining rows. Closing the stream
+	 * closes this iterator.
+	 *
+	 * @return {@code Stream} of {@link IRODSQueryResultRow}
+	 */
+	public Stream<IRODSQueryResultRow> stream() {
+		return StreamSupport
+				.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(new Runnable() {
+					@Override
+					public void run() {
+						close();
+					}
+				});
+	}
+
+	/**
+	 * Release the query on the iRODS server, if it is still open, along with
+	 * any background prefetch. Calling this more than once has no effect.
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+
+		log.debug("closing query iterator");
+		closed = true;
+
+		/*
+		 * the open handle is held by the last page obtained from iRODS, which is
+		 * the prefetched page if there is one
+		 */
+		IRODSQueryResultSet lastPage = currentPage;
+		try {
+			if (nextPage != null) {
+				lastPage = waitForPrefetch();
+			}
+			if (lastPage.isHasMoreRecords()) {
+				genQueryProcessor.closeResults(lastPage);
+			}
+		} catch (JargonException e) {
+			log.warn("error closing query results, ignored", e);
+		} finally {
+			shutdownPrefetch();
+		}
+	}
+
+	/**
+	 * @return {@code boolean} of {@code true} if the iterator has been closed,
+	 *         either explicitly or by reading the last row
+	 */
+	public boolean isClosed() {
+		return closed;
+	}
+
+	private IRODSQueryResultSet obtainNextPage() throws JargonException {
+		if (nextPage != null) {
+			return waitForPrefetch();
+		}
+
+		return genQueryProcessor.executeTranslatedIRODSQuery(currentPage.getTranslatedIRODSQuery(),
+				currentPage.getContinuationIndex(), 0, QueryCloseBehavior.MANUAL_CLOSE, zoneName);
+	}
+
+	private IRODSQueryResultSet waitForPrefetch() throws JargonException {
+		Future<IRODSQueryResultSet> pending = nextPage;
+		nextPage = null;
+		try {
+			return pending.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JargonException("interrupted waiting for next page of query results", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof JargonException) {
+				throw (JargonException) e.getCause();
+			}
+			throw new JargonException("error getting next page of query results", e.getCause());
+		}
+	}
+
+	private void schedulePrefetch() {
+		if (prefetchExecutor == null || !currentPage.isHasMoreRecords()) {
+			return;
+		}
+
+		final IRODSQueryResultSet page = currentPage;
+		nextPage = prefetchExecutor.submit(new Callable<IRODSQueryResultSet>() {
+			@Override
+			public IRODSQueryResultSet call() throws Exception {
+				log.debug("prefetching query results at continuation:{}", page.getContinuationIndex());
+				return genQueryProcessor.executeTranslatedIRODSQuery(page.getTranslatedIRODSQuery(),
+						page.getContinuationIndex(), 0, QueryCloseBehavior.MANUAL_CLOSE, zoneName);
+			}
+		});
+	}
+
+	private void shutdownPrefetch() {
+		if (prefetchExecutor != null) {
+			prefetchExecutor.shutdown();
+		}
+	}
+
+}
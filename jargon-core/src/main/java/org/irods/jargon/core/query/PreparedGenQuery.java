@@ -0,0 +1,421 @@
+/**
+ *
+ */
+package org.irods.jargon.core.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.GenQueryInp;
+
+/**
+ * A GenQuery that has been translated once, so that it may be run many times
+ * with different condition values. The selects, order by, options and any
+ * fixed conditions are resolved when the query is prepared, and only the
+ * parameter values are supplied for each execution.
+ * <p>
+ * A query is prepared from an {@link IRODSGenQueryBuilder} where each
+ * condition whose value will vary is given the value {@link #PARAMETER}, for
+ * example:
+ *
+ * <pre>
+ * builder.addConditionAsGenQueryField(RodsGenQueryEnum.COL_COLL_NAME,
+ * 		QueryConditionOperators.EQUAL, PreparedGenQuery.PARAMETER);
+ * </pre>
+ *
+ * Values are then supplied, in condition order, with {@link #bind(String...)}
+ * . Values are quoted as they would be by the builder. Conditions with other
+ * values are fixed, and are part of the shape of the query.
+ * <p>
+ * This object is immutable, and is safe to share between threads.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class PreparedGenQuery {
+
+	/**
+	 * Condition value that marks a parameter to be bound for each execution
+	 */
+	public static final String PARAMETER = "?";
+
+	private static final String QUOTED_PARAMETER = "'" + PARAMETER + "'";
+
+	private final String shapeKey;
+	private final List<GenQuerySelectField> selectFields;
+	private final List<GenQueryOrderByField> orderByFields;
+	private final List<GenQueryBuilderCondition> conditions;
+	/**
+	 * Translated condition for each fixed condition, {@code null} in the
+	 * position of each parameter
+	 */
+	private final TranslatedGenQueryCondition[] fixedConditions;
+	private final int parameterCount;
+	private final boolean distinct;
+	private final boolean upperCase;
+	private final boolean computeTotalRowCount;
+	private final int numberOfResultsDesired;
+	private final int options;
+	private final String[] selectInxValues;
+	private final int[] selectIvalues;
+
+	/**
+	 * Prepare a query from the data in a builder query
+	 *
+	 * @param irodsGenQueryBuilderData
+	 *            {@link IRODSGenQueryBuilderQueryData} with the shape of the
+	 *            query, where conditions to be bound later have the value
+	 *            {@link #PARAMETER}
+	 * @param numberOfResultsDesired
+	 *            {@code int} with the number of results desired from each
+	 *            page of the query
+	 * @return {@link PreparedGenQuery}
+	 * @throws JargonException
+	 */
+	public static PreparedGenQuery instance(
+			final IRODSGenQueryBuilderQueryData irodsGenQueryBuilderData,
+			final int numberOfResultsDesired) throws JargonException {
+		return new PreparedGenQuery(irodsGenQueryBuilderData,
+				numberOfResultsDesired);
+	}
+
+	/**
+	 * Prepare a query from a query exported from an
+	 * {@link IRODSGenQueryBuilder}
+	 *
+	 * @param irodsGenQueryFromBuilder
+	 *            {@link IRODSGenQueryFromBuilder} with the shape of the query,
+	 *            where conditions to be bound later have the value
+	 *            {@link #PARAMETER}
+	 * @return {@link PreparedGenQuery}
+	 * @throws JargonException
+	 */
+	public static PreparedGenQuery instance(
+			final IRODSGenQueryFromBuilder irodsGenQueryFromBuilder)
+			throws JargonException {
+		if (irodsGenQueryFromBuilder == null) {
+			throw new IllegalArgumentException("null irodsGenQueryFromBuilder");
+		}
+		return new PreparedGenQuery(
+				irodsGenQueryFromBuilder.getIrodsGenQueryBuilderData(),
+				irodsGenQueryFromBuilder.getNumberOfResultsDesired());
+	}
+
+	/**
+	 * Compute the key that identifies the shape of a query, that is,
+	 * everything but the values of its parameters. Two queries with the same
+	 * key may share a {@code PreparedGenQuery}.
+	 *
+	 * @param irodsGenQueryBuilderData
+	 *            {@link IRODSGenQueryBuilderQueryData} with the shape of the
+	 *            query
+	 * @param numberOfResultsDesired
+	 *            {@code int} with the number of results desired
+	 * @return {@code String} with the shape key
+	 */
+	public static String computeShapeKey(
+			final IRODSGenQueryBuilderQueryData irodsGenQueryBuilderData,
+			final int numberOfResultsDesired) {
+
+		if (irodsGenQueryBuilderData == null) {
+			throw new IllegalArgumentException("null irodsGenQueryBuilderData");
+		}
+
+		StringBuilder sb = new StringBuilder();
+		sb.append(irodsGenQueryBuilderData.isDistinct() ? 'd' : '-');
+		sb.append(irodsGenQueryBuilderData.isUpperCase() ? 'u' : '-');
+		sb.append(irodsGenQueryBuilderData.isComputeTotalRowCount() ? 'c'
+				: '-');
+		sb.append(numberOfResultsDesired);
+		sb.append("|s");
+		for (GenQuerySelectField selectField : irodsGenQueryBuilderData
+				.getSelectFields()) {
+			sb.append(':');
+			sb.append(selectField.getSelectFieldNumericTranslation());
+			sb.append(selectField.getSelectFieldType().ordinal());
+		}
+		sb.append("|w");
+		for (GenQueryBuilderCondition condition : irodsGenQueryBuilderData
+				.getConditions()) {
+			sb.append(':');
+			sb.append(condition.getSelectFieldNumericTranslation());
+			sb.append(' ');
+			sb.append(condition.getOperator().ordinal());
+			sb.append(' ');
+			if (isParameter(condition)) {
+				sb.append(PARAMETER);
+			} else {
+				// length prefix so that a value cannot be mistaken for the
+				// next condition
+				sb.append(condition.getValue().length());
+				sb.append('=');
+				sb.append(condition.getValue());
+			}
+		}
+		sb.append("|o");
+		for (GenQueryOrderByField orderByField : irodsGenQueryBuilderData
+				.getOrderByFields()) {
+			sb.append(':');
+			sb.append(orderByField.getSelectFieldNumericTranslation());
+			sb.append(orderByField.getOrderByType().ordinal());
+		}
+		return sb.toString();
+	}
+
+	private static boolean isParameter(final GenQueryBuilderCondition condition) {
+		return QUOTED_PARAMETER.equals(condition.getValue())
+				|| PARAMETER.equals(condition.getValue());
+	}
+
+	private PreparedGenQuery(
+			final IRODSGenQueryBuilderQueryData irodsGenQueryBuilderData,
+			final int numberOfResultsDesired) throws JargonException {
+
+		if (irodsGenQueryBuilderData == null) {
+			throw new IllegalArgumentException("null irodsGenQueryBuilderData");
+		}
+
+		if (!irodsGenQueryBuilderData.isQueryValid()) {
+			throw new IllegalArgumentException("query is not valid to prepare");
+		}
+
+		if (numberOfResultsDesired <= 0) {
+			throw new IllegalArgumentException(
+					"numberOfResultsDesired must be > 0");
+		}
+
+		shapeKey = computeShapeKey(irodsGenQueryBuilderData,
+				numberOfResultsDesired);
+		selectFields = Collections
+				.unmodifiableList(new ArrayList<GenQuerySelectField>(
+						irodsGenQueryBuilderData.getSelectFields()));
+		orderByFields = Collections
+				.unmodifiableList(new ArrayList<GenQueryOrderByField>(
+						irodsGenQueryBuilderData.getOrderByFields()));
+		conditions = Collections
+				.unmodifiableList(new ArrayList<GenQueryBuilderCondition>(
+						irodsGenQueryBuilderData.getConditions()));
+		distinct = irodsGenQueryBuilderData.isDistinct();
+		upperCase = irodsGenQueryBuilderData.isUpperCase();
+		computeTotalRowCount = irodsGenQueryBuilderData
+				.isComputeTotalRowCount();
+		this.numberOfResultsDesired = numberOfResultsDesired;
+
+		fixedConditions = new TranslatedGenQueryCondition[conditions.size()];
+		int parameters = 0;
+		int i = 0;
+		for (GenQueryBuilderCondition condition : conditions) {
+			if (isParameter(condition)) {
+				parameters++;
+			} else {
+				fixedConditions[i] = translateCondition(condition,
+						condition.getValue());
+			}
+			i++;
+		}
+		parameterCount = parameters;
+
+		options = GenQueryInp.computeOptions(distinct, upperCase,
+				computeTotalRowCount);
+		selectInxValues = GenQueryInp.computeSelectInxValues(selectFields);
+		selectIvalues = GenQueryInp.computeSelectIvalues(selectFields,
+				orderByFields);
+	}
+
+	private TranslatedGenQueryCondition translateCondition(
+			final GenQueryBuilderCondition condition, final String value)
+			throws JargonException {
+
+		/*
+		 * For case insensitive gen queries, iRODS really does 'upper' on the
+		 * database field, so make the condition upper too
+		 */
+		String conditionValue = upperCase ? value.toUpperCase() : value;
+
+		try {
+			return TranslatedGenQueryCondition
+					.instanceWithFieldNameAndNumericTranslation(condition
+							.getSelectFieldColumnName(), condition
+							.getOperator().getOperatorAsString(),
+							conditionValue, condition
+									.getSelectFieldNumericTranslation());
+		} catch (JargonQueryException e) {
+			throw new JargonException("error translating prepared condition",
+					e);
+		}
+	}
+
+	/**
+	 * Bind values to the parameters of this query, giving a query that may be
+	 * run by the {@code IRODSGenQueryExecutor}
+	 *
+	 * @param values
+	 *            {@code String...} with a value for each parameter, in the
+	 *            order the conditions were added to the builder. Values are
+	 *            given without quotes, except for an {@code IN} condition,
+	 *            which is given as for the builder.
+	 * @return {@link BoundGenQuery}
+	 */
+	public BoundGenQuery bind(final String... values) {
+		if (values == null) {
+			throw new IllegalArgumentException("null values");
+		}
+		return bind(Arrays.asList(values));
+	}
+
+	/**
+	 * Bind values to the parameters of this query, giving a query that may be
+	 * run by the {@code IRODSGenQueryExecutor}
+	 *
+	 * @param values
+	 *            {@code List<String>} with a value for each parameter, in the
+	 *            order the conditions were added to the builder
+	 * @return {@link BoundGenQuery}
+	 */
+	public BoundGenQuery bind(final List<String> values) {
+		if (values == null) {
+			throw new IllegalArgumentException("null values");
+		}
+
+		if (values.size() != parameterCount) {
+			throw new IllegalArgumentException("expected " + parameterCount
+					+ " values, got " + values.size());
+		}
+
+		for (String value : values) {
+			if (value == null) {
+				throw new IllegalArgumentException("null value in values");
+			}
+		}
+
+		return new BoundGenQuery(this, new ArrayList<String>(values));
+	}
+
+	/**
+	 * Build the translated query for the given parameter values, sharing the
+	 * resolved selects and fixed conditions of this query
+	 *
+	 * @param values
+	 *            {@code List<String>} with the parameter values, already
+	 *            checked
+	 * @param irodsQuery
+	 *            {@link AbstractIRODSGenQuery} that is being translated
+	 * @return {@link TranslatedIRODSGenQuery}
+	 * @throws JargonException
+	 */
+	TranslatedIRODSGenQuery translate(final List<String> values,
+			final AbstractIRODSGenQuery irodsQuery) throws JargonException {
+
+		List<TranslatedGenQueryCondition> translatedConditions = new ArrayList<TranslatedGenQueryCondition>(
+				conditions.size());
+		int valueIndex = 0;
+		for (int i = 0; i < fixedConditions.length; i++) {
+			if (fixedConditions[i] != null) {
+				translatedConditions.add(fixedConditions[i]);
+				continue;
+			}
+
+			GenQueryBuilderCondition condition = conditions.get(i);
+			String value = values.get(valueIndex++);
+			if (condition.getOperator() != QueryConditionOperators.IN) {
+				value = "'" + value + "'";
+			}
+			translatedConditions.add(translateCondition(condition, value));
+		}
+
+		return TranslatedIRODSGenQuery.instanceForPreparedQuery(this,
+				translatedConditions, irodsQuery);
+	}
+
+	/**
+	 * @return {@code String} with the key identifying the shape of this query
+	 */
+	public String getShapeKey() {
+		return shapeKey;
+	}
+
+	/**
+	 * @return {@code int} with the number of values to be bound
+	 */
+	public int getParameterCount() {
+		return parameterCount;
+	}
+
+	/**
+	 * @return the selectFields
+	 */
+	public List<GenQuerySelectField> getSelectFields() {
+		return selectFields;
+	}
+
+	/**
+	 * @return the orderByFields
+	 */
+	public List<GenQueryOrderByField> getOrderByFields() {
+		return orderByFields;
+	}
+
+	/**
+	 * @return the distinct
+	 */
+	public boolean isDistinct() {
+		return distinct;
+	}
+
+	/**
+	 * @return the upperCase
+	 */
+	public boolean isUpperCase() {
+		return upperCase;
+	}
+
+	/**
+	 * @return the computeTotalRowCount
+	 */
+	public boolean isComputeTotalRowCount() {
+		return computeTotalRowCount;
+	}
+
+	/**
+	 * @return the numberOfResultsDesired
+	 */
+	public int getNumberOfResultsDesired() {
+		return numberOfResultsDesired;
+	}
+
+	/**
+	 * @return {@code int} with the options value sent with the query
+	 */
+	public int getOptions() {
+		return options;
+	}
+
+	/**
+	 * @return {@code String[]} with the inx value sent for each select
+	 */
+	public String[] getSelectInxValues() {
+		return selectInxValues.clone();
+	}
+
+	/**
+	 * @return {@code int[]} with the ivalue sent for each select
+	 */
+	public int[] getSelectIvalues() {
+		return selectIvalues.clone();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("PreparedGenQuery:");
+		sb.append("\n   shapeKey:");
+		sb.append(shapeKey);
+		sb.append("\n   parameterCount:");
+		sb.append(parameterCount);
+		return sb.toString();
+	}
+
+}
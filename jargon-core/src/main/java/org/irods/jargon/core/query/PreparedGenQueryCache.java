@@ -0,0 +1,117 @@
+/**
+ *
+ */
+package org.irods.jargon.core.query;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Session level cache of {@link PreparedGenQuery} values, keyed by the iRODS
+ * server version and the shape of the query. This lets services that build
+ * the same query shape on each call reuse the translation instead of
+ * resolving it again. The cache is bounded, and discards the least recently
+ * used shapes.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class PreparedGenQueryCache {
+
+	public static final Logger log = LoggerFactory
+			.getLogger(PreparedGenQueryCache.class);
+
+	private final Map<String, PreparedGenQuery> cache;
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxEntries
+	 *            {@code int} with the maximum number of prepared queries held
+	 */
+	public PreparedGenQueryCache(final int maxEntries) {
+		if (maxEntries <= 0) {
+			throw new IllegalArgumentException("maxEntries must be > 0");
+		}
+
+		cache = new LinkedHashMap<String, PreparedGenQuery>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(
+					final Map.Entry<String, PreparedGenQuery> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Get the prepared query for the given builder query, preparing and
+	 * caching it if it is not yet cached for this server version
+	 *
+	 * @param serverVersion
+	 *            {@code String} with the release version of the iRODS server
+	 * @param irodsGenQueryFromBuilder
+	 *            {@link IRODSGenQueryFromBuilder} with the shape of the query
+	 * @return {@link PreparedGenQuery}
+	 * @throws JargonException
+	 */
+	public PreparedGenQuery retrieveOrPrepare(final String serverVersion,
+			final IRODSGenQueryFromBuilder irodsGenQueryFromBuilder)
+			throws JargonException {
+
+		if (serverVersion == null) {
+			throw new IllegalArgumentException("null serverVersion");
+		}
+
+		if (irodsGenQueryFromBuilder == null) {
+			throw new IllegalArgumentException("null irodsGenQueryFromBuilder");
+		}
+
+		String key = serverVersion
+				+ "|"
+				+ PreparedGenQuery.computeShapeKey(
+						irodsGenQueryFromBuilder.getIrodsGenQueryBuilderData(),
+						irodsGenQueryFromBuilder.getNumberOfResultsDesired());
+
+		synchronized (cache) {
+			PreparedGenQuery preparedGenQuery = cache.get(key);
+			if (preparedGenQuery != null) {
+				log.debug("prepared query cache hit");
+				return preparedGenQuery;
+			}
+		}
+
+		// prepare outside of the lock, a race here just prepares twice
+		PreparedGenQuery preparedGenQuery = PreparedGenQuery
+				.instance(irodsGenQueryFromBuilder);
+		synchronized (cache) {
+			cache.put(key, preparedGenQuery);
+		}
+		log.debug("prepared and cached query:{}", preparedGenQuery);
+		return preparedGenQuery;
+	}
+
+	/**
+	 * @return {@code int} with the number of prepared queries held
+	 */
+	public int size() {
+		synchronized (cache) {
+			return cache.size();
+		}
+	}
+
+	/**
+	 * Discard all prepared queries
+	 */
+	public void clear() {
+		synchronized (cache) {
+			cache.clear();
+		}
+	}
+
+}
@@ -31,6 +31,10 @@ public class TranslatedIRODSGenQuery {
 	 * Indicates whether a total row count should be included by iRODS
 	 */
 	private final boolean computeTotalRowCount;
+	/**
+	 * The prepared query this query was bound from, or {@code null}
+	 */
+	private final PreparedGenQuery preparedGenQuery;
 
 	/**
 	 * Create an instance of the query translation, this contains information
@@ -208,6 +212,33 @@ public class TranslatedIRODSGenQuery {
 
 	}
 
+	/**
+	 * Create an instance of the query translation from a
+	 * {@link PreparedGenQuery} and the condition values bound to it. The
+	 * selects, order by and options are shared with the prepared query.
+	 *
+	 * @param preparedGenQuery
+	 *            {@link PreparedGenQuery} that holds the translated shape
+	 * @param translatedQueryConditions
+	 *            {@code List} of {@link TranslatedGenQueryCondition} with the
+	 *            bound values
+	 * @param irodsQuery
+	 *            {@link AbstractIRODSGenQuery} that encapsulates the original
+	 *            user query.
+	 * @return {@link TranslatedIRODSGenQuery}
+	 * @throws JargonException
+	 */
+	static TranslatedIRODSGenQuery instanceForPreparedQuery(
+			final PreparedGenQuery preparedGenQuery,
+			final List<TranslatedGenQueryCondition> translatedQueryConditions,
+			final AbstractIRODSGenQuery irodsQuery) throws JargonException {
+		return new TranslatedIRODSGenQuery(preparedGenQuery.getSelectFields(),
+				translatedQueryConditions,
+				preparedGenQuery.getOrderByFields(), irodsQuery,
+				preparedGenQuery.isDistinct(), preparedGenQuery.isUpperCase(),
+				preparedGenQuery.isComputeTotalRowCount(), preparedGenQuery);
+	}
+
 	private TranslatedIRODSGenQuery(
 			final List<GenQuerySelectField> selectFields,
 			final List<TranslatedGenQueryCondition> translatedQueryConditions,
@@ -215,6 +246,17 @@ public class TranslatedIRODSGenQuery {
 			final AbstractIRODSGenQuery irodsQuery, final boolean distinct,
 			final boolean upperCase, final boolean computeTotalRowCount)
 			throws JargonException {
+		this(selectFields, translatedQueryConditions, orderByFields,
+				irodsQuery, distinct, upperCase, computeTotalRowCount, null);
+	}
+
+	private TranslatedIRODSGenQuery(
+			final List<GenQuerySelectField> selectFields,
+			final List<TranslatedGenQueryCondition> translatedQueryConditions,
+			final List<GenQueryOrderByField> orderByFields,
+			final AbstractIRODSGenQuery irodsQuery, final boolean distinct,
+			final boolean upperCase, final boolean computeTotalRowCount,
+			final PreparedGenQuery preparedGenQuery) throws JargonException {
 
 		if (translatedQueryConditions == null) {
 			throw new JargonException("conditions are null");
@@ -244,6 +286,7 @@ public class TranslatedIRODSGenQuery {
 		this.distinct = distinct;
 		this.upperCase = upperCase;
 		this.computeTotalRowCount = computeTotalRowCount;
+		this.preparedGenQuery = preparedGenQuery;
 
 	}
 
@@ -318,4 +361,12 @@ public class TranslatedIRODSGenQuery {
 		return computeTotalRowCount;
 	}
 
+	/**
+	 * @return the {@link PreparedGenQuery} this query was bound from, or
+	 *         {@code null} if it was not bound from a prepared query
+	 */
+	public PreparedGenQuery getPreparedGenQuery() {
+		return preparedGenQuery;
+	}
+
 }
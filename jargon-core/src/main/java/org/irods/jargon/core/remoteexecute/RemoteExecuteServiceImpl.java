@@ -3,8 +3,11 @@
  */
 package org.irods.jargon.core.remoteexecute;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 
 import org.irods.jargon.core.connection.AbstractIRODSMidLevelProtocol;
 import org.irods.jargon.core.exception.JargonException;
@@ -310,6 +313,106 @@ public class RemoteExecuteServiceImpl implements RemoteExecutionService {
 	public InputStream executeAndStream() throws JargonException {
 		log.info("executing a remote command with streaming:{}", toString());
 
+		Tag message = sendStreamingExecCmd();
+		StringBuilder buffer = new StringBuilder();
+
+		// message
+		int length = message.getTag(IRODSConstants.BinBytesBuf_PI, 0)
+				.getTag(IRODSConstants.buflen).getIntValue();
+		if (length > 0) {
+			buffer.append(message.getTag(IRODSConstants.BinBytesBuf_PI, 0)
+					.getTag(IRODSConstants.buf).getStringValue());
+		}
+
+		// error
+		length = message.getTag(IRODSConstants.BinBytesBuf_PI, 1)
+				.getTag(IRODSConstants.buflen).getIntValue();
+		if (length > 0) {
+			buffer.append(message.getTag(IRODSConstants.BinBytesBuf_PI, 1)
+					.getTag(IRODSConstants.buf).getStringValue());
+		}
+
+		return buildAppropriateResultStream(message, buffer);
+
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.core.remoteexecute.RemoteExecutionService#
+	 * executeAndStreamToChannels(java.nio.channels.WritableByteChannel,
+	 * java.nio.channels.WritableByteChannel, int)
+	 */
+	@Override
+	public long executeAndStreamToChannels(
+			final WritableByteChannel stdoutChannel,
+			final WritableByteChannel stderrChannel, final int readAheadChunks)
+			throws JargonException {
+
+		if (stdoutChannel == null) {
+			throw new IllegalArgumentException("null stdoutChannel");
+		}
+
+		if (stderrChannel == null) {
+			throw new IllegalArgumentException("null stderrChannel");
+		}
+
+		if (readAheadChunks < 1) {
+			throw new IllegalArgumentException(
+					"readAheadChunks must be at least 1");
+		}
+
+		log.info("executing a remote command streaming to channels:{}",
+				toString());
+
+		Tag message = sendStreamingExecCmd();
+		long written = 0L;
+
+		try {
+			written += writeBinBytesBuf(message, 0, stdoutChannel);
+			written += writeBinBytesBuf(message, 1, stderrChannel);
+		} catch (IOException e) {
+			log.error("unable to write remote command output", e);
+			closeResultStreamAndEatExceptions(message);
+			throw new JargonException(
+					"unable to write remote command output", e);
+		}
+
+		RemoteExecutionBinaryResultInputStream reStream = openResultStream(message);
+		if (reStream == null) {
+			log.info("no additional data to stream, {} bytes written",
+					written);
+			return written;
+		}
+
+		try {
+			written += new RemoteExecutionStreamPump(reStream, stdoutChannel,
+					getIrodsCommands().getIrodsSession().getJargonProperties()
+							.getInputToOutputCopyBufferByteSize(),
+					readAheadChunks).pump();
+		} catch (IOException e) {
+			log.error("remote command output stream stopped", e);
+			throw new JargonException("remote command output stream stopped",
+					e);
+		} finally {
+			try {
+				reStream.close();
+			} catch (IOException e) {
+				log.warn("error closing remote command output stream", e);
+			}
+		}
+
+		log.info("remote command output streamed, {} bytes written", written);
+		return written;
+	}
+
+	/**
+	 * Send the exec command, asking iRODS to stream large results
+	 *
+	 * @return {@link Tag} with the response
+	 * @throws JargonException
+	 */
+	private Tag sendStreamingExecCmd() throws JargonException {
 		if (!getIrodsCommands().getIRODSServerProperties()
 				.isTheIrodsServerAtLeastAtTheGivenReleaseVersion(
 						STREAMING_API_CUTOFF)) {
@@ -329,7 +432,6 @@ public class RemoteExecuteServiceImpl implements RemoteExecutionService {
 						pathHandlingMode);
 
 		Tag message;
-		StringBuilder buffer = new StringBuilder();
 
 		try {
 			message = irodsCommands.irodsFunction(execCmd);
@@ -343,24 +445,71 @@ public class RemoteExecuteServiceImpl implements RemoteExecutionService {
 			throw new JargonException("null response from remote execution");
 		}
 
-		// message
-		int length = message.getTag(IRODSConstants.BinBytesBuf_PI, 0)
+		return message;
+	}
+
+	/**
+	 * Decode one of the output buffers in the response and write it to a
+	 * channel
+	 *
+	 * @return {@code int} with the number of bytes written
+	 */
+	private int writeBinBytesBuf(final Tag message, final int index,
+			final WritableByteChannel channel) throws IOException {
+		int length = message.getTag(IRODSConstants.BinBytesBuf_PI, index)
 				.getTag(IRODSConstants.buflen).getIntValue();
-		if (length > 0) {
-			buffer.append(message.getTag(IRODSConstants.BinBytesBuf_PI, 0)
-					.getTag(IRODSConstants.buf).getStringValue());
+		if (length <= 0) {
+			return 0;
 		}
 
-		// error
-		length = message.getTag(IRODSConstants.BinBytesBuf_PI, 1)
-				.getTag(IRODSConstants.buflen).getIntValue();
-		if (length > 0) {
-			buffer.append(message.getTag(IRODSConstants.BinBytesBuf_PI, 1)
-					.getTag(IRODSConstants.buf).getStringValue());
+		ByteBuffer data = ByteBuffer.wrap(Base64.fromString(message
+				.getTag(IRODSConstants.BinBytesBuf_PI, index)
+				.getTag(IRODSConstants.buf).getStringValue()));
+		int written = 0;
+		while (data.hasRemaining()) {
+			written += channel.write(data);
 		}
+		return written;
+	}
 
-		return buildAppropriateResultStream(message, buffer);
+	/**
+	 * Open the stream of additional output, if the status in the response
+	 * holds a file descriptor for it
+	 *
+	 * @return {@link RemoteExecutionBinaryResultInputStream}, or
+	 *         {@code null} if all the output was in the response
+	 */
+	private RemoteExecutionBinaryResultInputStream openResultStream(
+			final Tag message) throws JargonException {
+		int status = message.getTag(STATUS).getIntValue();
+		log.debug("status from remoteexec response:{}", status);
+		if (status <= 0) {
+			return null;
+		}
+
+		if (!getIrodsCommands().getIRODSServerProperties().isAtLeastIrods410()) {
+			log.error("unable to stream large files in eirods");
+			throw new UnsupportedOperationException(
+					"eIRODS does not currently support large result streaming from execCmd");
+		}
+
+		return new RemoteExecutionBinaryResultInputStream(getIrodsCommands(),
+				status);
+	}
 
+	/**
+	 * Tell iRODS to close the stream of additional output after the caller
+	 * could not take the output in the response
+	 */
+	private void closeResultStreamAndEatExceptions(final Tag message) {
+		try {
+			RemoteExecutionBinaryResultInputStream reStream = openResultStream(message);
+			if (reStream != null) {
+				reStream.close();
+			}
+		} catch (Exception e) {
+			log.warn("error closing remote command output stream", e);
+		}
 	}
 
 	private InputStream buildAppropriateResultStream(final Tag message,
@@ -1,6 +1,7 @@
 package org.irods.jargon.core.remoteexecute;
 
 import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
 
 import org.irods.jargon.core.exception.JargonException;
 
@@ -43,4 +44,37 @@ public interface RemoteExecutionService {
 	 */
 	public InputStream executeAndStream() throws JargonException;
 
+	/**
+	 * Execute the remote script with streaming of large results, and write the
+	 * output to the given channels as it arrives rather than returning a
+	 * stream. Output beyond the first response is read ahead on a separate
+	 * thread, holding at most {@code readAheadChunks} chunks, so that a slow
+	 * channel slows the transfer from iRODS rather than filling memory.
+	 * <p>
+	 * If a channel write fails, as when the consumer closes the channel, or
+	 * the calling thread is interrupted, iRODS is told to close the output
+	 * stream and a {@code JargonException} is thrown. The channels are not
+	 * closed by this method. The connection is not usable by other callers
+	 * until this method returns.
+	 *
+	 * @param stdoutChannel
+	 *            {@code WritableByteChannel} that receives the standard output
+	 *            of the script
+	 * @param stderrChannel
+	 *            {@code WritableByteChannel} that receives the standard error
+	 *            of the script. This may be the same channel as
+	 *            {@code stdoutChannel}.
+	 * @param readAheadChunks
+	 *            {@code int} with the most chunks of output held before
+	 *            reading from iRODS waits for the channel, must be at least 1
+	 * @return {@code long} with the number of bytes written to both channels
+	 * @throws JargonException
+	 *             for an exception, including invocation against a server that
+	 *             does not support the streaming flag, or a channel that could
+	 *             not be written.
+	 */
+	public long executeAndStreamToChannels(WritableByteChannel stdoutChannel,
+			WritableByteChannel stderrChannel, int readAheadChunks)
+			throws JargonException;
+
 }
\ No newline at end of file
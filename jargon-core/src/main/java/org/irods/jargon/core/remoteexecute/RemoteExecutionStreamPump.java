@@ -0,0 +1,215 @@
+/**
+ *
+ */
+package org.irods.jargon.core.remoteexecute;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Copies the output of a remote command from an {@code InputStream} to a
+ * {@code WritableByteChannel}, reading ahead on a separate thread so that the
+ * next chunk is on its way from iRODS while the last one is written.
+ * <p>
+ * At most {@code readAheadChunks} chunks are held at once. When the channel
+ * falls behind, the reader waits, and stops asking iRODS for more data. If a
+ * write to the channel fails, as when the consumer closes it, or the calling
+ * thread is interrupted, the reader is stopped and the error thrown. The
+ * caller is expected to close the stream afterwards, which tells iRODS to
+ * close its end.
+ * <p>
+ * The stream is only read on the reader thread, and the calling thread does
+ * not use the connection until the pump returns.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+class RemoteExecutionStreamPump {
+
+	private static final Logger log = LoggerFactory
+			.getLogger(RemoteExecutionStreamPump.class);
+
+	private static final ByteBuffer END_OF_STREAM = ByteBuffer.allocate(0);
+
+	private final InputStream inputStream;
+	private final WritableByteChannel channel;
+	private final int chunkSize;
+	private final BlockingQueue<ByteBuffer> chunks;
+	private volatile boolean stopped = false;
+	private volatile Throwable readException = null;
+
+	/**
+	 * @param inputStream
+	 *            {@code InputStream} with the command output
+	 * @param channel
+	 *            {@code WritableByteChannel} the output is written to
+	 * @param chunkSize
+	 *            {@code int} with the bytes asked for in each read
+	 * @param readAheadChunks
+	 *            {@code int} with the most chunks held before the reader waits
+	 *            for the channel
+	 */
+	RemoteExecutionStreamPump(final InputStream inputStream,
+			final WritableByteChannel channel, final int chunkSize,
+			final int readAheadChunks) {
+
+		if (inputStream == null) {
+			throw new IllegalArgumentException("null inputStream");
+		}
+
+		if (channel == null) {
+			throw new IllegalArgumentException("null channel");
+		}
+
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("chunkSize must be at least 1");
+		}
+
+		if (readAheadChunks < 1) {
+			throw new IllegalArgumentException(
+					"readAheadChunks must be at least 1");
+		}
+
+		this.inputStream = inputStream;
+		this.channel = channel;
+		this.chunkSize = chunkSize;
+		chunks = new ArrayBlockingQueue<ByteBuffer>(readAheadChunks);
+	}
+
+	/**
+	 * Copy the stream to the channel until the end of the stream
+	 *
+	 * @return {@code long} with the number of bytes written
+	 * @throws IOException
+	 *             if the stream could not be read or the channel written, or
+	 *             the calling thread was interrupted. An unchecked exception
+	 *             thrown while reading the stream is rethrown as is.
+	 */
+	long pump() throws IOException {
+		Thread reader = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				readChunks();
+			}
+		}, "remote-exec-read-ahead");
+		reader.setDaemon(true);
+		reader.start();
+
+		long written = 0L;
+		boolean completed = false;
+		try {
+			while (true) {
+				ByteBuffer chunk;
+				try {
+					chunk = chunks.take();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException(
+							"interrupted while streaming remote command output");
+				}
+
+				if (chunk == END_OF_STREAM) {
+					break;
+				}
+
+				while (chunk.hasRemaining()) {
+					written += channel.write(chunk);
+				}
+			}
+			completed = true;
+		} finally {
+			if (!completed) {
+				log.info("stopping remote command output stream after {} bytes",
+						written);
+			}
+			stopped = true;
+			chunks.clear();
+			joinReader(reader);
+		}
+
+		if (readException instanceof IOException) {
+			throw (IOException) readException;
+		} else if (readException instanceof RuntimeException) {
+			throw (RuntimeException) readException;
+		} else if (readException instanceof Error) {
+			throw (Error) readException;
+		} else if (readException != null) {
+			throw new IOException("error reading remote command output", readException);
+		}
+
+		return written;
+	}
+
+	/**
+	 * Reader loop, reads chunks until the end of the stream, an error, or the
+	 * pump is stopped. The end of the stream is always queued, so that the
+	 * pump does not wait forever when the reader fails.
+	 */
+	private void readChunks() {
+		try {
+			while (!stopped) {
+				byte[] buffer = new byte[chunkSize];
+				int read = inputStream.read(buffer);
+				if (read < 0) {
+					break;
+				}
+
+				if (read > 0 && !offer(ByteBuffer.wrap(buffer, 0, read))) {
+					return;
+				}
+			}
+		} catch (Throwable e) {
+			log.error("error reading remote command output", e);
+			readException = e;
+		} finally {
+			offer(END_OF_STREAM);
+		}
+	}
+
+	/**
+	 * Wait for room in the queue, giving up if the pump is stopped
+	 *
+	 * @return {@code boolean} that is {@code true} if the chunk was queued
+	 */
+	private boolean offer(final ByteBuffer chunk) {
+		try {
+			while (!stopped) {
+				if (chunks.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+					return true;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return false;
+	}
+
+	/**
+	 * Wait for the reader to finish its current read, so that the stream may
+	 * be closed on the calling thread
+	 */
+	private void joinReader(final Thread reader) {
+		boolean interrupted = false;
+		while (reader.isAlive()) {
+			try {
+				reader.join();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
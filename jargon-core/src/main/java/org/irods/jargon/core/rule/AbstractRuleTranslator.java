@@ -62,6 +62,26 @@ public abstract class AbstractRuleTranslator {
 	 */
 	protected List<IRODSRuleParameter> collateOverridesIntoInputParameters(
 			final List<IRODSRuleParameter> overrideInputParameters, List<IRODSRuleParameter> inputParameters) {
+		List<IRODSRuleParameter> collated = collateOverrides(overrideInputParameters, inputParameters);
+		log.info("collated input parameters with overrides:{}", collated);
+		return collated;
+	}
+
+	/**
+	 * Static form of {@code collateOverridesIntoInputParameters()}, so that
+	 * overrides may be bound to an already translated rule without translating
+	 * it again
+	 *
+	 * @param overrideInputParameters
+	 *            {@code List} of {@link IRODSRuleParameter} overrides
+	 * @param inputParameters
+	 *            {@code List} of {@link IRODSRuleParameter} derived from the rule
+	 *            body
+	 * @return {@code List} of {@link IRODSRuleParameter} with the collated rule
+	 *         input parameters, including overrides
+	 */
+	static List<IRODSRuleParameter> collateOverrides(final List<IRODSRuleParameter> overrideInputParameters,
+			List<IRODSRuleParameter> inputParameters) {
 
 		if (overrideInputParameters == null) {
 			throw new IllegalArgumentException("null overrideInputParameters");
@@ -110,7 +130,6 @@ public abstract class AbstractRuleTranslator {
 				overriddenParms.add(override);
 			}
 
-			log.info("replacing original parms with overridden parms:{}", overriddenParms);
 			inputParameters = overriddenParms;
 
 		}
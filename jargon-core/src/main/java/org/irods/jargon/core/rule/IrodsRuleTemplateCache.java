@@ -0,0 +1,248 @@
+/**
+ *
+ */
+package org.irods.jargon.core.rule;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.utils.LocalFileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Session level cache of translated {@link IRODSRule} templates, so that a
+ * rule run many times with different parameters is only type-detected and
+ * parsed once. Templates are keyed by the iRODS server version, the invocation
+ * settings, and the rule text, and hold the parameters derived from the rule
+ * body. Overrides are bound to a template per call with
+ * {@code bindParameters()}, which gives a new {@code IRODSRule} and leaves the
+ * template as is.
+ * <p>
+ * The text of rules loaded from the classpath is also kept, keyed by resource
+ * path, as resources do not change while the application runs. Both maps are
+ * bounded, and discard the least recently used entries.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class IrodsRuleTemplateCache {
+
+	public static final Logger log = LoggerFactory
+			.getLogger(IrodsRuleTemplateCache.class);
+
+	private final Map<String, IRODSRule> templates;
+	private final Map<String, String> resourceRuleText;
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxEntries
+	 *            {@code int} with the maximum number of rule templates, and of
+	 *            resource rule texts, held
+	 */
+	public IrodsRuleTemplateCache(final int maxEntries) {
+		if (maxEntries <= 0) {
+			throw new IllegalArgumentException("maxEntries must be > 0");
+		}
+
+		templates = new LinkedHashMap<String, IRODSRule>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(
+					final Map.Entry<String, IRODSRule> eldest) {
+				return size() > maxEntries;
+			}
+		};
+
+		resourceRuleText = new LinkedHashMap<String, String>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(
+					final Map.Entry<String, String> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Get the translated template for the given rule text and invocation
+	 * settings, translating and caching it if it is not yet cached for this
+	 * server version
+	 *
+	 * @param serverVersion
+	 *            {@code String} with the release version of the iRODS server
+	 * @param irodsRuleAsString
+	 *            {@code String} with the rule text, including the input and
+	 *            output lines
+	 * @param ruleInvocationConfiguration
+	 *            {@link RuleInvocationConfiguration} as given by the caller,
+	 *            before any auto detection
+	 * @param irodsRuleFactory
+	 *            {@link IrodsRuleFactory} used to translate the rule on a miss
+	 * @return {@link IRODSRule} template with the parameters derived from the
+	 *         rule body. This must not be changed, use
+	 *         {@code bindParameters()} to get a rule to run.
+	 * @throws JargonRuleException
+	 * @throws JargonException
+	 */
+	public IRODSRule retrieveOrTranslate(final String serverVersion,
+			final String irodsRuleAsString,
+			final RuleInvocationConfiguration ruleInvocationConfiguration,
+			final IrodsRuleFactory irodsRuleFactory)
+			throws JargonRuleException, JargonException {
+
+		if (serverVersion == null) {
+			throw new IllegalArgumentException("null serverVersion");
+		}
+
+		if (irodsRuleAsString == null || irodsRuleAsString.isEmpty()) {
+			throw new IllegalArgumentException(
+					"null or empty irodsRuleAsString");
+		}
+
+		if (ruleInvocationConfiguration == null) {
+			throw new IllegalArgumentException(
+					"null ruleInvocationConfiguration");
+		}
+
+		if (irodsRuleFactory == null) {
+			throw new IllegalArgumentException("null irodsRuleFactory");
+		}
+
+		String key = computeKey(serverVersion, irodsRuleAsString,
+				ruleInvocationConfiguration);
+
+		synchronized (templates) {
+			IRODSRule template = templates.get(key);
+			if (template != null) {
+				log.debug("rule template cache hit");
+				return template;
+			}
+		}
+
+		// translate outside of the lock, a race here just translates twice
+		IRODSRule template = irodsRuleFactory.instanceIrodsRule(
+				irodsRuleAsString, null, ruleInvocationConfiguration);
+		synchronized (templates) {
+			templates.put(key, template);
+		}
+		log.debug("translated and cached rule template:{}", template);
+		return template;
+	}
+
+	/**
+	 * Get the text of a rule on the classpath, loading and caching it if it is
+	 * not yet cached
+	 *
+	 * @param resourcePath
+	 *            {@code String} with the classpath resource path of the rule
+	 * @return {@code String} with the rule text
+	 * @throws JargonException
+	 */
+	public String retrieveOrLoadResourceRuleText(final String resourcePath)
+			throws JargonException {
+
+		if (resourcePath == null || resourcePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty resourcePath");
+		}
+
+		synchronized (resourceRuleText) {
+			String ruleText = resourceRuleText.get(resourcePath);
+			if (ruleText != null) {
+				log.debug("resource rule text cache hit:{}", resourcePath);
+				return ruleText;
+			}
+		}
+
+		String ruleText = LocalFileUtils
+				.getClasspathResourceFileAsString(resourcePath);
+		synchronized (resourceRuleText) {
+			resourceRuleText.put(resourcePath, ruleText);
+		}
+		return ruleText;
+	}
+
+	/**
+	 * Bind parameter overrides to a template, giving a rule to run. The
+	 * template is not changed, and the rule gets its own copy of the
+	 * invocation settings, so that it may be decorated with the rule engine
+	 * instance.
+	 *
+	 * @param template
+	 *            {@link IRODSRule} from {@code retrieveOrTranslate()}
+	 * @param inputParameterOverrides
+	 *            {@code List} of {@link IRODSRuleParameter} that override the
+	 *            parameters derived from the rule body, may be {@code null}
+	 * @return {@link IRODSRule} ready to submit to iRODS
+	 * @throws JargonException
+	 */
+	public static IRODSRule bindParameters(final IRODSRule template,
+			final List<IRODSRuleParameter> inputParameterOverrides)
+			throws JargonException {
+
+		if (template == null) {
+			throw new IllegalArgumentException("null template");
+		}
+
+		List<IRODSRuleParameter> inputParameters = new ArrayList<IRODSRuleParameter>(
+				template.getIrodsRuleInputParameters());
+		if (inputParameterOverrides != null) {
+			inputParameters = AbstractRuleTranslator.collateOverrides(
+					inputParameterOverrides, inputParameters);
+		}
+
+		RuleInvocationConfiguration templateConfiguration = template
+				.getRuleInvocationConfiguration();
+		return IRODSRule.instance(template.getRuleAsOriginalText(),
+				inputParameters, new ArrayList<IRODSRuleParameter>(
+						template.getIrodsRuleOutputParameters()), template
+						.getRuleBody(), templateConfiguration
+						.copyRuleInvocationConfiguration(templateConfiguration));
+	}
+
+	/**
+	 * @return {@code int} with the number of rule templates held
+	 */
+	public int size() {
+		synchronized (templates) {
+			return templates.size();
+		}
+	}
+
+	/**
+	 * Discard all rule templates and resource rule texts
+	 */
+	public void clear() {
+		synchronized (templates) {
+			templates.clear();
+		}
+		synchronized (resourceRuleText) {
+			resourceRuleText.clear();
+		}
+	}
+
+	static String computeKey(final String serverVersion,
+			final String irodsRuleAsString,
+			final RuleInvocationConfiguration ruleInvocationConfiguration) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(serverVersion);
+		sb.append('|');
+		sb.append(ruleInvocationConfiguration.getIrodsRuleInvocationTypeEnum());
+		sb.append('|');
+		sb.append(ruleInvocationConfiguration.getRuleProcessingType());
+		sb.append('|');
+		sb.append(ruleInvocationConfiguration.getRuleEngineSpecifier());
+		sb.append('|');
+		sb.append(ruleInvocationConfiguration.isEncodeRuleEngineInstance());
+		sb.append('|');
+		sb.append(irodsRuleAsString);
+		return sb.toString();
+	}
+
+}
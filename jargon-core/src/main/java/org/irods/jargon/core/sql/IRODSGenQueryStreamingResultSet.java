@@ -0,0 +1,1281 @@
+/**
+ *
+ */
+package org.irods.jargon.core.sql;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.pub.IRODSGenQueryExecutor;
+import org.irods.jargon.core.query.IRODSGenQueryFromBuilder;
+import org.irods.jargon.core.query.IRODSQueryResultSet;
+import org.irods.jargon.core.query.JargonQueryException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <b>Experimental!</b>
+ * <p>
+ * Forward-only {@code java.sql.ResultSet} over a GenQuery that streams the
+ * results from iRODS a page at a time. Only the current page is held in
+ * memory, so a catalog scan may be read through JDBC style code without
+ * loading the whole result.
+ * <p>
+ * The query is not sent to iRODS until the first call to {@code next()} (or
+ * {@code findColumn()}), so a {@code setFetchSize()} made before then sets the
+ * number of rows iRODS returns in each page. Later changes to the fetch size
+ * are recorded but do not change the size of the pages of a running query.
+ * <p>
+ * iRODS returns each column as a string. The typed getters convert the value
+ * of a column once per row, so repeated reads of a column do not parse the
+ * value again. Time values in the iRODS catalog are seconds since the epoch,
+ * and are converted to {@code Timestamp}, {@code Date} and {@code Time}
+ * accordingly.
+ * <p>
+ * {@code close()} releases the query on the iRODS server if it has not been
+ * read to the end. The query is run on the connection of the given
+ * {@link IRODSGenQueryExecutor}, and this object is not thread-safe.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class IRODSGenQueryStreamingResultSet extends AbstractIRODSSqlResultSet {
+
+	private static final Logger log = LoggerFactory
+			.getLogger(IRODSGenQueryStreamingResultSet.class);
+
+	private final IRODSGenQueryExecutor irodsGenQueryExecutor;
+	private final IRODSGenQueryFromBuilder irodsGenQueryFromBuilder;
+	private final String zoneName;
+	private int fetchSize;
+	private IRODSQueryResultSet currentPage = null;
+	private Map<String, Integer> columnIndexes = null;
+	private List<String> currentRowValues = null;
+	private Object[] convertedValues = null;
+	private int pageIndex = -1;
+	private int rowNumber = 0;
+	private boolean lastReadWasNull = false;
+	private boolean afterLast = false;
+	private boolean closed = false;
+
+	/**
+	 * Constructor
+	 *
+	 * @param irodsGenQueryExecutor
+	 *            {@link IRODSGenQueryExecutor} that will run the query and
+	 *            obtain the pages of results
+	 * @param irodsGenQueryFromBuilder
+	 *            {@link IRODSGenQueryFromBuilder} with the query. The number of
+	 *            results desired in the query is the initial fetch size
+	 * @param zoneName
+	 *            {@code String} ({@code null} or blank if not used) that
+	 *            indicates an optional zone for the query
+	 */
+	public IRODSGenQueryStreamingResultSet(
+			final IRODSGenQueryExecutor irodsGenQueryExecutor,
+			final IRODSGenQueryFromBuilder irodsGenQueryFromBuilder,
+			final String zoneName) {
+
+		if (irodsGenQueryExecutor == null) {
+			throw new IllegalArgumentException("null irodsGenQueryExecutor");
+		}
+
+		if (irodsGenQueryFromBuilder == null) {
+			throw new IllegalArgumentException("null irodsGenQueryFromBuilder");
+		}
+
+		this.irodsGenQueryExecutor = irodsGenQueryExecutor;
+		this.irodsGenQueryFromBuilder = irodsGenQueryFromBuilder;
+		this.zoneName = zoneName;
+		fetchSize = irodsGenQueryFromBuilder.getNumberOfResultsDesired();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#next()
+	 */
+	@Override
+	public boolean next() throws SQLException {
+		checkNotClosed();
+
+		if (afterLast) {
+			return false;
+		}
+
+		if (currentPage == null) {
+			executeQuery();
+		}
+
+		pageIndex++;
+		while (pageIndex >= currentPage.getResults().size()) {
+			if (!currentPage.isHasMoreRecords()) {
+				log.debug("last page consumed");
+				afterLast = true;
+				currentRowValues = null;
+				return false;
+			}
+			currentPage = obtainNextPage();
+			pageIndex = 0;
+		}
+
+		currentRowValues = currentPage.getResults().get(pageIndex)
+				.getColumnsAsList();
+		convertedValues = new Object[currentRowValues.size()];
+		rowNumber++;
+		return true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#close()
+	 */
+	@Override
+	public void close() throws SQLException {
+		if (closed) {
+			return;
+		}
+
+		closed = true;
+		currentRowValues = null;
+
+		if (currentPage == null || !currentPage.isHasMoreRecords()) {
+			log.debug("no open query to close");
+			return;
+		}
+
+		log.info("closing query before the last page was read");
+		try {
+			irodsGenQueryExecutor.closeResults(currentPage);
+		} catch (JargonException e) {
+			log.error("error closing query", e);
+			throw new SQLException("error closing query", e);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#isClosed()
+	 */
+	@Override
+	public boolean isClosed() throws SQLException {
+		return closed;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getFetchSize()
+	 */
+	@Override
+	public int getFetchSize() throws SQLException {
+		return fetchSize;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#setFetchSize(int)
+	 */
+	@Override
+	public void setFetchSize(final int rows) throws SQLException {
+		checkNotClosed();
+
+		if (rows < 0) {
+			throw new SQLException("fetch size must be >= 0");
+		}
+
+		if (rows == 0) {
+			log.debug("fetch size of 0, using the size given in the query");
+			fetchSize = irodsGenQueryFromBuilder.getNumberOfResultsDesired();
+		} else {
+			fetchSize = rows;
+		}
+
+		if (currentPage != null) {
+			log.debug("query already running, fetch size not applied to page size");
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#findColumn(java.lang.String)
+	 */
+	@Override
+	public int findColumn(final String columnLabel) throws SQLException {
+		checkNotClosed();
+
+		if (columnLabel == null) {
+			throw new SQLException("null columnLabel");
+		}
+
+		if (currentPage == null) {
+			executeQuery();
+		}
+
+		Integer index = columnIndexes.get(columnLabel.toUpperCase());
+		if (index == null) {
+			throw new SQLException("column not in query:" + columnLabel);
+		}
+		return index;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#wasNull()
+	 */
+	@Override
+	public boolean wasNull() throws SQLException {
+		return lastReadWasNull;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getRow()
+	 */
+	@Override
+	public int getRow() throws SQLException {
+		checkNotClosed();
+		return currentRowValues == null ? 0 : rowNumber;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#isBeforeFirst()
+	 */
+	@Override
+	public boolean isBeforeFirst() throws SQLException {
+		checkNotClosed();
+		if (rowNumber > 0) {
+			return false;
+		}
+
+		if (currentPage == null) {
+			executeQuery();
+		}
+
+		return !currentPage.getResults().isEmpty();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#isAfterLast()
+	 */
+	@Override
+	public boolean isAfterLast() throws SQLException {
+		checkNotClosed();
+		return afterLast && rowNumber > 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#isFirst()
+	 */
+	@Override
+	public boolean isFirst() throws SQLException {
+		checkNotClosed();
+		return currentRowValues != null && rowNumber == 1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#isLast()
+	 */
+	@Override
+	public boolean isLast() throws SQLException {
+		throw new SQLFeatureNotSupportedException(
+				"isLast not supported on a streaming result set");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getStatement()
+	 */
+	@Override
+	public Statement getStatement() throws SQLException {
+		return null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#absolute(int)
+	 */
+	@Override
+	public boolean absolute(final int row) throws SQLException {
+		throw forwardOnly();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#afterLast()
+	 */
+	@Override
+	public void afterLast() throws SQLException {
+		throw forwardOnly();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#beforeFirst()
+	 */
+	@Override
+	public void beforeFirst() throws SQLException {
+		throw forwardOnly();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#first()
+	 */
+	@Override
+	public boolean first() throws SQLException {
+		throw forwardOnly();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#last()
+	 */
+	@Override
+	public boolean last() throws SQLException {
+		throw forwardOnly();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#previous()
+	 */
+	@Override
+	public boolean previous() throws SQLException {
+		throw forwardOnly();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#relative(int)
+	 */
+	@Override
+	public boolean relative(final int rows) throws SQLException {
+		throw forwardOnly();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getString(int)
+	 */
+	@Override
+	public String getString(final int columnIndex) throws SQLException {
+		return readColumn(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getString(java.lang.String)
+	 */
+	@Override
+	public String getString(final String columnLabel) throws SQLException {
+		return getString(findColumn(columnLabel));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getNString(int)
+	 */
+	@Override
+	public String getNString(final int columnIndex) throws SQLException {
+		return getString(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getNString(java.lang.String)
+	 */
+	@Override
+	public String getNString(final String columnLabel) throws SQLException {
+		return getString(findColumn(columnLabel));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getObject(int)
+	 */
+	@Override
+	public Object getObject(final int columnIndex) throws SQLException {
+		return getString(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getObject(java.lang.String)
+	 */
+	@Override
+	public Object getObject(final String columnLabel) throws SQLException {
+		return getString(findColumn(columnLabel));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getObject(int, java.util.Map)
+	 */
+	@Override
+	public Object getObject(final int columnIndex,
+			final Map<String, Class<?>> map) throws SQLException {
+		return getString(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getObject(java.lang.String, java.util.Map)
+	 */
+	@Override
+	public Object getObject(final String columnLabel,
+			final Map<String, Class<?>> map) throws SQLException {
+		return getString(findColumn(columnLabel));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getObject(int, java.lang.Class)
+	 */
+	@Override
+	public <T> T getObject(final int columnIndex, final Class<T> type)
+			throws SQLException {
+
+		if (type == null) {
+			throw new SQLException("null type");
+		}
+
+		Object value;
+		if (type == String.class) {
+			value = getString(columnIndex);
+		} else if (type == Long.class) {
+			value = getLong(columnIndex);
+		} else if (type == Integer.class) {
+			value = getInt(columnIndex);
+		} else if (type == Double.class) {
+			value = getDouble(columnIndex);
+		} else if (type == BigDecimal.class) {
+			value = getBigDecimal(columnIndex);
+		} else if (type == Timestamp.class) {
+			value = getTimestamp(columnIndex);
+		} else if (type == Boolean.class) {
+			value = getBoolean(columnIndex);
+		} else {
+			throw new SQLFeatureNotSupportedException(
+					"unsupported type for getObject:" + type);
+		}
+
+		if (lastReadWasNull) {
+			return null;
+		}
+		return type.cast(value);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getObject(java.lang.String, java.lang.Class)
+	 */
+	@Override
+	public <T> T getObject(final String columnLabel, final Class<T> type)
+			throws SQLException {
+		return getObject(findColumn(columnLabel), type);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getLong(int)
+	 */
+	@Override
+	public long getLong(final int columnIndex) throws SQLException {
+		Long value = convertToLong(columnIndex);
+		return value == null ? 0L : value;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getLong(java.lang.String)
+	 */
+	@Override
+	public long getLong(final String columnLabel) throws SQLException {
+		return getLong(findColumn(columnLabel));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getInt(int)
+	 */
+	@Override
+	public int getInt(final int columnIndex) throws SQLException {
+		return (int) getLong(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getInt(java.lang.String)
+	 */
+	@Override
+	public int getInt(final String columnLabel) throws SQLException {
+		return getInt(findColumn(columnLabel));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getShort(int)
+	 */
+	@Override
+	public short getShort(final int columnIndex) throws SQLException {
+		return (short) getLong(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getShort(java.lang.String)
+	 */
+	@Override
+	public short getShort(final String columnLabel) throws SQLException {
+		return getShort(findColumn(columnLabel));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getByte(int)
+	 */
+	@Override
+	public byte getByte(final int columnIndex) throws SQLException {
+		return (byte) getLong(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getByte(java.lang.String)
+	 */
+	@Override
+	public byte getByte(final String columnLabel) throws SQLException {
+		return getByte(findColumn(columnLabel));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getBoolean(int)
+	 */
+	@Override
+	public boolean getBoolean(final int columnIndex) throws SQLException {
+		String value = readColumn(columnIndex);
+		if (value == null) {
+			return false;
+		}
+		return value.equals("1") || value.equalsIgnoreCase("true");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getBoolean(java.lang.String)
+	 */
+	@Override
+	public boolean getBoolean(final String columnLabel) throws SQLException {
+		return getBoolean(findColumn(columnLabel));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getDouble(int)
+	 */
+	@Override
+	public double getDouble(final int columnIndex) throws SQLException {
+		BigDecimal value = getBigDecimal(columnIndex);
+		return value == null ? 0D : value.doubleValue();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getDouble(java.lang.String)
+	 */
+	@Override
+	public double getDouble(final String columnLabel) throws SQLException {
+		return getDouble(findColumn(columnLabel));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getFloat(int)
+	 */
+	@Override
+	public float getFloat(final int columnIndex) throws SQLException {
+		return (float) getDouble(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getFloat(java.lang.String)
+	 */
+	@Override
+	public float getFloat(final String columnLabel) throws SQLException {
+		return getFloat(findColumn(columnLabel));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getBigDecimal(int)
+	 */
+	@Override
+	public BigDecimal getBigDecimal(final int columnIndex) throws SQLException {
+		String value = readColumn(columnIndex);
+		if (value == null) {
+			return null;
+		}
+
+		Object converted = convertedValues[columnIndex - 1];
+		if (converted instanceof BigDecimal) {
+			return (BigDecimal) converted;
+		}
+
+		try {
+			BigDecimal decimal = new BigDecimal(value.trim());
+			convertedValues[columnIndex - 1] = decimal;
+			return decimal;
+		} catch (NumberFormatException e) {
+			throw new SQLException("column " + columnIndex
+					+ " is not numeric:" + value, e);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getBigDecimal(java.lang.String)
+	 */
+	@Override
+	public BigDecimal getBigDecimal(final String columnLabel)
+			throws SQLException {
+		return getBigDecimal(findColumn(columnLabel));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getBigDecimal(int, int)
+	 */
+	@Override
+	@Deprecated
+	public BigDecimal getBigDecimal(final int columnIndex, final int scale)
+			throws SQLException {
+		BigDecimal value = getBigDecimal(columnIndex);
+		return value == null ? null : value.setScale(scale,
+				BigDecimal.ROUND_HALF_UP);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getBigDecimal(java.lang.String, int)
+	 */
+	@Override
+	@Deprecated
+	public BigDecimal getBigDecimal(final String columnLabel, final int scale)
+			throws SQLException {
+		return getBigDecimal(findColumn(columnLabel), scale);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getTimestamp(int)
+	 */
+	@Override
+	public Timestamp getTimestamp(final int columnIndex) throws SQLException {
+		Long seconds = convertToLong(columnIndex);
+		return seconds == null ? null : new Timestamp(seconds * 1000L);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getTimestamp(java.lang.String)
+	 */
+	@Override
+	public Timestamp getTimestamp(final String columnLabel)
+			throws SQLException {
+		return getTimestamp(findColumn(columnLabel));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getTimestamp(int, java.util.Calendar)
+	 */
+	@Override
+	public Timestamp getTimestamp(final int columnIndex, final Calendar cal)
+			throws SQLException {
+		// epoch seconds do not depend on a time zone
+		return getTimestamp(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getTimestamp(java.lang.String,
+	 * java.util.Calendar)
+	 */
+	@Override
+	public Timestamp getTimestamp(final String columnLabel, final Calendar cal)
+			throws SQLException {
+		return getTimestamp(findColumn(columnLabel));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getDate(int)
+	 */
+	@Override
+	public Date getDate(final int columnIndex) throws SQLException {
+		Long seconds = convertToLong(columnIndex);
+		return seconds == null ? null : new Date(seconds * 1000L);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getDate(java.lang.String)
+	 */
+	@Override
+	public Date getDate(final String columnLabel) throws SQLException {
+		return getDate(findColumn(columnLabel));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getDate(int, java.util.Calendar)
+	 */
+	@Override
+	public Date getDate(final int columnIndex, final Calendar cal)
+			throws SQLException {
+		return getDate(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getDate(java.lang.String, java.util.Calendar)
+	 */
+	@Override
+	public Date getDate(final String columnLabel, final Calendar cal)
+			throws SQLException {
+		return getDate(findColumn(columnLabel));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getTime(int)
+	 */
+	@Override
+	public Time getTime(final int columnIndex) throws SQLException {
+		Long seconds = convertToLong(columnIndex);
+		return seconds == null ? null : new Time(seconds * 1000L);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getTime(java.lang.String)
+	 */
+	@Override
+	public Time getTime(final String columnLabel) throws SQLException {
+		return getTime(findColumn(columnLabel));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getTime(int, java.util.Calendar)
+	 */
+	@Override
+	public Time getTime(final int columnIndex, final Calendar cal)
+			throws SQLException {
+		return getTime(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getTime(java.lang.String, java.util.Calendar)
+	 */
+	@Override
+	public Time getTime(final String columnLabel, final Calendar cal)
+			throws SQLException {
+		return getTime(findColumn(columnLabel));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getCharacterStream(int)
+	 */
+	@Override
+	public Reader getCharacterStream(final int columnIndex)
+			throws SQLException {
+		String value = getString(columnIndex);
+		return value == null ? null : new StringReader(value);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getCharacterStream(java.lang.String)
+	 */
+	@Override
+	public Reader getCharacterStream(final String columnLabel)
+			throws SQLException {
+		return getCharacterStream(findColumn(columnLabel));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getNCharacterStream(int)
+	 */
+	@Override
+	public Reader getNCharacterStream(final int columnIndex)
+			throws SQLException {
+		return getCharacterStream(columnIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getNCharacterStream(java.lang.String)
+	 */
+	@Override
+	public Reader getNCharacterStream(final String columnLabel)
+			throws SQLException {
+		return getCharacterStream(findColumn(columnLabel));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getArray(int)
+	 */
+	@Override
+	public Array getArray(final int columnIndex) throws SQLException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getArray(java.lang.String)
+	 */
+	@Override
+	public Array getArray(final String columnLabel) throws SQLException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getAsciiStream(int)
+	 */
+	@Override
+	public InputStream getAsciiStream(final int columnIndex)
+			throws SQLException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getAsciiStream(java.lang.String)
+	 */
+	@Override
+	public InputStream getAsciiStream(final String columnLabel)
+			throws SQLException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getUnicodeStream(int)
+	 */
+	@Override
+	@Deprecated
+	public InputStream getUnicodeStream(final int columnIndex)
+			throws SQLException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getUnicodeStream(java.lang.String)
+	 */
+	@Override
+	@Deprecated
+	public InputStream getUnicodeStream(final String columnLabel)
+			throws SQLException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getBinaryStream(int)
+	 */
+	@Override
+	public InputStream getBinaryStream(final int columnIndex)
+			throws SQLException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getBinaryStream(java.lang.String)
+	 */
+	@Override
+	public InputStream getBinaryStream(final String columnLabel)
+			throws SQLException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getBlob(int)
+	 */
+	@Override
+	public Blob getBlob(final int columnIndex) throws SQLException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getBlob(java.lang.String)
+	 */
+	@Override
+	public Blob getBlob(final String columnLabel) throws SQLException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getBytes(int)
+	 */
+	@Override
+	public byte[] getBytes(final int columnIndex) throws SQLException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getBytes(java.lang.String)
+	 */
+	@Override
+	public byte[] getBytes(final String columnLabel) throws SQLException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getClob(int)
+	 */
+	@Override
+	public Clob getClob(final int columnIndex) throws SQLException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getClob(java.lang.String)
+	 */
+	@Override
+	public Clob getClob(final String columnLabel) throws SQLException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getNClob(int)
+	 */
+	@Override
+	public NClob getNClob(final int columnIndex) throws SQLException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getNClob(java.lang.String)
+	 */
+	@Override
+	public NClob getNClob(final String columnLabel) throws SQLException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getSQLXML(int)
+	 */
+	@Override
+	public SQLXML getSQLXML(final int columnIndex) throws SQLException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getSQLXML(java.lang.String)
+	 */
+	@Override
+	public SQLXML getSQLXML(final String columnLabel) throws SQLException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getURL(int)
+	 */
+	@Override
+	public URL getURL(final int columnIndex) throws SQLException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.ResultSet#getURL(java.lang.String)
+	 */
+	@Override
+	public URL getURL(final String columnLabel) throws SQLException {
+		throw new SQLFeatureNotSupportedException();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.Wrapper#isWrapperFor(java.lang.Class)
+	 */
+	@Override
+	public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+		return iface != null && iface.isInstance(this);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.sql.Wrapper#unwrap(java.lang.Class)
+	 */
+	@Override
+	public <T> T unwrap(final Class<T> iface) throws SQLException {
+		if (!isWrapperFor(iface)) {
+			throw new SQLException("not a wrapper for:" + iface);
+		}
+		return iface.cast(this);
+	}
+
+	/**
+	 * Send the query with the current fetch size as the page size, and obtain
+	 * the first page
+	 *
+	 * @throws SQLException
+	 */
+	private void executeQuery() throws SQLException {
+		log.info("executeQuery() with fetch size:{}", fetchSize);
+
+		IRODSGenQueryFromBuilder query = irodsGenQueryFromBuilder;
+		if (fetchSize != irodsGenQueryFromBuilder.getNumberOfResultsDesired()) {
+			query = IRODSGenQueryFromBuilder.instance(
+					irodsGenQueryFromBuilder.getIrodsGenQueryBuilderData(),
+					fetchSize);
+		}
+
+		try {
+			currentPage = irodsGenQueryExecutor.executeIRODSQueryInZone(query,
+					0, zoneName);
+		} catch (JargonException e) {
+			log.error("error running query", e);
+			throw new SQLException("error running query", e);
+		} catch (JargonQueryException e) {
+			log.error("query error running query", e);
+			throw new SQLException("query error running query", e);
+		}
+
+		columnIndexes = new HashMap<String, Integer>();
+		List<String> columnNames = currentPage.getColumnNames();
+		for (int i = 0; i < columnNames.size(); i++) {
+			String key = columnNames.get(i).toUpperCase();
+			// first column of a given name wins, as in JDBC
+			if (!columnIndexes.containsKey(key)) {
+				columnIndexes.put(key, i + 1);
+			}
+		}
+	}
+
+	private IRODSQueryResultSet obtainNextPage() throws SQLException {
+		log.debug("getting next page of results");
+		try {
+			return irodsGenQueryExecutor.getMoreResultsInZone(currentPage,
+					zoneName);
+		} catch (JargonException e) {
+			log.error("error getting next page of query results", e);
+			throw new SQLException("error getting next page of query results",
+					e);
+		} catch (JargonQueryException e) {
+			log.error("query error getting next page of query results", e);
+			throw new SQLException(
+					"query error getting next page of query results", e);
+		}
+	}
+
+	/**
+	 * Get the value of a column in the current row, setting the state for
+	 * {@code wasNull()}. A blank value is treated as SQL {@code NULL}
+	 *
+	 * @param columnIndex
+	 *            {@code int} with the 1 based column index
+	 * @return {@code String} with the value, or {@code null}
+	 * @throws SQLException
+	 */
+	private String readColumn(final int columnIndex) throws SQLException {
+		checkNotClosed();
+
+		if (currentRowValues == null) {
+			throw new SQLException("not positioned on a row");
+		}
+
+		if (columnIndex < 1 || columnIndex > currentRowValues.size()) {
+			throw new SQLException("invalid column index:" + columnIndex);
+		}
+
+		String value = currentRowValues.get(columnIndex - 1);
+		lastReadWasNull = value == null || value.isEmpty();
+		return lastReadWasNull ? null : value;
+	}
+
+	private Long convertToLong(final int columnIndex) throws SQLException {
+		String value = readColumn(columnIndex);
+		if (value == null) {
+			return null;
+		}
+
+		Object converted = convertedValues[columnIndex - 1];
+		if (converted instanceof Long) {
+			return (Long) converted;
+		}
+
+		try {
+			Long longValue = Long.valueOf(value.trim());
+			convertedValues[columnIndex - 1] = longValue;
+			return longValue;
+		} catch (NumberFormatException e) {
+			throw new SQLException("column " + columnIndex
+					+ " is not an integer value:" + value, e);
+		}
+	}
+
+	private void checkNotClosed() throws SQLException {
+		if (closed) {
+			throw new SQLException("result set is closed");
+		}
+	}
+
+	private SQLException forwardOnly() {
+		return new SQLException("result set is TYPE_FORWARD_ONLY",
+				"24000");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("IRODSGenQueryStreamingResultSet:");
+		sb.append("\n   irodsGenQueryFromBuilder:");
+		sb.append(irodsGenQueryFromBuilder);
+		sb.append("\n   zoneName:");
+		sb.append(zoneName);
+		sb.append("\n   fetchSize:");
+		sb.append(fetchSize);
+		sb.append("\n   rowNumber:");
+		sb.append(rowNumber);
+		sb.append("\n   closed:");
+		sb.append(closed);
+		return sb.toString();
+	}
+
+}
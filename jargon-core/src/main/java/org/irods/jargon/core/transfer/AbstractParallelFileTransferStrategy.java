@@ -1,6 +1,12 @@
 package org.irods.jargon.core.transfer;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.irods.jargon.core.connection.ConnectionProgressStatusListener;
 import org.irods.jargon.core.connection.JargonProperties;
@@ -55,6 +61,8 @@ public abstract class AbstractParallelFileTransferStrategy {
 	private ConnectionProgressStatusListener connectionProgressStatusListener = null;
 	private final int parallelSocketTimeoutInSecs;
 	private final JargonProperties jargonProperties;
+	private volatile long[] socketSetupMillis = new long[0];
+	private volatile long setupWallMillis = 0L;
 
 	/**
 	 * Constructor for a parallel file transfer runner. This runner will create
@@ -244,6 +252,95 @@ public abstract class AbstractParallelFileTransferStrategy {
 		return builder.toString();
 	}
 
+	/**
+	 * Open the sockets of all transfer threads at once, before any data is
+	 * moved. Each thread connects to the portal, sends the cookie, and sets up
+	 * any encryption on the executor, so the setup cost of the transfer is
+	 * about that of the slowest socket rather than of each in turn. If any
+	 * socket fails, all are closed and the transfer fails before it starts.
+	 *
+	 * @param executor
+	 *            {@code ExecutorService} to run the setup on
+	 * @param transferThreads
+	 *            {@code List} of the {@link AbstractParallelTransferThread}
+	 *            to set up
+	 * @throws JargonException
+	 */
+	protected void setUpTransferThreads(final ExecutorService executor,
+			final List<? extends AbstractParallelTransferThread> transferThreads)
+			throws JargonException {
+		log.info("opening {} parallel transfer sockets", transferThreads.size());
+		long start = System.currentTimeMillis();
+		List<Callable<Void>> setUps = new ArrayList<Callable<Void>>();
+		for (final AbstractParallelTransferThread transferThread : transferThreads) {
+			setUps.add(new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					transferThread.setUp(AbstractParallelFileTransferStrategy.this);
+					return null;
+				}
+			});
+		}
+
+		try {
+			List<Future<Void>> results = executor.invokeAll(setUps);
+			for (Future<Void> result : results) {
+				try {
+					result.get();
+				} catch (ExecutionException e) {
+					throw new JargonException(
+							"unable to set up parallel transfer sockets",
+							e.getCause());
+				}
+			}
+		} catch (InterruptedException e) {
+			log.error("interrupted setting up parallel transfer sockets", e);
+			closeTransferThreads(transferThreads);
+			Thread.currentThread().interrupt();
+			throw new JargonException(e);
+		} catch (JargonException e) {
+			log.error("error setting up parallel transfer sockets", e);
+			closeTransferThreads(transferThreads);
+			throw e;
+		}
+
+		long[] setupTimes = new long[transferThreads.size()];
+		for (int i = 0; i < setupTimes.length; i++) {
+			setupTimes[i] = transferThreads.get(i).getSetupMillis();
+		}
+		socketSetupMillis = setupTimes;
+		setupWallMillis = System.currentTimeMillis() - start;
+		log.info("parallel transfer sockets set up in {} ms", setupWallMillis);
+	}
+
+	private void closeTransferThreads(
+			final List<? extends AbstractParallelTransferThread> transferThreads) {
+		for (AbstractParallelTransferThread transferThread : transferThreads) {
+			try {
+				transferThread.close();
+			} catch (JargonException e) {
+				log.warn("error closing transfer thread, ignored", e);
+			}
+		}
+	}
+
+	/**
+	 * @return {@code long[]} with the time in milliseconds each transfer
+	 *         thread took to connect, send the cookie, and set up encryption,
+	 *         by thread number
+	 */
+	public long[] getSocketSetupMillis() {
+		return socketSetupMillis.clone();
+	}
+
+	/**
+	 * @return {@code long} with the elapsed time in milliseconds to set up
+	 *         all of the transfer threads
+	 */
+	public long getSetupWallMillis() {
+		return setupWallMillis;
+	}
+
 	public String getHost() {
 		return host;
 	}
@@ -1,10 +1,14 @@
 package org.irods.jargon.core.transfer;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.net.InetSocketAddress;
 import java.net.Socket;
 
+import org.irods.jargon.core.connection.PipelineConfiguration;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.utils.Host;
 import org.slf4j.Logger;
@@ -24,6 +28,7 @@ public class AbstractParallelTransferThread {
 	private InputStream in;
 	private OutputStream out;
 	private Exception exceptionInTransfer = null;
+	private long setupMillis = 0L;
 	public static final int DONE_OPR = 9999;
 	public static final int PUT_OPR = 1;
 	public static final int GET_OPR = 2;
@@ -79,6 +84,135 @@ public class AbstractParallelTransferThread {
 		return Host.castToLong(b);
 	}
 
+	/**
+	 * Open the socket to the portal given by the server, send the cookie, and
+	 * initialize any encryption. The strategy calls this for all threads at
+	 * once before the transfer begins, so that the setup of each socket
+	 * overlaps with the others. The time taken is kept as the setup time of
+	 * this thread.
+	 *
+	 * @param parallelFileTransferStrategy
+	 *            {@link AbstractParallelFileTransferStrategy} with the portal
+	 *            host, port, and cookie
+	 * @throws JargonException
+	 */
+	void setUp(
+			final AbstractParallelFileTransferStrategy parallelFileTransferStrategy)
+			throws JargonException {
+		long start = System.currentTimeMillis();
+		try {
+			connectToPortal(parallelFileTransferStrategy);
+			byte[] cookie = new byte[4];
+			Host.copyInt(parallelFileTransferStrategy.getPassword(), cookie);
+			getOut().write(cookie);
+			getOut().flush();
+			log.debug("socket established and cookie written for thread:{}",
+					threadNumber);
+			initializeCipher();
+		} catch (IOException e) {
+			log.error("unable to open parallel transfer socket to port:"
+					+ parallelFileTransferStrategy.getPort(), e);
+			close();
+			throw new JargonException(
+					"unable to open parallel transfer socket", e);
+		} catch (JargonException e) {
+			close();
+			throw e;
+		}
+		setupMillis = System.currentTimeMillis() - start;
+		log.info("thread:{} set up in {} ms", threadNumber, setupMillis);
+	}
+
+	/**
+	 * Hook for subclasses to create an encryption cipher, if negotiated, once
+	 * the socket is open
+	 *
+	 * @throws JargonException
+	 */
+	protected void initializeCipher() throws JargonException {
+	}
+
+	/**
+	 * Connect the socket with the TCP options from the pipeline configuration.
+	 * The connect is bounded by the parallel socket timeout, so that a portal
+	 * that does not answer fails the transfer rather than hanging it.
+	 */
+	private void connectToPortal(
+			final AbstractParallelFileTransferStrategy parallelFileTransferStrategy)
+			throws IOException {
+		PipelineConfiguration pipelineConfiguration = parallelFileTransferStrategy
+				.getPipelineConfiguration();
+		Socket socket = new Socket();
+		if (pipelineConfiguration.getParallelTcpSendWindowSize() > 0) {
+			socket.setSendBufferSize(pipelineConfiguration
+					.getParallelTcpSendWindowSize() * 1024);
+		}
+
+		if (pipelineConfiguration.getParallelTcpReceiveWindowSize() > 0) {
+			socket.setReceiveBufferSize(pipelineConfiguration
+					.getParallelTcpReceiveWindowSize() * 1024);
+		}
+
+		socket.setPerformancePreferences(
+				pipelineConfiguration.getParallelTcpPerformancePrefsConnectionTime(),
+				pipelineConfiguration.getParallelTcpPerformancePrefsLatency(),
+				pipelineConfiguration.getParallelTcpPerformancePrefsBandwidth());
+
+		InetSocketAddress address = new InetSocketAddress(
+				parallelFileTransferStrategy.getHost(),
+				parallelFileTransferStrategy.getPort());
+
+		int timeoutMillis = parallelFileTransferStrategy
+				.getParallelSocketTimeoutInSecs() * 1000;
+		socket.setSoTimeout(timeoutMillis);
+		socket.setKeepAlive(pipelineConfiguration.isParallelTcpKeepAlive());
+
+		// assume reuse, nodelay
+		socket.setReuseAddress(true);
+		socket.setTcpNoDelay(false);
+		setS(socket);
+		socket.connect(address, Math.max(0, timeoutMillis));
+
+		int inputBuffSize = parallelFileTransferStrategy.getJargonProperties()
+				.getInternalInputStreamBufferSize();
+		int outputBuffSize = parallelFileTransferStrategy.getJargonProperties()
+				.getInternalOutputStreamBufferSize();
+
+		if (inputBuffSize < 0) {
+			setIn(socket.getInputStream());
+		} else if (inputBuffSize == 0) {
+			setIn(new BufferedInputStream(socket.getInputStream()));
+		} else {
+			setIn(new BufferedInputStream(socket.getInputStream(),
+					inputBuffSize));
+		}
+
+		if (outputBuffSize < 0) {
+			setOut(socket.getOutputStream());
+		} else if (outputBuffSize == 0) {
+			setOut(new BufferedOutputStream(socket.getOutputStream()));
+		} else {
+			setOut(new BufferedOutputStream(socket.getOutputStream(),
+					outputBuffSize));
+		}
+	}
+
+	/**
+	 * @return {@code boolean} that indicates that {@link #setUp} has opened
+	 *         the socket for this thread
+	 */
+	boolean isSetUp() {
+		return s != null;
+	}
+
+	/**
+	 * @return {@code long} with the time in milliseconds taken to connect,
+	 *         send the cookie, and initialize encryption for this thread
+	 */
+	public long getSetupMillis() {
+		return setupMillis;
+	}
+
 	public void close() throws JargonException {
 		// garbage collector can be too slow
 		if (out != null) {
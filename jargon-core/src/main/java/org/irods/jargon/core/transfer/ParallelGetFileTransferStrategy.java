@@ -168,8 +168,8 @@ public final class ParallelGetFileTransferStrategy extends
 						.instance(this, i);
 				parallelGetTransferThreads.add(parallelTransfer);
 			}
+			setUpTransferThreads(executor, parallelGetTransferThreads);
 			log.info("invoking executor threads for get");
-			log.info("invoking executor threads for put");
 			List<Future<ParallelTransferResult>> transferThreadStates = executor
 					.invokeAll(parallelGetTransferThreads);
 
@@ -3,21 +3,15 @@
  */
 package org.irods.jargon.core.transfer;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.RandomAccessFile;
-import java.net.InetSocketAddress;
-import java.net.Socket;
-import java.net.UnknownHostException;
 import java.util.concurrent.Callable;
 
 import org.irods.jargon.core.connection.ConnectionProgressStatus;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.exception.JargonRuntimeException;
 import org.irods.jargon.core.transfer.encrypt.ParallelDecryptionCipherWrapper;
-import org.irods.jargon.core.utils.Host;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -75,10 +69,21 @@ public final class ParallelGetTransferThread extends
 		}
 
 		this.parallelGetFileTransferStrategy = parallelGetFileTransferStrategy;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.irods.jargon.core.transfer.AbstractParallelTransferThread#initializeCipher
+	 * ()
+	 */
+	@Override
+	protected void initializeCipher() throws JargonException {
 		log.info("setting up the encryption if so negotiated");
-		if (this.parallelGetFileTransferStrategy.doEncryption()) {
+		if (parallelGetFileTransferStrategy.doEncryption()) {
 			log.debug("am doing encryption, enable the cypher");
-			parallelDecryptionCipherWrapper = this.parallelGetFileTransferStrategy
+			parallelDecryptionCipherWrapper = parallelGetFileTransferStrategy
 					.initializeCypherForDecryption();
 			log.debug("cypher initialized");
 		}
@@ -87,91 +92,23 @@ public final class ParallelGetTransferThread extends
 	@Override
 	public ParallelTransferResult call() throws JargonException {
 		try {
-			Socket s = new Socket();
-			if (parallelGetFileTransferStrategy.getPipelineConfiguration()
-					.getParallelTcpSendWindowSize() > 0) {
-				s.setSendBufferSize(parallelGetFileTransferStrategy
-						.getPipelineConfiguration()
-						.getParallelTcpSendWindowSize() * 1024);
-			}
-
-			if (parallelGetFileTransferStrategy.getPipelineConfiguration()
-					.getParallelTcpReceiveWindowSize() > 0) {
-				s.setReceiveBufferSize(parallelGetFileTransferStrategy
-						.getPipelineConfiguration()
-						.getParallelTcpReceiveWindowSize() * 1024);
+			if (!isSetUp()) {
+				setUp(parallelGetFileTransferStrategy);
 			}
-
-			s.setPerformancePreferences(parallelGetFileTransferStrategy
-					.getPipelineConfiguration()
-					.getParallelTcpPerformancePrefsConnectionTime(),
-					parallelGetFileTransferStrategy.getPipelineConfiguration()
-							.getParallelTcpPerformancePrefsLatency(),
-					parallelGetFileTransferStrategy.getPipelineConfiguration()
-							.getParallelTcpPerformancePrefsBandwidth());
-
-			InetSocketAddress address = new InetSocketAddress(
-					parallelGetFileTransferStrategy.getHost(),
-					parallelGetFileTransferStrategy.getPort());
-
-			s.setSoTimeout(parallelGetFileTransferStrategy
-					.getParallelSocketTimeoutInSecs() * 1000);
-
-			s.setKeepAlive(parallelGetFileTransferStrategy
-					.getPipelineConfiguration().isParallelTcpKeepAlive());
-
-			// assume reuse, nodelay
-			s.setReuseAddress(true);
-			s.setTcpNoDelay(false);
-			s.connect(address);
-			setS(s);
-			byte[] outputBuffer = new byte[4];
-			Host.copyInt(parallelGetFileTransferStrategy.getPassword(),
-					outputBuffer);
-
-			int inputBuffSize = parallelGetFileTransferStrategy
-					.getJargonProperties().getInternalInputStreamBufferSize();
-			int outputBuffSize = parallelGetFileTransferStrategy
-					.getJargonProperties().getInternalOutputStreamBufferSize();
-
-			if (inputBuffSize < 0) {
-				setIn(getS().getInputStream());
-			} else if (inputBuffSize == 0) {
-				setIn(new BufferedInputStream(getS().getInputStream()));
-			} else {
-				setIn(new BufferedInputStream(getS().getInputStream(),
-						inputBuffSize));
-			}
-
-			if (outputBuffSize < 0) {
-				setOut(getS().getOutputStream());
-			} else if (outputBuffSize == 0) {
-				setOut(new BufferedOutputStream(getS().getOutputStream()));
-			} else {
-				setOut(new BufferedOutputStream(getS().getOutputStream(),
-						outputBuffSize));
-			}
-
-			log.debug("socket established, sending cookie to iRODS listener");
-			getOut().write(outputBuffer);
-			getOut().flush();
-			log.debug("cookie written");
 			log.info("sockets are open and password sent, now begin the get operation");
 
 			get();
 			log.info("exiting get and returning the finish object");
 			ParallelTransferResult result = new ParallelTransferResult();
 			result.transferException = getExceptionInTransfer();
+			result.setupMillis = getSetupMillis();
 			return result;
 
-		} catch (UnknownHostException e) {
-			log.error("Unknown host: {}",
-					parallelGetFileTransferStrategy.getHost(), e);
-			setExceptionInTransfer(e);
-			throw new JargonException("unknown host:"
-					+ parallelGetFileTransferStrategy.getHost(), e);
 		} catch (Throwable e) {
 			log.error("unchecked exception in transfer", e);
+			setExceptionInTransfer(e instanceof Exception ? (Exception) e
+					: new JargonException(e));
+			close();
 			throw new JargonException(e);
 		}
 
@@ -177,6 +177,7 @@ public final class ParallelPutFileTransferStrategy extends
 		}
 
 		try {
+			setUpTransferThreads(executor, parallelPutTransferThreads);
 			log.info("invoking executor threads for put");
 			List<Future<ParallelTransferResult>> transferThreadStates = executor
 					.invokeAll(parallelPutTransferThreads);
@@ -1,12 +1,8 @@
 package org.irods.jargon.core.transfer;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.RandomAccessFile;
-import java.net.InetSocketAddress;
-import java.net.Socket;
 import java.util.Arrays;
 import java.util.concurrent.Callable;
 
@@ -70,83 +66,23 @@ Callable<ParallelTransferResult> {
 		}
 
 		this.parallelPutFileTransferStrategy = parallelPutFileTransferStrategy;
+	}
 
-		try {
-			log.info(
-					"opening socket to parallel transfer (high) port at port:{}",
-					parallelPutFileTransferStrategy.getPort());
-			Socket s = new Socket();
-			if (parallelPutFileTransferStrategy.getPipelineConfiguration()
-					.getParallelTcpSendWindowSize() > 0) {
-				s.setSendBufferSize(parallelPutFileTransferStrategy
-						.getPipelineConfiguration()
-						.getParallelTcpSendWindowSize() * 1024);
-			}
-
-			if (parallelPutFileTransferStrategy.getPipelineConfiguration()
-					.getParallelTcpReceiveWindowSize() > 0) {
-				s.setReceiveBufferSize(parallelPutFileTransferStrategy
-						.getPipelineConfiguration()
-						.getParallelTcpReceiveWindowSize() * 1024);
-			}
-
-			s.setPerformancePreferences(parallelPutFileTransferStrategy
-					.getPipelineConfiguration()
-					.getParallelTcpPerformancePrefsConnectionTime(),
-					parallelPutFileTransferStrategy.getPipelineConfiguration()
-					.getParallelTcpPerformancePrefsLatency(),
-					parallelPutFileTransferStrategy.getPipelineConfiguration()
-					.getParallelTcpPerformancePrefsBandwidth());
-
-			InetSocketAddress address = new InetSocketAddress(
-					parallelPutFileTransferStrategy.getHost(),
-					parallelPutFileTransferStrategy.getPort());
-
-			s.setSoTimeout(parallelPutFileTransferStrategy
-					.getParallelSocketTimeoutInSecs() * 1000);
-
-			s.setKeepAlive(parallelPutFileTransferStrategy
-					.getPipelineConfiguration().isParallelTcpKeepAlive());
-
-			// assume reuse, nodelay
-			s.setReuseAddress(true);
-			s.setTcpNoDelay(false);
-			s.connect(address);
-			setS(s);
-			int inputBuffSize = this.parallelPutFileTransferStrategy
-					.getJargonProperties().getInternalInputStreamBufferSize();
-			int outputBuffSize = this.parallelPutFileTransferStrategy
-					.getJargonProperties().getInternalOutputStreamBufferSize();
-
-			if (inputBuffSize < 0) {
-				setIn(getS().getInputStream());
-			} else if (inputBuffSize == 0) {
-				setIn(new BufferedInputStream(getS().getInputStream()));
-			} else {
-				setIn(new BufferedInputStream(getS().getInputStream(),
-						inputBuffSize));
-			}
-
-			if (outputBuffSize < 0) {
-				setOut(getS().getOutputStream());
-			} else if (outputBuffSize == 0) {
-				setOut(new BufferedOutputStream(getS().getOutputStream()));
-			} else {
-				setOut(new BufferedOutputStream(getS().getOutputStream(),
-						outputBuffSize));
-			}
-
-			log.info("setting up the encryption if so negotiated");
-			if (this.parallelPutFileTransferStrategy.doEncryption()) {
-				log.debug("am doing encryption, enable the cypher");
-				parallelEncryptionCipherWrapper = this.parallelPutFileTransferStrategy
-						.initializeCypherForEncryption();
-				log.debug("cypher initialized");
-			}
-
-		} catch (Exception e) {
-			log.error("unable to create transfer thread", e);
-			throw new JargonException(e);
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.irods.jargon.core.transfer.AbstractParallelTransferThread#initializeCipher
+	 * ()
+	 */
+	@Override
+	protected void initializeCipher() throws JargonException {
+		log.info("setting up the encryption if so negotiated");
+		if (parallelPutFileTransferStrategy.doEncryption()) {
+			log.debug("am doing encryption, enable the cypher");
+			parallelEncryptionCipherWrapper = parallelPutFileTransferStrategy
+					.initializeCypherForEncryption();
+			log.debug("cypher initialized");
 		}
 	}
 
@@ -171,18 +107,15 @@ Callable<ParallelTransferResult> {
 			localRandomAccessFile = new RandomAccessFile(
 					parallelPutFileTransferStrategy.getLocalFile(), "r");
 
-			log.info("writing the cookie (password) for the output thread");
-
-			// write the cookie
-			byte b[] = new byte[4];
-			Host.copyInt(parallelPutFileTransferStrategy.getPassword(), b);
-			getOut().write(b);
-			getOut().flush();
+			if (!isSetUp()) {
+				setUp(parallelPutFileTransferStrategy);
+			}
 
 			log.debug("cookie written for output thread...calling put() to start read/write loop");
 			put();
 			log.debug("put operation completed");
 			ParallelTransferResult result = new ParallelTransferResult();
+			result.setupMillis = getSetupMillis();
 			return result;
 
 		} catch (Throwable e) {
@@ -196,7 +129,9 @@ Callable<ParallelTransferResult> {
 			log.info("socket conns for parallel transfer closed, now close the file stream");
 			// close file stream
 			try {
-				localRandomAccessFile.close();
+				if (localRandomAccessFile != null) {
+					localRandomAccessFile.close();
+				}
 				log.info("streams and files closed");
 			} catch (IOException e) {
 			}
@@ -9,6 +9,7 @@ package org.irods.jargon.core.transfer;
  */
 public class ParallelTransferResult {
 	Exception transferException = null;
+	long setupMillis = 0L;
 
 	/**
 	 * @return the transferException
@@ -17,4 +18,12 @@ public class ParallelTransferResult {
 		return transferException;
 	}
 
+	/**
+	 * @return the time in milliseconds the thread took to connect, send the
+	 *         cookie, and initialize encryption
+	 */
+	public long getSetupMillis() {
+		return setupMillis;
+	}
+
 }
@@ -1,5 +1,7 @@
 package org.irods.jargon.core.connection;
 
+import java.io.File;
+
 import junit.framework.Assert;
 
 import org.irods.jargon.core.connection.IRODSServerProperties.IcatEnabled;
@@ -275,4 +277,103 @@ public class DiscoveredServerPropertiesCacheTest {
 		Assert.assertNull(actual);
 	}
 
+	@Test
+	public void testPersistAndLoadFromFile() throws Exception {
+		File cacheFile = File.createTempFile("serverprops", ".properties");
+		cacheFile.delete();
+		cacheFile.deleteOnExit();
+		DiscoveredServerPropertiesCache target = new DiscoveredServerPropertiesCache();
+		target.cacheIRODSServerProperties("host", "zone",
+				IRODSServerProperties.instance(IcatEnabled.ICAT_ENABLED, 100,
+						"rods4.2.0", "d", "zone"));
+		target.cacheAProperty("host", "zone",
+				DiscoveredServerPropertiesCache.CHECKSUM_TYPE, "SHA256");
+		target.persistToFile(cacheFile);
+
+		DiscoveredServerPropertiesCache loaded = new DiscoveredServerPropertiesCache();
+		Assert.assertEquals(1, loaded.loadFromFile(cacheFile, 60000L));
+		IRODSServerProperties actual = loaded.retrieveIRODSServerProperties(
+				"host", "zone");
+		Assert.assertNotNull("did not load server props", actual);
+		Assert.assertEquals("4.2.0", actual.getIrodsVersion()
+				.getOrigVersion());
+		Assert.assertEquals(IcatEnabled.ICAT_ENABLED, actual.getIcatEnabled());
+		Assert.assertEquals("SHA256", loaded.retrieveValue("host", "zone",
+				DiscoveredServerPropertiesCache.CHECKSUM_TYPE));
+	}
+
+	@Test
+	public void testLoadFromFileSkipsExpired() throws Exception {
+		File cacheFile = File.createTempFile("serverprops", ".properties");
+		cacheFile.delete();
+		cacheFile.deleteOnExit();
+		DiscoveredServerPropertiesCache target = new DiscoveredServerPropertiesCache();
+		target.cacheAProperty("host", "zone",
+				DiscoveredServerPropertiesCache.STRICT_ACLS, "true");
+		target.persistToFile(cacheFile);
+		Thread.sleep(20);
+
+		DiscoveredServerPropertiesCache loaded = new DiscoveredServerPropertiesCache();
+		Assert.assertEquals(0, loaded.loadFromFile(cacheFile, 1L));
+		Assert.assertNull(loaded.retrieveValue("host", "zone",
+				DiscoveredServerPropertiesCache.STRICT_ACLS));
+	}
+
+	@Test
+	public void testPersistReplacesFileAndLeavesNoTempFile() throws Exception {
+		File dir = File.createTempFile("serverprops", "dir");
+		dir.delete();
+		dir.mkdirs();
+		dir.deleteOnExit();
+		File cacheFile = new File(dir, "serverprops.properties");
+		cacheFile.deleteOnExit();
+		DiscoveredServerPropertiesCache target = new DiscoveredServerPropertiesCache();
+		target.cacheAProperty("host", "zone",
+				DiscoveredServerPropertiesCache.STRICT_ACLS, "true");
+		target.persistToFile(cacheFile);
+		target.cacheAProperty("host", "zone",
+				DiscoveredServerPropertiesCache.STRICT_ACLS, "false");
+		target.persistToFile(cacheFile);
+
+		Assert.assertEquals("should only be the cache file in the dir", 1,
+				dir.listFiles().length);
+		DiscoveredServerPropertiesCache loaded = new DiscoveredServerPropertiesCache();
+		Assert.assertEquals(1, loaded.loadFromFile(cacheFile, 60000L));
+		Assert.assertEquals("false", loaded.retrieveValue("host", "zone",
+				DiscoveredServerPropertiesCache.STRICT_ACLS));
+	}
+
+	@Test
+	public void testPersistToFileIfModified() throws Exception {
+		File cacheFile = File.createTempFile("serverprops", ".properties");
+		cacheFile.delete();
+		cacheFile.deleteOnExit();
+		DiscoveredServerPropertiesCache target = new DiscoveredServerPropertiesCache();
+		Assert.assertFalse("nothing cached yet",
+				target.persistToFileIfModified(cacheFile));
+		Assert.assertFalse(cacheFile.exists());
+
+		target.cacheAProperty("host", "zone",
+				DiscoveredServerPropertiesCache.CHECKSUM_TYPE, "SHA256");
+		Assert.assertTrue(target.isModifiedSincePersisted());
+		Assert.assertTrue(target.persistToFileIfModified(cacheFile));
+		Assert.assertFalse(target.isModifiedSincePersisted());
+		Assert.assertFalse("not changed since persisted",
+				target.persistToFileIfModified(cacheFile));
+
+		DiscoveredServerPropertiesCache loaded = new DiscoveredServerPropertiesCache();
+		loaded.loadFromFile(cacheFile, 60000L);
+		Assert.assertFalse("loading is not a change",
+				loaded.isModifiedSincePersisted());
+		Assert.assertEquals("SHA256", loaded.retrieveValue("host", "zone",
+				DiscoveredServerPropertiesCache.CHECKSUM_TYPE));
+	}
+
+	@Test
+	public void testLoadFromMissingFile() throws Exception {
+		DiscoveredServerPropertiesCache target = new DiscoveredServerPropertiesCache();
+		Assert.assertEquals(0, target.loadFromFile(new File(
+				"/no/such/dir/serverprops.properties"), 60000L));
+	}
+
 }
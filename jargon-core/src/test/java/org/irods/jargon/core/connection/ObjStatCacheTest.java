@@ -0,0 +1,152 @@
+package org.irods.jargon.core.connection;
+
+import org.irods.jargon.core.pub.domain.ObjStat;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ObjStatCacheTest {
+
+	private static IRODSAccount buildAccount(final String userName) throws Exception {
+		return IRODSAccount.instance("host", 1247, userName, "password", "/zone/home/" + userName, "zone", "");
+	}
+
+	private static ObjStat buildObjStat(final String absolutePath) {
+		ObjStat objStat = new ObjStat();
+		objStat.setAbsolutePath(absolutePath);
+		return objStat;
+	}
+
+	@Test
+	public void testCacheAndRetrieve() throws Exception {
+		IRODSAccount account = buildAccount("user1");
+		ObjStatCache target = new ObjStatCache(10, 60000L);
+		ObjStat objStat = buildObjStat("/zone/home/user1/file.txt");
+		target.cacheObjStat(account, objStat);
+		Assert.assertSame("did not get cached objStat", objStat,
+				target.retrieveObjStat(account, "/zone/home/user1/file.txt"));
+	}
+
+	@Test
+	public void testRetrieveNotCached() throws Exception {
+		IRODSAccount account = buildAccount("user1");
+		ObjStatCache target = new ObjStatCache(10, 60000L);
+		Assert.assertNull("should not find objStat", target.retrieveObjStat(account, "/zone/home/user1/file.txt"));
+	}
+
+	@Test
+	public void testRetrieveExpired() throws Exception {
+		IRODSAccount account = buildAccount("user1");
+		ObjStatCache target = new ObjStatCache(10, 1L);
+		target.cacheObjStat(account, buildObjStat("/zone/home/user1/file.txt"));
+		Thread.sleep(10);
+		Assert.assertNull("should have expired", target.retrieveObjStat(account, "/zone/home/user1/file.txt"));
+		Assert.assertEquals("expired entry should be removed", 0, target.size(account));
+	}
+
+	@Test
+	public void testStandInNotCached() throws Exception {
+		IRODSAccount account = buildAccount("user1");
+		ObjStatCache target = new ObjStatCache(10, 60000L);
+		ObjStat objStat = buildObjStat("/zone/home");
+		objStat.setStandInGeneratedObjStat(true);
+		target.cacheObjStat(account, objStat);
+		Assert.assertNull("should not cache stand-in", target.retrieveObjStat(account, "/zone/home"));
+	}
+
+	@Test
+	public void testPartialOnlyReturnedWhenAccepted() throws Exception {
+		IRODSAccount account = buildAccount("user1");
+		ObjStatCache target = new ObjStatCache(10, 60000L);
+		ObjStat objStat = buildObjStat("/zone/home/user1/file.txt");
+		target.cacheObjStatFromListing(account, objStat);
+		Assert.assertNull("partial objStat should not be returned as complete",
+				target.retrieveObjStat(account, "/zone/home/user1/file.txt"));
+		Assert.assertSame("partial objStat should be returned when accepted", objStat,
+				target.retrieveObjStat(account, "/zone/home/user1/file.txt", true));
+	}
+
+	@Test
+	public void testPartialDoesNotReplaceComplete() throws Exception {
+		IRODSAccount account = buildAccount("user1");
+		ObjStatCache target = new ObjStatCache(10, 60000L);
+		ObjStat complete = buildObjStat("/zone/home/user1/file.txt");
+		complete.setChecksum("abc");
+		target.cacheObjStat(account, complete);
+		target.cacheObjStatFromListing(account, buildObjStat("/zone/home/user1/file.txt"));
+		Assert.assertSame("complete objStat should be kept", complete,
+				target.retrieveObjStat(account, "/zone/home/user1/file.txt"));
+
+		ObjStat fresh = buildObjStat("/zone/home/user1/file.txt");
+		target.cacheObjStat(account, fresh);
+		Assert.assertSame("complete objStat should replace complete", fresh,
+				target.retrieveObjStat(account, "/zone/home/user1/file.txt", true));
+	}
+
+	@Test
+	public void testLeastRecentlyUsedDiscarded() throws Exception {
+		IRODSAccount account = buildAccount("user1");
+		ObjStatCache target = new ObjStatCache(2, 60000L);
+		target.cacheObjStat(account, buildObjStat("/a"));
+		target.cacheObjStat(account, buildObjStat("/b"));
+		// touch /a so /b is the eldest
+		target.retrieveObjStat(account, "/a");
+		target.cacheObjStat(account, buildObjStat("/c"));
+		Assert.assertEquals(2, target.size(account));
+		Assert.assertNotNull(target.retrieveObjStat(account, "/a"));
+		Assert.assertNull(target.retrieveObjStat(account, "/b"));
+		Assert.assertNotNull(target.retrieveObjStat(account, "/c"));
+	}
+
+	@Test
+	public void testEvict() throws Exception {
+		IRODSAccount account = buildAccount("user1");
+		ObjStatCache target = new ObjStatCache(10, 60000L);
+		target.cacheObjStat(account, buildObjStat("/zone/home/user1/file.txt"));
+		target.evict(account, "/zone/home/user1/file.txt");
+		Assert.assertNull(target.retrieveObjStat(account, "/zone/home/user1/file.txt"));
+	}
+
+	@Test
+	public void testEvictNothingCached() throws Exception {
+		IRODSAccount account = buildAccount("user1");
+		ObjStatCache target = new ObjStatCache(10, 60000L);
+		target.evict(account, "/zone/home/user1/file.txt");
+		target.evictPathAndChildren(account, "/zone/home/user1");
+	}
+
+	@Test
+	public void testEvictPathAndChildren() throws Exception {
+		IRODSAccount account = buildAccount("user1");
+		ObjStatCache target = new ObjStatCache(10, 60000L);
+		target.cacheObjStat(account, buildObjStat("/zone/home/user1/coll"));
+		target.cacheObjStat(account, buildObjStat("/zone/home/user1/coll/file.txt"));
+		target.cacheObjStat(account, buildObjStat("/zone/home/user1/coll/sub/file.txt"));
+		target.cacheObjStat(account, buildObjStat("/zone/home/user1/collother"));
+		target.evictPathAndChildren(account, "/zone/home/user1/coll");
+		Assert.assertEquals("should only have sibling with same prefix left", 1, target.size(account));
+		Assert.assertNotNull(target.retrieveObjStat(account, "/zone/home/user1/collother"));
+	}
+
+	@Test
+	public void testAccountsAreSeparate() throws Exception {
+		IRODSAccount account1 = buildAccount("user1");
+		IRODSAccount account2 = buildAccount("user2");
+		ObjStatCache target = new ObjStatCache(10, 60000L);
+		target.cacheObjStat(account1, buildObjStat("/zone/home/public/file.txt"));
+		Assert.assertNull("other account should not see objStat",
+				target.retrieveObjStat(account2, "/zone/home/public/file.txt"));
+		target.clear(account1);
+		Assert.assertEquals(0, target.size(account1));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testZeroMaxEntries() throws Exception {
+		new ObjStatCache(0, 60000L);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testZeroTimeToLive() throws Exception {
+		new ObjStatCache(10, 0L);
+	}
+
+}
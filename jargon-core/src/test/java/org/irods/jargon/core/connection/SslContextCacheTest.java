@@ -0,0 +1,42 @@
+package org.irods.jargon.core.connection;
+
+import javax.net.ssl.SSLContext;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+public class SslContextCacheTest {
+
+	@Test
+	public void testContextCachedForSameTrustManager() throws Exception {
+		SslContextCache sslContextCache = new SslContextCache();
+		TrustAllX509TrustManager trustManager = new TrustAllX509TrustManager();
+		SSLContext first = sslContextCache.getSSLContext(trustManager);
+		SSLContext second = sslContextCache.getSSLContext(trustManager);
+		Assert.assertSame("should reuse context", first, second);
+		Assert.assertNotSame("new trust manager should get a new context",
+				first,
+				sslContextCache.getSSLContext(new TrustAllX509TrustManager()));
+	}
+
+	@Test
+	public void testInvalidate() throws Exception {
+		SslContextCache sslContextCache = new SslContextCache();
+		SSLContext first = sslContextCache.getSSLContext(null);
+		sslContextCache.invalidate();
+		Assert.assertNotSame(first, sslContextCache.getSSLContext(null));
+	}
+
+	@Test
+	public void testRecordHandshake() throws Exception {
+		SslContextCache sslContextCache = new SslContextCache();
+		sslContextCache.recordHandshake(100L, false);
+		sslContextCache.recordHandshake(10L, true);
+		Assert.assertEquals(2L, sslContextCache.getHandshakeCount());
+		Assert.assertEquals(1L, sslContextCache.getResumedHandshakeCount());
+		Assert.assertEquals(110L, sslContextCache.getTotalHandshakeMillis());
+		Assert.assertEquals(10L, sslContextCache.getLastHandshakeMillis());
+	}
+
+}
@@ -0,0 +1,47 @@
+package org.irods.jargon.core.pub;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.irods.jargon.core.protovalues.FilePermissionEnum;
+import org.junit.Test;
+
+import junit.framework.Assert;
+
+public class BulkAccessControlEntryTest {
+
+	@Test
+	public void testUnchangedWhenSamePermissionInAnyZone() throws Exception {
+		Map<String, FilePermissionEnum> permissionsOfPath = new HashMap<String, FilePermissionEnum>();
+		permissionsOfPath.put("rods#zone1", FilePermissionEnum.OWN);
+		permissionsOfPath.put("test1#zone1", FilePermissionEnum.READ);
+
+		Assert.assertTrue(CollectionAOImpl.isAccessPermissionUnchanged(
+				BulkAccessControlEntry.instance("test1", "", FilePermissionEnum.READ), permissionsOfPath));
+		Assert.assertTrue(CollectionAOImpl.isAccessPermissionUnchanged(
+				BulkAccessControlEntry.instance("test1", "zone1", FilePermissionEnum.READ), permissionsOfPath));
+		Assert.assertFalse(CollectionAOImpl.isAccessPermissionUnchanged(
+				BulkAccessControlEntry.instance("test1", "zone2", FilePermissionEnum.READ), permissionsOfPath));
+		Assert.assertFalse(CollectionAOImpl.isAccessPermissionUnchanged(
+				BulkAccessControlEntry.instance("test1", "", FilePermissionEnum.WRITE), permissionsOfPath));
+	}
+
+	@Test
+	public void testRemoveUnchangedOnlyWhenNoPermission() throws Exception {
+		Map<String, FilePermissionEnum> permissionsOfPath = new HashMap<String, FilePermissionEnum>();
+		permissionsOfPath.put("test1#zone1", FilePermissionEnum.READ);
+
+		Assert.assertFalse(CollectionAOImpl.isAccessPermissionUnchanged(
+				BulkAccessControlEntry.instance("test1", "", FilePermissionEnum.NONE), permissionsOfPath));
+		Assert.assertTrue(CollectionAOImpl.isAccessPermissionUnchanged(
+				BulkAccessControlEntry.instance("test2", "", FilePermissionEnum.NONE), permissionsOfPath));
+		Assert.assertTrue(CollectionAOImpl.isAccessPermissionUnchanged(
+				BulkAccessControlEntry.instance("test2", "", FilePermissionEnum.NONE), null));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnsupportedPermission() throws Exception {
+		BulkAccessControlEntry.instance("test1", "", FilePermissionEnum.CURATE);
+	}
+
+}
@@ -10,6 +10,7 @@ import org.irods.jargon.core.connection.IRODSServerProperties;
 import org.irods.jargon.core.exception.DataNotFoundException;
 import org.irods.jargon.core.exception.DuplicateDataException;
 import org.irods.jargon.core.exception.FileNotFoundException;
+import org.irods.jargon.core.exception.InvalidUserException;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.protovalues.FilePermissionEnum;
 import org.irods.jargon.core.pub.domain.AvuData;
@@ -1693,6 +1694,96 @@ public class CollectionAOImplTest {
 
 	}
 
+	@Test
+	public final void testSetAccessPermissionsInBulk() throws Exception {
+
+		String testFileName = "testSetAccessPermissionsInBulk";
+
+		String targetIrodsCollection = testingPropertiesHelper.buildIRODSCollectionAbsolutePathFromTestProperties(
+				testingProperties, IRODS_TEST_SUBDIR_PATH + "/" + testFileName);
+		String missingIrodsCollection = targetIrodsCollection + "Missing";
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+		CollectionAO collectionAO = irodsFileSystem.getIRODSAccessObjectFactory().getCollectionAO(irodsAccount);
+		IRODSFile irodsFile = irodsFileSystem.getIRODSFileFactory(irodsAccount)
+				.instanceIRODSFile(targetIrodsCollection);
+		irodsFile.mkdirs();
+
+		List<String> paths = new ArrayList<String>();
+		paths.add(targetIrodsCollection);
+		paths.add(missingIrodsCollection);
+		List<BulkAccessControlEntry> entries = new ArrayList<BulkAccessControlEntry>();
+		entries.add(BulkAccessControlEntry.instance(
+				testingProperties.getProperty(TestingPropertiesHelper.IRODS_SECONDARY_USER_KEY), "",
+				FilePermissionEnum.READ));
+
+		List<BulkAccessControlResponse> dryRunResponses = collectionAO.setAccessPermissionsInBulk(paths, entries,
+				true, true);
+		Assert.assertEquals(2, dryRunResponses.size());
+		Assert.assertEquals(BulkAccessControlResponse.ResultStatus.WOULD_CHANGE,
+				dryRunResponses.get(0).getResultStatus());
+		Assert.assertEquals(BulkAccessControlResponse.ResultStatus.MISSING_TARGET,
+				dryRunResponses.get(1).getResultStatus());
+
+		List<BulkAccessControlResponse> responses = collectionAO.setAccessPermissionsInBulk(paths, entries, true,
+				false);
+		Assert.assertEquals(BulkAccessControlResponse.ResultStatus.OK, responses.get(0).getResultStatus());
+		Assert.assertEquals(BulkAccessControlResponse.ResultStatus.MISSING_TARGET,
+				responses.get(1).getResultStatus());
+
+		dryRunResponses = collectionAO.setAccessPermissionsInBulk(paths, entries, true, true);
+		Assert.assertEquals(BulkAccessControlResponse.ResultStatus.UNCHANGED,
+				dryRunResponses.get(0).getResultStatus());
+
+		IRODSAccount secondaryAccount = testingPropertiesHelper
+				.buildIRODSAccountFromSecondaryTestProperties(testingProperties);
+		IRODSFile irodsFileForSecondaryUser = irodsFileSystem.getIRODSFileFactory(secondaryAccount)
+				.instanceIRODSFile(targetIrodsCollection);
+		IRODSFileSystemAO irodsFileSystemAO = irodsFileSystem.getIRODSAccessObjectFactory()
+				.getIRODSFileSystemAO(secondaryAccount);
+		int permissions = irodsFileSystemAO.getDirectoryPermissions(irodsFileForSecondaryUser);
+
+		Assert.assertTrue(permissions >= IRODSFile.READ_PERMISSIONS);
+
+	}
+
+	@Test
+	public final void testSetAccessPermissionsInBulkStopOnFirstFailure() throws Exception {
+
+		String testFileName = "testSetAccessPermissionsInBulkStopOnFirstFailure";
+
+		String targetIrodsCollection = testingPropertiesHelper.buildIRODSCollectionAbsolutePathFromTestProperties(
+				testingProperties, IRODS_TEST_SUBDIR_PATH + "/" + testFileName);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+		CollectionAO collectionAO = irodsFileSystem.getIRODSAccessObjectFactory().getCollectionAO(irodsAccount);
+		IRODSFile irodsFile = irodsFileSystem.getIRODSFileFactory(irodsAccount)
+				.instanceIRODSFile(targetIrodsCollection);
+		irodsFile.mkdirs();
+
+		List<String> paths = new ArrayList<String>();
+		paths.add(targetIrodsCollection);
+		List<BulkAccessControlEntry> entries = new ArrayList<BulkAccessControlEntry>();
+		entries.add(BulkAccessControlEntry.instance("testSetAccessPermissionsInBulkNoSuchUser", "",
+				FilePermissionEnum.READ));
+		entries.add(BulkAccessControlEntry.instance(
+				testingProperties.getProperty(TestingPropertiesHelper.IRODS_SECONDARY_USER_KEY), "",
+				FilePermissionEnum.READ));
+
+		List<BulkAccessControlResponse> responses = collectionAO.setAccessPermissionsInBulk(paths, entries, true,
+				false, true);
+		Assert.assertEquals("should stop at the invalid user", 1, responses.size());
+		Assert.assertEquals(BulkAccessControlResponse.ResultStatus.OTHER_ERROR, responses.get(0).getResultStatus());
+		Assert.assertTrue("should keep the original exception",
+				responses.get(0).getJargonException() instanceof InvalidUserException);
+
+		List<BulkAccessControlResponse> dryRunResponses = collectionAO.setAccessPermissionsInBulk(paths, entries,
+				true, true);
+		Assert.assertEquals("later user should not have been given access",
+				BulkAccessControlResponse.ResultStatus.WOULD_CHANGE, dryRunResponses.get(1).getResultStatus());
+
+	}
+
 	@Test
 	public final void testSetWriteGivingPermission() throws Exception {
 
@@ -0,0 +1,149 @@
+package org.irods.jargon.core.pub;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.connection.AbstractIRODSMidLevelProtocol;
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.exception.DataNotFoundException;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.pub.ConnectionWorkerPool.PooledWork;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class ConnectionWorkerPoolTest {
+
+	private static IRODSAccount buildAccount() throws Exception {
+		return IRODSAccount.instance("host", 1247, "user", "pwd", "/zone1/home/user", "zone1", "");
+	}
+
+	private static PooledWork<String> failingWork(final JargonException failure) {
+		return new PooledWork<String>() {
+			@Override
+			String run(final IRODSAccessObjectFactory irodsAccessObjectFactory, final IRODSAccount irodsAccount)
+					throws Exception {
+				throw failure;
+			}
+		};
+	}
+
+	private static PooledWork<String> work(final String result) {
+		return new PooledWork<String>() {
+			@Override
+			String run(final IRODSAccessObjectFactory irodsAccessObjectFactory, final IRODSAccount irodsAccount)
+					throws Exception {
+				return result;
+			}
+		};
+	}
+
+	@Test
+	public void testIrodsErrorKeepsConnection() throws Exception {
+		IRODSAccount irodsAccount = buildAccount();
+		IRODSAccessObjectFactory factory = Mockito.mock(IRODSAccessObjectFactory.class);
+
+		ConnectionWorkerPool target = new ConnectionWorkerPool(factory, irodsAccount, 1, "test-worker-",
+				"shut down");
+		try {
+			CompletableFuture<String> failed = target.submit(failingWork(new DataNotFoundException("no object")));
+			try {
+				failed.get(10, TimeUnit.SECONDS);
+				Assert.fail("should have failed");
+			} catch (ExecutionException e) {
+				Assert.assertTrue(e.getCause() instanceof DataNotFoundException);
+			}
+
+			Assert.assertEquals("ok", target.submit(work("ok")).get(10, TimeUnit.SECONDS));
+			Assert.assertEquals(1, target.getFailedCount());
+			Assert.assertEquals(1, target.getCompletedCount());
+			Mockito.verify(factory, Mockito.never()).closeSessionAndEatExceptions(irodsAccount);
+		} finally {
+			target.shutdown();
+		}
+	}
+
+	@Test
+	public void testLostConnectionRenewed() throws Exception {
+		IRODSAccount irodsAccount = buildAccount();
+		AbstractIRODSMidLevelProtocol irodsProtocol = Mockito.mock(AbstractIRODSMidLevelProtocol.class);
+		Mockito.when(irodsProtocol.isConnected()).thenReturn(false);
+		Map<String, AbstractIRODSMidLevelProtocol> irodsProtocols =
+				new HashMap<String, AbstractIRODSMidLevelProtocol>();
+		irodsProtocols.put(irodsAccount.toString(), irodsProtocol);
+		IRODSSession irodsSession = Mockito.mock(IRODSSession.class);
+		Mockito.when(irodsSession.getIRODSCommandsMap()).thenReturn(irodsProtocols);
+		IRODSAccessObjectFactory factory = Mockito.mock(IRODSAccessObjectFactory.class);
+		Mockito.when(factory.getIrodsSession()).thenReturn(irodsSession);
+
+		ConnectionWorkerPool target = new ConnectionWorkerPool(factory, irodsAccount, 1, "test-worker-",
+				"shut down");
+		try {
+			CompletableFuture<String> failed = target.submit(failingWork(new JargonException("agent went away")));
+			try {
+				failed.get(10, TimeUnit.SECONDS);
+				Assert.fail("should have failed");
+			} catch (ExecutionException e) {
+				Assert.assertTrue(e.getCause() instanceof JargonException);
+			}
+			Mockito.verify(factory, Mockito.times(1)).closeSessionAndEatExceptions(irodsAccount);
+		} finally {
+			target.shutdown();
+		}
+	}
+
+	@Test
+	public void testShutdownFailsQueuedWork() throws Exception {
+		IRODSAccessObjectFactory factory = Mockito.mock(IRODSAccessObjectFactory.class);
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+
+		ConnectionWorkerPool target = new ConnectionWorkerPool(factory, buildAccount(), 1, "test-worker-",
+				"shut down");
+		try {
+			CompletableFuture<String> running = target.submit(new PooledWork<String>() {
+				@Override
+				String run(final IRODSAccessObjectFactory irodsAccessObjectFactory, final IRODSAccount irodsAccount)
+						throws Exception {
+					started.countDown();
+					boolean released = false;
+					while (!released) {
+						try {
+							release.await(10, TimeUnit.SECONDS);
+							released = true;
+						} catch (InterruptedException e) {
+							// shutdown interrupts the worker, keep running
+						}
+					}
+					return "running";
+				}
+			});
+			Assert.assertTrue("work should start", started.await(10, TimeUnit.SECONDS));
+			CompletableFuture<String> queued = target.submit(work("queued"));
+
+			Assert.assertTrue(target.shutdown());
+			Assert.assertFalse("second shutdown does nothing", target.shutdown());
+			Assert.assertTrue(queued.isCompletedExceptionally());
+			Assert.assertTrue(target.submit(work("late")).isCompletedExceptionally());
+
+			release.countDown();
+			Assert.assertEquals("running work is allowed to finish", "running", running.get(10, TimeUnit.SECONDS));
+		} finally {
+			release.countDown();
+			target.shutdown();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testZeroConnections() throws Exception {
+		new ConnectionWorkerPool(Mockito.mock(IRODSAccessObjectFactory.class), buildAccount(), 0, "test-worker-",
+				"shut down");
+	}
+
+}
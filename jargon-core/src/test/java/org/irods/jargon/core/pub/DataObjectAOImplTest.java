@@ -4,6 +4,7 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 import org.irods.jargon.core.connection.IRODSAccount;
@@ -4711,4 +4712,58 @@ public class DataObjectAOImplTest {
 		Assert.assertFalse(dataObjects.size() >= 1);
 
 	}
+
+	@Test
+	public void testBulkAddAVUMetadataToDataObjects() throws Exception {
+		String testFileName = "testBulkAddAVUMetadataToDataObjects.txt";
+		String missingFileName = "testBulkAddAVUMetadataToDataObjectsMissing.txt";
+		String expectedAttribName = "testBulkAddAVUMetadataToDataObjects";
+
+		String targetIrodsCollection = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(testingProperties, IRODS_TEST_SUBDIR_PATH);
+
+		String targetIrodsDataObject = targetIrodsCollection + "/" + testFileName;
+		String missingIrodsDataObject = targetIrodsCollection + "/" + missingFileName;
+
+		String absPath = scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+		String fileNameOrig = FileGenerator.generateFileOfFixedLengthGivenName(absPath, testFileName, 2);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+		IRODSFile targetIrodsFile = irodsFileSystem.getIRODSFileFactory(irodsAccount)
+				.instanceIRODSFile(targetIrodsCollection);
+		targetIrodsFile.delete();
+		targetIrodsFile.mkdirs();
+		DataTransferOperations dataTransferOperationsAO = irodsFileSystem.getIRODSAccessObjectFactory()
+				.getDataTransferOperations(irodsAccount);
+		dataTransferOperationsAO.putOperation(new File(fileNameOrig), targetIrodsFile, null, null);
+
+		List<AvuData> bulkAvuData = new ArrayList<>();
+		bulkAvuData.add(AvuData.instance(expectedAttribName, "testval1", ""));
+		bulkAvuData.add(AvuData.instance(expectedAttribName, "testval2", ""));
+		List<String> paths = new ArrayList<>();
+		paths.add(targetIrodsDataObject);
+		paths.add(missingIrodsDataObject);
+
+		DataObjectAO dataObjectAO = irodsFileSystem.getIRODSAccessObjectFactory().getDataObjectAO(irodsAccount);
+		Map<String, List<BulkAVUOperationResponse>> responses = dataObjectAO
+				.addBulkAVUMetadataToDataObjects(paths, bulkAvuData);
+
+		Assert.assertEquals(2, responses.size());
+		for (BulkAVUOperationResponse response : responses.get(targetIrodsDataObject)) {
+			Assert.assertEquals(BulkAVUOperationResponse.ResultStatus.OK, response.getResultStatus());
+		}
+		Assert.assertEquals(2, responses.get(missingIrodsDataObject).size());
+		for (BulkAVUOperationResponse response : responses.get(missingIrodsDataObject)) {
+			Assert.assertEquals(BulkAVUOperationResponse.ResultStatus.MISSING_METADATA_TARGET,
+					response.getResultStatus());
+		}
+
+		List<MetaDataAndDomainData> metadata = dataObjectAO.findMetadataValuesForDataObject(targetIrodsDataObject);
+		Assert.assertEquals(2, metadata.size());
+
+		responses = dataObjectAO.deleteBulkAVUMetadataFromDataObjects(paths, bulkAvuData);
+		Assert.assertEquals(2, responses.size());
+		metadata = dataObjectAO.findMetadataValuesForDataObject(targetIrodsDataObject);
+		Assert.assertTrue(metadata.isEmpty());
+	}
 }
@@ -0,0 +1,196 @@
+package org.irods.jargon.core.pub;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.query.AbstractIRODSGenQuery;
+import org.irods.jargon.core.query.GenQueryResultIterator;
+import org.irods.jargon.core.query.IRODSQueryResultRow;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class FederatedGenQueryExecutorTest {
+
+	private static final Comparator<IRODSQueryResultRow> BY_FIRST_COLUMN = new Comparator<IRODSQueryResultRow>() {
+		@Override
+		public int compare(final IRODSQueryResultRow o1, final IRODSQueryResultRow o2) {
+			return o1.getColumnsAsList().get(0).compareTo(o2.getColumnsAsList().get(0));
+		}
+	};
+
+	private static IRODSQueryResultRow buildRow(final String value) throws Exception {
+		List<String> columnNames = new ArrayList<String>();
+		columnNames.add("col");
+		List<String> values = new ArrayList<String>();
+		values.add(value);
+		return IRODSQueryResultRow.instance(values, columnNames);
+	}
+
+	private static GenQueryResultIterator buildIterator(final String... values) throws Exception {
+		GenQueryResultIterator iterator = Mockito.mock(GenQueryResultIterator.class);
+		Boolean[] hasNexts = new Boolean[values.length];
+		IRODSQueryResultRow[] rows = new IRODSQueryResultRow[values.length];
+		for (int i = 0; i < values.length; i++) {
+			hasNexts[i] = i + 1 < values.length;
+			rows[i] = buildRow(values[i]);
+		}
+		if (values.length == 0) {
+			Mockito.when(iterator.hasNext()).thenReturn(false);
+		} else {
+			Mockito.when(iterator.hasNext()).thenReturn(true, hasNexts);
+			Mockito.when(iterator.next()).thenReturn(rows[0], java.util.Arrays.copyOfRange(rows, 1, rows.length));
+		}
+		return iterator;
+	}
+
+	@Test
+	public void testExecuteInZonesMergedInOrder() throws Exception {
+		IRODSAccount irodsAccount = IRODSAccount.instance("host", 1247, "user", "pwd", "/zone1/home/user", "zone1",
+				"");
+		AbstractIRODSGenQuery query = Mockito.mock(AbstractIRODSGenQuery.class);
+		GenQueryResultIterator zone1Iterator = buildIterator("a", "c", "e");
+		GenQueryResultIterator zone2Iterator = buildIterator("b", "d");
+		IRODSGenQueryExecutor executor = Mockito.mock(IRODSGenQueryExecutor.class);
+		Mockito.when(executor.executeIRODSQueryAsIterator(query, "zone1", true)).thenReturn(zone1Iterator);
+		Mockito.when(executor.executeIRODSQueryAsIterator(query, "zone2", true)).thenReturn(zone2Iterator);
+		IRODSAccessObjectFactory factory = Mockito.mock(IRODSAccessObjectFactory.class);
+		Mockito.when(factory.getIRODSGenQueryExecutor(irodsAccount)).thenReturn(executor);
+
+		List<String> zones = new ArrayList<String>();
+		zones.add("zone1");
+		zones.add("zone2");
+
+		FederatedGenQueryExecutor target = new FederatedGenQueryExecutor(factory, irodsAccount);
+		FederatedQueryResult result = target.executeInZones(query, zones, 10000L, BY_FIRST_COLUMN);
+
+		Assert.assertTrue("should be complete", result.isComplete());
+		Assert.assertEquals(5, result.getResults().size());
+		StringBuilder merged = new StringBuilder();
+		for (IRODSQueryResultRow row : result.getResults()) {
+			merged.append(row.getColumn(0));
+		}
+		Assert.assertEquals("not merged in order", "abcde", merged.toString());
+		Assert.assertEquals(3, result.getResultsByZone().get("zone1").size());
+		Mockito.verify(zone1Iterator).close();
+		Mockito.verify(factory, Mockito.times(2)).closeSessionAndEatExceptions(irodsAccount);
+	}
+
+	@Test
+	public void testExecuteInZonesPartialResults() throws Exception {
+		IRODSAccount irodsAccount = IRODSAccount.instance("host", 1247, "user", "pwd", "/zone1/home/user", "zone1",
+				"");
+		AbstractIRODSGenQuery query = Mockito.mock(AbstractIRODSGenQuery.class);
+		GenQueryResultIterator zone1Iterator = buildIterator("a");
+		final GenQueryResultIterator zone3Iterator = buildIterator("z");
+		IRODSGenQueryExecutor executor = Mockito.mock(IRODSGenQueryExecutor.class);
+		Mockito.when(executor.executeIRODSQueryAsIterator(query, "zone1", true)).thenReturn(zone1Iterator);
+		Mockito.when(executor.executeIRODSQueryAsIterator(query, "zone2", true))
+				.thenThrow(new JargonException("zone2 is down"));
+		Mockito.when(executor.executeIRODSQueryAsIterator(query, "zone3", true))
+				.thenAnswer(new Answer<GenQueryResultIterator>() {
+					@Override
+					public GenQueryResultIterator answer(final InvocationOnMock invocation) throws Throwable {
+						Thread.sleep(5000);
+						return zone3Iterator;
+					}
+				});
+		IRODSAccessObjectFactory factory = Mockito.mock(IRODSAccessObjectFactory.class);
+		Mockito.when(factory.getIRODSGenQueryExecutor(irodsAccount)).thenReturn(executor);
+
+		List<String> zones = new ArrayList<String>();
+		zones.add("zone1");
+		zones.add("zone2");
+		zones.add("zone3");
+
+		FederatedGenQueryExecutor target = new FederatedGenQueryExecutor(factory, irodsAccount);
+		FederatedQueryResult result = target.executeInZones(query, zones, 500L, null);
+
+		Assert.assertFalse("should not be complete", result.isComplete());
+		Assert.assertEquals(1, result.getResults().size());
+		Assert.assertTrue(result.getFailedZones().containsKey("zone2"));
+		Assert.assertEquals("zone3", result.getTimedOutZones().get(0));
+	}
+
+	@Test
+	public void testSlowZoneDoesNotUseTimeOfLaterZones() throws Exception {
+		IRODSAccount irodsAccount = IRODSAccount.instance("host", 1247, "user", "pwd", "/zone1/home/user", "zone1",
+				"");
+		AbstractIRODSGenQuery query = Mockito.mock(AbstractIRODSGenQuery.class);
+		final CountDownLatch neverReleased = new CountDownLatch(1);
+		GenQueryResultIterator zone2Iterator = buildIterator("b");
+		IRODSGenQueryExecutor executor = Mockito.mock(IRODSGenQueryExecutor.class);
+		Mockito.when(executor.executeIRODSQueryAsIterator(query, "zone1", true))
+				.thenAnswer(new Answer<GenQueryResultIterator>() {
+					@Override
+					public GenQueryResultIterator answer(final InvocationOnMock invocation) throws Throwable {
+						neverReleased.await(10, TimeUnit.SECONDS);
+						throw new JargonException("zone1 should have been interrupted");
+					}
+				});
+		Mockito.when(executor.executeIRODSQueryAsIterator(query, "zone2", true)).thenReturn(zone2Iterator);
+		IRODSAccessObjectFactory factory = Mockito.mock(IRODSAccessObjectFactory.class);
+		Mockito.when(factory.getIRODSGenQueryExecutor(irodsAccount)).thenReturn(executor);
+
+		List<String> zones = new ArrayList<String>();
+		zones.add("zone1");
+		zones.add("zone2");
+
+		// one thread, so zone2 only starts once zone1 has used all of its time
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		FederatedGenQueryExecutor target = new FederatedGenQueryExecutor(factory, irodsAccount, executorService);
+		try {
+			FederatedQueryResult result = target.executeInZones(query, zones, 500L, null);
+			Assert.assertEquals(1, result.getTimedOutZones().size());
+			Assert.assertEquals("zone1", result.getTimedOutZones().get(0));
+			Assert.assertEquals("zone2 should have its own time", 1, result.getResultsByZone().get("zone2").size());
+		} finally {
+			target.shutdown();
+			Assert.assertFalse("supplied executor should be left running", executorService.isShutdown());
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test(expected = JargonException.class)
+	public void testExecuteAfterShutdown() throws Exception {
+		IRODSAccount irodsAccount = IRODSAccount.instance("host", 1247, "user", "pwd", "/zone1/home/user", "zone1",
+				"");
+		AbstractIRODSGenQuery query = Mockito.mock(AbstractIRODSGenQuery.class);
+		IRODSAccessObjectFactory factory = Mockito.mock(IRODSAccessObjectFactory.class);
+		FederatedGenQueryExecutor target = new FederatedGenQueryExecutor(factory, irodsAccount);
+		target.shutdown();
+		List<String> zones = new ArrayList<String>();
+		zones.add("zone1");
+		target.executeInZones(query, zones, 0L, null);
+	}
+
+	@Test
+	public void testExecuteInNoZones() throws Exception {
+		IRODSAccount irodsAccount = IRODSAccount.instance("host", 1247, "user", "pwd", "/zone1/home/user", "zone1",
+				"");
+		AbstractIRODSGenQuery query = Mockito.mock(AbstractIRODSGenQuery.class);
+		IRODSAccessObjectFactory factory = Mockito.mock(IRODSAccessObjectFactory.class);
+		FederatedGenQueryExecutor target = new FederatedGenQueryExecutor(factory, irodsAccount);
+		FederatedQueryResult result = target.executeInZones(query, new ArrayList<String>(), 0L, null);
+		Assert.assertTrue(result.isComplete());
+		Assert.assertTrue(result.getResults().isEmpty());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNullFactory() throws Exception {
+		IRODSAccount irodsAccount = IRODSAccount.instance("host", 1247, "user", "pwd", "/zone1/home/user", "zone1",
+				"");
+		new FederatedGenQueryExecutor(null, irodsAccount);
+	}
+
+}
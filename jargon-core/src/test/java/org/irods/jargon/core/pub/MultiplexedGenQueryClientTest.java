@@ -0,0 +1,110 @@
+package org.irods.jargon.core.pub;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.query.AbstractIRODSGenQuery;
+import org.irods.jargon.core.query.IRODSQueryResultSet;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class MultiplexedGenQueryClientTest {
+
+	private static IRODSAccount buildAccount() throws Exception {
+		return IRODSAccount.instance("host", 1247, "user", "pwd", "/zone1/home/user", "zone1", "");
+	}
+
+	@Test
+	public void testManyCallersShareConnections() throws Exception {
+		IRODSAccount irodsAccount = buildAccount();
+		AbstractIRODSGenQuery query = Mockito.mock(AbstractIRODSGenQuery.class);
+		final IRODSQueryResultSet resultSet = Mockito.mock(IRODSQueryResultSet.class);
+		final Set<String> workerThreads = Collections.synchronizedSet(new HashSet<String>());
+		IRODSGenQueryExecutor executor = Mockito.mock(IRODSGenQueryExecutor.class);
+		Mockito.when(executor.executeIRODSQueryAndCloseResultInZone(Matchers.eq(query), Matchers.anyInt(),
+				Matchers.eq(""))).thenAnswer(new Answer<IRODSQueryResultSet>() {
+					@Override
+					public IRODSQueryResultSet answer(final InvocationOnMock invocation) throws Throwable {
+						workerThreads.add(Thread.currentThread().getName());
+						Thread.sleep(5);
+						return resultSet;
+					}
+				});
+		IRODSAccessObjectFactory factory = Mockito.mock(IRODSAccessObjectFactory.class);
+		Mockito.when(factory.getIRODSGenQueryExecutor(irodsAccount)).thenReturn(executor);
+
+		MultiplexedGenQueryClient target = new MultiplexedGenQueryClient(factory, irodsAccount, 2);
+		try {
+			List<CompletableFuture<IRODSQueryResultSet>> futures = new ArrayList<CompletableFuture<IRODSQueryResultSet>>();
+			for (int i = 0; i < 20; i++) {
+				futures.add(target.submit(query, i));
+			}
+
+			for (CompletableFuture<IRODSQueryResultSet> future : futures) {
+				Assert.assertSame(resultSet, future.get(10, TimeUnit.SECONDS));
+			}
+
+			Assert.assertEquals(20, target.getSubmittedCount());
+			Assert.assertEquals(20, target.getCompletedCount());
+			Assert.assertTrue("should use no more than the configured connections", workerThreads.size() <= 2);
+		} finally {
+			target.shutdown();
+		}
+	}
+
+	@Test
+	public void testFailureCompletesExceptionallyAndRenewsConnection() throws Exception {
+		IRODSAccount irodsAccount = buildAccount();
+		AbstractIRODSGenQuery query = Mockito.mock(AbstractIRODSGenQuery.class);
+		IRODSGenQueryExecutor executor = Mockito.mock(IRODSGenQueryExecutor.class);
+		Mockito.when(executor.executeIRODSQueryAndCloseResultInZone(query, 0, "zone2"))
+				.thenThrow(new JargonException(new IOException("connection reset")));
+		IRODSAccessObjectFactory factory = Mockito.mock(IRODSAccessObjectFactory.class);
+		Mockito.when(factory.getIRODSGenQueryExecutor(irodsAccount)).thenReturn(executor);
+
+		MultiplexedGenQueryClient target = new MultiplexedGenQueryClient(factory, irodsAccount, 1);
+		try {
+			CompletableFuture<IRODSQueryResultSet> future = target.submitInZone(query, 0, "zone2");
+			try {
+				future.get(10, TimeUnit.SECONDS);
+				Assert.fail("should have failed");
+			} catch (ExecutionException e) {
+				Assert.assertTrue(e.getCause() instanceof JargonException);
+			}
+			Assert.assertEquals(1, target.getFailedCount());
+			Mockito.verify(factory, Mockito.atLeastOnce()).closeSessionAndEatExceptions(irodsAccount);
+		} finally {
+			target.shutdown();
+		}
+	}
+
+	@Test
+	public void testSubmitAfterShutdown() throws Exception {
+		IRODSAccessObjectFactory factory = Mockito.mock(IRODSAccessObjectFactory.class);
+		MultiplexedGenQueryClient target = new MultiplexedGenQueryClient(factory, buildAccount(), 1);
+		target.shutdown();
+		Assert.assertTrue(target.isShutdown());
+		CompletableFuture<IRODSQueryResultSet> future = target.submit(Mockito.mock(AbstractIRODSGenQuery.class), 0);
+		Assert.assertTrue(future.isCompletedExceptionally());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testZeroConnections() throws Exception {
+		new MultiplexedGenQueryClient(Mockito.mock(IRODSAccessObjectFactory.class), buildAccount(), 0);
+	}
+
+}
@@ -0,0 +1,207 @@
+package org.irods.jargon.core.pub;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.rule.IRODSRule;
+import org.irods.jargon.core.rule.IRODSRuleExecResult;
+import org.irods.jargon.core.rule.IRODSRuleExecResultOutputParameter;
+import org.irods.jargon.core.rule.IRODSRuleParameter;
+import org.irods.jargon.core.rule.RuleInvocationConfiguration;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class RuleBatchExecutorTest {
+
+	private static IRODSAccount buildAccount() throws Exception {
+		return IRODSAccount.instance("host", 1247, "user", "pwd", "/zone1/home/user", "zone1", "");
+	}
+
+	private static IRODSRule buildRule() throws Exception {
+		return IRODSRule.instance("harvest{ writeLine(\"stdout\", *obj); }", new ArrayList<IRODSRuleParameter>(),
+				new ArrayList<IRODSRuleParameter>(), "harvest{ writeLine(\"stdout\", *obj); }",
+				RuleInvocationConfiguration.instanceWithDefaultAutoSettings());
+	}
+
+	@Test
+	public void testBatchSharesConnections() throws Exception {
+		IRODSAccount irodsAccount = buildAccount();
+		IRODSRule rule = buildRule();
+		final IRODSRuleExecResult result = IRODSRuleExecResult.instance(rule,
+				new HashMap<String, IRODSRuleExecResultOutputParameter>());
+		final Set<String> workerThreads = Collections.synchronizedSet(new HashSet<String>());
+		RuleProcessingAO ruleProcessingAO = Mockito.mock(RuleProcessingAO.class);
+		Mockito.when(ruleProcessingAO.executePreparedRule(Matchers.eq(rule), Matchers.anyList()))
+				.thenAnswer(new Answer<IRODSRuleExecResult>() {
+					@Override
+					public IRODSRuleExecResult answer(final InvocationOnMock invocation) throws Throwable {
+						workerThreads.add(Thread.currentThread().getName());
+						Thread.sleep(5);
+						return result;
+					}
+				});
+		IRODSAccessObjectFactory factory = Mockito.mock(IRODSAccessObjectFactory.class);
+		Mockito.when(factory.getRuleProcessingAO(irodsAccount)).thenReturn(ruleProcessingAO);
+
+		List<List<IRODSRuleParameter>> overrideSets = new ArrayList<List<IRODSRuleParameter>>();
+		for (int i = 0; i < 20; i++) {
+			List<IRODSRuleParameter> overrides = new ArrayList<IRODSRuleParameter>();
+			overrides.add(new IRODSRuleParameter("*obj", "/zone1/home/user/file" + i));
+			overrideSets.add(overrides);
+		}
+
+		RuleBatchExecutor target = new RuleBatchExecutor(factory, irodsAccount, 3);
+		try {
+			List<CompletableFuture<IRODSRuleExecResult>> futures = target.submitAll(rule, overrideSets, 0);
+			Assert.assertEquals(20, futures.size());
+			for (CompletableFuture<IRODSRuleExecResult> future : futures) {
+				Assert.assertSame(result, future.get(10, TimeUnit.SECONDS));
+			}
+
+			Assert.assertEquals(20, target.getSubmittedCount());
+			Assert.assertEquals(20, target.getCompletedCount());
+			Assert.assertTrue("should use no more than the configured connections", workerThreads.size() <= 3);
+		} finally {
+			target.shutdown();
+		}
+	}
+
+	@Test
+	public void testTimeoutCompletesExceptionallyAndSkipsQueuedRule() throws Exception {
+		IRODSAccount irodsAccount = buildAccount();
+		IRODSRule rule = buildRule();
+		final IRODSRuleExecResult result = IRODSRuleExecResult.instance(rule,
+				new HashMap<String, IRODSRuleExecResultOutputParameter>());
+		final AtomicInteger calls = new AtomicInteger();
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch timedOut = new CountDownLatch(2);
+		RuleProcessingAO ruleProcessingAO = Mockito.mock(RuleProcessingAO.class);
+		Mockito.when(ruleProcessingAO.executePreparedRule(Matchers.eq(rule), Matchers.anyList()))
+				.thenAnswer(new Answer<IRODSRuleExecResult>() {
+					@Override
+					public IRODSRuleExecResult answer(final InvocationOnMock invocation) throws Throwable {
+						if (calls.incrementAndGet() == 1) {
+							// hold the only connection until both rules have timed out
+							started.countDown();
+							timedOut.await(10, TimeUnit.SECONDS);
+						}
+						return result;
+					}
+				});
+		IRODSAccessObjectFactory factory = Mockito.mock(IRODSAccessObjectFactory.class);
+		Mockito.when(factory.getRuleProcessingAO(irodsAccount)).thenReturn(ruleProcessingAO);
+
+		BiConsumer<IRODSRuleExecResult, Throwable> countTimeout = new BiConsumer<IRODSRuleExecResult, Throwable>() {
+			@Override
+			public void accept(final IRODSRuleExecResult execResult, final Throwable throwable) {
+				if (throwable instanceof TimeoutException) {
+					timedOut.countDown();
+				}
+			}
+		};
+
+		RuleBatchExecutor target = new RuleBatchExecutor(factory, irodsAccount, 1);
+		try {
+			/*
+			 * the running rule only needs to reach the idle worker before its
+			 * timeout, the queued rule is submitted once the worker is known to
+			 * be busy
+			 */
+			CompletableFuture<IRODSRuleExecResult> running = target.submit(rule, null, 1000);
+			running.whenComplete(countTimeout);
+			Assert.assertTrue("running rule should start", started.await(10, TimeUnit.SECONDS));
+			CompletableFuture<IRODSRuleExecResult> queued = target.submit(rule, null, 1);
+			queued.whenComplete(countTimeout);
+
+			try {
+				running.get(10, TimeUnit.SECONDS);
+				Assert.fail("should have timed out");
+			} catch (ExecutionException e) {
+				Assert.assertTrue(e.getCause() instanceof TimeoutException);
+			}
+
+			try {
+				queued.get(10, TimeUnit.SECONDS);
+				Assert.fail("should have timed out");
+			} catch (ExecutionException e) {
+				Assert.assertTrue(e.getCause() instanceof TimeoutException);
+			}
+
+			/*
+			 * rules are taken in order, so once this one returns the worker has
+			 * passed the timed out rule in the queue
+			 */
+			CompletableFuture<IRODSRuleExecResult> marker = target.submit(rule, null, 0);
+			Assert.assertSame(result, marker.get(10, TimeUnit.SECONDS));
+
+			Assert.assertEquals(2, target.getTimedOutCount());
+			Assert.assertEquals(2, target.getCompletedCount());
+			Mockito.verify(ruleProcessingAO, Mockito.times(2)).executePreparedRule(Matchers.eq(rule),
+					Matchers.anyList());
+		} finally {
+			target.shutdown();
+		}
+	}
+
+	@Test
+	public void testFailureCompletesExceptionallyAndRenewsConnection() throws Exception {
+		IRODSAccount irodsAccount = buildAccount();
+		IRODSRule rule = buildRule();
+		RuleProcessingAO ruleProcessingAO = Mockito.mock(RuleProcessingAO.class);
+		// lost the socket while the rule ran
+		JargonException failure = new JargonException(new IOException("connection reset"));
+		Mockito.when(ruleProcessingAO.executePreparedRule(Matchers.eq(rule), Matchers.anyList())).thenThrow(failure);
+		IRODSAccessObjectFactory factory = Mockito.mock(IRODSAccessObjectFactory.class);
+		Mockito.when(factory.getRuleProcessingAO(irodsAccount)).thenReturn(ruleProcessingAO);
+
+		RuleBatchExecutor target = new RuleBatchExecutor(factory, irodsAccount, 1);
+		try {
+			CompletableFuture<IRODSRuleExecResult> future = target.submit(rule, null, 0);
+			try {
+				future.get(10, TimeUnit.SECONDS);
+				Assert.fail("should have failed");
+			} catch (ExecutionException e) {
+				Assert.assertSame(failure, e.getCause());
+			}
+			Assert.assertEquals(1, target.getFailedCount());
+			Mockito.verify(factory, Mockito.atLeastOnce()).closeSessionAndEatExceptions(irodsAccount);
+		} finally {
+			target.shutdown();
+		}
+	}
+
+	@Test
+	public void testSubmitAfterShutdown() throws Exception {
+		IRODSAccessObjectFactory factory = Mockito.mock(IRODSAccessObjectFactory.class);
+		RuleBatchExecutor target = new RuleBatchExecutor(factory, buildAccount(), 1);
+		target.shutdown();
+		Assert.assertTrue(target.isShutdown());
+		CompletableFuture<IRODSRuleExecResult> future = target.submit(buildRule(), null, 0);
+		Assert.assertTrue(future.isCompletedExceptionally());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testZeroConnections() throws Exception {
+		new RuleBatchExecutor(Mockito.mock(IRODSAccessObjectFactory.class), buildAccount(), 0);
+	}
+
+}
@@ -0,0 +1,92 @@
+package org.irods.jargon.core.pub.io;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.connection.AbstractIRODSMidLevelProtocol;
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.connection.SettableJargonProperties;
+import org.irods.jargon.core.packinstr.DataObjInp.OpenFlags;
+import org.irods.jargon.core.pub.IRODSFileSystemAOImpl;
+import org.irods.jargon.core.pub.domain.ObjStat;
+import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry.ObjectType;
+import org.irods.jargon.core.query.GenQueryResultCache;
+import org.irods.jargon.core.query.IRODSGenQueryBuilder;
+import org.irods.jargon.core.query.IRODSQueryResultRow;
+import org.irods.jargon.core.query.IRODSQueryResultSet;
+import org.irods.jargon.core.query.QueryConditionOperators;
+import org.irods.jargon.core.query.RodsGenQueryEnum;
+import org.irods.jargon.core.query.TranslatedIRODSGenQuery;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class IRODSFileImplCacheEvictionTest {
+
+	private static final String COLLECTION_PATH = "/zone1/home/user/coll";
+	private static final String FILE_PATH = COLLECTION_PATH + "/file1.txt";
+
+	private static IRODSAccount buildAccount() throws Exception {
+		return IRODSAccount.instance("host", 1247, "user", "pwd", "/zone1/home/user", "zone1", "");
+	}
+
+	private static TranslatedIRODSGenQuery buildListingQuery() throws Exception {
+		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+		builder.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_DATA_NAME)
+				.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_DATA_SIZE)
+				.addConditionAsGenQueryField(RodsGenQueryEnum.COL_COLL_NAME, QueryConditionOperators.EQUAL,
+						COLLECTION_PATH);
+		return builder.exportIRODSQueryFromBuilder(100).convertToTranslatedIRODSGenQuery();
+	}
+
+	private static IRODSQueryResultSet buildListing(final TranslatedIRODSGenQuery query) throws Exception {
+		List<String> columnNames = new ArrayList<String>();
+		columnNames.add("name");
+		columnNames.add("size");
+		List<String> values = new ArrayList<String>();
+		values.add("file1.txt");
+		values.add("0");
+		List<IRODSQueryResultRow> rows = new ArrayList<IRODSQueryResultRow>();
+		rows.add(IRODSQueryResultRow.instance(values, columnNames));
+		return IRODSQueryResultSet.instance(query, rows, 0, 0);
+	}
+
+	@Test
+	public void testCachedListingOfParentRefreshedAfterWrite() throws Exception {
+		IRODSAccount irodsAccount = buildAccount();
+		SettableJargonProperties settableJargonProperties = new SettableJargonProperties();
+		settableJargonProperties.setUsingGenQueryResultCache(true);
+		settableJargonProperties.setUsingObjStatCache(true);
+		IRODSSession irodsSession = Mockito.spy(new IRODSSession(settableJargonProperties));
+		AbstractIRODSMidLevelProtocol irodsProtocol = Mockito.mock(AbstractIRODSMidLevelProtocol.class);
+		Mockito.doReturn(irodsProtocol).when(irodsSession).currentConnection(irodsAccount);
+		IRODSFileSystemAOImpl irodsFileSystemAO = new IRODSFileSystemAOImpl(irodsSession, irodsAccount);
+
+		GenQueryResultCache genQueryResultCache = irodsSession.getGenQueryResultCache();
+		TranslatedIRODSGenQuery query = buildListingQuery();
+		String key = GenQueryResultCache.computeKey(irodsAccount, null, 0, query);
+		genQueryResultCache.cacheResult(key, buildListing(query));
+
+		ObjStat objStat = new ObjStat();
+		objStat.setAbsolutePath(FILE_PATH);
+		objStat.setObjectType(ObjectType.DATA_OBJECT);
+		objStat.setObjSize(0L);
+		irodsSession.getObjStatCache().cacheObjStat(irodsAccount, objStat);
+
+		IRODSFileImpl irodsFile = new IRODSFileImpl(FILE_PATH, irodsFileSystemAO);
+		// as opened for write
+		irodsFile.setFileDescriptor(3);
+		irodsFile.setOpenFlags(OpenFlags.WRITE);
+		Assert.assertNotNull("listing should be cached while the file is open",
+				genQueryResultCache.retrieve(key, query));
+		irodsFile.close();
+
+		Assert.assertNull("listing of the parent should be refreshed after the write",
+				genQueryResultCache.retrieve(key, query));
+		Assert.assertNull("objStat of the file should be refreshed after the write",
+				irodsSession.getObjStatCache().retrieveObjStat(irodsAccount, FILE_PATH));
+	}
+
+}
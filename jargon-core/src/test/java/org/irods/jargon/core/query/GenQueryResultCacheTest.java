@@ -0,0 +1,158 @@
+package org.irods.jargon.core.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.connection.SettableJargonProperties;
+import org.irods.jargon.core.query.GenQueryResultCache.QueryFamily;
+import org.junit.Test;
+
+public class GenQueryResultCacheTest {
+
+	private static TranslatedIRODSGenQuery buildCollectionQuery(
+			final String collName) throws Exception {
+		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+		builder.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_DATA_NAME)
+				.addConditionAsGenQueryField(RodsGenQueryEnum.COL_COLL_NAME,
+						QueryConditionOperators.EQUAL, collName);
+		return builder.exportIRODSQueryFromBuilder(100)
+				.convertToTranslatedIRODSGenQuery();
+	}
+
+	private static TranslatedIRODSGenQuery buildResourceQuery()
+			throws Exception {
+		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+		builder.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_R_RESC_NAME);
+		return builder.exportIRODSQueryFromBuilder(100)
+				.convertToTranslatedIRODSGenQuery();
+	}
+
+	private static TranslatedIRODSGenQuery buildUserAvuQuery(
+			final String userName) throws Exception {
+		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+		builder.addSelectAsGenQueryValue(
+				RodsGenQueryEnum.COL_META_USER_ATTR_NAME)
+				.addSelectAsGenQueryValue(
+						RodsGenQueryEnum.COL_META_USER_ATTR_VALUE)
+				.addConditionAsGenQueryField(RodsGenQueryEnum.COL_USER_NAME,
+						QueryConditionOperators.EQUAL, userName);
+		return builder.exportIRODSQueryFromBuilder(100)
+				.convertToTranslatedIRODSGenQuery();
+	}
+
+	private static IRODSQueryResultSet buildResultSet(
+			final TranslatedIRODSGenQuery query, final String value)
+			throws Exception {
+		List<String> columnNames = new ArrayList<String>();
+		columnNames.add("col");
+		List<String> values = new ArrayList<String>();
+		values.add(value);
+		List<IRODSQueryResultRow> rows = new ArrayList<IRODSQueryResultRow>();
+		rows.add(IRODSQueryResultRow.instance(values, columnNames));
+		return IRODSQueryResultSet.instance(query, rows, 0, 0);
+	}
+
+	private static IRODSAccount buildAccount() throws Exception {
+		return IRODSAccount.instance("host", 1247, "user", "pwd",
+				"/zone/home/user", "zone", "");
+	}
+
+	@Test
+	public void testCacheAndRetrieve() throws Exception {
+		GenQueryResultCache cache = new GenQueryResultCache(10, 10000L,
+				10000L);
+		TranslatedIRODSGenQuery query = buildCollectionQuery("/zone/home/a");
+		String key = GenQueryResultCache.computeKey(buildAccount(), null, 0,
+				query);
+		Assert.assertNull(cache.retrieve(key, query));
+		cache.cacheResult(key, buildResultSet(query, "file1"));
+
+		TranslatedIRODSGenQuery sameQuery = buildCollectionQuery("/zone/home/a");
+		String sameKey = GenQueryResultCache.computeKey(buildAccount(), null,
+				0, sameQuery);
+		IRODSQueryResultSet cached = cache.retrieve(sameKey, sameQuery);
+		Assert.assertNotNull("should find identical query", cached);
+		Assert.assertEquals("file1", cached.getFirstResult().getColumn(0));
+		Assert.assertEquals(1, cache.getHitCount());
+		Assert.assertEquals(1, cache.getMissCount());
+
+		String otherZoneKey = GenQueryResultCache.computeKey(buildAccount(),
+				"otherZone", 0, sameQuery);
+		Assert.assertNull("zone should be part of key",
+				cache.retrieve(otherZoneKey, sameQuery));
+	}
+
+	@Test
+	public void testExpiry() throws Exception {
+		GenQueryResultCache cache = new GenQueryResultCache(10, 10000L,
+				10000L);
+		cache.setTimeToLiveMillis(QueryFamily.COLLECTION_AND_DATA, 1L);
+		TranslatedIRODSGenQuery query = buildCollectionQuery("/zone/home/a");
+		String key = GenQueryResultCache.computeKey(buildAccount(), null, 0,
+				query);
+		cache.cacheResult(key, buildResultSet(query, "file1"));
+		Thread.sleep(20);
+		Assert.assertNull("should have expired", cache.retrieve(key, query));
+	}
+
+	@Test
+	public void testEvictByPath() throws Exception {
+		GenQueryResultCache cache = new GenQueryResultCache(10, 10000L,
+				10000L);
+		TranslatedIRODSGenQuery parentQuery = buildCollectionQuery("/zone/home/a");
+		TranslatedIRODSGenQuery otherQuery = buildCollectionQuery("/zone/home/b");
+		TranslatedIRODSGenQuery resourceQuery = buildResourceQuery();
+		cache.cacheResult("parent", buildResultSet(parentQuery, "x"));
+		cache.cacheResult("other", buildResultSet(otherQuery, "x"));
+		cache.cacheResult("resource", buildResultSet(resourceQuery, "x"));
+
+		cache.evictByPath("/zone/home/a/file1");
+
+		Assert.assertNull("parent listing should be evicted",
+				cache.retrieve("parent", parentQuery));
+		Assert.assertNotNull("sibling listing should remain",
+				cache.retrieve("other", otherQuery));
+		Assert.assertNotNull("resource query should remain",
+				cache.retrieve("resource", resourceQuery));
+		Assert.assertEquals(1, cache.getEvictionCount());
+
+		cache.evictByFamily(QueryFamily.RESOURCE);
+		Assert.assertNull(cache.retrieve("resource", resourceQuery));
+	}
+
+	@Test
+	public void testDetermineQueryFamily() throws Exception {
+		Assert.assertEquals(QueryFamily.COLLECTION_AND_DATA,
+				GenQueryResultCache
+						.determineQueryFamily(buildCollectionQuery("/a")));
+		Assert.assertEquals(QueryFamily.RESOURCE,
+				GenQueryResultCache.determineQueryFamily(buildResourceQuery()));
+		Assert.assertEquals(QueryFamily.USER, GenQueryResultCache
+				.determineQueryFamily(buildUserAvuQuery("user1")));
+	}
+
+	@Test
+	public void testUserAvuListingEvictedWhenUserAvuAdded() throws Exception {
+		SettableJargonProperties settableJargonProperties = new SettableJargonProperties();
+		settableJargonProperties.setUsingGenQueryResultCache(true);
+		IRODSSession irodsSession = new IRODSSession(settableJargonProperties);
+		GenQueryResultCache cache = irodsSession.getGenQueryResultCache();
+
+		TranslatedIRODSGenQuery query = buildUserAvuQuery("user1");
+		String key = GenQueryResultCache.computeKey(buildAccount(), null, 0,
+				query);
+		cache.cacheResult(key, buildResultSet(query, "attr1"));
+		Assert.assertNotNull(cache.retrieve(key, query));
+
+		// adding an AVU to a user evicts as a catalog change
+		irodsSession.evictCachedQueryResultsForCatalogChange();
+
+		Assert.assertNull("user AVU listing should be evicted",
+				cache.retrieve(key, query));
+	}
+
+}
@@ -0,0 +1,114 @@
+package org.irods.jargon.core.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.pub.IRODSGenQueryExecutorImpl.QueryCloseBehavior;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class GenQueryResultIteratorTest {
+
+	private static IRODSQueryResultSet buildPage(final TranslatedIRODSGenQuery query, final int firstValue,
+			final int rowCount, final int continuation) throws Exception {
+		List<String> columnNames = new ArrayList<String>();
+		columnNames.add("col");
+		List<IRODSQueryResultRow> rows = new ArrayList<IRODSQueryResultRow>();
+		for (int i = 0; i < rowCount; i++) {
+			List<String> values = new ArrayList<String>();
+			values.add(String.valueOf(firstValue + i));
+			rows.add(IRODSQueryResultRow.instance(values, columnNames));
+		}
+		return IRODSQueryResultSet.instance(query, rows, continuation, 0);
+	}
+
+	private static GenQueryProcessor buildProcessorWithThreePages(final TranslatedIRODSGenQuery query)
+			throws Exception {
+		IRODSQueryResultSet page1 = buildPage(query, 0, 2, 5);
+		IRODSQueryResultSet page2 = buildPage(query, 2, 2, 7);
+		IRODSQueryResultSet page3 = buildPage(query, 4, 1, 0);
+		GenQueryProcessor genQueryProcessor = Mockito.mock(GenQueryProcessor.class);
+		Mockito.when(genQueryProcessor.executeTranslatedIRODSQuery(query, 0, 0, QueryCloseBehavior.MANUAL_CLOSE, null))
+				.thenReturn(page1);
+		Mockito.when(genQueryProcessor.executeTranslatedIRODSQuery(query, 5, 0, QueryCloseBehavior.MANUAL_CLOSE, null))
+				.thenReturn(page2);
+		Mockito.when(genQueryProcessor.executeTranslatedIRODSQuery(query, 7, 0, QueryCloseBehavior.MANUAL_CLOSE, null))
+				.thenReturn(page3);
+		return genQueryProcessor;
+	}
+
+	@Test
+	public void testIterateAllPages() throws Exception {
+		TranslatedIRODSGenQuery query = Mockito.mock(TranslatedIRODSGenQuery.class);
+		GenQueryProcessor genQueryProcessor = buildProcessorWithThreePages(query);
+		GenQueryResultIterator iterator = new GenQueryResultIterator(genQueryProcessor, query, null, false);
+		int expected = 0;
+		while (iterator.hasNext()) {
+			Assert.assertEquals(String.valueOf(expected++), iterator.next().getColumn(0));
+		}
+		Assert.assertEquals("did not get all rows", 5, expected);
+		Assert.assertTrue("should be closed after last row", iterator.isClosed());
+		Mockito.verify(genQueryProcessor, Mockito.never()).closeResults(Mockito.any(IRODSQueryResultSet.class));
+	}
+
+	@Test
+	public void testIterateAllPagesWithPrefetch() throws Exception {
+		TranslatedIRODSGenQuery query = Mockito.mock(TranslatedIRODSGenQuery.class);
+		GenQueryProcessor genQueryProcessor = buildProcessorWithThreePages(query);
+		GenQueryResultIterator iterator = new GenQueryResultIterator(genQueryProcessor, query, null, true);
+		int expected = 0;
+		while (iterator.hasNext()) {
+			Assert.assertEquals(String.valueOf(expected++), iterator.next().getColumn(0));
+		}
+		Assert.assertEquals("did not get all rows", 5, expected);
+	}
+
+	@Test
+	public void testStream() throws Exception {
+		TranslatedIRODSGenQuery query = Mockito.mock(TranslatedIRODSGenQuery.class);
+		GenQueryProcessor genQueryProcessor = buildProcessorWithThreePages(query);
+		GenQueryResultIterator iterator = new GenQueryResultIterator(genQueryProcessor, query, null, true);
+		Assert.assertEquals("did not stream all rows", 5, iterator.stream().count());
+	}
+
+	@Test
+	public void testEarlyCloseReleasesQuery() throws Exception {
+		TranslatedIRODSGenQuery query = Mockito.mock(TranslatedIRODSGenQuery.class);
+		GenQueryProcessor genQueryProcessor = buildProcessorWithThreePages(query);
+		GenQueryResultIterator iterator = new GenQueryResultIterator(genQueryProcessor, query, null, false);
+		iterator.next();
+		iterator.close();
+		Assert.assertFalse("should have no rows after close", iterator.hasNext());
+		Mockito.verify(genQueryProcessor, Mockito.times(1)).closeResults(Mockito.any(IRODSQueryResultSet.class));
+	}
+
+	@Test
+	public void testEarlyCloseOfStreamWithPrefetchReleasesQuery() throws Exception {
+		TranslatedIRODSGenQuery query = Mockito.mock(TranslatedIRODSGenQuery.class);
+		GenQueryProcessor genQueryProcessor = buildProcessorWithThreePages(query);
+		GenQueryResultIterator iterator = new GenQueryResultIterator(genQueryProcessor, query, null, true);
+		iterator.stream().limit(1).close();
+		Assert.assertTrue("should be closed", iterator.isClosed());
+		Mockito.verify(genQueryProcessor, Mockito.times(1)).closeResults(Mockito.any(IRODSQueryResultSet.class));
+	}
+
+	@Test
+	public void testNoResults() throws Exception {
+		TranslatedIRODSGenQuery query = Mockito.mock(TranslatedIRODSGenQuery.class);
+		IRODSQueryResultSet page = buildPage(query, 0, 0, 0);
+		GenQueryProcessor genQueryProcessor = Mockito.mock(GenQueryProcessor.class);
+		Mockito.when(genQueryProcessor.executeTranslatedIRODSQuery(query, 0, 0, QueryCloseBehavior.MANUAL_CLOSE, null))
+				.thenReturn(page);
+		GenQueryResultIterator iterator = new GenQueryResultIterator(genQueryProcessor, query, null, true);
+		Assert.assertFalse("should have no rows", iterator.hasNext());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNullProcessor() throws Exception {
+		TranslatedIRODSGenQuery query = Mockito.mock(TranslatedIRODSGenQuery.class);
+		new GenQueryResultIterator(null, query, null, false);
+	}
+
+}
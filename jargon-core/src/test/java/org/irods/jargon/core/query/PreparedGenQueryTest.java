@@ -0,0 +1,96 @@
+package org.irods.jargon.core.query;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.packinstr.GenQueryInp;
+import org.irods.jargon.core.query.GenQueryOrderByField.OrderByType;
+import org.junit.Test;
+
+public class PreparedGenQueryTest {
+
+	private static IRODSGenQueryFromBuilder buildQuery(final String collName,
+			final String dataName) throws Exception {
+		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+		builder.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_COLL_NAME)
+				.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_DATA_NAME)
+				.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_DATA_SIZE)
+				.addConditionAsGenQueryField(RodsGenQueryEnum.COL_COLL_NAME,
+						QueryConditionOperators.EQUAL, collName)
+				.addConditionAsGenQueryField(RodsGenQueryEnum.COL_DATA_NAME,
+						QueryConditionOperators.LIKE, dataName)
+				.addConditionAsGenQueryField(RodsGenQueryEnum.COL_DATA_SIZE,
+						QueryConditionOperators.NUMERIC_GREATER_THAN, "0")
+				.addOrderByGenQueryField(RodsGenQueryEnum.COL_DATA_NAME,
+						OrderByType.ASC);
+		return builder.exportIRODSQueryFromBuilder(100);
+	}
+
+	@Test
+	public void testBoundQuerySameAsBuilderQuery() throws Exception {
+		IRODSGenQueryFromBuilder builderQuery = buildQuery("/zone/home/a",
+				"file%");
+		PreparedGenQuery preparedGenQuery = PreparedGenQuery
+				.instance(buildQuery(PreparedGenQuery.PARAMETER,
+						PreparedGenQuery.PARAMETER));
+		Assert.assertEquals(2, preparedGenQuery.getParameterCount());
+
+		BoundGenQuery boundGenQuery = preparedGenQuery.bind("/zone/home/a",
+				"file%");
+		TranslatedIRODSGenQuery translatedBound = boundGenQuery
+				.convertToTranslatedIRODSGenQuery();
+		Assert.assertSame(preparedGenQuery,
+				translatedBound.getPreparedGenQuery());
+
+		String expected = GenQueryInp.instance(
+				builderQuery.convertToTranslatedIRODSGenQuery(), 0, null)
+				.getParsedTags();
+		String actual = GenQueryInp.instance(translatedBound, 0, null)
+				.getParsedTags();
+		Assert.assertEquals("bound query not sent as the builder query",
+				expected, actual);
+	}
+
+	@Test
+	public void testShapeKeyIgnoresParameterValues() throws Exception {
+		IRODSGenQueryFromBuilder query1 = buildQuery(
+				PreparedGenQuery.PARAMETER, "a%");
+		IRODSGenQueryFromBuilder query2 = buildQuery(
+				PreparedGenQuery.PARAMETER, "b%");
+		Assert.assertFalse("fixed values should be part of the shape",
+				PreparedGenQuery.computeShapeKey(
+						query1.getIrodsGenQueryBuilderData(), 100).equals(
+						PreparedGenQuery.computeShapeKey(
+								query2.getIrodsGenQueryBuilderData(), 100)));
+		Assert.assertEquals(1, PreparedGenQuery.instance(query1)
+				.getParameterCount());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBindWrongNumberOfValues() throws Exception {
+		PreparedGenQuery preparedGenQuery = PreparedGenQuery
+				.instance(buildQuery(PreparedGenQuery.PARAMETER,
+						PreparedGenQuery.PARAMETER));
+		preparedGenQuery.bind("/zone/home/a");
+	}
+
+	@Test
+	public void testCacheByServerVersion() throws Exception {
+		PreparedGenQueryCache cache = new PreparedGenQueryCache(1);
+		PreparedGenQuery first = cache.retrieveOrPrepare(
+				"rods4.2.0",
+				buildQuery(PreparedGenQuery.PARAMETER,
+						PreparedGenQuery.PARAMETER));
+		PreparedGenQuery second = cache.retrieveOrPrepare(
+				"rods4.2.0",
+				buildQuery(PreparedGenQuery.PARAMETER,
+						PreparedGenQuery.PARAMETER));
+		Assert.assertSame("should have used cached query", first, second);
+		PreparedGenQuery otherVersion = cache.retrieveOrPrepare(
+				"rods4.1.0",
+				buildQuery(PreparedGenQuery.PARAMETER,
+						PreparedGenQuery.PARAMETER));
+		Assert.assertNotSame(first, otherVersion);
+		Assert.assertEquals("cache should be bounded", 1, cache.size());
+	}
+
+}
@@ -0,0 +1,138 @@
+package org.irods.jargon.core.remoteexecute;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import junit.framework.Assert;
+
+public class RemoteExecutionStreamPumpTest {
+
+	@Test
+	public void testPumpCopiesAllChunks() throws Exception {
+		byte[] data = new byte[10000];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) i;
+		}
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		long written = new RemoteExecutionStreamPump(new ByteArrayInputStream(
+				data), Channels.newChannel(output), 333, 2).pump();
+
+		Assert.assertEquals(data.length, written);
+		Assert.assertTrue(Arrays.equals(data, output.toByteArray()));
+	}
+
+	@Test
+	public void testClosedChannelStopsReading() throws Exception {
+		final AtomicInteger reads = new AtomicInteger();
+		InputStream endless = new InputStream() {
+			@Override
+			public int read() throws IOException {
+				return 0;
+			}
+
+			@Override
+			public int read(final byte[] b, final int off, final int len)
+					throws IOException {
+				reads.incrementAndGet();
+				return len;
+			}
+		};
+
+		WritableByteChannel closingChannel = new WritableByteChannel() {
+			private int chunks = 0;
+			private boolean open = true;
+
+			@Override
+			public boolean isOpen() {
+				return open;
+			}
+
+			@Override
+			public void close() throws IOException {
+				open = false;
+			}
+
+			@Override
+			public int write(final ByteBuffer src) throws IOException {
+				if (++chunks > 3) {
+					close();
+				}
+
+				if (!open) {
+					throw new ClosedChannelException();
+				}
+
+				int length = src.remaining();
+				src.position(src.limit());
+				return length;
+			}
+		};
+
+		try {
+			new RemoteExecutionStreamPump(endless, closingChannel, 100, 2)
+					.pump();
+			Assert.fail("should have stopped on the closed channel");
+		} catch (ClosedChannelException e) {
+			// expected
+		}
+
+		int readsAtStop = reads.get();
+		Thread.sleep(200);
+		Assert.assertEquals("reader should stop with the pump", readsAtStop,
+				reads.get());
+		Assert.assertTrue("read ahead should be bounded", readsAtStop <= 8);
+	}
+
+	@Test(timeout = 10000)
+	public void testUncheckedReadErrorRethrown() throws Exception {
+		final IllegalStateException failure = new IllegalStateException(
+				"protocol error");
+		InputStream failing = new InputStream() {
+			private int reads = 0;
+
+			@Override
+			public int read() throws IOException {
+				return 0;
+			}
+
+			@Override
+			public int read(final byte[] b, final int off, final int len)
+					throws IOException {
+				if (++reads > 1) {
+					throw failure;
+				}
+				return len;
+			}
+		};
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try {
+			new RemoteExecutionStreamPump(failing, Channels.newChannel(output),
+					100, 2).pump();
+			Assert.fail("should have thrown the read error");
+		} catch (IllegalStateException e) {
+			Assert.assertSame(failure, e);
+		}
+
+		Assert.assertEquals("chunk read before the error should be written",
+				100, output.size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testZeroReadAhead() throws Exception {
+		new RemoteExecutionStreamPump(new ByteArrayInputStream(new byte[1]),
+				Channels.newChannel(new ByteArrayOutputStream()), 10, 0);
+	}
+
+}
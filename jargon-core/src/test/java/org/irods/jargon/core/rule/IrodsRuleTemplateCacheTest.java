@@ -0,0 +1,80 @@
+package org.irods.jargon.core.rule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+
+public class IrodsRuleTemplateCacheTest {
+
+	private static final String RULE_TEXT = "myRule { writeLine(\"stdout\", *a); }\nINPUT *a=\"x\"\nOUTPUT ruleExecOut";
+
+	private static IRODSRule buildTemplate() throws Exception {
+		List<IRODSRuleParameter> inputs = new ArrayList<IRODSRuleParameter>();
+		inputs.add(new IRODSRuleParameter("*a", "\"x\""));
+		List<IRODSRuleParameter> outputs = new ArrayList<IRODSRuleParameter>();
+		outputs.add(new IRODSRuleParameter("ruleExecOut", ""));
+		RuleInvocationConfiguration ruleInvocationConfiguration = RuleInvocationConfiguration
+				.instanceWithDefaultAutoSettings();
+		ruleInvocationConfiguration
+				.setIrodsRuleInvocationTypeEnum(IrodsRuleInvocationTypeEnum.IRODS);
+		return IRODSRule.instance(RULE_TEXT, inputs, outputs,
+				"myRule { writeLine(\"stdout\", *a); }",
+				ruleInvocationConfiguration);
+	}
+
+	@Test
+	public void testRetrieveOrTranslateTranslatesOnce() throws Exception {
+		IrodsRuleFactory irodsRuleFactory = Mockito
+				.mock(IrodsRuleFactory.class);
+		IRODSRule template = buildTemplate();
+		Mockito.when(
+				irodsRuleFactory.instanceIrodsRule(Matchers.eq(RULE_TEXT),
+						Matchers.anyListOf(IRODSRuleParameter.class),
+						Matchers.any(RuleInvocationConfiguration.class)))
+				.thenReturn(template);
+
+		IrodsRuleTemplateCache cache = new IrodsRuleTemplateCache(10);
+		RuleInvocationConfiguration ruleInvocationConfiguration = RuleInvocationConfiguration
+				.instanceWithDefaultAutoSettings();
+		IRODSRule first = cache.retrieveOrTranslate("rods4.2.0", RULE_TEXT,
+				ruleInvocationConfiguration, irodsRuleFactory);
+		IRODSRule second = cache.retrieveOrTranslate("rods4.2.0", RULE_TEXT,
+				ruleInvocationConfiguration, irodsRuleFactory);
+
+		Assert.assertSame(first, second);
+		Assert.assertEquals(1, cache.size());
+		Mockito.verify(irodsRuleFactory, Mockito.times(1)).instanceIrodsRule(
+				Matchers.eq(RULE_TEXT),
+				Matchers.anyListOf(IRODSRuleParameter.class),
+				Matchers.any(RuleInvocationConfiguration.class));
+
+		cache.retrieveOrTranslate("rods4.2.1", RULE_TEXT,
+				ruleInvocationConfiguration, irodsRuleFactory);
+		Assert.assertEquals(2, cache.size());
+	}
+
+	@Test
+	public void testBindParametersLeavesTemplateAlone() throws Exception {
+		IRODSRule template = buildTemplate();
+		List<IRODSRuleParameter> overrides = new ArrayList<IRODSRuleParameter>();
+		overrides.add(new IRODSRuleParameter("*a", "\"y\""));
+
+		IRODSRule bound = IrodsRuleTemplateCache.bindParameters(template,
+				overrides);
+
+		Assert.assertEquals(1, bound.getIrodsRuleInputParameters().size());
+		Assert.assertEquals("\"y\"", bound.getIrodsRuleInputParameters()
+				.get(0).getStringValue());
+		Assert.assertEquals("\"x\"", template.getIrodsRuleInputParameters()
+				.get(0).getStringValue());
+		Assert.assertNotSame(template.getRuleInvocationConfiguration(),
+				bound.getRuleInvocationConfiguration());
+		Assert.assertEquals(template.getRuleBody(), bound.getRuleBody());
+	}
+
+}
@@ -0,0 +1,143 @@
+package org.irods.jargon.core.sql;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.pub.IRODSGenQueryExecutor;
+import org.irods.jargon.core.query.AbstractIRODSGenQuery;
+import org.irods.jargon.core.query.IRODSGenQueryBuilder;
+import org.irods.jargon.core.query.IRODSGenQueryFromBuilder;
+import org.irods.jargon.core.query.IRODSQueryResultRow;
+import org.irods.jargon.core.query.IRODSQueryResultSet;
+import org.irods.jargon.core.query.RodsGenQueryEnum;
+import org.irods.jargon.core.query.TranslatedIRODSGenQuery;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+public class IRODSGenQueryStreamingResultSetTest {
+
+	private static IRODSGenQueryFromBuilder buildQuery() throws Exception {
+		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+		builder.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_DATA_NAME)
+				.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_DATA_SIZE)
+				.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_D_MODIFY_TIME);
+		return builder.exportIRODSQueryFromBuilder(100);
+	}
+
+	private static IRODSQueryResultSet buildPage(
+			final TranslatedIRODSGenQuery query, final int continuation,
+			final String... names) throws Exception {
+		List<String> columnNames = new ArrayList<String>();
+		columnNames.add("DATA_NAME");
+		columnNames.add("DATA_SIZE");
+		columnNames.add("DATA_MODIFY_TIME");
+		List<IRODSQueryResultRow> rows = new ArrayList<IRODSQueryResultRow>();
+		for (String name : names) {
+			List<String> values = new ArrayList<String>();
+			values.add(name);
+			values.add("42");
+			values.add("01375818384");
+			rows.add(IRODSQueryResultRow.instance(values, columnNames));
+		}
+		return IRODSQueryResultSet.instance(query, rows, continuation, 0);
+	}
+
+	@Test
+	public void testStreamPagesWithFetchSize() throws Exception {
+		IRODSGenQueryFromBuilder query = buildQuery();
+		TranslatedIRODSGenQuery translated = query
+				.convertToTranslatedIRODSGenQuery();
+		IRODSQueryResultSet page1 = buildPage(translated, 1, "a", "b");
+		IRODSQueryResultSet page2 = buildPage(translated, 0, "c");
+
+		IRODSGenQueryExecutor executor = Mockito
+				.mock(IRODSGenQueryExecutor.class);
+		Mockito.when(
+				executor.executeIRODSQueryInZone(
+						Mockito.any(AbstractIRODSGenQuery.class),
+						Mockito.eq(0), Mockito.anyString())).thenReturn(page1);
+		Mockito.when(executor.getMoreResultsInZone(page1, "zone")).thenReturn(
+				page2);
+
+		IRODSGenQueryStreamingResultSet resultSet = new IRODSGenQueryStreamingResultSet(
+				executor, query, "zone");
+		resultSet.setFetchSize(2);
+
+		Assert.assertTrue(resultSet.next());
+		Assert.assertEquals("a", resultSet.getString(1));
+		Assert.assertEquals(42L, resultSet.getLong("data_size"));
+		Assert.assertEquals(1375818384000L,
+				resultSet.getTimestamp("DATA_MODIFY_TIME").getTime());
+		Assert.assertTrue(resultSet.next());
+		Assert.assertTrue(resultSet.next());
+		Assert.assertEquals("c", resultSet.getString("DATA_NAME"));
+		Assert.assertEquals(3, resultSet.getRow());
+		Assert.assertFalse(resultSet.next());
+
+		ArgumentCaptor<AbstractIRODSGenQuery> captor = ArgumentCaptor
+				.forClass(AbstractIRODSGenQuery.class);
+		Mockito.verify(executor).executeIRODSQueryInZone(captor.capture(),
+				Mockito.eq(0), Mockito.eq("zone"));
+		Assert.assertEquals("fetch size should be the page size", 2, captor
+				.getValue().getNumberOfResultsDesired());
+
+		resultSet.close();
+		Mockito.verify(executor, Mockito.never()).closeResults(
+				Mockito.any(IRODSQueryResultSet.class));
+	}
+
+	@Test
+	public void testCloseEarlyClosesQuery() throws Exception {
+		IRODSGenQueryFromBuilder query = buildQuery();
+		IRODSQueryResultSet page1 = buildPage(
+				query.convertToTranslatedIRODSGenQuery(), 1, "a", "b");
+
+		IRODSGenQueryExecutor executor = Mockito
+				.mock(IRODSGenQueryExecutor.class);
+		Mockito.when(
+				executor.executeIRODSQueryInZone(
+						Mockito.any(AbstractIRODSGenQuery.class),
+						Mockito.eq(0), Mockito.anyString())).thenReturn(page1);
+
+		IRODSGenQueryStreamingResultSet resultSet = new IRODSGenQueryStreamingResultSet(
+				executor, query, "");
+		Assert.assertTrue(resultSet.next());
+		resultSet.close();
+		Assert.assertTrue(resultSet.isClosed());
+		Mockito.verify(executor).closeResults(page1);
+	}
+
+	@Test
+	public void testBlankValueIsNull() throws Exception {
+		IRODSGenQueryFromBuilder query = buildQuery();
+		IRODSQueryResultSet page1 = buildPage(
+				query.convertToTranslatedIRODSGenQuery(), 0, "");
+
+		IRODSGenQueryExecutor executor = Mockito
+				.mock(IRODSGenQueryExecutor.class);
+		Mockito.when(
+				executor.executeIRODSQueryInZone(
+						Mockito.any(AbstractIRODSGenQuery.class),
+						Mockito.eq(0), Mockito.anyString())).thenReturn(page1);
+
+		IRODSGenQueryStreamingResultSet resultSet = new IRODSGenQueryStreamingResultSet(
+				executor, query, "");
+		Assert.assertTrue(resultSet.next());
+		Assert.assertNull(resultSet.getString(1));
+		Assert.assertTrue(resultSet.wasNull());
+		Assert.assertEquals(42, resultSet.getInt(2));
+		Assert.assertFalse(resultSet.wasNull());
+	}
+
+	@Test(expected = SQLException.class)
+	public void testPreviousNotSupported() throws Exception {
+		IRODSGenQueryStreamingResultSet resultSet = new IRODSGenQueryStreamingResultSet(
+				Mockito.mock(IRODSGenQueryExecutor.class), buildQuery(), "");
+		resultSet.previous();
+	}
+
+}
@@ -0,0 +1,121 @@
+package org.irods.jargon.core.transfer;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.connection.NegotiatedClientServerConfiguration;
+import org.irods.jargon.core.connection.PipelineConfiguration;
+import org.irods.jargon.core.connection.SettableJargonProperties;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.TransferOptions;
+import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class ParallelTransferSetUpTest {
+
+	private static final int COOKIE = 12345;
+
+	private static ParallelGetFileTransferStrategy buildStrategy(final int port, final int numberOfThreads)
+			throws Exception {
+		SettableJargonProperties jargonProperties = new SettableJargonProperties();
+		jargonProperties.setIRODSParallelTransferSocketTimeout(5);
+		IRODSSession irodsSession = Mockito.mock(IRODSSession.class);
+		Mockito.when(irodsSession.getJargonProperties()).thenReturn(jargonProperties);
+		Mockito.when(irodsSession.buildPipelineConfigurationBasedOnJargonProperties())
+				.thenReturn(PipelineConfiguration.instance(jargonProperties));
+		IRODSAccessObjectFactory irodsAccessObjectFactory = Mockito.mock(IRODSAccessObjectFactory.class);
+		Mockito.when(irodsAccessObjectFactory.getIrodsSession()).thenReturn(irodsSession);
+
+		TransferControlBlock transferControlBlock = DefaultTransferControlBlock.instance();
+		transferControlBlock.setTransferOptions(new TransferOptions());
+
+		return ParallelGetFileTransferStrategy.instance("localhost", port, numberOfThreads, COOKIE,
+				new File("parallelTransferSetUpTest"), irodsAccessObjectFactory, 100L, transferControlBlock, null,
+				null, new NegotiatedClientServerConfiguration(false));
+	}
+
+	@Test
+	public void testSetUpOpensAllSocketsAndSendsCookie() throws Exception {
+		final int numberOfThreads = 4;
+		final ServerSocket serverSocket = new ServerSocket(0);
+		ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads + 1);
+		List<ParallelGetTransferThread> transferThreads = new ArrayList<ParallelGetTransferThread>();
+		try {
+			Future<List<Integer>> cookies = executor.submit(new Callable<List<Integer>>() {
+				@Override
+				public List<Integer> call() throws Exception {
+					List<Integer> received = new ArrayList<Integer>();
+					List<Socket> accepted = new ArrayList<Socket>();
+					for (int i = 0; i < numberOfThreads; i++) {
+						Socket socket = serverSocket.accept();
+						accepted.add(socket);
+						received.add(new DataInputStream(socket.getInputStream()).readInt());
+					}
+					for (Socket socket : accepted) {
+						socket.close();
+					}
+					return received;
+				}
+			});
+
+			ParallelGetFileTransferStrategy strategy = buildStrategy(serverSocket.getLocalPort(), numberOfThreads);
+			for (int i = 0; i < numberOfThreads; i++) {
+				transferThreads.add(ParallelGetTransferThread.instance(strategy, i));
+			}
+
+			strategy.setUpTransferThreads(executor, transferThreads);
+
+			for (ParallelGetTransferThread transferThread : transferThreads) {
+				Assert.assertTrue("thread should be set up", transferThread.isSetUp());
+			}
+			Assert.assertEquals(numberOfThreads, strategy.getSocketSetupMillis().length);
+			for (Integer cookie : cookies.get()) {
+				Assert.assertEquals(COOKIE, cookie.intValue());
+			}
+		} finally {
+			for (ParallelGetTransferThread transferThread : transferThreads) {
+				transferThread.close();
+			}
+			serverSocket.close();
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testSetUpFailsWhenPortalRefuses() throws Exception {
+		ServerSocket serverSocket = new ServerSocket(0);
+		int port = serverSocket.getLocalPort();
+		serverSocket.close();
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			ParallelGetFileTransferStrategy strategy = buildStrategy(port, 2);
+			List<ParallelGetTransferThread> transferThreads = new ArrayList<ParallelGetTransferThread>();
+			transferThreads.add(ParallelGetTransferThread.instance(strategy, 0));
+			transferThreads.add(ParallelGetTransferThread.instance(strategy, 1));
+			try {
+				strategy.setUpTransferThreads(executor, transferThreads);
+				Assert.fail("should not connect to closed port");
+			} catch (JargonException e) {
+				// expected
+			}
+			Assert.assertFalse("sockets should be closed", transferThreads.get(0).isSetUp());
+			Assert.assertFalse("sockets should be closed", transferThreads.get(1).isSetUp());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+}
@@ -1,5 +1,6 @@
 package org.irods.jargon.core.unittest;
 
+import org.irods.jargon.core.pub.BulkAccessControlEntryTest;
 import org.irods.jargon.core.pub.BulkFileOperationsAOImplTest;
 import org.irods.jargon.core.pub.CollectionAOImplForSoftLinkTest;
 import org.irods.jargon.core.pub.CollectionAOImplTest;
@@ -7,6 +8,7 @@ import org.irods.jargon.core.pub.CollectionAndDataObjectListAndSearchAOImplForSo
 import org.irods.jargon.core.pub.CollectionAndDataObjectListAndSearchAOImplTest;
 import org.irods.jargon.core.pub.CollectionAuditAOImplTest;
 import org.irods.jargon.core.pub.CollectionListingUtilsTest;
+import org.irods.jargon.core.pub.ConnectionWorkerPoolTest;
 import org.irods.jargon.core.pub.DataObjectAOImplForSoftLinkTest;
 import org.irods.jargon.core.pub.DataObjectAOImplTest;
 import org.irods.jargon.core.pub.DataObjectAuditAOImplTest;
@@ -87,7 +89,8 @@ import org.junit.runners.Suite;
 	IRODSFileSystemSingletonWrapperTest.class, ResourceAOHelperTest.class,
 	DataObjectChecksumUtilitiesAOImplTest.class,
 	CollectionListingUtilsTest.class, FederatedDataObjectAOImplTest.class,
-	TrashOperationsTest.class })
+	TrashOperationsTest.class, BulkAccessControlEntryTest.class,
+	ConnectionWorkerPoolTest.class })
 /**
  * Suite to run Access Object tests in org.irods.jargon.pub.*
  * <p>
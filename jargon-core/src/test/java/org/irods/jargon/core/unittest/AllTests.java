@@ -5,6 +5,7 @@ import org.irods.jargon.core.query.IRODSGenQueryTest;
 import org.irods.jargon.core.query.IRODSGenQueryTranslatorTest;
 import org.irods.jargon.core.query.TranslatedIRODSQueryTest;
 import org.irods.jargon.core.remoteexecute.RemoteExecuteServiceImplTest;
+import org.irods.jargon.core.remoteexecute.RemoteExecutionStreamPumpTest;
 import org.irods.jargon.core.security.IRODSPasswordUtilitiesTest;
 import org.irods.jargon.core.unittest.functionaltest.EncryptedTransferTests;
 import org.irods.jargon.core.unittest.functionaltest.SslNegotiationFunctionalTests;
@@ -27,7 +28,8 @@ import org.junit.runners.Suite;
 		IRODSUriUserInfoTest.class, MiscIRODSUtilsTest.class, AuthTests.class,
 		ChecksumTests.class, TransferRestartTests.class, RandomUtilsTest.class,
 		IrodsVersionTest.class, CyberduckProfileBuilderTest.class,
-		SslNegotiationFunctionalTests.class, EncryptedTransferTests.class })
+		SslNegotiationFunctionalTests.class, EncryptedTransferTests.class,
+		RemoteExecutionStreamPumpTest.class })
 /**
  * Suite to run all tests (except long running and functional), further refined by settings in testing.properites.  Some subtests may be shut
  * off by these properties.
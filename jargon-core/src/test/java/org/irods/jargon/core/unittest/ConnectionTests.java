@@ -11,8 +11,10 @@ import org.irods.jargon.core.connection.IRODSServerPropertiesTest;
 import org.irods.jargon.core.connection.IRODSSessionTest;
 import org.irods.jargon.core.connection.IRODSSimpleConnectionTest;
 import org.irods.jargon.core.connection.IRODSSimpleProtocolManagerTest;
+import org.irods.jargon.core.connection.ObjStatCacheTest;
 import org.irods.jargon.core.connection.PAMAuthTest;
 import org.irods.jargon.core.connection.PipelineConfigurationTest;
+import org.irods.jargon.core.connection.SslContextCacheTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -26,7 +28,8 @@ import org.junit.runners.Suite;
 	DiscoveredServerPropertiesCacheTest.class, IRODSAccountTest.class,
 	ClientServerNegotationPolicyFromPropertiesBuilderTest.class,
 	ClientServerNegotiationPolicyTest.class,
-	PipelineConfigurationTest.class })
+	PipelineConfigurationTest.class, ObjStatCacheTest.class,
+	SslContextCacheTest.class })
 public class ConnectionTests {
 
 }
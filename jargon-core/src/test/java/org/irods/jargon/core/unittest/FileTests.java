@@ -5,6 +5,7 @@ import org.irods.jargon.core.pub.io.FederatedIRODSFileImplTest;
 import org.irods.jargon.core.pub.io.FileIOOperationsAOImplTest;
 import org.irods.jargon.core.pub.io.IRODSFIleInputStreamForSoftLinksTest;
 import org.irods.jargon.core.pub.io.IRODSFileFactoryImplTest;
+import org.irods.jargon.core.pub.io.IRODSFileImplCacheEvictionTest;
 import org.irods.jargon.core.pub.io.IRODSFileImplForSoftLinksTest;
 import org.irods.jargon.core.pub.io.IRODSFileImplTest;
 import org.irods.jargon.core.pub.io.IRODSFileInputStreamTest;
@@ -41,7 +42,8 @@ import org.junit.runners.Suite;
 		MountedFilesystemIRODSFileImplTest.class,
 		MountedFileSystemIRODSFileInputStreamTest.class,
 		MountedFilesystemIRODSFileOutputStreamTest.class,
-		PackingIrodsOutputStreamTest.class, PackingIrodsInputStreamTest.class })
+		PackingIrodsOutputStreamTest.class, PackingIrodsInputStreamTest.class,
+		IRODSFileImplCacheEvictionTest.class })
 public class FileTests {
 
 }
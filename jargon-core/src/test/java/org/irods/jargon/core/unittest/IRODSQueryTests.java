@@ -3,15 +3,21 @@
  */
 package org.irods.jargon.core.unittest;
 
+import org.irods.jargon.core.pub.FederatedGenQueryExecutorTest;
+import org.irods.jargon.core.pub.MultiplexedGenQueryClientTest;
 import org.irods.jargon.core.query.AVUQueryElementTest;
+import org.irods.jargon.core.query.GenQueryResultCacheTest;
+import org.irods.jargon.core.query.GenQueryResultIteratorTest;
 import org.irods.jargon.core.query.GenQuerySelectFieldTest;
 import org.irods.jargon.core.query.IRODSGenQueryBuilderTest;
 import org.irods.jargon.core.query.IRODSGenQueryFromBuilderTest;
 import org.irods.jargon.core.query.IRODSGenQueryTranslatorTest;
 import org.irods.jargon.core.query.IRODSSimpleQueryResultSetTest;
+import org.irods.jargon.core.query.PreparedGenQueryTest;
 import org.irods.jargon.core.query.SimpleQueryTest;
 import org.irods.jargon.core.query.TranslatedIRODSQueryTest;
 import org.irods.jargon.core.query.UserFilePermissionTest;
+import org.irods.jargon.core.sql.IRODSGenQueryStreamingResultSetTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -20,7 +26,11 @@ import org.junit.runners.Suite;
 		GenQuerySelectFieldTest.class, TranslatedIRODSQueryTest.class,
 		AVUQueryElementTest.class, SimpleQueryTest.class,
 		IRODSSimpleQueryResultSetTest.class, UserFilePermissionTest.class,
-		IRODSGenQueryBuilderTest.class, IRODSGenQueryFromBuilderTest.class })
+		IRODSGenQueryBuilderTest.class, IRODSGenQueryFromBuilderTest.class,
+		GenQueryResultIteratorTest.class, FederatedGenQueryExecutorTest.class,
+		PreparedGenQueryTest.class, GenQueryResultCacheTest.class,
+		IRODSGenQueryStreamingResultSetTest.class,
+		MultiplexedGenQueryClientTest.class })
 public class IRODSQueryTests {
 
 }
@@ -4,9 +4,11 @@
 package org.irods.jargon.core.unittest;
 
 import org.irods.jargon.core.pub.PythonRuleProcessingAOImplTest;
+import org.irods.jargon.core.pub.RuleBatchExecutorTest;
 import org.irods.jargon.core.rule.IRODSRuleTest;
 import org.irods.jargon.core.rule.IrodsRuleEngineRuleTranslatorTest;
 import org.irods.jargon.core.rule.IrodsRuleFactoryTest;
+import org.irods.jargon.core.rule.IrodsRuleTemplateCacheTest;
 import org.irods.jargon.core.rule.RuleEngineInstanceChooserTest;
 import org.irods.jargon.core.rule.RuleParsingUtilsTest;
 import org.irods.jargon.core.rule.RuleTypeEvaluatorTest;
@@ -16,7 +18,7 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({ IRODSRuleTest.class, IrodsRuleEngineRuleTranslatorTest.class, RuleParsingUtilsTest.class,
 		PythonRuleProcessingAOImplTest.class, IrodsRuleFactoryTest.class, RuleTypeEvaluatorTest.class,
-		RuleEngineInstanceChooserTest.class })
+		RuleEngineInstanceChooserTest.class, IrodsRuleTemplateCacheTest.class, RuleBatchExecutorTest.class })
 public class RuleTests {
 
 }
@@ -1,6 +1,7 @@
 package org.irods.jargon.core.unittest;
 
 import org.irods.jargon.core.transfer.DefaultTransferControlBlockTest;
+import org.irods.jargon.core.transfer.ParallelTransferSetUpTest;
 import org.irods.jargon.core.transfer.TransferStatusTest;
 import org.irods.jargon.core.transfer.encrypt.AesCipherEncryptWrapperTest;
 import org.irods.jargon.core.transfer.encrypt.EncryptionWrapperFactoryTest;
@@ -10,7 +11,8 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({ TransferStatusTest.class,
 	DefaultTransferControlBlockTest.class,
-	EncryptionWrapperFactoryTest.class, AesCipherEncryptWrapperTest.class })
+	EncryptionWrapperFactoryTest.class, AesCipherEncryptWrapperTest.class,
+	ParallelTransferSetUpTest.class })
 public class TransferTests {
 
 }
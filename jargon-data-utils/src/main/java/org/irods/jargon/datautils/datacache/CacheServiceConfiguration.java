@@ -9,11 +9,39 @@ package org.irods.jargon.datautils.datacache;
 public class CacheServiceConfiguration {
 
 	/**
-	 * Clean up old cache files during each request (might create a slight
-	 * response delay for large caches.
+	 * Clean up old cache files as part of requests. When the service has a
+	 * {@link DataCachePurger} the cleanup runs in the background, at most once
+	 * per {@code purgeIntervalSeconds}, otherwise it runs during the request.
 	 */
 	private boolean doCleanupDuringRequests = true;
 
+	/**
+	 * Least time between background purges of a cache dir triggered by
+	 * requests
+	 */
+	private int purgeIntervalSeconds = 60 * 60;
+
+	/**
+	 * Most values held decrypted in the local tier, 0 turns off the local tier
+	 */
+	private int localCacheMaxEntries = 1000;
+
+	/**
+	 * Most bytes of values held decrypted in the local tier
+	 */
+	private long localCacheMaxBytes = 16L * 1024L * 1024L;
+
+	/**
+	 * Time a value is held in the local tier. This bounds how long a value
+	 * replaced in iRODS by another node may be served from this one.
+	 */
+	private int localCacheTimeToLiveSeconds = 60;
+
+	/**
+	 * Hold local tier values in direct buffers outside the heap
+	 */
+	private boolean localCacheOffHeap = false;
+
 	/**
 	 * Cache is created per user home dir
 	 */
@@ -49,6 +77,16 @@ public class CacheServiceConfiguration {
 		sb.append(cacheInHomeDir);
 		sb.append("\n    cacheDirPath:");
 		sb.append(cacheDirPath);
+		sb.append("\n    purgeIntervalSeconds:");
+		sb.append(purgeIntervalSeconds);
+		sb.append("\n    localCacheMaxEntries:");
+		sb.append(localCacheMaxEntries);
+		sb.append("\n    localCacheMaxBytes:");
+		sb.append(localCacheMaxBytes);
+		sb.append("\n    localCacheTimeToLiveSeconds:");
+		sb.append(localCacheTimeToLiveSeconds);
+		sb.append("\n    localCacheOffHeap:");
+		sb.append(localCacheOffHeap);
 		return sb.toString();
 	}
 
@@ -90,4 +128,45 @@ public class CacheServiceConfiguration {
 		this.cacheDirPath = cacheDirPath;
 	}
 
+	public int getPurgeIntervalSeconds() {
+		return purgeIntervalSeconds;
+	}
+
+	public void setPurgeIntervalSeconds(final int purgeIntervalSeconds) {
+		this.purgeIntervalSeconds = purgeIntervalSeconds;
+	}
+
+	public int getLocalCacheMaxEntries() {
+		return localCacheMaxEntries;
+	}
+
+	public void setLocalCacheMaxEntries(final int localCacheMaxEntries) {
+		this.localCacheMaxEntries = localCacheMaxEntries;
+	}
+
+	public long getLocalCacheMaxBytes() {
+		return localCacheMaxBytes;
+	}
+
+	public void setLocalCacheMaxBytes(final long localCacheMaxBytes) {
+		this.localCacheMaxBytes = localCacheMaxBytes;
+	}
+
+	public int getLocalCacheTimeToLiveSeconds() {
+		return localCacheTimeToLiveSeconds;
+	}
+
+	public void setLocalCacheTimeToLiveSeconds(
+			final int localCacheTimeToLiveSeconds) {
+		this.localCacheTimeToLiveSeconds = localCacheTimeToLiveSeconds;
+	}
+
+	public boolean isLocalCacheOffHeap() {
+		return localCacheOffHeap;
+	}
+
+	public void setLocalCacheOffHeap(final boolean localCacheOffHeap) {
+		this.localCacheOffHeap = localCacheOffHeap;
+	}
+
 }
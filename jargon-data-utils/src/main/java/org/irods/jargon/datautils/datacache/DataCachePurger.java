@@ -0,0 +1,293 @@
+package org.irods.jargon.datautils.datacache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
+import org.irods.jargon.core.pub.io.IRODSFile;
+import org.irods.jargon.core.query.GenQueryBuilderException;
+import org.irods.jargon.core.query.GenQueryResultIterator;
+import org.irods.jargon.core.query.IRODSGenQueryBuilder;
+import org.irods.jargon.core.query.JargonQueryException;
+import org.irods.jargon.core.query.QueryConditionOperators;
+import org.irods.jargon.core.query.RodsGenQueryEnum;
+import org.irods.jargon.core.utils.MiscIRODSUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Purges expired files from data cache directories. The expired files are
+ * found with one GenQuery on the data modify time, rather than by listing the
+ * cache directory and asking for the modify time of each file.
+ * <p>
+ * Purges may be run now, or requested in the background on a single daemon
+ * thread. A background purge of a directory runs at most once per interval,
+ * however often it is requested, so that requests to the cache do not wait on
+ * purges and are not slowed by the size of the cache directory.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class DataCachePurger {
+
+	private static final Logger log = LoggerFactory
+			.getLogger(DataCachePurger.class);
+
+	private final IRODSAccessObjectFactory irodsAccessObjectFactory;
+	private final ConcurrentMap<String, Long> lastPurgeByDir = new ConcurrentHashMap<String, Long>();
+	private ScheduledExecutorService scheduledExecutorService = null;
+
+	private final AtomicLong purgeCount = new AtomicLong();
+	private final AtomicLong purgedFileCount = new AtomicLong();
+
+	/**
+	 * @param irodsAccessObjectFactory
+	 *            {@link IRODSAccessObjectFactory} used to query and delete
+	 */
+	public DataCachePurger(
+			final IRODSAccessObjectFactory irodsAccessObjectFactory) {
+		if (irodsAccessObjectFactory == null) {
+			throw new IllegalArgumentException("null irodsAccessObjectFactory");
+		}
+		this.irodsAccessObjectFactory = irodsAccessObjectFactory;
+	}
+
+	/**
+	 * Delete the files in a cache directory whose modify time is older than
+	 * the lifetime, on the calling thread
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} that owns the cache directory
+	 * @param cacheDirPath
+	 *            {@code String} with the absolute path of the cache directory
+	 * @param lifetimeInDays
+	 *            {@code int} with the lifetime of cached data
+	 * @return {@code int} with the number of files purged
+	 * @throws JargonException
+	 */
+	public int purgeNow(final IRODSAccount irodsAccount,
+			final String cacheDirPath, final int lifetimeInDays)
+			throws JargonException {
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (cacheDirPath == null || cacheDirPath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty cacheDirPath");
+		}
+
+		log.info("purgeNow() for cache dir:{}", cacheDirPath);
+		long purgeThresholdSeconds = (System.currentTimeMillis() / 1000)
+				- (lifetimeInDays * 60L * 60L * 24L);
+		log.info("purge threshold in seconds:{}", purgeThresholdSeconds);
+
+		List<String> expiredNames = new ArrayList<String>();
+		try {
+			IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+			builder.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_DATA_NAME)
+					.addConditionAsGenQueryField(
+							RodsGenQueryEnum.COL_COLL_NAME,
+							QueryConditionOperators.EQUAL, cacheDirPath)
+					.addConditionAsGenQueryField(
+							RodsGenQueryEnum.COL_D_MODIFY_TIME,
+							QueryConditionOperators.LESS_THAN,
+							formatIRODSTime(purgeThresholdSeconds));
+
+			GenQueryResultIterator iterator = irodsAccessObjectFactory
+					.getIRODSGenQueryExecutor(irodsAccount)
+					.executeIRODSQueryAsIterator(
+							builder.exportIRODSQueryFromBuilder(irodsAccessObjectFactory
+									.getJargonProperties()
+									.getMaxFilesAndDirsQueryMax()),
+							MiscIRODSUtils.getZoneInPath(cacheDirPath), true);
+			try {
+				while (iterator.hasNext()) {
+					expiredNames.add(iterator.next().getColumn(0));
+				}
+			} finally {
+				iterator.close();
+			}
+		} catch (GenQueryBuilderException e) {
+			log.error("error building purge query", e);
+			throw new JargonException("error building purge query", e);
+		} catch (JargonQueryException e) {
+			log.error("error in purge query", e);
+			throw new JargonException("error in purge query", e);
+		}
+
+		int purged = 0;
+		for (String expiredName : expiredNames) {
+			IRODSFile expiredFile = irodsAccessObjectFactory
+					.getIRODSFileFactory(irodsAccount).instanceIRODSFile(
+							cacheDirPath, expiredName);
+			log.info("purging:{}", expiredFile.getAbsolutePath());
+			if (expiredFile.delete()) {
+				purged++;
+			} else {
+				log.warn("error deleting file logged and ignored");
+			}
+		}
+
+		purgeCount.incrementAndGet();
+		purgedFileCount.addAndGet(purged);
+		log.info("purge complete, purged {} files", purged);
+		return purged;
+	}
+
+	/**
+	 * Ask for a purge of a cache directory on the background thread. Nothing
+	 * is done if the directory was purged, or a purge was requested, within
+	 * the interval.
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} that owns the cache directory
+	 * @param cacheDirPath
+	 *            {@code String} with the absolute path of the cache directory
+	 * @param lifetimeInDays
+	 *            {@code int} with the lifetime of cached data
+	 * @param minimumIntervalMillis
+	 *            {@code long} with the least time between purges of the
+	 *            directory
+	 * @return {@code boolean} of {@code true} if a purge was scheduled
+	 */
+	public boolean requestPurge(final IRODSAccount irodsAccount,
+			final String cacheDirPath, final int lifetimeInDays,
+			final long minimumIntervalMillis) {
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (cacheDirPath == null || cacheDirPath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty cacheDirPath");
+		}
+
+		long now = System.currentTimeMillis();
+		Long lastPurge = lastPurgeByDir.get(cacheDirPath);
+		if (lastPurge == null) {
+			if (lastPurgeByDir.putIfAbsent(cacheDirPath, now) != null) {
+				return false;
+			}
+		} else if (now - lastPurge < minimumIntervalMillis
+				|| !lastPurgeByDir.replace(cacheDirPath, lastPurge, now)) {
+			return false;
+		}
+
+		log.info("scheduling background purge of:{}", cacheDirPath);
+		getScheduledExecutorService().execute(
+				buildPurgeTask(irodsAccount, cacheDirPath, lifetimeInDays));
+		return true;
+	}
+
+	/**
+	 * Purge a cache directory in the background at a fixed rate, whether or
+	 * not the cache is in use
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} that owns the cache directory
+	 * @param cacheDirPath
+	 *            {@code String} with the absolute path of the cache directory
+	 * @param lifetimeInDays
+	 *            {@code int} with the lifetime of cached data
+	 * @param periodMillis
+	 *            {@code long} with the time between purges
+	 */
+	public void schedulePurgeAtFixedRate(final IRODSAccount irodsAccount,
+			final String cacheDirPath, final int lifetimeInDays,
+			final long periodMillis) {
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (cacheDirPath == null || cacheDirPath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty cacheDirPath");
+		}
+
+		if (periodMillis <= 0) {
+			throw new IllegalArgumentException("periodMillis must be > 0");
+		}
+
+		getScheduledExecutorService().scheduleAtFixedRate(
+				buildPurgeTask(irodsAccount, cacheDirPath, lifetimeInDays),
+				periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stop the background thread. Purges may still be run with
+	 * {@code purgeNow()}.
+	 */
+	public synchronized void shutdown() {
+		if (scheduledExecutorService != null) {
+			scheduledExecutorService.shutdownNow();
+			scheduledExecutorService = null;
+		}
+	}
+
+	/**
+	 * @return {@code long} with the number of purges run
+	 */
+	public long getPurgeCount() {
+		return purgeCount.get();
+	}
+
+	/**
+	 * @return {@code long} with the number of files purged
+	 */
+	public long getPurgedFileCount() {
+		return purgedFileCount.get();
+	}
+
+	private Runnable buildPurgeTask(final IRODSAccount irodsAccount,
+			final String cacheDirPath, final int lifetimeInDays) {
+		return new Runnable() {
+			@Override
+			public void run() {
+				try {
+					purgeNow(irodsAccount, cacheDirPath, lifetimeInDays);
+				} catch (Exception e) {
+					log.warn("background purge of cache dir failed, logged and ignored:"
+							+ cacheDirPath, e);
+				} finally {
+					irodsAccessObjectFactory
+							.closeSessionAndEatExceptions(irodsAccount);
+				}
+			}
+		};
+	}
+
+	private synchronized ScheduledExecutorService getScheduledExecutorService() {
+		if (scheduledExecutorService == null) {
+			scheduledExecutorService = Executors
+					.newSingleThreadScheduledExecutor(new ThreadFactory() {
+						@Override
+						public Thread newThread(final Runnable runnable) {
+							Thread thread = new Thread(runnable,
+									"data-cache-purger");
+							thread.setDaemon(true);
+							return thread;
+						}
+					});
+		}
+		return scheduledExecutorService;
+	}
+
+	/**
+	 * iRODS keeps times as zero padded seconds, so that they compare as
+	 * strings
+	 */
+	static String formatIRODSTime(final long seconds) {
+		return String.format("%011d", Math.max(0L, seconds));
+	}
+
+}
@@ -7,7 +7,10 @@ import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
 
 /**
- * Factory for creating {@code DataCacheService} components.
+ * Factory for creating {@code DataCacheService} components. The services
+ * created share one {@link LocalDataCacheTier} of decrypted values and one
+ * {@link DataCachePurger}, so that gets are served locally across requests and
+ * cleanup of old cache files runs in the background.
  * 
  * @author Mike Conway - DICE (www.irods.org)
  * 
@@ -15,15 +18,42 @@ import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
 public class DataCacheServiceFactoryImpl implements DataCacheServiceFactory {
 
 	private final IRODSAccessObjectFactory irodsAccessObjectFactory;
+	private final CacheServiceConfiguration cacheServiceConfiguration;
+	private final LocalDataCacheTier localDataCacheTier;
+	private final DataCachePurger dataCachePurger;
 
 	public DataCacheServiceFactoryImpl(
 			final IRODSAccessObjectFactory irodsAccessObjectFactory) {
+		this(irodsAccessObjectFactory, new CacheServiceConfiguration());
+	}
+
+	/**
+	 * Constructor with a configuration that is given to each service created
+	 *
+	 * @param irodsAccessObjectFactory
+	 *            {@link IRODSAccessObjectFactory}
+	 * @param cacheServiceConfiguration
+	 *            {@link CacheServiceConfiguration} for the services, including
+	 *            the limits of the shared local tier
+	 */
+	public DataCacheServiceFactoryImpl(
+			final IRODSAccessObjectFactory irodsAccessObjectFactory,
+			final CacheServiceConfiguration cacheServiceConfiguration) {
 		if (irodsAccessObjectFactory == null) {
 			throw new IllegalArgumentException(
 					"irodsAccessObjectFactory is null");
 		}
 
+		if (cacheServiceConfiguration == null) {
+			throw new IllegalArgumentException(
+					"cacheServiceConfiguration is null");
+		}
+
 		this.irodsAccessObjectFactory = irodsAccessObjectFactory;
+		this.cacheServiceConfiguration = cacheServiceConfiguration;
+		localDataCacheTier = LocalDataCacheTier
+				.instance(cacheServiceConfiguration);
+		dataCachePurger = new DataCachePurger(irodsAccessObjectFactory);
 
 	}
 
@@ -40,7 +70,35 @@ public class DataCacheServiceFactoryImpl implements DataCacheServiceFactory {
 		if (irodsAccount == null) {
 			throw new IllegalArgumentException("null irodsAccount");
 		}
-		return new DataCacheServiceImpl(irodsAccessObjectFactory, irodsAccount);
+		DataCacheServiceImpl dataCacheService = new DataCacheServiceImpl(
+				irodsAccessObjectFactory, irodsAccount);
+		dataCacheService
+				.setCacheServiceConfiguration(cacheServiceConfiguration);
+		dataCacheService.setLocalDataCacheTier(localDataCacheTier);
+		dataCacheService.setDataCachePurger(dataCachePurger);
+		return dataCacheService;
+	}
+
+	/**
+	 * @return the {@link LocalDataCacheTier} shared by the services, with its
+	 *         hit and miss counts
+	 */
+	public LocalDataCacheTier getLocalDataCacheTier() {
+		return localDataCacheTier;
+	}
+
+	/**
+	 * @return the {@link DataCachePurger} shared by the services
+	 */
+	public DataCachePurger getDataCachePurger() {
+		return dataCachePurger;
+	}
+
+	/**
+	 * Stop the background purge thread, if started
+	 */
+	public void shutdown() {
+		dataCachePurger.shutdown();
 	}
 
 }
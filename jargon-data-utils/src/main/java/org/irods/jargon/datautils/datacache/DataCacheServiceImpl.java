@@ -2,12 +2,13 @@ package org.irods.jargon.datautils.datacache;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.File;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutput;
 import java.io.ObjectOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.exception.JargonException;
@@ -22,6 +23,13 @@ import org.slf4j.LoggerFactory;
  * Service to provide a secure data cache. This allows information to be
  * serialized by a key and stored as an iRODS file in an encrypted format, and
  * later retrieved.
+ * <p>
+ * A {@link LocalDataCacheTier} may be set to hold recently used values in
+ * decrypted form in front of the iRODS files. Puts write through to iRODS, and
+ * gets are served locally when they can be. A {@link DataCachePurger} may be
+ * set so that cleanup of old cache files runs in the background rather than
+ * during requests. The {@link DataCacheServiceFactoryImpl} shares one of each
+ * across the services it creates.
  * 
  * @author Mike Conway - DICE (www.irods.org)
  * 
@@ -38,6 +46,18 @@ public class DataCacheServiceImpl extends AbstractDataUtilsServiceImpl
 	 */
 	CacheServiceConfiguration cacheServiceConfiguration = new CacheServiceConfiguration();
 
+	/**
+	 * Optional in-process tier of decrypted values, {@code null} if values
+	 * are always read from iRODS
+	 */
+	private LocalDataCacheTier localDataCacheTier = null;
+
+	/**
+	 * Optional background purger, {@code null} if cleanup runs during
+	 * requests
+	 */
+	private DataCachePurger dataCachePurger = null;
+
 	public static final Logger log = LoggerFactory
 			.getLogger(DataCacheServiceImpl.class);
 
@@ -85,10 +105,7 @@ public class DataCacheServiceImpl extends AbstractDataUtilsServiceImpl
 		log.info("putStringValueIntoCache()");
 
 		log.info("checking on purge of old requests...");
-
-		if (getCacheServiceConfiguration().isDoCleanupDuringRequests()) {
-			purgeOldRequests();
-		}
+		cleanupDuringRequest();
 
 		int keyHash = key.hashCode();
 		log.info("generated hash for key:{}", keyHash);
@@ -108,9 +125,8 @@ public class DataCacheServiceImpl extends AbstractDataUtilsServiceImpl
 						irodsFileAbsolutePath);
 
 		createCacheFileAndCacheDir(cacheFile);
-		Stream2StreamAO stream2StreamAO = getIrodsAccessObjectFactory()
-				.getStream2StreamAO(irodsAccount);
-		stream2StreamAO.streamBytesToIRODSFile(encrypted, cacheFile);
+		writeThrough(irodsFileAbsolutePath, key, stringData, encrypted,
+				cacheFile);
 
 		log.info("done...");
 		return irodsFileAbsolutePath;
@@ -158,22 +174,8 @@ public class DataCacheServiceImpl extends AbstractDataUtilsServiceImpl
 		log.info("generated hash for key:{}", keyHash);
 		String irodsFileAbsolutePath = buildIRODSFileAbsolutePath(keyHash,
 				irodsAccount.getUserName());
-		log.info("looking for cache file at path:{}", irodsFileAbsolutePath);
-		IRODSFile cacheFile = getIrodsAccessObjectFactory()
-				.getIRODSFileFactory(irodsAccount).instanceIRODSFile(
-						irodsFileAbsolutePath);
-		Stream2StreamAO stream2StreamAO = getIrodsAccessObjectFactory()
-				.getStream2StreamAO(irodsAccount);
-		byte[] fileBytes = stream2StreamAO.streamFileToByte(cacheFile);
-		log.info("decrypting data based on provided key....");
-		CacheEncryptor cacheEncryptor = new CacheEncryptor(key);
-		fileBytes = cacheEncryptor.decrypt(fileBytes);
-
-		log.info("streamed file into bytes for length of: {}", fileBytes.length);
-		log.info("deserialzing...");
-		if (getCacheServiceConfiguration().isDoCleanupDuringRequests()) {
-			purgeOldRequests();
-		}
+		byte[] fileBytes = readDecryptedValue(irodsFileAbsolutePath, key);
+		cleanupDuringRequest();
 		return new String(fileBytes);
 
 	}
@@ -200,14 +202,8 @@ public class DataCacheServiceImpl extends AbstractDataUtilsServiceImpl
 		checkContracts();
 		log.info("putInformationIntoCache()");
 
-		// clean up old files? (or in a sep thread?) make an option based on
-		// created date and window
-
 		log.info("checking on purge of old requests...");
-
-		if (getCacheServiceConfiguration().isDoCleanupDuringRequests()) {
-			purgeOldRequests();
-		}
+		cleanupDuringRequest();
 
 		int keyHash = key.hashCode();
 		log.info("generated hash for key:{}", keyHash);
@@ -232,10 +228,8 @@ public class DataCacheServiceImpl extends AbstractDataUtilsServiceImpl
 				.getIRODSFileFactory(irodsAccount).instanceIRODSFile(
 						irodsFileAbsolutePath);
 		createCacheFileAndCacheDir(cacheFile);
-
-		Stream2StreamAO stream2StreamAO = getIrodsAccessObjectFactory()
-				.getStream2StreamAO(irodsAccount);
-		stream2StreamAO.streamBytesToIRODSFile(encrypted, cacheFile);
+		writeThrough(irodsFileAbsolutePath, key, serializedObject, encrypted,
+				cacheFile);
 
 		log.info("done...");
 		return irodsFileAbsolutePath;
@@ -264,16 +258,59 @@ public class DataCacheServiceImpl extends AbstractDataUtilsServiceImpl
 		log.info("key", key);
 
 		checkContracts();
-
-		if (getCacheServiceConfiguration().isDoCleanupDuringRequests()) {
-			purgeOldRequests();
-		}
+		cleanupDuringRequest();
 
 		// build hash of key and look for file
 		int keyHash = key.hashCode();
 		log.info("generated hash for key:{}", keyHash);
 		String irodsFileAbsolutePath = buildIRODSFileAbsolutePath(keyHash,
 				irodsAccount.getUserName());
+		byte[] fileBytes = readDecryptedValue(irodsFileAbsolutePath, key);
+		log.info("deserialzing...");
+		return deserializeStreamToObject(fileBytes, key);
+
+	}
+
+	/**
+	 * Store the encrypted value in iRODS and, once stored, hold the decrypted
+	 * value in the local tier
+	 */
+	private void writeThrough(final String irodsFileAbsolutePath,
+			final String key, final byte[] decrypted, final byte[] encrypted,
+			final IRODSFile cacheFile) throws JargonException {
+
+		String entryKey = null;
+		if (localDataCacheTier != null) {
+			entryKey = buildLocalEntryKey(irodsFileAbsolutePath, key);
+			localDataCacheTier.remove(entryKey);
+		}
+
+		Stream2StreamAO stream2StreamAO = getIrodsAccessObjectFactory()
+				.getStream2StreamAO(irodsAccount);
+		stream2StreamAO.streamBytesToIRODSFile(encrypted, cacheFile);
+
+		if (entryKey != null) {
+			localDataCacheTier.put(entryKey, decrypted);
+		}
+	}
+
+	/**
+	 * Get the decrypted value from the local tier, or else stream and decrypt
+	 * the iRODS cache file and hold the value locally
+	 */
+	private byte[] readDecryptedValue(final String irodsFileAbsolutePath,
+			final String key) throws JargonException {
+
+		String entryKey = null;
+		if (localDataCacheTier != null) {
+			entryKey = buildLocalEntryKey(irodsFileAbsolutePath, key);
+			byte[] localValue = localDataCacheTier.get(entryKey);
+			if (localValue != null) {
+				log.info("value found in local cache tier");
+				return localValue;
+			}
+		}
+
 		log.info("looking for cache file at path:{}", irodsFileAbsolutePath);
 		IRODSFile cacheFile = getIrodsAccessObjectFactory()
 				.getIRODSFileFactory(irodsAccount).instanceIRODSFile(
@@ -284,11 +321,52 @@ public class DataCacheServiceImpl extends AbstractDataUtilsServiceImpl
 		log.info("decrypting data based on provided key....");
 		CacheEncryptor cacheEncryptor = new CacheEncryptor(key);
 		fileBytes = cacheEncryptor.decrypt(fileBytes);
-
 		log.info("streamed file into bytes for length of: {}", fileBytes.length);
-		log.info("deserialzing...");
-		return deserializeStreamToObject(fileBytes, key);
 
+		if (entryKey != null) {
+			localDataCacheTier.put(entryKey, fileBytes);
+		}
+		return fileBytes;
+	}
+
+	/**
+	 * Local tier entries are kept by the file and a digest of the key, so
+	 * that the decrypted value is only found with the key that encrypted it
+	 */
+	private String buildLocalEntryKey(final String irodsFileAbsolutePath,
+			final String key) throws JargonException {
+		try {
+			MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+			byte[] digest = messageDigest.digest(key.getBytes("UTF-8"));
+			StringBuilder sb = new StringBuilder(irodsFileAbsolutePath);
+			sb.append('#');
+			for (byte b : digest) {
+				sb.append(String.format("%02x", b));
+			}
+			return sb.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new JargonException("unable to digest cache key", e);
+		} catch (IOException e) {
+			throw new JargonException("unable to digest cache key", e);
+		}
+	}
+
+	/**
+	 * Clean up old cache files if configured, in the background if there is a
+	 * purger
+	 */
+	private void cleanupDuringRequest() throws JargonException {
+		if (!getCacheServiceConfiguration().isDoCleanupDuringRequests()) {
+			return;
+		}
+
+		if (dataCachePurger != null) {
+			dataCachePurger.requestPurge(irodsAccount, computeCacheDirPath(),
+					getCacheServiceConfiguration().getLifetimeInDays(),
+					getCacheServiceConfiguration().getPurgeIntervalSeconds() * 1000L);
+		} else {
+			purgeOldRequests();
+		}
 	}
 
 	/**
@@ -387,48 +465,29 @@ public class DataCacheServiceImpl extends AbstractDataUtilsServiceImpl
 	@Override
 	public void purgeOldRequests() throws JargonException {
 		log.info("purgeOldRequests()");
-		long daysToMillis = (long) getCacheServiceConfiguration()
-				.getLifetimeInDays() * 60 * 1000 * 60 * 24;
-		long millisNow = System.currentTimeMillis();
-		long purgeThreshold = millisNow - daysToMillis;
-		log.info("purge threshold:{}", purgeThreshold);
-		log.info("millis now:{}", millisNow);
-
-		IRODSFile cacheDir = null;
-		if (cacheServiceConfiguration.isCacheInHomeDir()) {
-			StringBuilder sb = computeCacheDirPathFromHomeDirFromUserAndZone(irodsAccount
-					.getUserName());
-			log.info(
-					"built home dir automatically for cache using account zone and user name:{}",
-					sb.toString());
-			cacheDir = irodsAccessObjectFactory.getIRODSFileFactory(
-					irodsAccount).instanceIRODSFile(sb.toString());
-		} else {
-			cacheDir = irodsAccessObjectFactory.getIRODSFileFactory(
-					irodsAccount).instanceIRODSFile(
-					cacheServiceConfiguration.getCacheDirPath());
-		}
-
-		// list the files in the cache and purge any expired
-		log.info("cache dir path:{}", cacheDir.getAbsolutePath());
+		String cacheDirPath = computeCacheDirPath();
+		log.info("cache dir path:{}", cacheDirPath);
 
-		if (!cacheDir.exists()) {
-			log.info("cache dir does not exist, do not purge");
-			return;
+		DataCachePurger purger = dataCachePurger;
+		if (purger == null) {
+			purger = new DataCachePurger(getIrodsAccessObjectFactory());
 		}
+		purger.purgeNow(irodsAccount, cacheDirPath, getCacheServiceConfiguration()
+				.getLifetimeInDays());
 
-		for (File irodsFile : cacheDir.listFiles()) {
-			if (irodsFile.lastModified() < purgeThreshold) {
-				log.info("purging:{}", irodsFile.getAbsolutePath());
-				boolean delSuccess = irodsFile.delete();
-				if (!delSuccess) {
-					log.warn("error deleting file logged and ignored");
-				}
-			}
-		}
-
-		log.info("purge complete");
+	}
 
+	/**
+	 * @return {@code String} with the absolute path of the cache dir for the
+	 *         account
+	 */
+	private String computeCacheDirPath() {
+		if (cacheServiceConfiguration.isCacheInHomeDir()) {
+			return computeCacheDirPathFromHomeDirFromUserAndZone(
+					irodsAccount.getUserName()).toString();
+		} else {
+			return cacheServiceConfiguration.getCacheDirPath();
+		}
 	}
 
 	/*
@@ -455,4 +514,37 @@ public class DataCacheServiceImpl extends AbstractDataUtilsServiceImpl
 		return cacheServiceConfiguration;
 	}
 
+	/**
+	 * @return the {@link LocalDataCacheTier}, or {@code null} if none
+	 */
+	public LocalDataCacheTier getLocalDataCacheTier() {
+		return localDataCacheTier;
+	}
+
+	/**
+	 * @param localDataCacheTier
+	 *            {@link LocalDataCacheTier} to hold decrypted values in
+	 *            front of iRODS, or {@code null} for none
+	 */
+	public void setLocalDataCacheTier(
+			final LocalDataCacheTier localDataCacheTier) {
+		this.localDataCacheTier = localDataCacheTier;
+	}
+
+	/**
+	 * @return the {@link DataCachePurger}, or {@code null} if none
+	 */
+	public DataCachePurger getDataCachePurger() {
+		return dataCachePurger;
+	}
+
+	/**
+	 * @param dataCachePurger
+	 *            {@link DataCachePurger} to run cleanup in the background, or
+	 *            {@code null} to clean up during requests
+	 */
+	public void setDataCachePurger(final DataCachePurger dataCachePurger) {
+		this.dataCachePurger = dataCachePurger;
+	}
+
 }
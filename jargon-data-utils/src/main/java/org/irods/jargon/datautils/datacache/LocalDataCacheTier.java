@@ -0,0 +1,267 @@
+package org.irods.jargon.datautils.datacache;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded, in-process tier of the data cache that holds recently put or
+ * retrieved values in decrypted form, so that a get does not need to stream
+ * and decrypt the iRODS cache file. The least recently used entries are evicted
+ * when the entry or byte limit is reached, and entries expire after a time to
+ * live so that a value replaced in iRODS by another node is not served for
+ * long.
+ * <p>
+ * Entries are kept by cache file path together with a digest of the key, so a
+ * get with a different key does not find the decrypted value. Values may be
+ * kept off-heap in direct buffers so that a large cache does not add to heap
+ * and GC pressure.
+ * <p>
+ * This class is thread-safe, and a single instance is meant to be shared by
+ * the {@link DataCacheServiceImpl} instances of an application, as the
+ * {@link DataCacheServiceFactoryImpl} does.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class LocalDataCacheTier {
+
+	private static final Logger log = LoggerFactory
+			.getLogger(LocalDataCacheTier.class);
+
+	private final int maxEntries;
+	private final long maxBytes;
+	private final long timeToLiveMillis;
+	private final boolean offHeap;
+
+	private final LinkedHashMap<String, CachedValue> entries = new LinkedHashMap<String, CachedValue>(
+			16, 0.75f, true);
+	private long currentBytes = 0L;
+
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+	private final AtomicLong evictionCount = new AtomicLong();
+
+	/**
+	 * Create a local tier with limits from the given configuration
+	 *
+	 * @param cacheServiceConfiguration
+	 *            {@link CacheServiceConfiguration} with the local cache
+	 *            settings
+	 * @return {@link LocalDataCacheTier}
+	 */
+	public static LocalDataCacheTier instance(
+			final CacheServiceConfiguration cacheServiceConfiguration) {
+		if (cacheServiceConfiguration == null) {
+			throw new IllegalArgumentException(
+					"null cacheServiceConfiguration");
+		}
+		return new LocalDataCacheTier(
+				cacheServiceConfiguration.getLocalCacheMaxEntries(),
+				cacheServiceConfiguration.getLocalCacheMaxBytes(),
+				cacheServiceConfiguration.getLocalCacheTimeToLiveSeconds() * 1000L,
+				cacheServiceConfiguration.isLocalCacheOffHeap());
+	}
+
+	/**
+	 * @param maxEntries
+	 *            {@code int} with the most values kept, 0 turns off the
+	 *            local tier
+	 * @param maxBytes
+	 *            {@code long} with the most bytes of values kept
+	 * @param timeToLiveMillis
+	 *            {@code long} with the time a value is kept after it is put
+	 * @param offHeap
+	 *            {@code boolean} of {@code true} to keep values in direct
+	 *            buffers
+	 */
+	public LocalDataCacheTier(final int maxEntries, final long maxBytes,
+			final long timeToLiveMillis, final boolean offHeap) {
+		if (maxEntries < 0) {
+			throw new IllegalArgumentException("maxEntries < 0");
+		}
+
+		if (maxBytes < 0) {
+			throw new IllegalArgumentException("maxBytes < 0");
+		}
+
+		if (timeToLiveMillis < 0) {
+			throw new IllegalArgumentException("timeToLiveMillis < 0");
+		}
+
+		this.maxEntries = maxEntries;
+		this.maxBytes = maxBytes;
+		this.timeToLiveMillis = timeToLiveMillis;
+		this.offHeap = offHeap;
+	}
+
+	/**
+	 * @param entryKey
+	 *            {@code String} with the entry key
+	 * @return {@code byte[]} with a copy of the decrypted value, or
+	 *         {@code null} if it is not held or has expired
+	 */
+	public byte[] get(final String entryKey) {
+		CachedValue cachedValue;
+		synchronized (this) {
+			cachedValue = entries.get(entryKey);
+			if (cachedValue != null
+					&& System.currentTimeMillis() - cachedValue.cachedAt > timeToLiveMillis) {
+				removeEntry(entryKey);
+				cachedValue = null;
+			}
+		}
+
+		if (cachedValue == null) {
+			missCount.incrementAndGet();
+			return null;
+		}
+
+		hitCount.incrementAndGet();
+		return cachedValue.copyValue();
+	}
+
+	/**
+	 * Hold a decrypted value, evicting the least recently used values if
+	 * needed. Values larger than the byte limit are not held.
+	 *
+	 * @param entryKey
+	 *            {@code String} with the entry key
+	 * @param value
+	 *            {@code byte[]} with the decrypted value, which is copied
+	 */
+	public void put(final String entryKey, final byte[] value) {
+		if (entryKey == null || entryKey.isEmpty()) {
+			throw new IllegalArgumentException("null or empty entryKey");
+		}
+
+		if (value == null) {
+			throw new IllegalArgumentException("null value");
+		}
+
+		if (!isEnabled() || value.length > maxBytes) {
+			remove(entryKey);
+			return;
+		}
+
+		CachedValue cachedValue = new CachedValue(value, offHeap);
+		synchronized (this) {
+			removeEntry(entryKey);
+			entries.put(entryKey, cachedValue);
+			currentBytes += value.length;
+
+			Iterator<Map.Entry<String, CachedValue>> iterator = entries
+					.entrySet().iterator();
+			while ((entries.size() > maxEntries || currentBytes > maxBytes)
+					&& iterator.hasNext()) {
+				Map.Entry<String, CachedValue> eldest = iterator.next();
+				currentBytes -= eldest.getValue().length;
+				iterator.remove();
+				evictionCount.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * @param entryKey
+	 *            {@code String} with the entry key to remove
+	 */
+	public synchronized void remove(final String entryKey) {
+		removeEntry(entryKey);
+	}
+
+	/**
+	 * Remove all held values
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		currentBytes = 0L;
+		log.debug("local data cache cleared");
+	}
+
+	private void removeEntry(final String entryKey) {
+		CachedValue removed = entries.remove(entryKey);
+		if (removed != null) {
+			currentBytes -= removed.length;
+		}
+	}
+
+	/**
+	 * @return {@code boolean} of {@code true} if values are held
+	 */
+	public boolean isEnabled() {
+		return maxEntries > 0 && maxBytes > 0 && timeToLiveMillis > 0;
+	}
+
+	/**
+	 * @return {@code int} with the number of values held
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return {@code long} with the bytes of values held
+	 */
+	public synchronized long getCurrentBytes() {
+		return currentBytes;
+	}
+
+	/**
+	 * @return {@code long} with the number of gets served locally
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * @return {@code long} with the number of gets that went to iRODS
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * @return {@code long} with the number of values evicted to stay within
+	 *         the limits
+	 */
+	public long getEvictionCount() {
+		return evictionCount.get();
+	}
+
+	private static class CachedValue {
+		private final byte[] heapValue;
+		private final ByteBuffer directValue;
+		private final int length;
+		private final long cachedAt = System.currentTimeMillis();
+
+		CachedValue(final byte[] value, final boolean offHeap) {
+			length = value.length;
+			if (offHeap) {
+				directValue = ByteBuffer.allocateDirect(length);
+				directValue.put(value);
+				heapValue = null;
+			} else {
+				heapValue = value.clone();
+				directValue = null;
+			}
+		}
+
+		byte[] copyValue() {
+			if (heapValue != null) {
+				return heapValue.clone();
+			}
+			byte[] value = new byte[length];
+			ByteBuffer view = directValue.duplicate();
+			view.clear();
+			view.get(value);
+			return value;
+		}
+	}
+
+}
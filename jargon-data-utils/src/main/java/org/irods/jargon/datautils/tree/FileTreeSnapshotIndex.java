@@ -0,0 +1,294 @@
+/**
+ *
+ */
+package org.irods.jargon.datautils.tree;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index of the files found to match between a local tree and an iRODS tree in
+ * a previous diff, kept by path relative to the roots. Each entry holds the
+ * size, the local and iRODS modification times, and the checksum that was
+ * found on both sides. A later diff may skip the checksum of a file whose size
+ * and modification times are unchanged, which is most of the cost of verifying
+ * a large tree.
+ * <p>
+ * The index is saved as a UTF-8 text file with one tab separated line per
+ * file, written to a temporary file and renamed so that an interrupted save
+ * does not lose the previous index.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class FileTreeSnapshotIndex {
+
+	private static final Logger log = LoggerFactory
+			.getLogger(FileTreeSnapshotIndex.class);
+
+	static final String HEADER = "#jargon-file-tree-snapshot-1";
+	private static final String ENCODING = "UTF-8";
+
+	private final Map<String, SnapshotEntry> entries = new ConcurrentHashMap<String, SnapshotEntry>();
+
+	/**
+	 * Load an index saved by {@link #persistToFile(File)}. An empty index is
+	 * returned if the file does not exist.
+	 *
+	 * @param snapshotFile
+	 *            {@code File} with the saved index
+	 * @return {@link FileTreeSnapshotIndex}
+	 * @throws JargonException
+	 *             if the file cannot be read or is not a snapshot index
+	 */
+	public static FileTreeSnapshotIndex loadFromFile(final File snapshotFile)
+			throws JargonException {
+
+		if (snapshotFile == null) {
+			throw new IllegalArgumentException("null snapshotFile");
+		}
+
+		FileTreeSnapshotIndex snapshotIndex = new FileTreeSnapshotIndex();
+		if (!snapshotFile.exists()) {
+			log.info("no snapshot index at:{}", snapshotFile);
+			return snapshotIndex;
+		}
+
+		BufferedReader reader = null;
+		try {
+			reader = new BufferedReader(new InputStreamReader(
+					new FileInputStream(snapshotFile), ENCODING));
+			String line = reader.readLine();
+			if (!HEADER.equals(line)) {
+				throw new JargonException("not a file tree snapshot index:"
+						+ snapshotFile);
+			}
+
+			while ((line = reader.readLine()) != null) {
+				if (line.isEmpty()) {
+					continue;
+				}
+				String[] fields = line.split("\t", 5);
+				if (fields.length != 5) {
+					log.warn("skipping malformed snapshot line:{}", line);
+					continue;
+				}
+				try {
+					snapshotIndex.put(fields[4], new SnapshotEntry(
+							Long.parseLong(fields[0]), Long
+									.parseLong(fields[1]), Long
+									.parseLong(fields[2]), fields[3]));
+				} catch (NumberFormatException e) {
+					log.warn("skipping malformed snapshot line:{}", line);
+				}
+			}
+		} catch (IOException e) {
+			log.error("error reading snapshot index", e);
+			throw new JargonException("error reading snapshot index", e);
+		} finally {
+			if (reader != null) {
+				try {
+					reader.close();
+				} catch (IOException e) {
+					// ignore
+				}
+			}
+		}
+
+		log.info("loaded {} snapshot entries", snapshotIndex.size());
+		return snapshotIndex;
+	}
+
+	/**
+	 * Save the index, replacing any previous file. The index is written to a
+	 * uniquely named temporary file in the same directory and atomically moved
+	 * over the old one, so a reader sees either the old or the new index.
+	 *
+	 * @param snapshotFile
+	 *            {@code File} to save the index to
+	 * @throws JargonException
+	 */
+	public void persistToFile(final File snapshotFile) throws JargonException {
+
+		if (snapshotFile == null) {
+			throw new IllegalArgumentException("null snapshotFile");
+		}
+
+		File parent = snapshotFile.getAbsoluteFile().getParentFile();
+		if (parent != null && !parent.exists()) {
+			parent.mkdirs();
+		}
+
+		File tempFile = null;
+		BufferedWriter writer = null;
+		try {
+			tempFile = File.createTempFile("." + snapshotFile.getName() + ".",
+					".tmp", parent);
+			writer = new BufferedWriter(new OutputStreamWriter(
+					new FileOutputStream(tempFile), ENCODING));
+			writer.write(HEADER);
+			writer.newLine();
+			for (Map.Entry<String, SnapshotEntry> entry : entries.entrySet()) {
+				SnapshotEntry snapshotEntry = entry.getValue();
+				writer.write(String.valueOf(snapshotEntry.getSize()));
+				writer.write('\t');
+				writer.write(String.valueOf(snapshotEntry
+						.getLocalModifiedMillis()));
+				writer.write('\t');
+				writer.write(String.valueOf(snapshotEntry
+						.getIrodsModifiedMillis()));
+				writer.write('\t');
+				writer.write(snapshotEntry.getChecksum());
+				writer.write('\t');
+				writer.write(entry.getKey());
+				writer.newLine();
+			}
+			writer.close();
+			writer = null;
+			Files.move(tempFile.toPath(), snapshotFile.getAbsoluteFile()
+					.toPath(), StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+			tempFile = null;
+		} catch (IOException e) {
+			log.error("error writing snapshot index", e);
+			throw new JargonException("unable to save snapshot index:"
+					+ snapshotFile, e);
+		} finally {
+			if (writer != null) {
+				try {
+					writer.close();
+				} catch (IOException e) {
+					// ignore
+				}
+			}
+
+			if (tempFile != null) {
+				tempFile.delete();
+			}
+		}
+
+		log.info("saved {} snapshot entries to:{}", entries.size(),
+				snapshotFile);
+	}
+
+	/**
+	 * @param relativePath
+	 *            {@code String} with the path of the file relative to the
+	 *            roots, starting with '/'
+	 * @return {@link SnapshotEntry} or {@code null} if none
+	 */
+	public SnapshotEntry get(final String relativePath) {
+		return entries.get(relativePath);
+	}
+
+	/**
+	 * @param relativePath
+	 *            {@code String} with the path of the file relative to the
+	 *            roots, starting with '/'
+	 * @param snapshotEntry
+	 *            {@link SnapshotEntry} for the file
+	 */
+	public void put(final String relativePath, final SnapshotEntry snapshotEntry) {
+		if (relativePath == null || relativePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty relativePath");
+		}
+
+		if (relativePath.indexOf('\n') >= 0 || relativePath.indexOf('\r') >= 0) {
+			log.warn("not indexing path with line break:{}", relativePath);
+			return;
+		}
+
+		if (snapshotEntry == null) {
+			throw new IllegalArgumentException("null snapshotEntry");
+		}
+
+		entries.put(relativePath, snapshotEntry);
+	}
+
+	/**
+	 * @return {@code int} with the number of files in the index
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * A file that matched on both sides when the index was made
+	 */
+	public static class SnapshotEntry {
+		private final long size;
+		private final long localModifiedMillis;
+		private final long irodsModifiedMillis;
+		private final String checksum;
+
+		/**
+		 * @param size
+		 *            {@code long} with the length of the file
+		 * @param localModifiedMillis
+		 *            {@code long} with the local last modified time
+		 * @param irodsModifiedMillis
+		 *            {@code long} with the iRODS modify time
+		 * @param checksum
+		 *            {@code String} with the checksum found on both sides
+		 */
+		public SnapshotEntry(final long size, final long localModifiedMillis,
+				final long irodsModifiedMillis, final String checksum) {
+			if (checksum == null || checksum.indexOf('\t') >= 0) {
+				throw new IllegalArgumentException("invalid checksum");
+			}
+			this.size = size;
+			this.localModifiedMillis = localModifiedMillis;
+			this.irodsModifiedMillis = irodsModifiedMillis;
+			this.checksum = checksum;
+		}
+
+		/**
+		 * Check whether a file still looks as it did when it was indexed
+		 *
+		 * @param size
+		 *            {@code long} with the current length on both sides
+		 * @param localModifiedMillis
+		 *            {@code long} with the current local last modified time
+		 * @param irodsModifiedMillis
+		 *            {@code long} with the current iRODS modify time
+		 * @return {@code boolean} of {@code true} if nothing has changed
+		 */
+		public boolean isUnchanged(final long size,
+				final long localModifiedMillis, final long irodsModifiedMillis) {
+			return this.size == size
+					&& this.localModifiedMillis == localModifiedMillis
+					&& this.irodsModifiedMillis == irodsModifiedMillis;
+		}
+
+		public long getSize() {
+			return size;
+		}
+
+		public long getLocalModifiedMillis() {
+			return localModifiedMillis;
+		}
+
+		public long getIrodsModifiedMillis() {
+			return irodsModifiedMillis;
+		}
+
+		public String getChecksum() {
+			return checksum;
+		}
+	}
+
+}
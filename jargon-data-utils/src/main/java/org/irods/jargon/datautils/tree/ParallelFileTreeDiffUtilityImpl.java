@@ -0,0 +1,719 @@
+package org.irods.jargon.datautils.tree;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.irods.jargon.core.checksum.ChecksumValue;
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
+import org.irods.jargon.core.pub.io.IRODSFile;
+import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry;
+import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry.ObjectType;
+import org.irods.jargon.core.transfer.TransferControlBlock;
+import org.irods.jargon.core.utils.LocalFileUtils;
+import org.irods.jargon.datautils.AbstractDataUtilsServiceImpl;
+import org.irods.jargon.datautils.tree.FileTreeDiffEntry.DiffType;
+import org.irods.jargon.datautils.tree.FileTreeSnapshotIndex.SnapshotEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Diff of a local tree against an iRODS tree for large trees. This produces
+ * the same kind of {@link FileTreeModel} as {@link FileTreeDiffUtilityImpl},
+ * but rather than listing both sides one directory at a time:
+ * <ul>
+ * <li>the local tree is scanned with a fork-join pool</li>
+ * <li>the iRODS tree is read with a few whole-subtree queries by the
+ * {@link SubtreeListingService}</li>
+ * <li>checksums of files of equal length are computed over several
+ * connections at once</li>
+ * </ul>
+ * <p>
+ * If a snapshot file is given, the files found to match are saved to it as a
+ * {@link FileTreeSnapshotIndex}. On the next diff, a file whose length and
+ * local and iRODS modification times are unchanged is taken as matching
+ * without computing checksums again, so a repeated verification only reads
+ * files that have changed.
+ * <p>
+ * Each checksum thread uses its own iRODS connection, which is returned when
+ * that thread has finished its share of the files. With a parallelism of 1
+ * all work is done on the calling thread and connection.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class ParallelFileTreeDiffUtilityImpl extends
+		AbstractDataUtilsServiceImpl implements FileTreeDiffUtility {
+
+	private static Logger log = LoggerFactory
+			.getLogger(ParallelFileTreeDiffUtilityImpl.class);
+
+	/**
+	 * Optional field allows communication with diff processor
+	 */
+	private final TransferControlBlock transferControlBlock;
+	private final int parallelism;
+	private final File snapshotFile;
+	private SubtreeListingService subtreeListingService;
+	private final AtomicLong checksumsComputed = new AtomicLong();
+	private final AtomicLong checksumsSkipped = new AtomicLong();
+
+	/**
+	 * Constructor
+	 *
+	 * @param irodsAccount
+	 *            {@code IRODSAccount} that is used to connect to the compared
+	 *            iRODS file system
+	 * @param irodsAccessObjectFactory
+	 *            {@code IRODSAccessObjectFactory} that is used to obtain
+	 *            objects needed to work with iRODS data
+	 * @param transferControlBlock
+	 *            {@link TransferControlBlock} or {@code null}. The transfer
+	 *            control block allows signalling of a cancellation of the diff
+	 *            process.
+	 * @param parallelism
+	 *            {@code int} with the number of threads for the local scan,
+	 *            and of connections for checksums, at least 1
+	 * @param snapshotFile
+	 *            {@code File} where the snapshot index of matching files is
+	 *            kept between runs, or {@code null} to always compute
+	 *            checksums
+	 */
+	public ParallelFileTreeDiffUtilityImpl(final IRODSAccount irodsAccount,
+			final IRODSAccessObjectFactory irodsAccessObjectFactory,
+			final TransferControlBlock transferControlBlock,
+			final int parallelism, final File snapshotFile) {
+
+		super(irodsAccessObjectFactory, irodsAccount);
+
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism must be at least 1");
+		}
+
+		this.transferControlBlock = transferControlBlock;
+		this.parallelism = parallelism;
+		this.snapshotFile = snapshotFile;
+		subtreeListingService = new SubtreeListingServiceImpl(
+				irodsAccessObjectFactory, irodsAccount);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.datautils.tree.FileTreeDiffUtility#
+	 * verifyLocalAndIRODSTreesMatch(java.io.File, java.lang.String, long, long)
+	 */
+	@Override
+	public boolean verifyLocalAndIRODSTreesMatch(final File localFileRoot,
+			final String irodsAbsolutePath,
+			final long timestampForLastSynchLeftHandSide,
+			final long timestampForLastSynchRightHandSide)
+			throws JargonException {
+
+		log.info("verifyLocalAndIRODSTreesMatch");
+
+		FileTreeModel diffModel = generateDiffLocalToIRODS(localFileRoot,
+				irodsAbsolutePath, timestampForLastSynchLeftHandSide,
+				timestampForLastSynchRightHandSide);
+
+		if (diffModel == null) {
+			log.info("diff was cancelled");
+			return false;
+		}
+
+		return !hasDiffs((FileTreeNode) diffModel.getRoot());
+	}
+
+	private boolean hasDiffs(final FileTreeNode fileTreeNode) {
+		FileTreeDiffEntry entry = (FileTreeDiffEntry) fileTreeNode
+				.getUserObject();
+		if (entry.isCountAsDiff()) {
+			log.warn("diff found when not expected:{}", entry);
+			return true;
+		}
+
+		@SuppressWarnings("unchecked")
+		Enumeration<FileTreeNode> children = fileTreeNode.children();
+		while (children.hasMoreElements()) {
+			if (hasDiffs(children.nextElement())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.datautils.tree.FileTreeDiffUtility#generateDiffLocalToIRODS
+	 * (java.io.File, java.lang.String, long, long)
+	 */
+	@Override
+	public FileTreeModel generateDiffLocalToIRODS(final File localFileRoot,
+			final String irodsAbsolutePath,
+			final long timestampForLastSynchLeftHandSide,
+			final long timestampForLastSynchRightHandSide)
+			throws JargonException {
+
+		if (localFileRoot == null) {
+			throw new IllegalArgumentException("null LocalFileRoot");
+		}
+
+		if (irodsAbsolutePath == null || irodsAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException(
+					"null or empty irodsAbsolutePath");
+		}
+
+		if (!localFileRoot.exists()) {
+			throw new JargonException("localFileRoot does not exist");
+		}
+
+		if (!localFileRoot.isDirectory()) {
+			throw new JargonException(
+					"localFileRoot is not a directory, cannot do a diff");
+		}
+
+		if (timestampForLastSynchLeftHandSide < 0) {
+			throw new IllegalArgumentException(
+					"timestampForLastSynchLeftHandSide is less than zero");
+		}
+
+		if (timestampForLastSynchRightHandSide < 0) {
+			throw new IllegalArgumentException(
+					"timestampForLastSynchRightHandSide is less than zero");
+		}
+
+		log.info("generateDiffLocalToIRODS() for localFileRoot:{}",
+				localFileRoot.getAbsolutePath());
+		log.info("irodsAbsolutePath for iRODS root:{}", irodsAbsolutePath);
+
+		checksumsComputed.set(0);
+		checksumsSkipped.set(0);
+
+		FileTreeSnapshotIndex previousSnapshot = snapshotFile == null ? new FileTreeSnapshotIndex()
+				: FileTreeSnapshotIndex.loadFromFile(snapshotFile);
+		FileTreeSnapshotIndex nextSnapshot = new FileTreeSnapshotIndex();
+
+		log.info("listing iRODS subtree");
+		SubtreeIndex irodsIndex = subtreeListingService
+				.buildSubtreeIndex(irodsAbsolutePath);
+
+		if (isCancelled()) {
+			return null;
+		}
+
+		log.info("scanning local tree");
+		Map<String, LocalDirectory> localIndex = scanLocalTree(localFileRoot);
+
+		if (isCancelled()) {
+			return null;
+		}
+
+		CollectionAndDataObjectListingEntry entry = new CollectionAndDataObjectListingEntry();
+		entry.setCreatedAt(new Date(localFileRoot.lastModified()));
+		entry.setModifiedAt(entry.getCreatedAt());
+		entry.setObjectType(ObjectType.COLLECTION);
+		entry.setParentPath(LocalFileUtils.normalizePath(localFileRoot
+				.getParent()));
+		entry.setPathOrName(LocalFileUtils.normalizePath(localFileRoot
+				.getAbsolutePath()));
+		FileTreeNode rootNode = new FileTreeNode(FileTreeDiffEntry.instance(
+				DiffType.DIRECTORY_NO_DIFF, entry, irodsIndex.getRootPath()));
+		FileTreeModel fileTreeModel = new FileTreeModel(rootNode);
+
+		List<ChecksumCheck> checksumChecks = new ArrayList<ChecksumCheck>();
+		diffDirectory(rootNode, "", localIndex, irodsIndex,
+				irodsIndex.getRootPath(), previousSnapshot, nextSnapshot,
+				checksumChecks);
+
+		log.info("{} files need checksums, {} unchanged since snapshot",
+				checksumChecks.size(), checksumsSkipped.get());
+		runChecksumChecks(checksumChecks);
+
+		if (isCancelled()) {
+			return null;
+		}
+
+		for (ChecksumCheck checksumCheck : checksumChecks) {
+			if (checksumCheck.matched) {
+				nextSnapshot.put(checksumCheck.relativePath,
+						new SnapshotEntry(checksumCheck.localFile.length(),
+								checksumCheck.localFile.lastModified(),
+								modifiedMillis(checksumCheck.irodsEntry),
+								checksumCheck.irodsChecksum));
+			} else {
+				FileTreeDiffEntry diffEntry = buildDiffEntryForLocalFile(
+						checksumCheck.localFile, DiffType.FILE_OUT_OF_SYNCH,
+						checksumCheck.irodsEntry.getFormattedAbsolutePath(),
+						checksumCheck.irodsEntry.getDataSize(),
+						modifiedMillis(checksumCheck.irodsEntry),
+						checksumCheck.localChecksum,
+						checksumCheck.irodsChecksum);
+				log.debug("files differ on checksum:{}", diffEntry);
+				checksumCheck.parentNode.add(new FileTreeNode(diffEntry));
+			}
+		}
+
+		if (snapshotFile != null) {
+			nextSnapshot.persistToFile(snapshotFile);
+		}
+
+		log.info("diff complete, checksums computed:{} skipped:{}",
+				checksumsComputed.get(), checksumsSkipped.get());
+		return fileTreeModel;
+	}
+
+	/**
+	 * Diff one pair of matched directories, adding the files that differ and
+	 * the matched subdirectories under the given node. Files that are the same
+	 * length are queued for a checksum unless the snapshot shows them to be
+	 * unchanged.
+	 */
+	private void diffDirectory(final FileTreeNode parentNode,
+			final String relativePath,
+			final Map<String, LocalDirectory> localIndex,
+			final SubtreeIndex irodsIndex, final String irodsPath,
+			final FileTreeSnapshotIndex previousSnapshot,
+			final FileTreeSnapshotIndex nextSnapshot,
+			final List<ChecksumCheck> checksumChecks) {
+
+		if (isCancelled()) {
+			return;
+		}
+
+		LocalDirectory localDirectory = localIndex.get(relativePath);
+		Map<String, File> localFiles = new TreeMap<String, File>();
+		Map<String, File> localDirs = new TreeMap<String, File>();
+		if (localDirectory != null) {
+			for (File file : localDirectory.files) {
+				localFiles.put(file.getName(), file);
+			}
+			for (File dir : localDirectory.dirs) {
+				localDirs.put(dir.getName(), dir);
+			}
+		}
+
+		Map<String, CollectionAndDataObjectListingEntry> irodsFiles = new TreeMap<String, CollectionAndDataObjectListingEntry>();
+		Map<String, CollectionAndDataObjectListingEntry> irodsDirs = new TreeMap<String, CollectionAndDataObjectListingEntry>();
+		for (CollectionAndDataObjectListingEntry irodsEntry : irodsIndex
+				.getDataObjects(irodsPath)) {
+			irodsFiles.put(irodsEntry.getPathOrName(), irodsEntry);
+		}
+		for (CollectionAndDataObjectListingEntry irodsEntry : irodsIndex
+				.getChildCollections(irodsPath)) {
+			irodsDirs.put(lastPathComponent(irodsEntry.getPathOrName()),
+					irodsEntry);
+		}
+
+		String localDirPath = localDirectory == null ? "" : LocalFileUtils
+				.normalizePath(localDirectory.directory.getAbsolutePath());
+
+		// files first, including a file matched by name to a collection
+		TreeSet<String> fileNames = new TreeSet<String>(localFiles.keySet());
+		fileNames.addAll(irodsFiles.keySet());
+		for (String name : fileNames) {
+			File localFile = localFiles.get(name);
+			CollectionAndDataObjectListingEntry irodsEntry = irodsFiles
+					.get(name);
+			String fileRelativePath = relativePath + "/" + name;
+
+			if (localFile != null && irodsEntry != null) {
+				compareMatchedFiles(parentNode, fileRelativePath, localFile,
+						irodsEntry, previousSnapshot, nextSnapshot,
+						checksumChecks);
+			} else if (localFile != null) {
+				if (irodsDirs.containsKey(name)) {
+					log.warn("a file is being compared to a directory of the same name");
+					parentNode.add(new FileTreeNode(buildDiffEntryForLocalFile(
+							localFile, DiffType.FILE_NAME_DIR_NAME_COLLISION,
+							irodsDirs.get(name).getPathOrName(), 0, 0, "", "")));
+				} else {
+					parentNode.add(new FileTreeNode(buildDiffEntryForLocalFile(
+							localFile, DiffType.LEFT_HAND_PLUS, irodsPath + "/"
+									+ name, 0, 0, "", "")));
+				}
+			} else if (!localDirs.containsKey(name)) {
+				parentNode.add(new FileTreeNode(FileTreeDiffEntry.instance(
+						DiffType.RIGHT_HAND_PLUS, irodsEntry, localDirPath
+								+ "/" + name, 0, 0)));
+			} else {
+				log.warn("a directory is being compared to a file of the same name");
+				parentNode.add(new FileTreeNode(buildDiffEntryForLocalFile(
+						localDirs.get(name),
+						DiffType.FILE_NAME_DIR_NAME_COLLISION,
+						irodsEntry.getFormattedAbsolutePath(),
+						irodsEntry.getDataSize(), modifiedMillis(irodsEntry),
+						"", "")));
+			}
+		}
+
+		// then directories, descending into those on both sides
+		TreeSet<String> dirNames = new TreeSet<String>(localDirs.keySet());
+		dirNames.addAll(irodsDirs.keySet());
+		for (String name : dirNames) {
+			if (isCancelled()) {
+				return;
+			}
+
+			File localDir = localDirs.get(name);
+			CollectionAndDataObjectListingEntry irodsEntry = irodsDirs
+					.get(name);
+
+			if (localDir != null && irodsEntry != null) {
+				FileTreeNode dirNode = new FileTreeNode(
+						buildDiffEntryForLocalFile(localDir,
+								DiffType.DIRECTORY_NO_DIFF,
+								irodsEntry.getPathOrName(), 0, 0, "", ""));
+				parentNode.add(dirNode);
+				diffDirectory(dirNode, relativePath + "/" + name, localIndex,
+						irodsIndex, irodsEntry.getPathOrName(),
+						previousSnapshot, nextSnapshot, checksumChecks);
+			} else if (localDir != null) {
+				if (!irodsFiles.containsKey(name)) {
+					parentNode.add(new FileTreeNode(buildDiffEntryForLocalFile(
+							localDir, DiffType.LEFT_HAND_PLUS, irodsPath + "/"
+									+ name, 0, 0, "", "")));
+				}
+			} else if (!localFiles.containsKey(name)) {
+				parentNode.add(new FileTreeNode(FileTreeDiffEntry.instance(
+						DiffType.RIGHT_HAND_PLUS, irodsEntry, localDirPath
+								+ "/" + name, 0, 0)));
+			}
+		}
+	}
+
+	private void compareMatchedFiles(final FileTreeNode parentNode,
+			final String relativePath, final File localFile,
+			final CollectionAndDataObjectListingEntry irodsEntry,
+			final FileTreeSnapshotIndex previousSnapshot,
+			final FileTreeSnapshotIndex nextSnapshot,
+			final List<ChecksumCheck> checksumChecks) {
+
+		long localLength = localFile.length();
+		if (localLength != irodsEntry.getDataSize()) {
+			FileTreeDiffEntry diffEntry = buildDiffEntryForLocalFile(
+					localFile, DiffType.FILE_OUT_OF_SYNCH,
+					irodsEntry.getFormattedAbsolutePath(),
+					irodsEntry.getDataSize(), modifiedMillis(irodsEntry), "",
+					"");
+			log.debug("files differ on length:{}", diffEntry);
+			parentNode.add(new FileTreeNode(diffEntry));
+			return;
+		}
+
+		SnapshotEntry snapshotEntry = previousSnapshot.get(relativePath);
+		if (snapshotEntry != null
+				&& snapshotEntry.isUnchanged(localLength,
+						localFile.lastModified(), modifiedMillis(irodsEntry))) {
+			log.debug("unchanged since snapshot:{}", relativePath);
+			checksumsSkipped.incrementAndGet();
+			nextSnapshot.put(relativePath, snapshotEntry);
+			return;
+		}
+
+		checksumChecks.add(new ChecksumCheck(parentNode, relativePath,
+				localFile, irodsEntry));
+	}
+
+	/**
+	 * Compute the checksums, dividing the files among up to
+	 * {@code parallelism} threads, each with its own connection
+	 */
+	private void runChecksumChecks(final List<ChecksumCheck> checksumChecks)
+			throws JargonException {
+
+		if (checksumChecks.isEmpty()) {
+			return;
+		}
+
+		int threads = Math.min(parallelism, checksumChecks.size());
+		if (threads == 1) {
+			for (ChecksumCheck checksumCheck : checksumChecks) {
+				if (isCancelled()) {
+					return;
+				}
+				runChecksumCheck(checksumCheck);
+			}
+			return;
+		}
+
+		ExecutorService executorService = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Void>> futures = new ArrayList<Future<Void>>();
+			for (int i = 0; i < threads; i++) {
+				final List<ChecksumCheck> share = new ArrayList<ChecksumCheck>();
+				for (int j = i; j < checksumChecks.size(); j += threads) {
+					share.add(checksumChecks.get(j));
+				}
+				futures.add(executorService.submit(new Callable<Void>() {
+					@Override
+					public Void call() throws Exception {
+						try {
+							for (ChecksumCheck checksumCheck : share) {
+								if (isCancelled()) {
+									break;
+								}
+								runChecksumCheck(checksumCheck);
+							}
+						} finally {
+							irodsAccessObjectFactory
+									.closeSessionAndEatExceptions(irodsAccount);
+						}
+						return null;
+					}
+				}));
+			}
+
+			for (Future<Void> future : futures) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					log.error("error computing checksums", e.getCause());
+					if (e.getCause() instanceof JargonException) {
+						throw (JargonException) e.getCause();
+					}
+					throw new JargonException("error computing checksums",
+							e.getCause());
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JargonException("interrupted computing checksums", e);
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	private void runChecksumCheck(final ChecksumCheck checksumCheck)
+			throws JargonException {
+		IRODSFile irodsFile = irodsAccessObjectFactory.getIRODSFileFactory(
+				irodsAccount).instanceIRODSFile(
+				checksumCheck.irodsEntry.getParentPath(),
+				checksumCheck.irodsEntry.getPathOrName());
+		ChecksumValue irodsChecksum = irodsAccessObjectFactory.getDataObjectAO(
+				irodsAccount).computeChecksumOnDataObject(irodsFile);
+
+		ChecksumValue localChecksum;
+		try {
+			localChecksum = irodsAccessObjectFactory
+					.getIrodsSession()
+					.getLocalChecksumComputerFactory()
+					.instance(irodsChecksum.getChecksumEncoding())
+					.computeChecksumValueForLocalFile(
+							checksumCheck.localFile.getAbsolutePath());
+		} catch (java.io.FileNotFoundException e) {
+			log.error("file not found computing checksum", e);
+			throw new JargonException(
+					"data error while synchronizing, cannot find local file for checksum",
+					e);
+		}
+
+		checksumsComputed.incrementAndGet();
+		checksumCheck.irodsChecksum = irodsChecksum.getChecksumStringValue();
+		checksumCheck.localChecksum = localChecksum.getChecksumStringValue();
+		checksumCheck.matched = checksumCheck.localChecksum
+				.equals(checksumCheck.irodsChecksum);
+	}
+
+	/**
+	 * Scan the local tree with a fork-join pool, giving the files and
+	 * subdirectories of each directory by path relative to the root
+	 */
+	private Map<String, LocalDirectory> scanLocalTree(final File localFileRoot) {
+		Map<String, LocalDirectory> localIndex = new ConcurrentHashMap<String, LocalDirectory>();
+		ForkJoinPool forkJoinPool = new ForkJoinPool(parallelism);
+		try {
+			forkJoinPool.invoke(new LocalDirectoryScan(localFileRoot, "",
+					localIndex));
+		} finally {
+			forkJoinPool.shutdown();
+		}
+		log.info("scanned {} local directories", localIndex.size());
+		return localIndex;
+	}
+
+	private class LocalDirectoryScan extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+		private final File directory;
+		private final String relativePath;
+		private final Map<String, LocalDirectory> localIndex;
+
+		LocalDirectoryScan(final File directory, final String relativePath,
+				final Map<String, LocalDirectory> localIndex) {
+			this.directory = directory;
+			this.relativePath = relativePath;
+			this.localIndex = localIndex;
+		}
+
+		@Override
+		protected void compute() {
+			if (isCancelled()) {
+				return;
+			}
+
+			File[] children = directory.listFiles();
+			if (children == null) {
+				log.warn("unable to list local directory:{}", directory);
+				children = new File[0];
+			}
+			Arrays.sort(children, new FileNameComparator());
+
+			LocalDirectory localDirectory = new LocalDirectory(directory);
+			List<LocalDirectoryScan> subdirectoryScans = new ArrayList<LocalDirectoryScan>();
+			for (File child : children) {
+				if (child.isDirectory()) {
+					localDirectory.dirs.add(child);
+					subdirectoryScans.add(new LocalDirectoryScan(child,
+							relativePath + "/" + child.getName(), localIndex));
+				} else if (child.isFile()) {
+					localDirectory.files.add(child);
+				}
+			}
+			localIndex.put(relativePath, localDirectory);
+			invokeAll(subdirectoryScans);
+		}
+	}
+
+	private FileTreeDiffEntry buildDiffEntryForLocalFile(final File diffFile,
+			final DiffType diffType, final String absolutePathOppositeFile,
+			final long lengthOppositeSide, final long timestampOppositeSide,
+			final String checksumThisFile, final String checksumOppositeFile) {
+		CollectionAndDataObjectListingEntry entry = new CollectionAndDataObjectListingEntry();
+		entry.setCreatedAt(new Date(diffFile.lastModified()));
+		entry.setModifiedAt(entry.getCreatedAt());
+		entry.setDataSize(diffFile.length());
+		entry.setParentPath(LocalFileUtils.normalizePath(diffFile.getParent()));
+
+		if (diffFile.isFile()) {
+			entry.setObjectType(ObjectType.DATA_OBJECT);
+			entry.setPathOrName(diffFile.getName());
+			return FileTreeDiffEntry.instanceForFileDiff(diffType, entry,
+					absolutePathOppositeFile, lengthOppositeSide,
+					timestampOppositeSide, checksumThisFile,
+					checksumOppositeFile);
+		}
+
+		entry.setObjectType(ObjectType.COLLECTION);
+		entry.setPathOrName(entry.getParentPath() + "/" + diffFile.getName());
+		return FileTreeDiffEntry.instance(diffType, entry,
+				absolutePathOppositeFile, lengthOppositeSide,
+				timestampOppositeSide);
+	}
+
+	private static long modifiedMillis(
+			final CollectionAndDataObjectListingEntry entry) {
+		return entry.getModifiedAt() == null ? 0L : entry.getModifiedAt()
+				.getTime();
+	}
+
+	static String lastPathComponent(final String path) {
+		int lastSlash = path.lastIndexOf('/');
+		return lastSlash < 0 ? path : path.substring(lastSlash + 1);
+	}
+
+	/**
+	 * @return {@code long} with the number of files checksummed in the last
+	 *         diff
+	 */
+	public long getChecksumsComputed() {
+		return checksumsComputed.get();
+	}
+
+	/**
+	 * @return {@code long} with the number of files taken as matching from the
+	 *         snapshot in the last diff, without computing checksums
+	 */
+	public long getChecksumsSkipped() {
+		return checksumsSkipped.get();
+	}
+
+	/**
+	 * @return the subtreeListingService
+	 */
+	public SubtreeListingService getSubtreeListingService() {
+		return subtreeListingService;
+	}
+
+	/**
+	 * @param subtreeListingService
+	 *            the {@link SubtreeListingService} used to list the iRODS side
+	 */
+	public void setSubtreeListingService(
+			final SubtreeListingService subtreeListingService) {
+		if (subtreeListingService == null) {
+			throw new IllegalArgumentException("null subtreeListingService");
+		}
+		this.subtreeListingService = subtreeListingService;
+	}
+
+	/**
+	 * @return the transferControlBlock
+	 */
+	public TransferControlBlock getTransferControlBlock() {
+		return transferControlBlock;
+	}
+
+	public boolean isCancelled() {
+		boolean cancelled = false;
+		if (transferControlBlock != null) {
+			cancelled = (transferControlBlock.isCancelled() || transferControlBlock
+					.isPaused());
+		}
+		return cancelled;
+	}
+
+	/**
+	 * Files and subdirectories of one local directory, sorted by name
+	 */
+	private static class LocalDirectory {
+		private final File directory;
+		private final List<File> files = new ArrayList<File>();
+		private final List<File> dirs = new ArrayList<File>();
+
+		LocalDirectory(final File directory) {
+			this.directory = directory;
+		}
+	}
+
+	/**
+	 * A pair of files of equal length waiting for checksums, and the result
+	 */
+	private static class ChecksumCheck {
+		private final FileTreeNode parentNode;
+		private final String relativePath;
+		private final File localFile;
+		private final CollectionAndDataObjectListingEntry irodsEntry;
+		private volatile boolean matched = false;
+		private volatile String irodsChecksum = "";
+		private volatile String localChecksum = "";
+
+		ChecksumCheck(final FileTreeNode parentNode, final String relativePath,
+				final File localFile,
+				final CollectionAndDataObjectListingEntry irodsEntry) {
+			this.parentNode = parentNode;
+			this.relativePath = relativePath;
+			this.localFile = localFile;
+			this.irodsEntry = irodsEntry;
+		}
+	}
+
+}
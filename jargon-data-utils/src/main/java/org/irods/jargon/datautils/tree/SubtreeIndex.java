@@ -0,0 +1,177 @@
+/**
+ *
+ */
+package org.irods.jargon.datautils.tree;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry;
+
+/**
+ * In-memory index of the collections and data objects under a root
+ * collection, built by the {@link SubtreeListingService}. Children are kept by
+ * parent path so that a recursive operation may walk the tree without going
+ * back to iRODS for each collection.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class SubtreeIndex {
+
+	private final String rootPath;
+	private final Map<String, List<CollectionAndDataObjectListingEntry>> collectionsByParent = new HashMap<String, List<CollectionAndDataObjectListingEntry>>();
+	private final Map<String, List<CollectionAndDataObjectListingEntry>> dataObjectsByParent = new HashMap<String, List<CollectionAndDataObjectListingEntry>>();
+	private long collectionCount = 0L;
+	private long dataObjectCount = 0L;
+	private long totalDataSize = 0L;
+
+	/**
+	 * @param rootPath
+	 *            {@code String} with the absolute path of the root collection
+	 */
+	public SubtreeIndex(final String rootPath) {
+		if (rootPath == null || rootPath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty rootPath");
+		}
+		this.rootPath = rootPath;
+	}
+
+	/**
+	 * Add an entry to the index under its parent path
+	 *
+	 * @param entry
+	 *            {@link CollectionAndDataObjectListingEntry}
+	 */
+	public void addEntry(final CollectionAndDataObjectListingEntry entry) {
+		if (entry == null) {
+			throw new IllegalArgumentException("null entry");
+		}
+
+		Map<String, List<CollectionAndDataObjectListingEntry>> target;
+		if (entry.isCollection()) {
+			target = collectionsByParent;
+			collectionCount++;
+		} else {
+			target = dataObjectsByParent;
+			dataObjectCount++;
+			totalDataSize += entry.getDataSize();
+		}
+
+		List<CollectionAndDataObjectListingEntry> children = target.get(entry
+				.getParentPath());
+		if (children == null) {
+			children = new ArrayList<CollectionAndDataObjectListingEntry>();
+			target.put(entry.getParentPath(), children);
+		}
+		children.add(entry);
+	}
+
+	/**
+	 * Get the collections directly under the given collection
+	 *
+	 * @param parentPath
+	 *            {@code String} with the absolute path of a collection in the
+	 *            index
+	 * @return {@code List} of {@link CollectionAndDataObjectListingEntry},
+	 *         empty if there are none
+	 */
+	public List<CollectionAndDataObjectListingEntry> getChildCollections(
+			final String parentPath) {
+		return childrenOrEmpty(collectionsByParent, parentPath);
+	}
+
+	/**
+	 * Get the data objects directly under the given collection
+	 *
+	 * @param parentPath
+	 *            {@code String} with the absolute path of a collection in the
+	 *            index
+	 * @return {@code List} of {@link CollectionAndDataObjectListingEntry},
+	 *         empty if there are none
+	 */
+	public List<CollectionAndDataObjectListingEntry> getDataObjects(
+			final String parentPath) {
+		return childrenOrEmpty(dataObjectsByParent, parentPath);
+	}
+
+	/**
+	 * Get the collections, followed by the data objects, directly under the
+	 * given collection, similar to a listing of that collection
+	 *
+	 * @param parentPath
+	 *            {@code String} with the absolute path of a collection in the
+	 *            index
+	 * @return {@code List} of {@link CollectionAndDataObjectListingEntry},
+	 *         empty if there are none
+	 */
+	public List<CollectionAndDataObjectListingEntry> listChildren(
+			final String parentPath) {
+		List<CollectionAndDataObjectListingEntry> children = new ArrayList<CollectionAndDataObjectListingEntry>(
+				getChildCollections(parentPath));
+		children.addAll(getDataObjects(parentPath));
+		return children;
+	}
+
+	private List<CollectionAndDataObjectListingEntry> childrenOrEmpty(
+			final Map<String, List<CollectionAndDataObjectListingEntry>> map,
+			final String parentPath) {
+		if (parentPath == null || parentPath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty parentPath");
+		}
+
+		List<CollectionAndDataObjectListingEntry> children = map
+				.get(parentPath);
+		if (children == null) {
+			return Collections.emptyList();
+		}
+		return Collections.unmodifiableList(children);
+	}
+
+	/**
+	 * @return the rootPath
+	 */
+	public String getRootPath() {
+		return rootPath;
+	}
+
+	/**
+	 * @return the count of collections under the root
+	 */
+	public long getCollectionCount() {
+		return collectionCount;
+	}
+
+	/**
+	 * @return the count of data objects under the root
+	 */
+	public long getDataObjectCount() {
+		return dataObjectCount;
+	}
+
+	/**
+	 * @return the total size of the data objects under the root
+	 */
+	public long getTotalDataSize() {
+		return totalDataSize;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SubtreeIndex [rootPath=");
+		sb.append(rootPath);
+		sb.append(", collectionCount=");
+		sb.append(collectionCount);
+		sb.append(", dataObjectCount=");
+		sb.append(dataObjectCount);
+		sb.append(", totalDataSize=");
+		sb.append(totalDataSize);
+		sb.append("]");
+		return sb.toString();
+	}
+
+}
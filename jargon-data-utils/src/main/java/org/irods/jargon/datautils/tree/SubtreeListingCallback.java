@@ -0,0 +1,30 @@
+package org.irods.jargon.datautils.tree;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry;
+
+/**
+ * Receives each collection and data object found by a
+ * {@link SubtreeListingService} as the subtree queries are read, so that very
+ * large trees may be processed without holding the whole listing in memory.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public interface SubtreeListingCallback {
+
+	/**
+	 * Handle one entry under the subtree root. All collections are delivered
+	 * before any data objects. The root itself is not delivered.
+	 *
+	 * @param entry
+	 *            {@link CollectionAndDataObjectListingEntry} for a collection or
+	 *            data object
+	 * @return {@code boolean} of {@code true} to continue the listing, or
+	 *         {@code false} to stop
+	 * @throws JargonException
+	 */
+	boolean entryFound(CollectionAndDataObjectListingEntry entry)
+			throws JargonException;
+
+}
@@ -0,0 +1,47 @@
+package org.irods.jargon.datautils.tree;
+
+import org.irods.jargon.core.exception.FileNotFoundException;
+import org.irods.jargon.core.exception.JargonException;
+
+/**
+ * Service to list every collection and data object under an iRODS collection
+ * using a few large, paged GenQuery scans of the subtree, rather than one
+ * listing per collection. Recursive operations can use the resulting
+ * {@link SubtreeIndex}, or the streamed {@link SubtreeListingCallback}, in
+ * place of walking the tree one directory at a time.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public interface SubtreeListingService {
+
+	/**
+	 * Stream every collection, then every data object, under the given root to
+	 * the callback. Only the current page of query results is held in memory.
+	 *
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the absolute path to the root collection
+	 * @param callback
+	 *            {@link SubtreeListingCallback} that will receive each entry
+	 * @throws FileNotFoundException
+	 *             if the root collection does not exist
+	 * @throws JargonException
+	 */
+	void listSubtree(String irodsAbsolutePath, SubtreeListingCallback callback)
+			throws FileNotFoundException, JargonException;
+
+	/**
+	 * Build an in-memory index of every collection and data object under the
+	 * given root. For very large trees consider {@code listSubtree()} instead.
+	 *
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the absolute path to the root collection
+	 * @return {@link SubtreeIndex}
+	 * @throws FileNotFoundException
+	 *             if the root collection does not exist
+	 * @throws JargonException
+	 */
+	SubtreeIndex buildSubtreeIndex(String irodsAbsolutePath)
+			throws FileNotFoundException, JargonException;
+
+}
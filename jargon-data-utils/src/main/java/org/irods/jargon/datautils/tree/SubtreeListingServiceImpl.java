@@ -0,0 +1,273 @@
+/**
+ *
+ */
+package org.irods.jargon.datautils.tree;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.exception.FileNotFoundException;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.exception.OperationNotSupportedForCollectionTypeException;
+import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
+import org.irods.jargon.core.pub.aohelper.CollectionAOHelper;
+import org.irods.jargon.core.pub.domain.ObjStat;
+import org.irods.jargon.core.pub.domain.ObjStat.SpecColType;
+import org.irods.jargon.core.pub.io.IRODSFileSystemAOHelper;
+import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry;
+import org.irods.jargon.core.query.GenQueryBuilderException;
+import org.irods.jargon.core.query.GenQueryOrderByField.OrderByType;
+import org.irods.jargon.core.query.GenQueryResultIterator;
+import org.irods.jargon.core.query.IRODSGenQueryBuilder;
+import org.irods.jargon.core.query.IRODSQueryResultRow;
+import org.irods.jargon.core.query.JargonQueryException;
+import org.irods.jargon.core.query.QueryConditionOperators;
+import org.irods.jargon.core.query.RodsGenQueryEnum;
+import org.irods.jargon.core.service.AbstractJargonService;
+import org.irods.jargon.core.utils.MiscIRODSUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lists a whole subtree with three paged GenQuery scans: all collections with
+ * a name like 'root/%', the data objects directly in the root, and the data
+ * objects in collections like 'root/%'. Results are read lazily, a page at a
+ * time, so that the number of iRODS requests grows with the size of the tree
+ * divided by the page size, rather than with the number of collections.
+ * <p>
+ * GenQuery returns a row per replica, so data object rows are ordered by
+ * collection and name and repeated rows for the same data object are
+ * discarded. The LIKE condition may also match sibling paths when the root
+ * contains '_' or '%', so those are filtered out here.
+ * <p>
+ * Mounted and linked collections are not scanned, as their contents are not
+ * held in the catalog under the root path.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class SubtreeListingServiceImpl extends AbstractJargonService implements
+		SubtreeListingService {
+
+	private static final Logger log = LoggerFactory
+			.getLogger(SubtreeListingServiceImpl.class);
+
+	/**
+	 * @param irodsAccessObjectFactory
+	 * @param irodsAccount
+	 */
+	public SubtreeListingServiceImpl(
+			final IRODSAccessObjectFactory irodsAccessObjectFactory,
+			final IRODSAccount irodsAccount) {
+		super(irodsAccessObjectFactory, irodsAccount);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.datautils.tree.SubtreeListingService#buildSubtreeIndex
+	 * (java.lang.String)
+	 */
+	@Override
+	public SubtreeIndex buildSubtreeIndex(final String irodsAbsolutePath)
+			throws FileNotFoundException, JargonException {
+
+		log.info("buildSubtreeIndex()");
+
+		final SubtreeIndex subtreeIndex = new SubtreeIndex(
+				normalizeRootPath(irodsAbsolutePath));
+		listSubtree(irodsAbsolutePath, new SubtreeListingCallback() {
+			@Override
+			public boolean entryFound(
+					final CollectionAndDataObjectListingEntry entry) {
+				subtreeIndex.addEntry(entry);
+				return true;
+			}
+		});
+
+		log.info("subtreeIndex:{}", subtreeIndex);
+		return subtreeIndex;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.datautils.tree.SubtreeListingService#listSubtree(java
+	 * .lang.String, org.irods.jargon.datautils.tree.SubtreeListingCallback)
+	 */
+	@Override
+	public void listSubtree(final String irodsAbsolutePath,
+			final SubtreeListingCallback callback)
+			throws FileNotFoundException, JargonException {
+
+		log.info("listSubtree()");
+
+		if (irodsAbsolutePath == null || irodsAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException(
+					"null or empty irodsAbsolutePath");
+		}
+
+		if (callback == null) {
+			throw new IllegalArgumentException("null callback");
+		}
+
+		String rootPath = normalizeRootPath(irodsAbsolutePath);
+		log.info("rootPath:{}", rootPath);
+
+		ObjStat objStat = getIrodsAccessObjectFactory()
+				.getCollectionAndDataObjectListAndSearchAO(getIrodsAccount())
+				.retrieveObjectStatForPath(rootPath);
+
+		if (!objStat.isSomeTypeOfCollection()) {
+			throw new IllegalArgumentException(
+					"path is not a collection:" + rootPath);
+		}
+
+		if (objStat.getSpecColType() == SpecColType.MOUNTED_COLL
+				|| objStat.getSpecColType() == SpecColType.LINKED_COLL) {
+			throw new OperationNotSupportedForCollectionTypeException(
+					"subtree listing is not supported for mounted or linked collections");
+		}
+
+		String childPrefix = rootPath.endsWith("/") ? rootPath : rootPath
+				+ "/";
+		String zone = MiscIRODSUtils.getZoneInPath(rootPath);
+
+		try {
+			if (!listCollections(childPrefix, zone, callback)) {
+				return;
+			}
+
+			if (!listDataObjects(RodsGenQueryEnum.COL_COLL_NAME,
+					QueryConditionOperators.EQUAL, rootPath, null, zone,
+					callback)) {
+				return;
+			}
+
+			listDataObjects(RodsGenQueryEnum.COL_COLL_NAME,
+					QueryConditionOperators.LIKE, childPrefix + "%",
+					childPrefix, zone, callback);
+		} catch (GenQueryBuilderException e) {
+			log.error("error building subtree query", e);
+			throw new JargonException("error building subtree query", e);
+		} catch (JargonQueryException e) {
+			log.error("error in subtree query", e);
+			throw new JargonException("error in subtree query", e);
+		}
+
+		log.info("subtree listing complete");
+	}
+
+	/**
+	 * Remove any trailing slash from the given path, leaving '/' as is
+	 */
+	static String normalizeRootPath(final String irodsAbsolutePath) {
+		if (irodsAbsolutePath == null || irodsAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException(
+					"null or empty irodsAbsolutePath");
+		}
+
+		String rootPath = irodsAbsolutePath;
+		while (rootPath.length() > 1 && rootPath.endsWith("/")) {
+			rootPath = rootPath.substring(0, rootPath.length() - 1);
+		}
+		return rootPath;
+	}
+
+	private boolean listCollections(final String childPrefix,
+			final String zone, final SubtreeListingCallback callback)
+			throws GenQueryBuilderException, JargonQueryException,
+			JargonException {
+
+		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+		CollectionAOHelper
+				.buildSelectsNeededForCollectionsInCollectionsAndDataObjectsListingEntry(builder);
+		builder.addConditionAsGenQueryField(RodsGenQueryEnum.COL_COLL_NAME,
+				QueryConditionOperators.LIKE, childPrefix + "%");
+
+		GenQueryResultIterator iterator = executeAsIterator(builder, zone);
+		try {
+			while (iterator.hasNext()) {
+				CollectionAndDataObjectListingEntry entry = CollectionAOHelper
+						.buildCollectionListEntryFromResultSetRowForCollectionQuery(
+								iterator.next(), 0);
+				if (!entry.getPathOrName().startsWith(childPrefix)) {
+					continue;
+				}
+
+				if (!callback.entryFound(entry)) {
+					log.info("callback asked to stop");
+					return false;
+				}
+			}
+		} finally {
+			iterator.close();
+		}
+		return true;
+	}
+
+	/**
+	 * List data objects for one collection condition, discarding repeated
+	 * rows for replicas
+	 */
+	private boolean listDataObjects(final RodsGenQueryEnum conditionField,
+			final QueryConditionOperators operator, final String value,
+			final String requiredPrefix, final String zone,
+			final SubtreeListingCallback callback)
+			throws GenQueryBuilderException, JargonQueryException,
+			JargonException {
+
+		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+		IRODSFileSystemAOHelper.buildDataObjectQuerySelects(builder);
+		builder.addConditionAsGenQueryField(conditionField, operator, value);
+		builder.addOrderByGenQueryField(RodsGenQueryEnum.COL_COLL_NAME,
+				OrderByType.ASC);
+		builder.addOrderByGenQueryField(RodsGenQueryEnum.COL_DATA_NAME,
+				OrderByType.ASC);
+
+		GenQueryResultIterator iterator = executeAsIterator(builder, zone);
+		String lastCollection = "";
+		String lastName = "";
+		try {
+			while (iterator.hasNext()) {
+				IRODSQueryResultRow row = iterator.next();
+				CollectionAndDataObjectListingEntry entry = CollectionAOHelper
+						.buildCollectionListEntryFromResultSetRowForDataObjectQuery(
+								row, 0);
+
+				if (entry.getParentPath().equals(lastCollection)
+						&& entry.getPathOrName().equals(lastName)) {
+					continue;
+				}
+				lastCollection = entry.getParentPath();
+				lastName = entry.getPathOrName();
+
+				if (requiredPrefix != null
+						&& !entry.getParentPath().startsWith(requiredPrefix)) {
+					continue;
+				}
+
+				if (!callback.entryFound(entry)) {
+					log.info("callback asked to stop");
+					return false;
+				}
+			}
+		} finally {
+			iterator.close();
+		}
+		return true;
+	}
+
+	private GenQueryResultIterator executeAsIterator(
+			final IRODSGenQueryBuilder builder, final String zone)
+			throws GenQueryBuilderException, JargonQueryException,
+			JargonException {
+		return getIrodsAccessObjectFactory()
+				.getIRODSGenQueryExecutor(getIrodsAccount())
+				.executeIRODSQueryAsIterator(
+						builder.exportIRODSQueryFromBuilder(getIrodsAccessObjectFactory()
+								.getJargonProperties()
+								.getMaxFilesAndDirsQueryMax()), zone, true);
+	}
+
+}
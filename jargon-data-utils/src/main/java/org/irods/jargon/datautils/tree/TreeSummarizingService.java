@@ -27,6 +27,27 @@ public interface TreeSummarizingService {
 	TreeSummary generateTreeSummaryForIrodsFileTree(String irodsFilePath)
 			throws FileNotFoundException, JargonException;
 
+	/**
+	 * Create a summary of an iRODS collection using GenQuery aggregates
+	 * (count, sum, min and max of the data size) rather than visiting each
+	 * file. The child collections are summarized in parallel, and their
+	 * summaries are given in {@link TreeSummary#getChildCollectionSummaryMap()}.
+	 * Summaries are cached by collection for a time.
+	 * <p>
+	 * This gives the file count, total bytes, and min and max length. The file
+	 * size and extension tables are left empty, as GenQuery cannot group by
+	 * those values.
+	 *
+	 * @param irodsFilePath
+	 *            {@code String} with an absolute path to an iRODS collection
+	 * @return {@link TreeSummary}
+	 * @throws FileNotFoundException
+	 * @throws JargonException
+	 */
+	TreeSummary generateAggregateTreeSummaryForIrodsFileTree(
+			String irodsFilePath) throws FileNotFoundException,
+			JargonException;
+
 	/**
 	 * Create a summary describing the contents of a local file tree
 	 * 
@@ -5,11 +5,34 @@ package org.irods.jargon.datautils.tree;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
+import org.irods.jargon.core.pub.domain.ObjStat;
+import org.irods.jargon.core.query.GenQueryBuilderException;
+import org.irods.jargon.core.query.GenQueryField.SelectFieldTypes;
+import org.irods.jargon.core.query.GenQueryResultIterator;
+import org.irods.jargon.core.query.IRODSGenQueryBuilder;
+import org.irods.jargon.core.query.IRODSQueryResultRow;
+import org.irods.jargon.core.query.IRODSQueryResultSet;
+import org.irods.jargon.core.query.JargonQueryException;
+import org.irods.jargon.core.query.QueryConditionOperators;
+import org.irods.jargon.core.query.RodsGenQueryEnum;
 import org.irods.jargon.core.service.AbstractJargonService;
+import org.irods.jargon.core.utils.IRODSDataConversionUtil;
+import org.irods.jargon.core.utils.MiscIRODSUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,7 +43,11 @@ import org.slf4j.LoggerFactory;
  * relative frequency of each size, and a table that gives counts by file
  * extension.
  * <p>
- * This service handles both local and iRODS directories
+ * This service handles both local and iRODS directories. For iRODS
+ * collections, {@code generateAggregateTreeSummaryForIrodsFileTree()} gives
+ * the totals from GenQuery aggregates instead, with one pair of queries per
+ * child collection run in parallel, each on its own connection, and keeps the
+ * results in a {@link TreeSummaryCache}.
  * 
  * @author Mike Conway - DICE
  * 
@@ -32,6 +59,15 @@ public class TreeSummarizingServiceImpl extends AbstractJargonService implements
 	private static final Logger log = LoggerFactory
 			.getLogger(TreeSummarizingServiceImpl.class);
 
+	/**
+	 * Default number of child collections summarized at once
+	 */
+	public static final int DEFAULT_AGGREGATE_QUERY_THREADS = 4;
+
+	private TreeSummaryCache treeSummaryCache = new TreeSummaryCache(
+			TreeSummaryCache.DEFAULT_TIME_TO_LIVE_MILLIS);
+	private int aggregateQueryThreads = DEFAULT_AGGREGATE_QUERY_THREADS;
+
 	/**
 	 * @param irodsAccessObjectFactory
 	 * @param irodsAccount
@@ -79,6 +115,426 @@ public class TreeSummarizingServiceImpl extends AbstractJargonService implements
 
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.datautils.tree.TreeSummarizingService#
+	 * generateAggregateTreeSummaryForIrodsFileTree(java.lang.String)
+	 */
+	@Override
+	public TreeSummary generateAggregateTreeSummaryForIrodsFileTree(
+			final String irodsFilePath) throws FileNotFoundException,
+			JargonException {
+		log.info("generateAggregateTreeSummaryForIrodsFileTree()");
+
+		if (irodsFilePath == null || irodsFilePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty irodsFilePath");
+		}
+
+		final String rootPath = SubtreeListingServiceImpl
+				.normalizeRootPath(irodsFilePath);
+		log.info("rootPath:{}", rootPath);
+
+		String cacheKey = TreeSummaryCache.computeKey(getIrodsAccount(),
+				rootPath);
+		TreeSummary cached = treeSummaryCache.get(cacheKey);
+		if (cached != null) {
+			log.info("returning cached summary");
+			return cached;
+		}
+
+		ObjStat objStat;
+		try {
+			objStat = getIrodsAccessObjectFactory()
+					.getCollectionAndDataObjectListAndSearchAO(
+							getIrodsAccount()).retrieveObjectStatForPath(
+							rootPath);
+		} catch (org.irods.jargon.core.exception.FileNotFoundException e) {
+			throw new FileNotFoundException("cannot find iRODS collection:"
+					+ rootPath);
+		}
+
+		if (!objStat.isSomeTypeOfCollection()) {
+			throw new IllegalArgumentException("path is not a collection:"
+					+ rootPath);
+		}
+
+		final String zone = MiscIRODSUtils.getZoneInPath(rootPath);
+		TreeSummary treeSummary = new TreeSummary();
+
+		try {
+			long[] rootTotals = queryDataObjectAggregates(
+					QueryConditionOperators.EQUAL, rootPath, zone);
+			treeSummary.addAggregate(rootTotals[0], rootTotals[1],
+					rootTotals[2], rootTotals[3]);
+
+			List<String> childPaths = listChildCollections(rootPath, zone);
+			log.info("summarizing {} child collections", childPaths.size());
+			Map<String, TreeSummary> childSummaries = summarizeChildCollections(
+					childPaths, zone);
+			for (Map.Entry<String, TreeSummary> entry : childSummaries
+					.entrySet()) {
+				treeSummary.addChildCollectionSummary(
+						entry.getKey().substring(
+								entry.getKey().lastIndexOf('/') + 1),
+						entry.getValue());
+			}
+		} catch (GenQueryBuilderException e) {
+			log.error("error building aggregate query", e);
+			throw new JargonException("error building aggregate query", e);
+		} catch (JargonQueryException e) {
+			log.error("error in aggregate query", e);
+			throw new JargonException("error in aggregate query", e);
+		}
+
+		treeSummaryCache.put(cacheKey, rootPath, treeSummary);
+		log.info("total files:{} bytes:{}", treeSummary.getTotalFiles(),
+				treeSummary.getTotalBytes());
+		return treeSummary;
+	}
+
+	/**
+	 * Summarize each child collection and all below it, in parallel if more
+	 * than one thread is configured. Each thread returns its connection when
+	 * its summary is done.
+	 */
+	private Map<String, TreeSummary> summarizeChildCollections(
+			final List<String> childPaths, final String zone)
+			throws JargonException, GenQueryBuilderException,
+			JargonQueryException {
+
+		Map<String, TreeSummary> childSummaries = new LinkedHashMap<String, TreeSummary>();
+		if (childPaths.isEmpty()) {
+			return childSummaries;
+		}
+
+		if (aggregateQueryThreads <= 1 || childPaths.size() == 1) {
+			for (String childPath : childPaths) {
+				childSummaries.put(childPath,
+						summarizeCollectionAndBelow(childPath, zone));
+			}
+			return childSummaries;
+		}
+
+		ExecutorService executorService = Executors.newFixedThreadPool(
+				Math.min(aggregateQueryThreads, childPaths.size()),
+				new ThreadFactory() {
+					@Override
+					public Thread newThread(final Runnable runnable) {
+						Thread thread = new Thread(runnable,
+								"tree-summary-query");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+
+		try {
+			Map<String, Future<TreeSummary>> futures = new LinkedHashMap<String, Future<TreeSummary>>();
+			for (final String childPath : childPaths) {
+				futures.put(childPath,
+						executorService.submit(new Callable<TreeSummary>() {
+							@Override
+							public TreeSummary call() throws Exception {
+								try {
+									return summarizeCollectionAndBelow(
+											childPath, zone);
+								} finally {
+									getIrodsAccessObjectFactory()
+											.closeSessionAndEatExceptions(
+													getIrodsAccount());
+								}
+							}
+						}));
+			}
+
+			for (Map.Entry<String, Future<TreeSummary>> entry : futures
+					.entrySet()) {
+				try {
+					childSummaries.put(entry.getKey(), entry.getValue().get());
+				} catch (ExecutionException e) {
+					log.error("error summarizing collection:{}",
+							entry.getKey(), e.getCause());
+					throw new JargonException(
+							"error summarizing collection:" + entry.getKey(),
+							e.getCause());
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JargonException("interrupted summarizing collections",
+					e);
+		} finally {
+			executorService.shutdownNow();
+		}
+
+		return childSummaries;
+	}
+
+	/**
+	 * Summarize a collection, with the files directly in it and those in all
+	 * collections below it, using the cache where possible
+	 */
+	private TreeSummary summarizeCollectionAndBelow(
+			final String collectionPath, final String zone)
+			throws JargonException, GenQueryBuilderException,
+			JargonQueryException {
+
+		String cacheKey = TreeSummaryCache.computeKey(getIrodsAccount(),
+				collectionPath);
+		TreeSummary cached = treeSummaryCache.get(cacheKey);
+		if (cached != null) {
+			return cached;
+		}
+
+		TreeSummary treeSummary = new TreeSummary();
+		long[] totals = queryDataObjectAggregates(
+				QueryConditionOperators.EQUAL, collectionPath, zone);
+		treeSummary.addAggregate(totals[0], totals[1], totals[2], totals[3]);
+		if (hasLikeSpecialCharacters(collectionPath)) {
+			log.info("LIKE special characters in:{}, totalling matching rows",
+					collectionPath);
+			totals = totalLowestReplicas(QueryConditionOperators.LIKE,
+					buildDescendantLikePattern(collectionPath), zone,
+					collectionPath + "/");
+		} else {
+			totals = queryDataObjectAggregates(QueryConditionOperators.LIKE,
+					collectionPath + "/%", zone);
+		}
+		treeSummary.addAggregate(totals[0], totals[1], totals[2], totals[3]);
+
+		treeSummaryCache.put(cacheKey, collectionPath, treeSummary);
+		return treeSummary;
+	}
+
+	/**
+	 * Total the data objects whose collection matches the condition, counting
+	 * each data object once, with the size of its lowest numbered replica.
+	 * <p>
+	 * This is normally one aggregate query over replica 0, and one count of
+	 * the data objects with any replica. If the count shows that some data
+	 * objects have no replica 0, because it was trimmed, the rows are read
+	 * instead and the lowest replica of each data object is totalled here.
+	 *
+	 * @return {@code long[]} with the count, total size, min size and max size
+	 */
+	private long[] queryDataObjectAggregates(
+			final QueryConditionOperators operator, final String collection,
+			final String zone) throws JargonException,
+			GenQueryBuilderException, JargonQueryException {
+
+		long[] totals = queryReplicaZeroAggregates(operator, collection, zone);
+		long dataObjectCount = countDataObjects(operator, collection, zone);
+		if (dataObjectCount <= totals[0]) {
+			return totals;
+		}
+
+		log.info(
+				"data objects without replica 0 under:{}, totalling lowest replicas",
+				collection);
+		return totalLowestReplicas(operator, collection, zone, null);
+	}
+
+	/**
+	 * Run one aggregate query over replica 0 of the data objects whose
+	 * collection matches the condition
+	 *
+	 * @return {@code long[]} with the count, total size, min size and max size
+	 */
+	private long[] queryReplicaZeroAggregates(
+			final QueryConditionOperators operator, final String collection,
+			final String zone) throws JargonException,
+			GenQueryBuilderException, JargonQueryException {
+
+		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+		builder.addSelectAsAgregateGenQueryValue(RodsGenQueryEnum.COL_D_DATA_ID,
+				SelectFieldTypes.COUNT)
+				.addSelectAsAgregateGenQueryValue(
+						RodsGenQueryEnum.COL_DATA_SIZE, SelectFieldTypes.SUM)
+				.addSelectAsAgregateGenQueryValue(
+						RodsGenQueryEnum.COL_DATA_SIZE, SelectFieldTypes.MIN)
+				.addSelectAsAgregateGenQueryValue(
+						RodsGenQueryEnum.COL_DATA_SIZE, SelectFieldTypes.MAX)
+				.addConditionAsGenQueryField(RodsGenQueryEnum.COL_COLL_NAME,
+						operator, collection)
+				.addConditionAsGenQueryField(
+						RodsGenQueryEnum.COL_DATA_REPL_NUM,
+						QueryConditionOperators.EQUAL, 0);
+
+		IRODSQueryResultSet resultSet = getIrodsAccessObjectFactory()
+				.getIRODSGenQueryExecutor(getIrodsAccount())
+				.executeIRODSQueryAndCloseResultInZone(
+						builder.exportIRODSQueryFromBuilder(1), 0, zone);
+
+		long[] totals = new long[4];
+		if (!resultSet.getResults().isEmpty()) {
+			IRODSQueryResultRow row = resultSet.getFirstResult();
+			for (int i = 0; i < totals.length; i++) {
+				totals[i] = IRODSDataConversionUtil
+						.getLongOrZeroFromIRODSValue(row.getColumn(i));
+			}
+		}
+		return totals;
+	}
+
+	/**
+	 * Count the distinct data objects, with any replica, whose collection
+	 * matches the condition. iRODS counts distinct values. A server that
+	 * counted each replica would only cause the slower, still exact, path to
+	 * be taken.
+	 */
+	private long countDataObjects(final QueryConditionOperators operator,
+			final String collection, final String zone)
+			throws JargonException, GenQueryBuilderException,
+			JargonQueryException {
+
+		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+		builder.addSelectAsAgregateGenQueryValue(RodsGenQueryEnum.COL_D_DATA_ID,
+				SelectFieldTypes.COUNT).addConditionAsGenQueryField(
+				RodsGenQueryEnum.COL_COLL_NAME, operator, collection);
+
+		IRODSQueryResultSet resultSet = getIrodsAccessObjectFactory()
+				.getIRODSGenQueryExecutor(getIrodsAccount())
+				.executeIRODSQueryAndCloseResultInZone(
+						builder.exportIRODSQueryFromBuilder(1), 0, zone);
+
+		if (resultSet.getResults().isEmpty()) {
+			return 0L;
+		}
+		return IRODSDataConversionUtil.getLongOrZeroFromIRODSValue(resultSet
+				.getFirstResult().getColumn(0));
+	}
+
+	/**
+	 * Read the replicas of the data objects whose collection matches the
+	 * condition, and total the size of the lowest numbered replica of each
+	 *
+	 * @param collectionPrefix
+	 *            {@code String} that the collection of each row must start
+	 *            with, for a condition that may match more than wanted, or
+	 *            {@code null} to count every row
+	 * @return {@code long[]} with the count, total size, min size and max size
+	 */
+	private long[] totalLowestReplicas(final QueryConditionOperators operator,
+			final String collection, final String zone,
+			final String collectionPrefix) throws JargonException,
+			GenQueryBuilderException, JargonQueryException {
+
+		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+		builder.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_D_DATA_ID)
+				.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_DATA_REPL_NUM)
+				.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_DATA_SIZE)
+				.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_COLL_NAME)
+				.addConditionAsGenQueryField(RodsGenQueryEnum.COL_COLL_NAME,
+						operator, collection);
+
+		// data id to the replica number and size of its lowest replica
+		Map<String, long[]> lowestReplicas = new HashMap<String, long[]>();
+		GenQueryResultIterator iterator = getIrodsAccessObjectFactory()
+				.getIRODSGenQueryExecutor(getIrodsAccount())
+				.executeIRODSQueryAsIterator(
+						builder.exportIRODSQueryFromBuilder(getIrodsAccessObjectFactory()
+								.getJargonProperties()
+								.getMaxFilesAndDirsQueryMax()), zone, true);
+		try {
+			while (iterator.hasNext()) {
+				IRODSQueryResultRow row = iterator.next();
+				if (collectionPrefix != null
+						&& !row.getColumn(3).startsWith(collectionPrefix)) {
+					continue;
+				}
+				long replicaNumber = IRODSDataConversionUtil
+						.getLongOrZeroFromIRODSValue(row.getColumn(1));
+				long[] lowest = lowestReplicas.get(row.getColumn(0));
+				if (lowest == null || replicaNumber < lowest[0]) {
+					lowestReplicas.put(row.getColumn(0), new long[] {
+							replicaNumber,
+							IRODSDataConversionUtil
+									.getLongOrZeroFromIRODSValue(row
+											.getColumn(2)) });
+				}
+			}
+		} finally {
+			iterator.close();
+		}
+
+		long[] totals = new long[4];
+		for (long[] lowest : lowestReplicas.values()) {
+			long size = lowest[1];
+			totals[1] += size;
+			totals[2] = totals[0] == 0 ? size : Math.min(totals[2], size);
+			totals[3] = Math.max(totals[3], size);
+			totals[0]++;
+		}
+		return totals;
+	}
+
+	/**
+	 * @return {@code boolean} that is {@code true} if the path has a
+	 *         {@code LIKE} wildcard, or a backslash, which some catalogs
+	 *         treat as the escape character
+	 */
+	static boolean hasLikeSpecialCharacters(final String path) {
+		return path.indexOf('_') >= 0 || path.indexOf('%') >= 0
+				|| path.indexOf('\\') >= 0;
+	}
+
+	/**
+	 * Build a {@code LIKE} pattern for the collections below a path that
+	 * matches them on any catalog. The default escape character differs
+	 * between catalogs (a backslash for PostgreSQL and MySQL, none for
+	 * Oracle), and GenQuery cannot name one, so special characters are not
+	 * escaped. Each is replaced with the {@code _} wildcard instead, and the
+	 * pattern may match other collections as well, which the caller must
+	 * filter out.
+	 *
+	 * @param path
+	 *            {@code String} with the collection path
+	 * @return {@code String} with the pattern
+	 */
+	static String buildDescendantLikePattern(final String path) {
+		StringBuilder sb = new StringBuilder(path.length() + 2);
+		for (char c : path.toCharArray()) {
+			if (c == '\\' || c == '_' || c == '%') {
+				sb.append('_');
+			} else {
+				sb.append(c);
+			}
+		}
+		sb.append("/%");
+		return sb.toString();
+	}
+
+	private List<String> listChildCollections(final String parentPath,
+			final String zone) throws JargonException,
+			GenQueryBuilderException, JargonQueryException {
+
+		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+		builder.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_COLL_NAME)
+				.addConditionAsGenQueryField(
+						RodsGenQueryEnum.COL_COLL_PARENT_NAME,
+						QueryConditionOperators.EQUAL, parentPath);
+
+		List<String> childPaths = new ArrayList<String>();
+		GenQueryResultIterator iterator = getIrodsAccessObjectFactory()
+				.getIRODSGenQueryExecutor(getIrodsAccount())
+				.executeIRODSQueryAsIterator(
+						builder.exportIRODSQueryFromBuilder(getIrodsAccessObjectFactory()
+								.getJargonProperties()
+								.getMaxFilesAndDirsQueryMax()), zone, true);
+		try {
+			while (iterator.hasNext()) {
+				String childPath = iterator.next().getColumn(0);
+				// the root collection '/' is its own parent
+				if (!childPath.equals(parentPath)) {
+					childPaths.add(childPath);
+				}
+			}
+		} finally {
+			iterator.close();
+		}
+		return childPaths;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -115,4 +571,44 @@ public class TreeSummarizingServiceImpl extends AbstractJargonService implements
 
 	}
 
+	/**
+	 * @return the {@link TreeSummaryCache} used for aggregate summaries
+	 */
+	public TreeSummaryCache getTreeSummaryCache() {
+		return treeSummaryCache;
+	}
+
+	/**
+	 * @param treeSummaryCache
+	 *            {@link TreeSummaryCache} to use for aggregate summaries, so
+	 *            that one cache may be shared across service instances
+	 */
+	public void setTreeSummaryCache(final TreeSummaryCache treeSummaryCache) {
+		if (treeSummaryCache == null) {
+			throw new IllegalArgumentException("null treeSummaryCache");
+		}
+		this.treeSummaryCache = treeSummaryCache;
+	}
+
+	/**
+	 * @return the number of child collections summarized at once
+	 */
+	public int getAggregateQueryThreads() {
+		return aggregateQueryThreads;
+	}
+
+	/**
+	 * @param aggregateQueryThreads
+	 *            {@code int} with the number of child collections summarized
+	 *            at once, each with its own connection. 1 runs all queries
+	 *            on the calling thread.
+	 */
+	public void setAggregateQueryThreads(final int aggregateQueryThreads) {
+		if (aggregateQueryThreads < 1) {
+			throw new IllegalArgumentException(
+					"aggregateQueryThreads must be at least 1");
+		}
+		this.aggregateQueryThreads = aggregateQueryThreads;
+	}
+
 }
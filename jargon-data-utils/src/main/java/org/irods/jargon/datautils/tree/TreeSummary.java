@@ -30,6 +30,7 @@ public class TreeSummary {
 
 	private ConcurrentMap<String, AtomicLong> fileSizeSummaryMap = new ConcurrentHashMap<String, AtomicLong>();
 	private final ConcurrentMap<String, AtomicLong> fileExtensionSummaryMap = new ConcurrentHashMap<String, AtomicLong>();
+	private final ConcurrentMap<String, TreeSummary> childCollectionSummaryMap = new ConcurrentHashMap<String, TreeSummary>();
 
 	private long totalBytes = 0L;
 	private long totalFiles = 0L;
@@ -101,6 +102,63 @@ public class TreeSummary {
 
 	}
 
+	/**
+	 * Add totals for a group of files computed elsewhere, such as by an
+	 * aggregate query. The size and extension tables are not updated, as the
+	 * individual lengths and names are not known.
+	 *
+	 * @param fileCount
+	 *            {@code long} with the number of files in the group
+	 * @param byteCount
+	 *            {@code long} with the total length of the files
+	 * @param minFileLength
+	 *            {@code long} with the length of the smallest file
+	 * @param maxFileLength
+	 *            {@code long} with the length of the largest file
+	 */
+	public void addAggregate(final long fileCount, final long byteCount,
+			final long minFileLength, final long maxFileLength) {
+
+		if (fileCount <= 0) {
+			return;
+		}
+
+		if (totalFiles == 0 || minFileLength < minLength) {
+			minLength = minFileLength;
+		}
+
+		if (maxFileLength > maxLength) {
+			maxLength = maxFileLength;
+		}
+
+		totalFiles += fileCount;
+		totalBytes += byteCount;
+	}
+
+	/**
+	 * Add the totals of a child collection, and keep its summary by name
+	 *
+	 * @param childName
+	 *            {@code String} with the name of the child collection
+	 * @param childSummary
+	 *            {@link TreeSummary} for the child collection and all below it
+	 */
+	public void addChildCollectionSummary(final String childName,
+			final TreeSummary childSummary) {
+		addAggregate(childSummary.getTotalFiles(),
+				childSummary.getTotalBytes(), childSummary.getMinLength(),
+				childSummary.getMaxLength());
+		childCollectionSummaryMap.put(childName, childSummary);
+	}
+
+	/**
+	 * @return the summaries of each child collection, by name, when the
+	 *         summary was built by collection. Empty otherwise.
+	 */
+	public ConcurrentMap<String, TreeSummary> getChildCollectionSummaryMap() {
+		return childCollectionSummaryMap;
+	}
+
 	/**
 	 * @return the fileSizeSummaryMap
 	 */
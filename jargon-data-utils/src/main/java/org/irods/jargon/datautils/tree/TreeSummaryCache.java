@@ -0,0 +1,196 @@
+/**
+ *
+ */
+package org.irods.jargon.datautils.tree;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of {@link TreeSummary} by iRODS collection, so that a repeated request
+ * for the size of a folder, for example from a portal widget, does not run the
+ * aggregate queries again until the entry expires. Entries are kept per
+ * account, as the files visible to each user may differ.
+ * <p>
+ * A single instance may be shared by the {@link TreeSummarizingServiceImpl}
+ * instances of an application. Callers that change a collection may call
+ * {@link #invalidatePath(String)} so that the collection and its parents are
+ * summarized again.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class TreeSummaryCache {
+
+	private static final Logger log = LoggerFactory
+			.getLogger(TreeSummaryCache.class);
+
+	/**
+	 * Default time to live for a cached summary, five minutes
+	 */
+	public static final long DEFAULT_TIME_TO_LIVE_MILLIS = 5 * 60 * 1000L;
+
+	private final long timeToLiveMillis;
+	private final Map<String, CachedSummary> cache = new ConcurrentHashMap<String, CachedSummary>();
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+
+	/**
+	 * @param timeToLiveMillis
+	 *            {@code long} with the time a summary is kept, in
+	 *            milliseconds. 0 turns off caching.
+	 */
+	public TreeSummaryCache(final long timeToLiveMillis) {
+		if (timeToLiveMillis < 0) {
+			throw new IllegalArgumentException("timeToLiveMillis < 0");
+		}
+		this.timeToLiveMillis = timeToLiveMillis;
+	}
+
+	/**
+	 * Build the cache key for a collection as seen by an account
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} of the user
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the collection path, without a trailing
+	 *            '/'
+	 * @return {@code String} with the key
+	 */
+	public static String computeKey(final IRODSAccount irodsAccount,
+			final String irodsAbsolutePath) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(irodsAccount.getHost());
+		sb.append(':');
+		sb.append(irodsAccount.getPort());
+		sb.append(':');
+		sb.append(irodsAccount.getZone());
+		sb.append(':');
+		sb.append(irodsAccount.getUserName());
+		sb.append(':');
+		sb.append(irodsAbsolutePath);
+		return sb.toString();
+	}
+
+	/**
+	 * @param key
+	 *            {@code String} from {@link #computeKey}
+	 * @return {@link TreeSummary} or {@code null} if none is cached, or the
+	 *         cached one has expired
+	 */
+	public TreeSummary get(final String key) {
+		CachedSummary cachedSummary = cache.get(key);
+		if (cachedSummary == null) {
+			missCount.incrementAndGet();
+			return null;
+		}
+
+		if (System.currentTimeMillis() - cachedSummary.cachedAt > timeToLiveMillis) {
+			cache.remove(key);
+			missCount.incrementAndGet();
+			return null;
+		}
+
+		hitCount.incrementAndGet();
+		return cachedSummary.treeSummary;
+	}
+
+	/**
+	 * @param key
+	 *            {@code String} from {@link #computeKey}
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the collection the summary is for
+	 * @param treeSummary
+	 *            {@link TreeSummary} to cache
+	 */
+	public void put(final String key, final String irodsAbsolutePath,
+			final TreeSummary treeSummary) {
+		if (timeToLiveMillis == 0) {
+			return;
+		}
+		cache.put(key, new CachedSummary(irodsAbsolutePath, treeSummary));
+	}
+
+	/**
+	 * Remove the summaries of the given collection, of the collections above
+	 * it, whose totals include it, and of the collections below it, for all
+	 * accounts
+	 *
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the path that has changed
+	 */
+	public void invalidatePath(final String irodsAbsolutePath) {
+		if (irodsAbsolutePath == null || irodsAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException(
+					"null or empty irodsAbsolutePath");
+		}
+
+		String changedPath = SubtreeListingServiceImpl
+				.normalizeRootPath(irodsAbsolutePath);
+		Iterator<CachedSummary> iterator = cache.values().iterator();
+		while (iterator.hasNext()) {
+			String cachedPath = iterator.next().irodsAbsolutePath;
+			if (isSameOrBelow(changedPath, cachedPath)
+					|| isSameOrBelow(cachedPath, changedPath)) {
+				iterator.remove();
+			}
+		}
+		log.debug("invalidated summaries for path:{}", changedPath);
+	}
+
+	private static boolean isSameOrBelow(final String path,
+			final String ancestor) {
+		if (path.equals(ancestor)) {
+			return true;
+		}
+		String prefix = ancestor.endsWith("/") ? ancestor : ancestor + "/";
+		return path.startsWith(prefix);
+	}
+
+	/**
+	 * Remove all cached summaries
+	 */
+	public void clear() {
+		cache.clear();
+	}
+
+	/**
+	 * @return {@code long} with the number of lookups that found a summary
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * @return {@code long} with the number of lookups that did not
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * @return {@code long} with the time to live in milliseconds
+	 */
+	public long getTimeToLiveMillis() {
+		return timeToLiveMillis;
+	}
+
+	private static class CachedSummary {
+		private final String irodsAbsolutePath;
+		private final TreeSummary treeSummary;
+		private final long cachedAt = System.currentTimeMillis();
+
+		CachedSummary(final String irodsAbsolutePath,
+				final TreeSummary treeSummary) {
+			this.irodsAbsolutePath = irodsAbsolutePath;
+			this.treeSummary = treeSummary;
+		}
+	}
+
+}
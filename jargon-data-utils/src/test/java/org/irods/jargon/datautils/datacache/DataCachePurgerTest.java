@@ -0,0 +1,89 @@
+package org.irods.jargon.datautils.datacache;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.SettableJargonProperties;
+import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
+import org.irods.jargon.core.pub.IRODSGenQueryExecutor;
+import org.irods.jargon.core.pub.io.IRODSFile;
+import org.irods.jargon.core.pub.io.IRODSFileFactory;
+import org.irods.jargon.core.query.AbstractIRODSGenQuery;
+import org.irods.jargon.core.query.GenQueryResultIterator;
+import org.irods.jargon.core.query.IRODSQueryResultRow;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+
+public class DataCachePurgerTest {
+
+	private static final String CACHE_DIR = "/zone1/home/user/cacheServiceTempDir";
+
+	@Test
+	public void testPurgeNowDeletesExpiredFilesFromOneQuery()
+			throws Exception {
+		IRODSAccount irodsAccount = IRODSAccount.instance("host", 1247,
+				"user", "pwd", "/zone1/home/user", "zone1", "");
+		IRODSQueryResultRow row = Mockito.mock(IRODSQueryResultRow.class);
+		Mockito.when(row.getColumn(0)).thenReturn("user-123.dat");
+		GenQueryResultIterator iterator = Mockito
+				.mock(GenQueryResultIterator.class);
+		Mockito.when(iterator.hasNext()).thenReturn(true, false);
+		Mockito.when(iterator.next()).thenReturn(row);
+		IRODSGenQueryExecutor executor = Mockito
+				.mock(IRODSGenQueryExecutor.class);
+		Mockito.when(
+				executor.executeIRODSQueryAsIterator(
+						Matchers.any(AbstractIRODSGenQuery.class),
+						Matchers.eq("zone1"), Matchers.eq(true))).thenReturn(
+				iterator);
+		IRODSFile expiredFile = Mockito.mock(IRODSFile.class);
+		Mockito.when(expiredFile.delete()).thenReturn(true);
+		IRODSFileFactory irodsFileFactory = Mockito
+				.mock(IRODSFileFactory.class);
+		Mockito.when(
+				irodsFileFactory.instanceIRODSFile(CACHE_DIR, "user-123.dat"))
+				.thenReturn(expiredFile);
+		IRODSAccessObjectFactory irodsAccessObjectFactory = Mockito
+				.mock(IRODSAccessObjectFactory.class);
+		Mockito.when(
+				irodsAccessObjectFactory.getIRODSGenQueryExecutor(irodsAccount))
+				.thenReturn(executor);
+		Mockito.when(irodsAccessObjectFactory.getIRODSFileFactory(irodsAccount))
+				.thenReturn(irodsFileFactory);
+		SettableJargonProperties jargonProperties = new SettableJargonProperties();
+		Mockito.when(irodsAccessObjectFactory.getJargonProperties())
+				.thenReturn(jargonProperties);
+
+		DataCachePurger purger = new DataCachePurger(irodsAccessObjectFactory);
+		int purged = purger.purgeNow(irodsAccount, CACHE_DIR, 30);
+
+		Assert.assertEquals(1, purged);
+		Mockito.verify(expiredFile).delete();
+		Mockito.verify(iterator).close();
+		Assert.assertEquals(1, purger.getPurgedFileCount());
+	}
+
+	@Test
+	public void testRequestPurgeIsRateLimited() throws Exception {
+		IRODSAccount irodsAccount = IRODSAccount.instance("host", 1247,
+				"user", "pwd", "/zone1/home/user", "zone1", "");
+		DataCachePurger purger = new DataCachePurger(
+				Mockito.mock(IRODSAccessObjectFactory.class));
+		try {
+			Assert.assertTrue(purger.requestPurge(irodsAccount, CACHE_DIR, 30,
+					60000L));
+			Assert.assertFalse(purger.requestPurge(irodsAccount, CACHE_DIR,
+					30, 60000L));
+		} finally {
+			purger.shutdown();
+		}
+	}
+
+	@Test
+	public void testFormatIRODSTime() throws Exception {
+		Assert.assertEquals("01400000000",
+				DataCachePurger.formatIRODSTime(1400000000L));
+	}
+
+}
@@ -0,0 +1,56 @@
+package org.irods.jargon.datautils.datacache;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+public class LocalDataCacheTierTest {
+
+	@Test
+	public void testEvictsLeastRecentlyUsed() throws Exception {
+		LocalDataCacheTier tier = new LocalDataCacheTier(2, 1000, 60000,
+				false);
+		tier.put("a", "aaa".getBytes());
+		tier.put("b", "bbb".getBytes());
+		Assert.assertNotNull(tier.get("a"));
+		tier.put("c", "ccc".getBytes());
+		Assert.assertNull("b was least recently used", tier.get("b"));
+		Assert.assertEquals("aaa", new String(tier.get("a")));
+		Assert.assertEquals("ccc", new String(tier.get("c")));
+		Assert.assertEquals(1, tier.getEvictionCount());
+		Assert.assertEquals(6, tier.getCurrentBytes());
+	}
+
+	@Test
+	public void testByteLimit() throws Exception {
+		LocalDataCacheTier tier = new LocalDataCacheTier(100, 5, 60000, false);
+		tier.put("a", "aaa".getBytes());
+		tier.put("b", "bbb".getBytes());
+		Assert.assertEquals(1, tier.size());
+		tier.put("big", "too big".getBytes());
+		Assert.assertNull(tier.get("big"));
+		Assert.assertEquals("bbb", new String(tier.get("b")));
+	}
+
+	@Test
+	public void testOffHeapReturnsCopies() throws Exception {
+		LocalDataCacheTier tier = new LocalDataCacheTier(10, 1000, 60000, true);
+		byte[] value = "value".getBytes();
+		tier.put("a", value);
+		value[0] = 'X';
+		byte[] first = tier.get("a");
+		first[1] = 'X';
+		Assert.assertEquals("value", new String(tier.get("a")));
+		Assert.assertEquals(2, tier.getHitCount());
+	}
+
+	@Test
+	public void testDisabledHoldsNothing() throws Exception {
+		LocalDataCacheTier tier = new LocalDataCacheTier(0, 1000, 60000, false);
+		Assert.assertFalse(tier.isEnabled());
+		tier.put("a", "aaa".getBytes());
+		Assert.assertNull(tier.get("a"));
+		Assert.assertEquals(1, tier.getMissCount());
+	}
+
+}
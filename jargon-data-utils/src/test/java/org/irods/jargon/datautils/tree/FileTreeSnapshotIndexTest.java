@@ -0,0 +1,70 @@
+package org.irods.jargon.datautils.tree;
+
+import java.io.File;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.datautils.tree.FileTreeSnapshotIndex.SnapshotEntry;
+import org.junit.Test;
+
+public class FileTreeSnapshotIndexTest {
+
+	@Test
+	public void testPersistAndLoad() throws Exception {
+		File snapshotFile = File.createTempFile("snapshot", ".idx");
+		snapshotFile.delete();
+		try {
+			FileTreeSnapshotIndex snapshotIndex = new FileTreeSnapshotIndex();
+			snapshotIndex.put("/a/file1", new SnapshotEntry(100L, 1000L,
+					2000L, "abc"));
+			snapshotIndex.put("/a/name with\ttab", new SnapshotEntry(5L, 1L,
+					2L, "def"));
+			snapshotIndex.persistToFile(snapshotFile);
+
+			FileTreeSnapshotIndex loaded = FileTreeSnapshotIndex
+					.loadFromFile(snapshotFile);
+			Assert.assertEquals(2, loaded.size());
+			SnapshotEntry entry = loaded.get("/a/file1");
+			Assert.assertEquals("abc", entry.getChecksum());
+			Assert.assertTrue(entry.isUnchanged(100L, 1000L, 2000L));
+			Assert.assertFalse(entry.isUnchanged(100L, 1001L, 2000L));
+			Assert.assertEquals("def", loaded.get("/a/name with\ttab")
+					.getChecksum());
+		} finally {
+			snapshotFile.delete();
+		}
+	}
+
+	@Test
+	public void testPersistReplacesFileAndLeavesNoTempFile() throws Exception {
+		File dir = File.createTempFile("snapshot", "dir");
+		dir.delete();
+		dir.mkdirs();
+		File snapshotFile = new File(dir, "snapshot.idx");
+		try {
+			FileTreeSnapshotIndex snapshotIndex = new FileTreeSnapshotIndex();
+			snapshotIndex.put("/a/file1", new SnapshotEntry(100L, 1000L,
+					2000L, "abc"));
+			snapshotIndex.persistToFile(snapshotFile);
+			snapshotIndex.put("/a/file2", new SnapshotEntry(5L, 1L, 2L,
+					"def"));
+			snapshotIndex.persistToFile(snapshotFile);
+
+			Assert.assertEquals("should only be the index in the dir", 1,
+					dir.listFiles().length);
+			Assert.assertEquals(2, FileTreeSnapshotIndex.loadFromFile(
+					snapshotFile).size());
+		} finally {
+			snapshotFile.delete();
+			dir.delete();
+		}
+	}
+
+	@Test
+	public void testLoadMissingFile() throws Exception {
+		FileTreeSnapshotIndex loaded = FileTreeSnapshotIndex
+				.loadFromFile(new File("no-such-snapshot-file.idx"));
+		Assert.assertEquals(0, loaded.size());
+	}
+
+}
@@ -0,0 +1,157 @@
+package org.irods.jargon.datautils.tree;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
+import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry;
+import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry.ObjectType;
+import org.irods.jargon.datautils.tree.FileTreeDiffEntry.DiffType;
+import org.irods.jargon.datautils.tree.FileTreeSnapshotIndex.SnapshotEntry;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class ParallelFileTreeDiffUtilityImplTest {
+
+	private static final long IRODS_MODIFIED = 1400000000000L;
+
+	private static File createLocalFile(final File parent, final String name,
+			final int length) throws Exception {
+		File file = new File(parent, name);
+		FileOutputStream out = new FileOutputStream(file);
+		try {
+			out.write(new byte[length]);
+		} finally {
+			out.close();
+		}
+		return file;
+	}
+
+	private static CollectionAndDataObjectListingEntry buildEntry(
+			final ObjectType objectType, final String parentPath,
+			final String pathOrName, final long dataSize) {
+		CollectionAndDataObjectListingEntry entry = new CollectionAndDataObjectListingEntry();
+		entry.setObjectType(objectType);
+		entry.setParentPath(parentPath);
+		entry.setPathOrName(pathOrName);
+		entry.setDataSize(dataSize);
+		entry.setModifiedAt(new Date(IRODS_MODIFIED));
+		return entry;
+	}
+
+	private static File createTempDir() throws Exception {
+		File dir = File.createTempFile("paralleldiff", "");
+		dir.delete();
+		dir.mkdirs();
+		return dir;
+	}
+
+	private static void collectDiffs(final FileTreeNode node,
+			final Map<String, DiffType> diffs) {
+		FileTreeDiffEntry entry = (FileTreeDiffEntry) node.getUserObject();
+		if (entry.isCountAsDiff()) {
+			CollectionAndDataObjectListingEntry listingEntry = entry
+					.getCollectionAndDataObjectListingEntry();
+			diffs.put(ParallelFileTreeDiffUtilityImpl
+					.lastPathComponent(listingEntry.getPathOrName()), entry
+					.getDiffType());
+		}
+		@SuppressWarnings("unchecked")
+		Enumeration<FileTreeNode> children = node.children();
+		while (children.hasMoreElements()) {
+			collectDiffs(children.nextElement(), diffs);
+		}
+	}
+
+	@Test
+	public void testDiffWithSnapshot() throws Exception {
+		File localRoot = createTempDir();
+		File snapshotFile = new File(localRoot.getParentFile(),
+				localRoot.getName() + ".idx");
+		try {
+			File subdir = new File(localRoot, "sub");
+			subdir.mkdirs();
+			File same = createLocalFile(subdir, "same.txt", 10);
+			createLocalFile(subdir, "longer.txt", 20);
+			createLocalFile(localRoot, "localonly.txt", 5);
+			new File(localRoot, "localdir").mkdirs();
+
+			SubtreeIndex subtreeIndex = new SubtreeIndex("/zone/home/root");
+			subtreeIndex.addEntry(buildEntry(ObjectType.COLLECTION,
+					"/zone/home/root", "/zone/home/root/sub", 0L));
+			subtreeIndex.addEntry(buildEntry(ObjectType.COLLECTION,
+					"/zone/home/root", "/zone/home/root/irodsdir", 0L));
+			subtreeIndex.addEntry(buildEntry(ObjectType.DATA_OBJECT,
+					"/zone/home/root/sub", "same.txt", 10L));
+			subtreeIndex.addEntry(buildEntry(ObjectType.DATA_OBJECT,
+					"/zone/home/root/sub", "longer.txt", 15L));
+			subtreeIndex.addEntry(buildEntry(ObjectType.DATA_OBJECT,
+					"/zone/home/root", "irodsonly.txt", 15L));
+
+			FileTreeSnapshotIndex snapshotIndex = new FileTreeSnapshotIndex();
+			snapshotIndex.put("/sub/same.txt", new SnapshotEntry(10L,
+					same.lastModified(), IRODS_MODIFIED, "abc"));
+			snapshotIndex.persistToFile(snapshotFile);
+
+			SubtreeListingService subtreeListingService = Mockito
+					.mock(SubtreeListingService.class);
+			Mockito.when(
+					subtreeListingService.buildSubtreeIndex("/zone/home/root"))
+					.thenReturn(subtreeIndex);
+
+			IRODSAccount irodsAccount = IRODSAccount.instance("host", 1247,
+					"user", "pwd", "/zone/home/user", "zone", "");
+			ParallelFileTreeDiffUtilityImpl target = new ParallelFileTreeDiffUtilityImpl(
+					irodsAccount,
+					Mockito.mock(IRODSAccessObjectFactory.class), null, 2,
+					snapshotFile);
+			target.setSubtreeListingService(subtreeListingService);
+
+			FileTreeModel diffModel = target.generateDiffLocalToIRODS(
+					localRoot, "/zone/home/root", 0, 0);
+			Map<String, DiffType> diffs = new HashMap<String, DiffType>();
+			collectDiffs((FileTreeNode) diffModel.getRoot(), diffs);
+
+			Assert.assertEquals(5, diffs.size());
+			Assert.assertEquals(DiffType.FILE_OUT_OF_SYNCH,
+					diffs.get("longer.txt"));
+			Assert.assertEquals(DiffType.LEFT_HAND_PLUS,
+					diffs.get("localonly.txt"));
+			Assert.assertEquals(DiffType.LEFT_HAND_PLUS, diffs.get("localdir"));
+			Assert.assertEquals(DiffType.RIGHT_HAND_PLUS,
+					diffs.get("irodsonly.txt"));
+			Assert.assertEquals(DiffType.RIGHT_HAND_PLUS,
+					diffs.get("irodsdir"));
+			Assert.assertEquals("unchanged file should not be checksummed",
+					1, target.getChecksumsSkipped());
+			Assert.assertEquals(0, target.getChecksumsComputed());
+			Assert.assertEquals(1,
+					FileTreeSnapshotIndex.loadFromFile(snapshotFile).size());
+		} finally {
+			snapshotFile.delete();
+			for (File file : new File(localRoot, "sub").listFiles()) {
+				file.delete();
+			}
+			new File(localRoot, "sub").delete();
+			new File(localRoot, "localdir").delete();
+			new File(localRoot, "localonly.txt").delete();
+			localRoot.delete();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testZeroParallelism() throws Exception {
+		IRODSAccount irodsAccount = IRODSAccount.instance("host", 1247, "user",
+				"pwd", "/zone/home/user", "zone", "");
+		new ParallelFileTreeDiffUtilityImpl(irodsAccount,
+				Mockito.mock(IRODSAccessObjectFactory.class), null, 0, null);
+	}
+
+}
@@ -0,0 +1,61 @@
+package org.irods.jargon.datautils.tree;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry;
+import org.junit.Test;
+
+public class SubtreeIndexTest {
+
+	private static CollectionAndDataObjectListingEntry buildEntry(
+			final CollectionAndDataObjectListingEntry.ObjectType objectType,
+			final String parentPath, final String pathOrName,
+			final long dataSize) {
+		CollectionAndDataObjectListingEntry entry = new CollectionAndDataObjectListingEntry();
+		entry.setObjectType(objectType);
+		entry.setParentPath(parentPath);
+		entry.setPathOrName(pathOrName);
+		entry.setDataSize(dataSize);
+		return entry;
+	}
+
+	@Test
+	public void testAddEntriesAndListChildren() throws Exception {
+		SubtreeIndex subtreeIndex = new SubtreeIndex("/root");
+		subtreeIndex.addEntry(buildEntry(
+				CollectionAndDataObjectListingEntry.ObjectType.COLLECTION,
+				"/root", "/root/c1", 0L));
+		subtreeIndex.addEntry(buildEntry(
+				CollectionAndDataObjectListingEntry.ObjectType.COLLECTION,
+				"/root/c1", "/root/c1/c2", 0L));
+		subtreeIndex.addEntry(buildEntry(
+				CollectionAndDataObjectListingEntry.ObjectType.DATA_OBJECT,
+				"/root", "f1", 100L));
+		subtreeIndex.addEntry(buildEntry(
+				CollectionAndDataObjectListingEntry.ObjectType.DATA_OBJECT,
+				"/root/c1", "f2", 50L));
+
+		Assert.assertEquals(2, subtreeIndex.getCollectionCount());
+		Assert.assertEquals(2, subtreeIndex.getDataObjectCount());
+		Assert.assertEquals(150L, subtreeIndex.getTotalDataSize());
+		Assert.assertEquals(2, subtreeIndex.listChildren("/root").size());
+		Assert.assertEquals("collections should be listed first", "/root/c1",
+				subtreeIndex.listChildren("/root").get(0).getPathOrName());
+		Assert.assertEquals(1, subtreeIndex.getChildCollections("/root/c1")
+				.size());
+		Assert.assertTrue(subtreeIndex.listChildren("/root/c1/c2").isEmpty());
+	}
+
+	@Test
+	public void testNormalizeRootPath() throws Exception {
+		Assert.assertEquals("/a/b",
+				SubtreeListingServiceImpl.normalizeRootPath("/a/b/"));
+		Assert.assertEquals("/", SubtreeListingServiceImpl.normalizeRootPath("/"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNullRootPath() throws Exception {
+		new SubtreeIndex(null);
+	}
+
+}
@@ -148,4 +148,18 @@ public class TreeSummarizingServiceImplTest {
 		Assert.assertTrue("did not compute an average", avgLength > 0);
 
 	}
+
+	@Test
+	public void testBuildDescendantLikePattern() throws Exception {
+		Assert.assertEquals("/zone/home/a_b_c_d/%",
+				TreeSummarizingServiceImpl
+						.buildDescendantLikePattern("/zone/home/a_b%c\\d"));
+		Assert.assertTrue(TreeSummarizingServiceImpl
+				.hasLikeSpecialCharacters("/zone/home/a_b"));
+		Assert.assertEquals("/zone/home/abc/%", TreeSummarizingServiceImpl
+				.buildDescendantLikePattern("/zone/home/abc"));
+		Assert.assertFalse(TreeSummarizingServiceImpl
+				.hasLikeSpecialCharacters("/zone/home/abc"));
+	}
+
 }
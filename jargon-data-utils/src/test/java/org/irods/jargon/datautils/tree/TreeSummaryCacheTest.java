@@ -0,0 +1,63 @@
+package org.irods.jargon.datautils.tree;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.junit.Test;
+
+public class TreeSummaryCacheTest {
+
+	private static IRODSAccount buildAccount() throws Exception {
+		return IRODSAccount.instance("host", 1247, "user", "pwd",
+				"/zone1/home/user", "zone1", "");
+	}
+
+	@Test
+	public void testPutAndGet() throws Exception {
+		TreeSummaryCache cache = new TreeSummaryCache(
+				TreeSummaryCache.DEFAULT_TIME_TO_LIVE_MILLIS);
+		String key = TreeSummaryCache.computeKey(buildAccount(),
+				"/zone1/home/user/a");
+		Assert.assertNull(cache.get(key));
+		TreeSummary treeSummary = new TreeSummary();
+		treeSummary.addAggregate(3, 300, 10, 200);
+		cache.put(key, "/zone1/home/user/a", treeSummary);
+		Assert.assertSame(treeSummary, cache.get(key));
+		Assert.assertEquals(1, cache.getHitCount());
+		Assert.assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	public void testInvalidateParentsAndChildren() throws Exception {
+		IRODSAccount irodsAccount = buildAccount();
+		TreeSummaryCache cache = new TreeSummaryCache(
+				TreeSummaryCache.DEFAULT_TIME_TO_LIVE_MILLIS);
+		String[] paths = { "/zone1/home/user", "/zone1/home/user/a",
+				"/zone1/home/user/a/b", "/zone1/home/user/ab" };
+		for (String path : paths) {
+			cache.put(TreeSummaryCache.computeKey(irodsAccount, path), path,
+					new TreeSummary());
+		}
+
+		cache.invalidatePath("/zone1/home/user/a/");
+
+		Assert.assertNull(cache.get(TreeSummaryCache.computeKey(irodsAccount,
+				"/zone1/home/user")));
+		Assert.assertNull(cache.get(TreeSummaryCache.computeKey(irodsAccount,
+				"/zone1/home/user/a")));
+		Assert.assertNull(cache.get(TreeSummaryCache.computeKey(irodsAccount,
+				"/zone1/home/user/a/b")));
+		Assert.assertNotNull("sibling should be kept",
+				cache.get(TreeSummaryCache.computeKey(irodsAccount,
+						"/zone1/home/user/ab")));
+	}
+
+	@Test
+	public void testZeroTimeToLiveDoesNotCache() throws Exception {
+		TreeSummaryCache cache = new TreeSummaryCache(0);
+		String key = TreeSummaryCache.computeKey(buildAccount(), "/zone1");
+		cache.put(key, "/zone1", new TreeSummary());
+		Assert.assertNull(cache.get(key));
+	}
+
+}
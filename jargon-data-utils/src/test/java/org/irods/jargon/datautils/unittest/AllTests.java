@@ -3,7 +3,9 @@ package org.irods.jargon.datautils.unittest;
 import org.irods.jargon.datautils.connection.ConnectionCreatingPoolableObjectFactoryTest;
 import org.irods.jargon.datautils.connection.TempPasswordCachingProtocolManagerTest;
 import org.irods.jargon.datautils.connectiontester.ConnectionTesterImplTest;
+import org.irods.jargon.datautils.datacache.DataCachePurgerTest;
 import org.irods.jargon.datautils.datacache.DataCacheServiceImplTest;
+import org.irods.jargon.datautils.datacache.LocalDataCacheTierTest;
 import org.irods.jargon.datautils.filearchive.LocalFileGzipCompressorTest;
 import org.irods.jargon.datautils.filearchive.LocalTarFileArchiverTest;
 import org.irods.jargon.datautils.image.ImageServiceFactoryImplTest;
@@ -19,7 +21,11 @@ import org.irods.jargon.datautils.tree.FileTreeDiffEntryTest;
 import org.irods.jargon.datautils.tree.FileTreeDiffUtilityTest;
 import org.irods.jargon.datautils.tree.FileTreeIteratorVisitorInvokerTest;
 import org.irods.jargon.datautils.tree.FileTreeNodeTest;
+import org.irods.jargon.datautils.tree.FileTreeSnapshotIndexTest;
+import org.irods.jargon.datautils.tree.ParallelFileTreeDiffUtilityImplTest;
+import org.irods.jargon.datautils.tree.SubtreeIndexTest;
 import org.irods.jargon.datautils.tree.TreeSummarizingServiceImplTest;
+import org.irods.jargon.datautils.tree.TreeSummaryCacheTest;
 import org.irods.jargon.datautils.uploads.UploadsServiceImplTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -37,7 +43,10 @@ import org.junit.runners.Suite;
 		DiffTreePostProcessorTest.class,
 		FileTreeIteratorVisitorInvokerTest.class,
 		TreeSummarizingServiceImplTest.class, LocalTarFileArchiverTest.class,
-		LocalFileGzipCompressorTest.class, ConnectionTesterImplTest.class })
+		LocalFileGzipCompressorTest.class, ConnectionTesterImplTest.class,
+		SubtreeIndexTest.class, FileTreeSnapshotIndexTest.class,
+		ParallelFileTreeDiffUtilityImplTest.class, TreeSummaryCacheTest.class,
+		DataCachePurgerTest.class, LocalDataCacheTierTest.class })
 public class AllTests {
 
 }
@@ -0,0 +1,186 @@
+package org.irods.jargon.httpstream;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An inclusive range of bytes of an HTTP resource, as sent in a
+ * {@code Range} header, that is fetched and written to the same offset in the
+ * iRODS file
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+class HttpByteRange {
+
+	private final long start;
+	private final long end;
+
+	/**
+	 * @param start
+	 *            {@code long} with the offset of the first byte
+	 * @param end
+	 *            {@code long} with the offset of the last byte
+	 */
+	HttpByteRange(final long start, final long end) {
+		if (start < 0) {
+			throw new IllegalArgumentException("start < 0");
+		}
+
+		if (end < start) {
+			throw new IllegalArgumentException("end < start");
+		}
+
+		this.start = start;
+		this.end = end;
+	}
+
+	/**
+	 * Split content into at most {@code maxRanges} ranges of nearly equal
+	 * size, none of them smaller than {@code minimumRangeSize} unless the
+	 * content itself is
+	 *
+	 * @param contentLength
+	 *            {@code long} with the length of the content
+	 * @param maxRanges
+	 *            {@code int} with the most ranges
+	 * @param minimumRangeSize
+	 *            {@code long} with the least bytes in a range
+	 * @return {@code List} of {@link HttpByteRange} in offset order
+	 */
+	static List<HttpByteRange> computeRanges(final long contentLength,
+			final int maxRanges, final long minimumRangeSize) {
+
+		if (contentLength <= 0) {
+			throw new IllegalArgumentException("contentLength must be > 0");
+		}
+
+		if (maxRanges < 1) {
+			throw new IllegalArgumentException("maxRanges < 1");
+		}
+
+		long rangeCount = Math.min(maxRanges,
+				Math.max(1L, contentLength / Math.max(1L, minimumRangeSize)));
+		long rangeSize = contentLength / rangeCount;
+		long remainder = contentLength % rangeCount;
+
+		List<HttpByteRange> ranges = new ArrayList<HttpByteRange>();
+		long start = 0L;
+		for (int i = 0; i < rangeCount; i++) {
+			long length = rangeSize + (i < remainder ? 1 : 0);
+			ranges.add(new HttpByteRange(start, start + length - 1));
+			start += length;
+		}
+		return ranges;
+	}
+
+	/**
+	 * @return {@code String} with the value of a {@code Range} header for
+	 *         this range
+	 */
+	String toRangeHeaderValue() {
+		return "bytes=" + start + "-" + end;
+	}
+
+	/**
+	 * Check the {@code Content-Range} header of a response to this range, of
+	 * the form {@code bytes start-end/length}, so that a server that sends a
+	 * different range, or content of a different length, is caught
+	 *
+	 * @param contentRange
+	 *            {@code String} with the value of the header, may be
+	 *            {@code null}
+	 * @param contentLength
+	 *            {@code long} with the length of the content when the ranges
+	 *            were computed
+	 * @return {@code boolean} that is {@code true} if the header names exactly
+	 *         this range of content of that length
+	 */
+	boolean matchesContentRange(final String contentRange,
+			final long contentLength) {
+
+		if (contentRange == null) {
+			return false;
+		}
+
+		String value = contentRange.trim();
+		if (!value.toLowerCase().startsWith("bytes ")) {
+			return false;
+		}
+
+		value = value.substring("bytes ".length()).trim();
+		int dash = value.indexOf('-');
+		int slash = value.indexOf('/');
+		if (dash < 1 || slash < dash) {
+			return false;
+		}
+
+		try {
+			long rangeStart = Long.parseLong(value.substring(0, dash).trim());
+			long rangeEnd = Long.parseLong(value.substring(dash + 1, slash)
+					.trim());
+			long length = Long.parseLong(value.substring(slash + 1).trim());
+			return rangeStart == start && rangeEnd == end
+					&& length == contentLength;
+		} catch (NumberFormatException nfe) {
+			return false;
+		}
+	}
+
+	/**
+	 * Choose the validator sent in the {@code If-Range} header of each range,
+	 * so that a server whose content changed during the transfer sends the
+	 * whole content instead of a range of the new version. Only a strong
+	 * {@code ETag} may be used, otherwise the {@code Last-Modified} date.
+	 *
+	 * @param eTag
+	 *            {@code String} with the {@code ETag} of the content, may be
+	 *            {@code null}
+	 * @param lastModified
+	 *            {@code String} with the {@code Last-Modified} date of the
+	 *            content, may be {@code null}
+	 * @return {@code String} with the validator, or {@code null} if there is
+	 *         none that may be used
+	 */
+	static String selectRangeValidator(final String eTag,
+			final String lastModified) {
+
+		if (eTag != null && !eTag.trim().isEmpty()
+				&& !eTag.trim().startsWith("W/")) {
+			return eTag.trim();
+		}
+
+		if (lastModified != null && !lastModified.trim().isEmpty()) {
+			return lastModified.trim();
+		}
+
+		return null;
+	}
+
+	/**
+	 * @return {@code long} with the offset of the first byte
+	 */
+	long getStart() {
+		return start;
+	}
+
+	/**
+	 * @return {@code long} with the offset of the last byte
+	 */
+	long getEnd() {
+		return end;
+	}
+
+	/**
+	 * @return {@code long} with the number of bytes in the range
+	 */
+	long getLength() {
+		return end - start + 1;
+	}
+
+	@Override
+	public String toString() {
+		return toRangeHeaderValue();
+	}
+
+}
@@ -43,4 +43,47 @@ public interface HttpStreamingService {
 			final TransferControlBlock transferControlBlock)
 			throws JargonException, HttpStreamingException;
 
+	/**
+	 * Accomplish a transfer by fetching ranges of the URL concurrently, each
+	 * written at its offset in the iRODS file over its own connection. This is
+	 * done when the server advertises {@code Accept-Ranges: bytes} and a
+	 * content length of at least two ranges, along with a strong {@code ETag}
+	 * or a {@code Last-Modified} date. Otherwise the URL is streamed as a
+	 * single request, as in {@code streamHttpUrlContentsToIRODSFile()}.
+	 * <p>
+	 * Each range is asked for with an {@code If-Range} header holding that
+	 * validator, and fails unless the server answers with exactly that range
+	 * in its {@code Content-Range}, so that ranges of two versions of changed
+	 * content are never stitched together. If the transfer is cancelled or
+	 * fails, the partly written iRODS file is deleted.
+	 * <p>
+	 * Progress of all of the ranges is reported together to the status
+	 * callback listener. If the transfer options ask for a checksum, it is
+	 * computed in iRODS after all ranges are written, and, if verification is
+	 * asked for and the server sends a {@code Content-MD5}, compared to it.
+	 * 
+	 * @param sourceURL
+	 *            {@code String} with the HTTP url to obtain a stream from
+	 * @param irodsTargetFile
+	 *            {@link IRODSFile} that will be the target of the transfer
+	 * @param transferStatusCallbackListener
+	 *            {@link TransferStatusCallbackListener} that can receive status
+	 *            callbacks for transfer progress
+	 * @param transferControlBlock
+	 *            {@link TransferControlBlock} that can control aspects of the
+	 *            running transfer
+	 * @return {@code String} with the iRODS absolute path to the file that
+	 *         holds the result of the operation
+	 * @throws JargonException
+	 *             for errors occurring within iRODS during the operation
+	 * @throws HttpStreamingException
+	 *             for errors occuring in the HTTP protocol operation
+	 */
+	public abstract String streamHttpUrlContentsToIRODSFileInRanges(
+			final String sourceURL,
+			final IRODSFile irodsTargetFile,
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock)
+			throws JargonException, HttpStreamingException;
+
 }
\ No newline at end of file
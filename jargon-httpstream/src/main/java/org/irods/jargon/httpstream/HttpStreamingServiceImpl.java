@@ -4,22 +4,44 @@ import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.StatusLine;
 import org.apache.http.client.ClientProtocolException;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpHead;
 import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.tsccm.ThreadSafeClientConnManager;
+import org.apache.http.protocol.HTTP;
+import org.irods.jargon.core.checksum.ChecksumValue;
 import org.irods.jargon.core.connection.ConnectionProgressStatusListener;
 import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.exception.ChecksumInvalidException;
 import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.DataObjInp.OpenFlags;
+import org.irods.jargon.core.packinstr.TransferOptions;
+import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
 import org.irods.jargon.core.pub.DefaultIntraFileProgressCallbackListener;
 import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
 import org.irods.jargon.core.pub.Stream2StreamAO;
 import org.irods.jargon.core.pub.io.ByteCountingCallbackInputStreamWrapper;
+import org.irods.jargon.core.pub.io.FileIOOperations.SeekWhenceType;
 import org.irods.jargon.core.pub.io.IRODSFile;
+import org.irods.jargon.core.pub.io.IRODSRandomAccessFile;
 import org.irods.jargon.core.transfer.TransferControlBlock;
 import org.irods.jargon.core.transfer.TransferStatus;
 import org.irods.jargon.core.transfer.TransferStatus.TransferState;
@@ -39,8 +61,21 @@ public class HttpStreamingServiceImpl implements HttpStreamingService {
 
 	public static final Logger log = LoggerFactory
 			.getLogger(HttpStreamingServiceImpl.class);
+
+	/**
+	 * Default number of ranges fetched at once in a ranged transfer
+	 */
+	public static final int DEFAULT_RANGE_COUNT = 4;
+
+	/**
+	 * Default least bytes in a range, 16 MB
+	 */
+	public static final long DEFAULT_MINIMUM_RANGE_SIZE = 16L * 1024L * 1024L;
+
 	private IRODSAccessObjectFactory irodsAccessObjectFactory;
 	private IRODSAccount irodsAccount;
+	private int rangeCount = DEFAULT_RANGE_COUNT;
+	private long minimumRangeSize = DEFAULT_MINIMUM_RANGE_SIZE;
 
 	/**
 	 * Default constructor takes the objects necessary to communicate with iRODS
@@ -169,28 +204,8 @@ public class HttpStreamingServiceImpl implements HttpStreamingService {
 		 * appropriate call-back so that it depicts the resulting file
 		 */
 
-		StringBuilder targetIrodsPathBuilder = new StringBuilder();
-
-		/*
-		 * Reset the iRODS file, as the directory may have been created prior to
-		 * the put operation. The reset clears the cache of the exists(),
-		 * isFile(), and other basic file stat info
-		 */
-		irodsTargetFile.reset();
-		if (irodsTargetFile.exists() && irodsTargetFile.isDirectory()) {
-			log.info("target is a directory, source is an url");
-			targetIrodsPathBuilder.append(irodsTargetFile.getAbsolutePath());
-			targetIrodsPathBuilder.append("/");
-			int slashIndex = sourceURL.lastIndexOf('/');
-			String urlFileName = sourceURL.substring(slashIndex + 1);
-			targetIrodsPathBuilder.append(urlFileName);
-		} else if (irodsTargetFile.getParentFile().exists()
-				&& irodsTargetFile.getParentFile().isDirectory()) {
-			log.info("treating target as a file, using the whole path");
-			targetIrodsPathBuilder.append(irodsTargetFile.getAbsolutePath());
-		}
-
-		String callbackTargetIrodsPath = targetIrodsPathBuilder.toString();
+		String callbackTargetIrodsPath = computeTargetIrodsPath(sourceURL,
+				irodsTargetFile);
 		log.info("computed callbackTargetIrodsPath:{}", callbackTargetIrodsPath);
 
 		// send 0th file status callback that indicates startup
@@ -337,6 +352,594 @@ public class HttpStreamingServiceImpl implements HttpStreamingService {
 
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.httpstream.HttpStreamingService#
+	 * streamHttpUrlContentsToIRODSFileInRanges(java.lang.String,
+	 * org.irods.jargon.core.pub.io.IRODSFile,
+	 * org.irods.jargon.core.transfer.TransferStatusCallbackListener,
+	 * org.irods.jargon.core.transfer.TransferControlBlock)
+	 */
+	@Override
+	public String streamHttpUrlContentsToIRODSFileInRanges(
+			final String sourceURL,
+			final IRODSFile irodsTargetFile,
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock)
+			throws JargonException, HttpStreamingException {
+
+		log.info("streamHttpUrlContentsToIRODSFileInRanges()");
+
+		if (sourceURL == null || sourceURL.isEmpty()) {
+			throw new IllegalArgumentException("null sourceURL");
+		}
+
+		if (irodsTargetFile == null) {
+			throw new IllegalArgumentException("irodsTargetFile is null");
+		}
+
+		log.info("sourceURL:{}", sourceURL);
+		log.info("irodsTargetFile:{}", irodsTargetFile);
+
+		/*
+		 * One pooled client serves the probe and all of the ranges, with a
+		 * connection per range
+		 */
+		ThreadSafeClientConnManager connectionManager = new ThreadSafeClientConnManager();
+		connectionManager.setMaxTotal(rangeCount);
+		connectionManager.setDefaultMaxPerRoute(rangeCount);
+		HttpClient httpclient = new DefaultHttpClient(connectionManager);
+
+		try {
+			HttpResponse headResponse;
+			try {
+				headResponse = httpclient.execute(new HttpHead(sourceURL));
+			} catch (Exception e) {
+				log.error("exception ocurred probing URL for ranges", e);
+				throw new HttpStreamingException(e);
+			}
+
+			StatusLine statusLine = headResponse.getStatusLine();
+			log.info("status from http HEAD operation:{}", statusLine);
+			if (statusLine.getStatusCode() == 404) {
+				throw new HttpStreamingException("404 not found for URL");
+			}
+
+			long urlSize = -1L;
+			Header contentLengthHeader = headResponse
+					.getFirstHeader(HTTP.CONTENT_LEN);
+			if (contentLengthHeader != null) {
+				try {
+					urlSize = Long.parseLong(contentLengthHeader.getValue()
+							.trim());
+				} catch (NumberFormatException nfe) {
+					log.warn("invalid content length:{}",
+							contentLengthHeader.getValue());
+				}
+			}
+
+			Header acceptRangesHeader = headResponse
+					.getFirstHeader("Accept-Ranges");
+			boolean rangesAccepted = acceptRangesHeader != null
+					&& acceptRangesHeader.getValue().toLowerCase()
+							.contains("bytes");
+
+			/*
+			 * Without a validator for If-Range, ranges of two versions of the
+			 * content could be stitched together if it changes during the
+			 * transfer
+			 */
+			Header eTagHeader = headResponse.getFirstHeader("ETag");
+			Header lastModifiedHeader = headResponse
+					.getFirstHeader("Last-Modified");
+			String rangeValidator = HttpByteRange.selectRangeValidator(
+					eTagHeader == null ? null : eTagHeader.getValue(),
+					lastModifiedHeader == null ? null : lastModifiedHeader
+							.getValue());
+
+			if (statusLine.getStatusCode() != 200 || !rangesAccepted
+					|| rangeValidator == null
+					|| urlSize < 2 * minimumRangeSize || rangeCount < 2) {
+				log.info(
+						"ranges not accepted or content too small, ranges accepted:{}",
+						rangesAccepted);
+				log.info("range validator:{}", rangeValidator);
+				log.info("streaming as a single request, size:{}", urlSize);
+				return streamHttpUrlContentsToIRODSFile(sourceURL,
+						irodsTargetFile, transferStatusCallbackListener,
+						transferControlBlock);
+			}
+
+			Header contentMD5Header = headResponse.getFirstHeader("Content-MD5");
+			return streamRangesToIRODSFile(httpclient, sourceURL, urlSize,
+					rangeValidator, contentMD5Header == null ? null
+							: contentMD5Header.getValue().trim(),
+					irodsTargetFile,
+					transferStatusCallbackListener, transferControlBlock);
+
+		} finally {
+			httpclient.getConnectionManager().shutdown();
+		}
+	}
+
+	/**
+	 * Fetch the ranges of the content concurrently, each written at its
+	 * offset in the iRODS file through a random access file on a separate
+	 * iRODS connection. An object left partly written by a cancellation or a
+	 * failure is deleted.
+	 */
+	private String streamRangesToIRODSFile(
+			final HttpClient httpclient,
+			final String sourceURL,
+			final long urlSize,
+			final String rangeValidator,
+			final String contentMD5,
+			final IRODSFile irodsTargetFile,
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock)
+			throws JargonException, HttpStreamingException {
+
+		TransferControlBlock operativeTransferControlBlock = transferControlBlock;
+		if (operativeTransferControlBlock == null) {
+			operativeTransferControlBlock = irodsAccessObjectFactory
+					.buildDefaultTransferControlBlockBasedOnJargonProperties();
+		}
+		final TransferControlBlock rangeTransferControlBlock = operativeTransferControlBlock;
+
+		operativeTransferControlBlock.setTotalFilesToTransfer(1);
+		operativeTransferControlBlock.setTotalBytesToTransfer(urlSize);
+
+		final String callbackTargetIrodsPath = computeTargetIrodsPath(
+				sourceURL, irodsTargetFile);
+		log.info("computed callbackTargetIrodsPath:{}", callbackTargetIrodsPath);
+
+		List<HttpByteRange> ranges = HttpByteRange.computeRanges(urlSize,
+				rangeCount, minimumRangeSize);
+		log.info("streaming in {} ranges", ranges.size());
+
+		if (transferStatusCallbackListener != null) {
+			transferStatusCallbackListener.overallStatusCallback(buildStatus(
+					sourceURL, callbackTargetIrodsPath, "",
+					operativeTransferControlBlock.getTotalBytesToTransfer(),
+					operativeTransferControlBlock
+							.getTotalBytesTransferredSoFar(),
+					operativeTransferControlBlock,
+					TransferState.OVERALL_INITIATION));
+		}
+
+		IRODSFile callbackTargetIrodsFile = irodsAccessObjectFactory
+				.getIRODSFileFactory(irodsAccount).instanceIRODSFile(
+						callbackTargetIrodsPath);
+		callbackTargetIrodsFile.setResource(irodsTargetFile.getResource());
+
+		log.info("callbackTargetIrodsFile:{}", callbackTargetIrodsFile);
+
+		if (transferStatusCallbackListener != null) {
+			transferStatusCallbackListener.statusCallback(buildStatus(
+					sourceURL, callbackTargetIrodsFile.getAbsolutePath(),
+					irodsTargetFile.getResource(), urlSize, urlSize,
+					operativeTransferControlBlock,
+					TransferState.IN_PROGRESS_START_FILE));
+		}
+
+		ConnectionProgressStatusListener progressListener = null;
+		if (transferStatusCallbackListener != null) {
+			log.info("setting up a callback listener for within stream progress, shared by all ranges");
+			progressListener = DefaultIntraFileProgressCallbackListener
+					.instance(TransferType.PUT, urlSize,
+							operativeTransferControlBlock,
+							transferStatusCallbackListener);
+		}
+
+		ExecutorService executorService = Executors.newFixedThreadPool(
+				ranges.size(), new ThreadFactory() {
+					@Override
+					public Thread newThread(final Runnable runnable) {
+						Thread thread = new Thread(runnable, "http-range-ingest");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+
+		boolean targetCreated = false;
+		boolean complete = false;
+
+		try {
+			/*
+			 * The object is created, replacing any earlier one, before the
+			 * ranges are written into it
+			 */
+			callbackTargetIrodsFile.reset();
+			if (callbackTargetIrodsFile.exists()) {
+				log.info("deleting existing target before ranged write");
+				callbackTargetIrodsFile.delete();
+				callbackTargetIrodsFile.reset();
+			}
+			callbackTargetIrodsFile
+					.createNewFileCheckNoResourceFound(OpenFlags.READ_WRITE);
+			targetCreated = true;
+			callbackTargetIrodsFile.close();
+
+			/*
+			 * A failed range stops the others, which are waited for so that
+			 * no range is still writing when a partial object is deleted
+			 */
+			AtomicBoolean stopped = new AtomicBoolean(false);
+			List<Future<Long>> futures = new ArrayList<Future<Long>>();
+			for (HttpByteRange range : ranges) {
+				futures.add(executorService.submit(buildRangeTask(httpclient,
+						sourceURL, callbackTargetIrodsPath, range, urlSize,
+						rangeValidator, stopped, progressListener,
+						rangeTransferControlBlock)));
+			}
+
+			long bytesWritten = 0L;
+			Throwable rangeFailure = null;
+			for (Future<Long> future : futures) {
+				try {
+					bytesWritten += future.get();
+				} catch (ExecutionException e) {
+					stopped.set(true);
+					if (rangeFailure == null) {
+						rangeFailure = e.getCause();
+					} else {
+						log.error("further range failure, logged and ignored",
+								e.getCause());
+					}
+				}
+			}
+
+			if (rangeFailure != null) {
+				throw rangeFailure instanceof Exception ? (Exception) rangeFailure
+						: new JargonException(rangeFailure);
+			}
+
+			if (rangeTransferControlBlock.isCancelled()) {
+				log.info("ranged transfer cancelled");
+				if (transferStatusCallbackListener != null) {
+					transferStatusCallbackListener.statusCallback(buildStatus(
+							sourceURL,
+							callbackTargetIrodsFile.getAbsolutePath(),
+							irodsTargetFile.getResource(), urlSize,
+							bytesWritten, operativeTransferControlBlock,
+							TransferState.CANCELLED));
+				}
+				// the partly written object is deleted in the finally block
+				return callbackTargetIrodsFile.getAbsolutePath();
+			}
+
+			callbackTargetIrodsFile.reset();
+			if (bytesWritten != urlSize
+					|| callbackTargetIrodsFile.length() != urlSize) {
+				log.error("size mismatch after ranged transfer:{}",
+						callbackTargetIrodsFile.length());
+				throw new JargonException(
+						"size of iRODS file does not match the URL after ranged transfer");
+			}
+
+			checksumAfterRangedTransfer(callbackTargetIrodsFile, contentMD5,
+					operativeTransferControlBlock);
+			complete = true;
+
+			operativeTransferControlBlock.incrementFilesTransferredSoFar();
+
+			if (transferStatusCallbackListener != null) {
+				transferStatusCallbackListener.statusCallback(buildStatus(
+						sourceURL, callbackTargetIrodsFile.getAbsolutePath(),
+						irodsTargetFile.getResource(), urlSize, urlSize,
+						operativeTransferControlBlock,
+						TransferState.IN_PROGRESS_COMPLETE_FILE));
+				transferStatusCallbackListener
+						.overallStatusCallback(buildStatus(sourceURL,
+								callbackTargetIrodsPath, "",
+								operativeTransferControlBlock
+										.getTotalBytesToTransfer(),
+								operativeTransferControlBlock
+										.getTotalBytesTransferredSoFar(),
+								operativeTransferControlBlock,
+								TransferState.OVERALL_COMPLETION));
+			}
+
+		} catch (Exception je) {
+			log.error("exception in ranged transfer", je);
+
+			operativeTransferControlBlock.reportErrorInTransfer();
+
+			if (transferStatusCallbackListener != null) {
+				log.error("exception will be passed back to existing callback listener");
+				callbackTargetIrodsFile.reset();
+				TransferStatus status = TransferStatus.instanceForException(
+						TransferType.PUT, sourceURL, callbackTargetIrodsFile
+								.getAbsolutePath(), callbackTargetIrodsFile
+								.getResource(), urlSize,
+						callbackTargetIrodsFile.length(),
+						operativeTransferControlBlock
+								.getTotalFilesTransferredSoFar(),
+						operativeTransferControlBlock
+								.getTotalFilesSkippedSoFar(),
+						operativeTransferControlBlock
+								.getTotalFilesToTransfer(), je, irodsAccount
+								.getHost(), irodsAccount.getZone());
+
+				transferStatusCallbackListener.statusCallback(status);
+
+			} else {
+				log.error("exception will be re-thrown, as there is no status callback listener");
+				throw new JargonException(
+						"exception thrown in transfer process, no callback listener supplied",
+						je);
+			}
+		} finally {
+			executorService.shutdownNow();
+			if (targetCreated && !complete) {
+				deletePartialTarget(callbackTargetIrodsFile);
+			}
+		}
+
+		log.info("contents streamed in ranges to:{}",
+				callbackTargetIrodsFile.getAbsolutePath());
+		return callbackTargetIrodsFile.getAbsolutePath();
+	}
+
+	/**
+	 * Delete the target of a ranged transfer that was cancelled or failed, so
+	 * that a partly written object is not taken for the content
+	 */
+	private void deletePartialTarget(final IRODSFile callbackTargetIrodsFile) {
+		log.warn("deleting partly written target of ranged transfer:{}",
+				callbackTargetIrodsFile.getAbsolutePath());
+		try {
+			callbackTargetIrodsFile.reset();
+			if (!callbackTargetIrodsFile.deleteWithForceOption()) {
+				log.error("partly written target could not be deleted:{}",
+						callbackTargetIrodsFile.getAbsolutePath());
+			}
+		} catch (Exception e) {
+			log.error(
+					"exception deleting partly written target, logged and ignored",
+					e);
+		}
+	}
+
+	/**
+	 * Build the work to fetch one range and write it at its offset. The range
+	 * is written on the iRODS connection of the worker thread, which is
+	 * closed when the range is done. The range is only accepted from the
+	 * version of the content named by the validator, and only if the server
+	 * sends exactly the range that was asked for.
+	 */
+	private Callable<Long> buildRangeTask(final HttpClient httpclient,
+			final String sourceURL, final String irodsAbsolutePath,
+			final HttpByteRange range, final long urlSize,
+			final String rangeValidator, final AtomicBoolean stopped,
+			final ConnectionProgressStatusListener progressListener,
+			final TransferControlBlock transferControlBlock) {
+
+		return new Callable<Long>() {
+			@Override
+			public Long call() throws Exception {
+				log.info("fetching range:{}", range);
+				HttpGet httpget = new HttpGet(sourceURL);
+				httpget.addHeader("Range", range.toRangeHeaderValue());
+				httpget.addHeader("If-Range", rangeValidator);
+
+				InputStream instream = null;
+				IRODSRandomAccessFile irodsRandomAccessFile = null;
+				try {
+					HttpResponse response = httpclient.execute(httpget);
+					StatusLine statusLine = response.getStatusLine();
+					if (statusLine.getStatusCode() != 206
+							|| response.getEntity() == null) {
+						log.error("invalid status for range:{}", statusLine);
+						httpget.abort();
+						throw new HttpStreamingException(
+								"invalid status from HTTP range operation, content may have changed:"
+										+ statusLine.getStatusCode());
+					}
+
+					Header contentRangeHeader = response
+							.getFirstHeader("Content-Range");
+					String contentRange = contentRangeHeader == null ? null
+							: contentRangeHeader.getValue();
+					if (!range.matchesContentRange(contentRange, urlSize)) {
+						log.error("Content-Range does not match range:{}",
+								contentRange);
+						httpget.abort();
+						throw new HttpStreamingException(
+								"Content-Range of HTTP range operation does not match the range requested:"
+										+ contentRange);
+					}
+
+					instream = response.getEntity().getContent();
+					if (progressListener != null) {
+						instream = new ByteCountingCallbackInputStreamWrapper(
+								progressListener, instream);
+					}
+
+					irodsRandomAccessFile = irodsAccessObjectFactory
+							.getIRODSFileFactory(irodsAccount)
+							.instanceIRODSRandomAccessFile(irodsAbsolutePath,
+									OpenFlags.WRITE);
+					irodsRandomAccessFile.seek(range.getStart(),
+							SeekWhenceType.SEEK_START);
+
+					byte[] buffer = new byte[irodsAccessObjectFactory
+							.getJargonProperties()
+							.getInputToOutputCopyBufferByteSize()];
+					long remaining = range.getLength();
+					int read;
+					while (remaining > 0
+							&& !transferControlBlock.isCancelled()
+							&& !stopped.get()
+							&& (read = instream.read(buffer, 0, (int) Math.min(
+									buffer.length, remaining))) != -1) {
+						irodsRandomAccessFile.write(buffer, 0, read);
+						remaining -= read;
+					}
+
+					if (remaining > 0 && !transferControlBlock.isCancelled()
+							&& !stopped.get()) {
+						throw new HttpStreamingException(
+								"premature end of content for range:" + range);
+					}
+
+					return range.getLength() - remaining;
+
+				} finally {
+					if (instream != null) {
+						try {
+							instream.close();
+						} catch (IOException e) {
+							log.error("IOException in close of HTTP input stream, logged and igonored");
+						}
+					}
+					if (irodsRandomAccessFile != null) {
+						try {
+							irodsRandomAccessFile.close();
+						} catch (IOException e) {
+							log.error("IOException in close of iRODS file, logged and ignored");
+						}
+					}
+					irodsAccessObjectFactory
+							.closeSessionAndEatExceptions(irodsAccount);
+				}
+			}
+		};
+	}
+
+	/**
+	 * A digest of the whole content cannot be kept across ranges, so a
+	 * requested checksum is computed by iRODS on the written object, and
+	 * verified against the {@code Content-MD5} of the server, when it sends
+	 * one.
+	 */
+	private void checksumAfterRangedTransfer(final IRODSFile irodsFile,
+			final String contentMD5,
+			final TransferControlBlock transferControlBlock)
+			throws JargonException {
+
+		TransferOptions transferOptions = transferControlBlock
+				.getTransferOptions();
+		if (transferOptions == null
+				|| !(transferOptions.isComputeChecksumAfterTransfer() || transferOptions
+						.isComputeAndVerifyChecksumAfterTransfer())) {
+			return;
+		}
+
+		ChecksumValue checksumValue = irodsAccessObjectFactory
+				.getDataObjectChecksumUtilitiesAO(irodsAccount)
+				.computeChecksumOnDataObject(irodsFile);
+		log.info("checksum after ranged transfer:{}", checksumValue);
+
+		if (!transferOptions.isComputeAndVerifyChecksumAfterTransfer()) {
+			return;
+		}
+
+		if (contentMD5 == null || contentMD5.isEmpty()) {
+			log.warn("no Content-MD5 from server, only the size of the ranged transfer was verified");
+			return;
+		}
+
+		if (checksumValue.getChecksumEncoding() != ChecksumEncodingEnum.MD5) {
+			log.warn("iRODS checksum is not MD5, cannot verify against Content-MD5");
+			return;
+		}
+
+		String expected = new String(Hex.encodeHex(Base64.decodeBase64(contentMD5
+				.getBytes())));
+		if (!expected.equalsIgnoreCase(checksumValue.getChecksumStringValue())) {
+			log.error("checksum mismatch, Content-MD5:{}", expected);
+			log.error("irods checksum:{}", checksumValue);
+			throw new ChecksumInvalidException(
+					"checksum mismatch between URL and iRODS");
+		}
+	}
+
+	private TransferStatus buildStatus(final String sourceURL,
+			final String targetPath, final String resource,
+			final long totalSize, final long bytesTransferred,
+			final TransferControlBlock transferControlBlock,
+			final TransferState transferState) throws JargonException {
+		return TransferStatus.instance(TransferType.PUT, sourceURL, targetPath,
+				resource, totalSize, bytesTransferred,
+				transferControlBlock.getTotalFilesTransferredSoFar(),
+				transferControlBlock.getTotalFilesSkippedSoFar(),
+				transferControlBlock.getTotalFilesToTransfer(), transferState,
+				irodsAccount.getHost(), irodsAccount.getZone());
+	}
+
+	/**
+	 * Source URL is a file, target is either a collection, or specifies the
+	 * file. If the target exists, or the target parent exists, format the
+	 * path of the resulting file
+	 */
+	private String computeTargetIrodsPath(final String sourceURL,
+			final IRODSFile irodsTargetFile) {
+
+		StringBuilder targetIrodsPathBuilder = new StringBuilder();
+
+		/*
+		 * Reset the iRODS file, as the directory may have been created prior to
+		 * the put operation. The reset clears the cache of the exists(),
+		 * isFile(), and other basic file stat info
+		 */
+		irodsTargetFile.reset();
+		if (irodsTargetFile.exists() && irodsTargetFile.isDirectory()) {
+			log.info("target is a directory, source is an url");
+			targetIrodsPathBuilder.append(irodsTargetFile.getAbsolutePath());
+			targetIrodsPathBuilder.append("/");
+			int slashIndex = sourceURL.lastIndexOf('/');
+			String urlFileName = sourceURL.substring(slashIndex + 1);
+			targetIrodsPathBuilder.append(urlFileName);
+		} else if (irodsTargetFile.getParentFile().exists()
+				&& irodsTargetFile.getParentFile().isDirectory()) {
+			log.info("treating target as a file, using the whole path");
+			targetIrodsPathBuilder.append(irodsTargetFile.getAbsolutePath());
+		}
+
+		return targetIrodsPathBuilder.toString();
+	}
+
+	/**
+	 * @return {@code int} with the most ranges fetched at once in a ranged
+	 *         transfer
+	 */
+	public int getRangeCount() {
+		return rangeCount;
+	}
+
+	/**
+	 * @param rangeCount
+	 *            {@code int} with the most ranges fetched at once in a ranged
+	 *            transfer, each on its own HTTP and iRODS connection
+	 */
+	public void setRangeCount(final int rangeCount) {
+		if (rangeCount < 1) {
+			throw new IllegalArgumentException("rangeCount < 1");
+		}
+		this.rangeCount = rangeCount;
+	}
+
+	/**
+	 * @return {@code long} with the least bytes in a range
+	 */
+	public long getMinimumRangeSize() {
+		return minimumRangeSize;
+	}
+
+	/**
+	 * @param minimumRangeSize
+	 *            {@code long} with the least bytes in a range. Content smaller
+	 *            than two ranges is streamed as a single request.
+	 */
+	public void setMinimumRangeSize(final long minimumRangeSize) {
+		if (minimumRangeSize < 1) {
+			throw new IllegalArgumentException("minimumRangeSize < 1");
+		}
+		this.minimumRangeSize = minimumRangeSize;
+	}
+
 	/**
 	 * @return the irodsAccessObjectFactory
 	 */
@@ -0,0 +1,71 @@
+package org.irods.jargon.httpstream;
+
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+public class HttpByteRangeTest {
+
+	@Test
+	public void testComputeRangesCoversContent() throws Exception {
+		List<HttpByteRange> ranges = HttpByteRange.computeRanges(1003L, 4, 10L);
+		Assert.assertEquals(4, ranges.size());
+		Assert.assertEquals(0L, ranges.get(0).getStart());
+		Assert.assertEquals(1002L, ranges.get(3).getEnd());
+		long total = 0L;
+		for (int i = 0; i < ranges.size(); i++) {
+			if (i > 0) {
+				Assert.assertEquals(ranges.get(i - 1).getEnd() + 1, ranges
+						.get(i).getStart());
+			}
+			total += ranges.get(i).getLength();
+		}
+		Assert.assertEquals(1003L, total);
+		Assert.assertEquals("bytes=0-250", ranges.get(0).toRangeHeaderValue());
+	}
+
+	@Test
+	public void testComputeRangesHonorsMinimumSize() throws Exception {
+		List<HttpByteRange> ranges = HttpByteRange.computeRanges(100L, 8, 40L);
+		Assert.assertEquals(2, ranges.size());
+		ranges = HttpByteRange.computeRanges(10L, 8, 40L);
+		Assert.assertEquals(1, ranges.size());
+		Assert.assertEquals(9L, ranges.get(0).getEnd());
+	}
+
+	@Test
+	public void testMatchesContentRange() throws Exception {
+		HttpByteRange range = new HttpByteRange(100L, 199L);
+		Assert.assertTrue(range.matchesContentRange("bytes 100-199/1000",
+				1000L));
+		Assert.assertFalse("other range",
+				range.matchesContentRange("bytes 0-99/1000", 1000L));
+		Assert.assertFalse("content length changed",
+				range.matchesContentRange("bytes 100-199/1200", 1000L));
+		Assert.assertFalse("unknown length",
+				range.matchesContentRange("bytes 100-199/*", 1000L));
+		Assert.assertFalse(range.matchesContentRange(null, 1000L));
+		Assert.assertFalse(range.matchesContentRange("bytes */1000", 1000L));
+	}
+
+	@Test
+	public void testSelectRangeValidator() throws Exception {
+		Assert.assertEquals("\"abc\"", HttpByteRange.selectRangeValidator(
+				"\"abc\"", "Tue, 15 Nov 1994 12:45:26 GMT"));
+		Assert.assertEquals("weak ETag may not be used",
+				"Tue, 15 Nov 1994 12:45:26 GMT",
+				HttpByteRange.selectRangeValidator("W/\"abc\"",
+						"Tue, 15 Nov 1994 12:45:26 GMT"));
+		Assert.assertNull(HttpByteRange.selectRangeValidator("W/\"abc\"",
+				null));
+		Assert.assertNull(HttpByteRange.selectRangeValidator(null, null));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testComputeRangesZeroLength() throws Exception {
+		HttpByteRange.computeRanges(0L, 4, 10L);
+	}
+
+}
@@ -7,6 +7,7 @@ import org.irods.jargon.core.connection.AbstractIRODSMidLevelProtocol;
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSProtocolManager;
 import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.connection.IRODSSimpleProtocolManager;
 import org.irods.jargon.core.connection.PipelineConfiguration;
 import org.irods.jargon.core.exception.AuthenticationException;
 import org.irods.jargon.core.exception.JargonException;
@@ -14,6 +15,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Protocol manager that lends connections from a {@link JargonConnectionCache}
+ * and returns them to it, rather than opening and closing a connection for
+ * each session. Set this as the protocol manager of an {@link IRODSSession}
+ * (see {@link #instance(JargonKeyedPoolConfig)}) and ordinary access object
+ * calls will use pooled connections.
+ *
  * @author mconway
  *
  */
@@ -32,6 +39,73 @@ public class CachedIrodsProtocolManager extends IRODSProtocolManager {
 	public CachedIrodsProtocolManager() {
 	}
 
+	/**
+	 * Create a protocol manager with a {@link JargonConnectionCache} that opens
+	 * connections with an {@link IRODSSimpleProtocolManager}. The pool takes
+	 * the {@link IRODSSession} that uses this protocol manager on the first
+	 * connection, or it may be set earlier (e.g. to pre-warm accounts) with
+	 * {@link #setIrodsSession(IRODSSession)}, as in:
+	 * 
+	 * <pre>
+	 * CachedIrodsProtocolManager manager = CachedIrodsProtocolManager.instance(config);
+	 * IRODSSession irodsSession = IRODSSession.instance(manager);
+	 * manager.setIrodsSession(irodsSession);
+	 * manager.preWarm(irodsAccount);
+	 * </pre>
+	 *
+	 * @param jargonKeyedPoolConfig
+	 *            {@link JargonKeyedPoolConfig} for the pool
+	 * @return {@link CachedIrodsProtocolManager}
+	 */
+	public static CachedIrodsProtocolManager instance(final JargonKeyedPoolConfig jargonKeyedPoolConfig) {
+		if (jargonKeyedPoolConfig == null) {
+			throw new IllegalArgumentException("null jargonKeyedPoolConfig");
+		}
+
+		JargonPooledObjectFactory jargonPooledObjectFactory = new JargonPooledObjectFactory();
+		jargonPooledObjectFactory.setIrodsSimpleProtocolManager(new IRODSSimpleProtocolManager());
+		CachedIrodsProtocolManager cachedIrodsProtocolManager = new CachedIrodsProtocolManager();
+		cachedIrodsProtocolManager
+				.setJargonConnectionCache(new JargonConnectionCache(jargonPooledObjectFactory, jargonKeyedPoolConfig));
+		return cachedIrodsProtocolManager;
+	}
+
+	/**
+	 * Set the {@link IRODSSession} used to open pooled connections, if the pool
+	 * was built with a {@link JargonPooledObjectFactory}
+	 *
+	 * @param irodsSession
+	 *            {@link IRODSSession} that uses this protocol manager
+	 */
+	public void setIrodsSession(final IRODSSession irodsSession) {
+		if (irodsSession == null) {
+			throw new IllegalArgumentException("null irodsSession");
+		}
+
+		if (jargonConnectionCache.getFactory() instanceof JargonPooledObjectFactory) {
+			((JargonPooledObjectFactory) jargonConnectionCache.getFactory()).setIrodsSession(irodsSession);
+		}
+	}
+
+	/**
+	 * Open the configured minimum number of idle connections for the given
+	 * account, see {@link JargonConnectionCache#preWarm(IRODSAccount)}
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} to pre-warm
+	 * @throws JargonException
+	 */
+	public void preWarm(final IRODSAccount irodsAccount) throws JargonException {
+		try {
+			jargonConnectionCache.preWarm(irodsAccount);
+		} catch (JargonException e) {
+			throw e;
+		} catch (Exception e) {
+			log.error("error pre-warming pool", e);
+			throw new JargonException(e);
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -61,6 +135,15 @@ public class CachedIrodsProtocolManager extends IRODSProtocolManager {
 
 		log.info("for irodsAccount:{}", irodsAccount);
 
+		if (jargonConnectionCache.getFactory() instanceof JargonPooledObjectFactory) {
+			JargonPooledObjectFactory jargonPooledObjectFactory = (JargonPooledObjectFactory) jargonConnectionCache
+					.getFactory();
+			if (jargonPooledObjectFactory.getIrodsSession() == null) {
+				log.info("pool has no session, using the session of the first request");
+				jargonPooledObjectFactory.setIrodsSession(irodsSession);
+			}
+		}
+
 		try {
 			return this.jargonConnectionCache.borrowObject(irodsAccount);
 		} catch (Exception e) {
@@ -3,6 +3,8 @@
  */
 package org.irods.jargon.pool.conncache;
 
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.apache.commons.pool2.KeyedPooledObjectFactory;
 import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
 import org.irods.jargon.core.connection.AbstractIRODSMidLevelProtocol;
@@ -11,22 +13,89 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Connection cache keeps a pool of managed iRODS connections
+ * Connection cache keeps a pool of managed iRODS connections, keyed by
+ * {@link IRODSAccount}. The pool is configured by a
+ * {@link JargonKeyedPoolConfig}. An account may be pre-warmed so that
+ * {@code minIdlePerKey} connections are opened ahead of use and kept open by
+ * the background evictor. The time each borrow waited is recorded per account
+ * in a {@link PoolWaitTimeHistogram}.
  * 
  * @author mconway
  *
  */
 public class JargonConnectionCache extends GenericKeyedObjectPool<IRODSAccount, AbstractIRODSMidLevelProtocol> {
 
-	public static final Logger log = LoggerFactory.getLogger(JargonPooledObjectFactory.class);
+	public static final Logger log = LoggerFactory.getLogger(JargonConnectionCache.class);
+
+	private final ConcurrentHashMap<IRODSAccount, PoolWaitTimeHistogram> waitTimeHistograms = new ConcurrentHashMap<IRODSAccount, PoolWaitTimeHistogram>();
 
 	public JargonConnectionCache(KeyedPooledObjectFactory<IRODSAccount, AbstractIRODSMidLevelProtocol> factory,
 			JargonKeyedPoolConfig config) {
-		super(factory);
-		this.setMaxIdlePerKey(config.getMaxIdlePerKey());
-		this.setMinEvictableIdleTimeMillis(30000);
-		this.setTimeBetweenEvictionRunsMillis(45000);
-		this.setTestOnBorrow(true);
+		super(factory, config);
+		if (factory instanceof JargonPooledObjectFactory) {
+			((JargonPooledObjectFactory) factory).setMaxLifetimeMillis(config.getMaxLifetimeMillis());
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.apache.commons.pool2.impl.GenericKeyedObjectPool#borrowObject(java.
+	 * lang.Object, long)
+	 */
+	@Override
+	public AbstractIRODSMidLevelProtocol borrowObject(IRODSAccount key, long borrowMaxWaitMillis) throws Exception {
+		long start = System.currentTimeMillis();
+		try {
+			return super.borrowObject(key, borrowMaxWaitMillis);
+		} finally {
+			retrieveWaitTimeHistogram(key).recordWait(System.currentTimeMillis() - start);
+		}
+	}
+
+	/**
+	 * Open connections for the given account up to the configured
+	 * {@code minIdlePerKey}, and register the account so the evictor keeps
+	 * that number of idle connections available
+	 * 
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} to pre-warm
+	 * @throws Exception
+	 */
+	public void preWarm(IRODSAccount irodsAccount) throws Exception {
+		log.info("preWarm()");
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		log.info("for irodsAccount:{}", irodsAccount);
+		preparePool(irodsAccount);
+		log.info("idle connections after pre-warm:{}", getNumIdle(irodsAccount));
+	}
+
+	/**
+	 * Get the histogram of borrow wait times for the given account
+	 * 
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} that is the key in the pool
+	 * @return {@link PoolWaitTimeHistogram}, which will be empty if nothing was
+	 *         borrowed for the account
+	 */
+	public PoolWaitTimeHistogram getWaitTimeHistogram(IRODSAccount irodsAccount) {
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+		return retrieveWaitTimeHistogram(irodsAccount);
+	}
+
+	private PoolWaitTimeHistogram retrieveWaitTimeHistogram(IRODSAccount irodsAccount) {
+		PoolWaitTimeHistogram histogram = waitTimeHistograms.get(irodsAccount);
+		if (histogram == null) {
+			waitTimeHistograms.putIfAbsent(irodsAccount, new PoolWaitTimeHistogram());
+			histogram = waitTimeHistograms.get(irodsAccount);
+		}
+		return histogram;
 	}
 
 	/*
@@ -37,7 +106,7 @@ public class JargonConnectionCache extends GenericKeyedObjectPool<IRODSAccount,
 	@Override
 	public void close() {
 		log.info("close()");
-		this.clear();
+		super.close();
 	}
 
 }
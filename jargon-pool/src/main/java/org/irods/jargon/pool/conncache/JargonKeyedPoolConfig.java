@@ -6,17 +6,33 @@ package org.irods.jargon.pool.conncache;
 import org.apache.commons.pool2.impl.GenericKeyedObjectPoolConfig;
 
 /**
+ * Configuration of the {@link JargonConnectionCache}. The defaults borrow
+ * fairly under contention, validate connections on borrow and return (a cheap
+ * check of the socket and of the connection age, not a round trip to iRODS),
+ * and run a background evictor that also tests idle connections and keeps
+ * {@code minIdlePerKey} connections open for each account that has been
+ * pre-warmed.
+ *
  * @author mconway
  *
  */
 public class JargonKeyedPoolConfig extends GenericKeyedObjectPoolConfig {
 
 	public static final int TIME_30_SECONDS = 30 * 1000;
-	public static final int TIME_60_SECONDS = 30 * 1000;
+	public static final int TIME_45_SECONDS = 45 * 1000;
+	public static final int TIME_60_SECONDS = 60 * 1000;
 	public static final int MAX_IDLE = 3;
 
 	private int maxIdlePerKey = MAX_IDLE;
 
+	/**
+	 * Maximum age of a pooled connection in milliseconds, after which it is
+	 * closed rather than lent out again. {@code 0} takes the
+	 * {@code socketRenewalIntervalInSeconds} from the jargon properties of the
+	 * session, and a negative value means no limit.
+	 */
+	private long maxLifetimeMillis = 0L;
+
 	@Override
 	public int getMaxIdlePerKey() {
 		return maxIdlePerKey;
@@ -27,12 +43,33 @@ public class JargonKeyedPoolConfig extends GenericKeyedObjectPoolConfig {
 		this.maxIdlePerKey = maxIdlePerKey;
 	}
 
+	/**
+	 * @return the maxLifetimeMillis, {@code 0} to use the socket renewal
+	 *         interval of the session, or negative for no limit
+	 */
+	public long getMaxLifetimeMillis() {
+		return maxLifetimeMillis;
+	}
+
+	/**
+	 * @param maxLifetimeMillis
+	 *            {@code long} with the maximum age of a pooled connection,
+	 *            {@code 0} to use the socket renewal interval of the session,
+	 *            or negative for no limit
+	 */
+	public void setMaxLifetimeMillis(long maxLifetimeMillis) {
+		this.maxLifetimeMillis = maxLifetimeMillis;
+	}
+
 	public JargonKeyedPoolConfig() {
 		super();
 		setMinEvictableIdleTimeMillis(TIME_60_SECONDS);
 		setSoftMinEvictableIdleTimeMillis(TIME_30_SECONDS);
+		setTimeBetweenEvictionRunsMillis(TIME_45_SECONDS);
 		setTestOnReturn(true);
 		setTestOnBorrow(true);
+		setTestWhileIdle(true);
+		setFairness(true);
 	}
 
 	@Override
@@ -93,17 +130,17 @@ public class JargonKeyedPoolConfig extends GenericKeyedObjectPoolConfig {
 
 	@Override
 	public boolean getTestOnBorrow() {
-		return false;
+		return super.getTestOnBorrow();
 	}
 
 	@Override
 	public boolean getTestOnCreate() {
-		return false;
+		return super.getTestOnCreate();
 	}
 
 	@Override
 	public boolean getTestOnReturn() {
-		return false;
+		return super.getTestOnReturn();
 	}
 
 	@Override
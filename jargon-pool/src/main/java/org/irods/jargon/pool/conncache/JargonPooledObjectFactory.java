@@ -11,11 +11,27 @@ import org.irods.jargon.core.connection.IRODSSimpleProtocolManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Factory for the connections held in the {@link JargonConnectionCache}.
+ * Connections are created by the injected protocol manager, and validated
+ * without a round trip to iRODS by checking the socket is still open and the
+ * connection has not outlived its maximum lifetime.
+ *
+ * @author mconway
+ *
+ */
 public class JargonPooledObjectFactory
 		extends BaseKeyedPooledObjectFactory<IRODSAccount, AbstractIRODSMidLevelProtocol> {
 
 	public static final Logger log = LoggerFactory.getLogger(JargonPooledObjectFactory.class);
 
+	/**
+	 * Maximum age of a connection in milliseconds, {@code 0} to use the socket
+	 * renewal interval from the jargon properties of the session, negative for
+	 * no limit
+	 */
+	private long maxLifetimeMillis = 0L;
+
 	/**
 	 * Expected injected dependency {@link IRODSSimpleProtocolManager} that will
 	 * be the source of the actual live connection.
@@ -25,7 +41,7 @@ public class JargonPooledObjectFactory
 	/**
 	 * Expected injected dependency {@link IRODSSession}
 	 */
-	private IRODSSession irodsSession;
+	private volatile IRODSSession irodsSession;
 
 	public IRODSSession getIrodsSession() {
 		return irodsSession;
@@ -50,12 +66,33 @@ public class JargonPooledObjectFactory
 		this.irodsSimpleProtocolManager = irodsSimpleProtocolManager;
 	}
 
+	/**
+	 * @return the maxLifetimeMillis
+	 */
+	public long getMaxLifetimeMillis() {
+		return maxLifetimeMillis;
+	}
+
+	/**
+	 * @param maxLifetimeMillis
+	 *            {@code long} with the maximum age of a connection,
+	 *            {@code 0} to use the socket renewal interval of the session,
+	 *            or negative for no limit
+	 */
+	public void setMaxLifetimeMillis(final long maxLifetimeMillis) {
+		this.maxLifetimeMillis = maxLifetimeMillis;
+	}
+
 	@Override
 	public AbstractIRODSMidLevelProtocol create(final IRODSAccount irodsAccount) throws Exception {
 		log.info("create()");
 		if (irodsAccount == null) {
 			throw new IllegalArgumentException("null irodsAccount");
 		}
+
+		if (irodsSession == null) {
+			throw new IllegalStateException("no irodsSession set in factory");
+		}
 		return irodsSimpleProtocolManager.getIRODSProtocol(irodsAccount,
 				irodsSession.buildPipelineConfigurationBasedOnJargonProperties(), irodsSession);
 	}
@@ -76,7 +113,39 @@ public class JargonPooledObjectFactory
 	@Override
 	public boolean validateObject(IRODSAccount key, PooledObject<AbstractIRODSMidLevelProtocol> p) {
 
-		return p.getObject().isConnected();
+		AbstractIRODSMidLevelProtocol irodsMidLevelProtocol = p.getObject();
+		if (!irodsMidLevelProtocol.isConnected()) {
+			log.info("pooled connection no longer connected");
+			return false;
+		}
+
+		long lifetime = computeMaxLifetimeMillis();
+		if (lifetime > 0
+				&& System.currentTimeMillis() - irodsMidLevelProtocol.getConnectTimeInMillis() > lifetime) {
+			log.info("pooled connection past max lifetime, will be rotated");
+			return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Resolve the max lifetime of a connection, taking the socket renewal
+	 * interval of the session if no lifetime was configured
+	 *
+	 * @return {@code long} with the lifetime in milliseconds, or
+	 *         {@code <= 0} for no limit
+	 */
+	long computeMaxLifetimeMillis() {
+		if (maxLifetimeMillis != 0) {
+			return maxLifetimeMillis;
+		}
+
+		if (irodsSession == null) {
+			return 0;
+		}
+
+		return irodsSession.getJargonProperties().getSocketRenewalIntervalInSeconds() * 1000L;
 	}
 
 }
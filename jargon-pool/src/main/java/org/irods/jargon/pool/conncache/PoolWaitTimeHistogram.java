@@ -0,0 +1,122 @@
+/**
+ *
+ */
+package org.irods.jargon.pool.conncache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of the time callers waited to borrow a connection from the
+ * {@link JargonConnectionCache} for one key. Counts are kept in fixed buckets
+ * by the upper bound of the wait in milliseconds, with a final bucket for
+ * longer waits. Recording is lock free, so this may be updated by all
+ * borrowing threads.
+ *
+ * @author mconway
+ *
+ */
+public class PoolWaitTimeHistogram {
+
+	/**
+	 * Upper bounds (inclusive, in milliseconds) of each bucket except the last,
+	 * which counts all longer waits
+	 */
+	private static final long[] BUCKET_UPPER_BOUNDS_MILLIS = { 1, 5, 10, 50, 100, 500, 1000, 5000 };
+
+	private final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKET_UPPER_BOUNDS_MILLIS.length + 1);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong totalWaitMillis = new AtomicLong();
+	private final AtomicLong maxWaitMillis = new AtomicLong();
+
+	/**
+	 * Record the time of one borrow
+	 *
+	 * @param waitMillis
+	 *            {@code long} with the time in milliseconds the borrow took
+	 */
+	public void recordWait(final long waitMillis) {
+		int bucket = BUCKET_UPPER_BOUNDS_MILLIS.length;
+		for (int i = 0; i < BUCKET_UPPER_BOUNDS_MILLIS.length; i++) {
+			if (waitMillis <= BUCKET_UPPER_BOUNDS_MILLIS[i]) {
+				bucket = i;
+				break;
+			}
+		}
+
+		bucketCounts.incrementAndGet(bucket);
+		count.incrementAndGet();
+		totalWaitMillis.addAndGet(waitMillis);
+
+		long currentMax = maxWaitMillis.get();
+		while (waitMillis > currentMax && !maxWaitMillis.compareAndSet(currentMax, waitMillis)) {
+			currentMax = maxWaitMillis.get();
+		}
+	}
+
+	/**
+	 * @return {@code long[]} with the upper bound in milliseconds of each
+	 *         bucket, the count for waits above the last bound is the final
+	 *         entry in {@link #getBucketCounts()}
+	 */
+	public long[] getBucketUpperBoundsMillis() {
+		return BUCKET_UPPER_BOUNDS_MILLIS.clone();
+	}
+
+	/**
+	 * @return {@code long[]} with the number of borrows in each bucket
+	 */
+	public long[] getBucketCounts() {
+		long[] counts = new long[bucketCounts.length()];
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = bucketCounts.get(i);
+		}
+		return counts;
+	}
+
+	/**
+	 * @return {@code long} with the number of borrows recorded
+	 */
+	public long getCount() {
+		return count.get();
+	}
+
+	/**
+	 * @return {@code long} with the longest wait recorded, in milliseconds
+	 */
+	public long getMaxWaitMillis() {
+		return maxWaitMillis.get();
+	}
+
+	/**
+	 * @return {@code double} with the mean wait, in milliseconds
+	 */
+	public double getMeanWaitMillis() {
+		long currentCount = count.get();
+		if (currentCount == 0) {
+			return 0D;
+		}
+		return (double) totalWaitMillis.get() / currentCount;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("PoolWaitTimeHistogram [count=").append(getCount());
+		sb.append(", meanWaitMillis=").append(getMeanWaitMillis());
+		sb.append(", maxWaitMillis=").append(getMaxWaitMillis());
+		sb.append(", buckets=");
+		long[] counts = getBucketCounts();
+		for (int i = 0; i < counts.length; i++) {
+			if (i < BUCKET_UPPER_BOUNDS_MILLIS.length) {
+				sb.append("<=").append(BUCKET_UPPER_BOUNDS_MILLIS[i]);
+			} else {
+				sb.append(">").append(BUCKET_UPPER_BOUNDS_MILLIS[BUCKET_UPPER_BOUNDS_MILLIS.length - 1]);
+			}
+			sb.append(":").append(counts[i]).append(" ");
+		}
+		sb.append("]");
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,46 @@
+package org.irods.jargon.pool.conncache;
+
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.irods.jargon.core.connection.AbstractIRODSMidLevelProtocol;
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import junit.framework.Assert;
+
+public class JargonPooledObjectFactoryTest {
+
+	@Test
+	public void testValidateConnected() throws Exception {
+		JargonPooledObjectFactory factory = new JargonPooledObjectFactory();
+		factory.setMaxLifetimeMillis(60000L);
+		AbstractIRODSMidLevelProtocol protocol = Mockito.mock(AbstractIRODSMidLevelProtocol.class);
+		Mockito.when(protocol.isConnected()).thenReturn(true);
+		long connectTime = System.currentTimeMillis();
+		Mockito.when(protocol.getConnectTimeInMillis()).thenReturn(connectTime);
+		Assert.assertTrue(factory.validateObject(Mockito.mock(IRODSAccount.class),
+				new DefaultPooledObject<AbstractIRODSMidLevelProtocol>(protocol)));
+	}
+
+	@Test
+	public void testValidatePastLifetime() throws Exception {
+		JargonPooledObjectFactory factory = new JargonPooledObjectFactory();
+		factory.setMaxLifetimeMillis(1000L);
+		AbstractIRODSMidLevelProtocol protocol = Mockito.mock(AbstractIRODSMidLevelProtocol.class);
+		Mockito.when(protocol.isConnected()).thenReturn(true);
+		long connectTime = System.currentTimeMillis() - 5000L;
+		Mockito.when(protocol.getConnectTimeInMillis()).thenReturn(connectTime);
+		Assert.assertFalse("should rotate old connection", factory.validateObject(
+				Mockito.mock(IRODSAccount.class), new DefaultPooledObject<AbstractIRODSMidLevelProtocol>(protocol)));
+	}
+
+	@Test
+	public void testValidateDisconnected() throws Exception {
+		JargonPooledObjectFactory factory = new JargonPooledObjectFactory();
+		AbstractIRODSMidLevelProtocol protocol = Mockito.mock(AbstractIRODSMidLevelProtocol.class);
+		Mockito.when(protocol.isConnected()).thenReturn(false);
+		Assert.assertFalse(factory.validateObject(Mockito.mock(IRODSAccount.class),
+				new DefaultPooledObject<AbstractIRODSMidLevelProtocol>(protocol)));
+	}
+
+}
@@ -0,0 +1,26 @@
+package org.irods.jargon.pool.conncache;
+
+import org.junit.Test;
+
+import junit.framework.Assert;
+
+public class PoolWaitTimeHistogramTest {
+
+	@Test
+	public void testRecordWait() {
+		PoolWaitTimeHistogram histogram = new PoolWaitTimeHistogram();
+		histogram.recordWait(0);
+		histogram.recordWait(7);
+		histogram.recordWait(20000);
+
+		long[] counts = histogram.getBucketCounts();
+		Assert.assertEquals(histogram.getBucketUpperBoundsMillis().length + 1, counts.length);
+		Assert.assertEquals(1, counts[0]);
+		Assert.assertEquals(1, counts[2]);
+		Assert.assertEquals(1, counts[counts.length - 1]);
+		Assert.assertEquals(3, histogram.getCount());
+		Assert.assertEquals(20000, histogram.getMaxWaitMillis());
+		Assert.assertEquals(20007 / 3.0, histogram.getMeanWaitMillis(), 0.001);
+	}
+
+}
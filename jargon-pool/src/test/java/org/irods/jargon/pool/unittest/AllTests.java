@@ -2,12 +2,15 @@ package org.irods.jargon.pool.unittest;
 
 import org.irods.jargon.pool.conncache.CachedIrodsProtocolManagerTest;
 import org.irods.jargon.pool.conncache.JargonConnectionCacheTest;
+import org.irods.jargon.pool.conncache.JargonPooledObjectFactoryTest;
+import org.irods.jargon.pool.conncache.PoolWaitTimeHistogramTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
-@SuiteClasses({ JargonConnectionCacheTest.class, CachedIrodsProtocolManagerTest.class })
+@SuiteClasses({ JargonConnectionCacheTest.class, CachedIrodsProtocolManagerTest.class, PoolWaitTimeHistogramTest.class,
+		JargonPooledObjectFactoryTest.class })
 public class AllTests {
 
 }
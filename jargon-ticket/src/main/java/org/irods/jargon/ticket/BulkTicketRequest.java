@@ -0,0 +1,125 @@
+package org.irods.jargon.ticket;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A ticket to create or update as part of a bulk ticket operation, along with
+ * the user, group and host restrictions it should carry. Restrictions listed
+ * here are added to the ticket, restrictions already on the ticket are left in
+ * place.
+ * 
+ * @author Mike Conway - DICE (www.irods.org)
+ * 
+ */
+public class BulkTicketRequest {
+
+	private final Ticket ticket;
+	private final List<String> userRestrictions = new ArrayList<String>();
+	private final List<String> groupRestrictions = new ArrayList<String>();
+	private final List<String> hostRestrictions = new ArrayList<String>();
+
+	/**
+	 * Create a request for the given ticket, with no restrictions
+	 * 
+	 * @param ticket
+	 *            {@link Ticket} with the desired values. For a create, the
+	 *            type and absolute path are required, and the ticket string
+	 *            may be left blank to have one generated. For an update, the
+	 *            ticket string is required.
+	 * @return {@link BulkTicketRequest}
+	 */
+	public static BulkTicketRequest instance(final Ticket ticket) {
+		return new BulkTicketRequest(ticket);
+	}
+
+	private BulkTicketRequest(final Ticket ticket) {
+		if (ticket == null) {
+			throw new IllegalArgumentException("null ticket");
+		}
+		this.ticket = ticket;
+	}
+
+	/**
+	 * @param userName
+	 *            {@code String} with a user who may use the ticket
+	 * @return this request, for chaining
+	 */
+	public BulkTicketRequest addUserRestriction(final String userName) {
+		if (userName == null || userName.isEmpty()) {
+			throw new IllegalArgumentException("null or empty userName");
+		}
+		userRestrictions.add(userName);
+		return this;
+	}
+
+	/**
+	 * @param groupName
+	 *            {@code String} with a group whose members may use the ticket
+	 * @return this request, for chaining
+	 */
+	public BulkTicketRequest addGroupRestriction(final String groupName) {
+		if (groupName == null || groupName.isEmpty()) {
+			throw new IllegalArgumentException("null or empty groupName");
+		}
+		groupRestrictions.add(groupName);
+		return this;
+	}
+
+	/**
+	 * @param host
+	 *            {@code String} with a host from which the ticket may be used
+	 * @return this request, for chaining
+	 */
+	public BulkTicketRequest addHostRestriction(final String host) {
+		if (host == null || host.isEmpty()) {
+			throw new IllegalArgumentException("null or empty host");
+		}
+		hostRestrictions.add(host);
+		return this;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("bulkTicketRequest:");
+		sb.append("\n   ticket:");
+		sb.append(ticket);
+		sb.append("\n   userRestrictions:");
+		sb.append(userRestrictions);
+		sb.append("\n   groupRestrictions:");
+		sb.append(groupRestrictions);
+		sb.append("\n   hostRestrictions:");
+		sb.append(hostRestrictions);
+		return sb.toString();
+	}
+
+	/**
+	 * @return the ticket
+	 */
+	public Ticket getTicket() {
+		return ticket;
+	}
+
+	/**
+	 * @return the userRestrictions
+	 */
+	public List<String> getUserRestrictions() {
+		return userRestrictions;
+	}
+
+	/**
+	 * @return the groupRestrictions
+	 */
+	public List<String> getGroupRestrictions() {
+		return groupRestrictions;
+	}
+
+	/**
+	 * @return the hostRestrictions
+	 */
+	public List<String> getHostRestrictions() {
+		return hostRestrictions;
+	}
+
+}
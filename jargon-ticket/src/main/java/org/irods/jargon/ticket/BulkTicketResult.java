@@ -0,0 +1,83 @@
+package org.irods.jargon.ticket;
+
+/**
+ * Outcome for one ticket of a bulk ticket operation. A failure of one ticket
+ * does not stop the others, so each ticket reports whether it succeeded and,
+ * if not, why.
+ * 
+ * @author Mike Conway - DICE (www.irods.org)
+ * 
+ */
+public class BulkTicketResult {
+
+	private final Ticket ticket;
+	private final boolean success;
+	private final String message;
+
+	/**
+	 * @param ticket
+	 *            {@link Ticket} as created or updated, with the ticket string
+	 *            set
+	 * @return {@link BulkTicketResult} for a successful ticket
+	 */
+	public static BulkTicketResult instanceForSuccess(final Ticket ticket) {
+		return new BulkTicketResult(ticket, true, "");
+	}
+
+	/**
+	 * @param ticket
+	 *            {@link Ticket} from the request
+	 * @param message
+	 *            {@code String} describing the failure
+	 * @return {@link BulkTicketResult} for a failed ticket
+	 */
+	public static BulkTicketResult instanceForFailure(final Ticket ticket,
+			final String message) {
+		return new BulkTicketResult(ticket, false, message);
+	}
+
+	private BulkTicketResult(final Ticket ticket, final boolean success,
+			final String message) {
+		if (ticket == null) {
+			throw new IllegalArgumentException("null ticket");
+		}
+		this.ticket = ticket;
+		this.success = success;
+		this.message = message == null ? "" : message;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("bulkTicketResult:");
+		sb.append("\n   ticketString:");
+		sb.append(ticket.getTicketString());
+		sb.append("\n   success:");
+		sb.append(success);
+		sb.append("\n   message:");
+		sb.append(message);
+		return sb.toString();
+	}
+
+	/**
+	 * @return the ticket
+	 */
+	public Ticket getTicket() {
+		return ticket;
+	}
+
+	/**
+	 * @return {@code true} if the ticket was created or updated
+	 */
+	public boolean isSuccess() {
+		return success;
+	}
+
+	/**
+	 * @return the failure message, blank on success
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+}
@@ -493,4 +493,75 @@ public interface TicketAdminService {
 	Ticket createTicketFromTicketObjectAsAdminForGivenUser(Ticket ticket,
 			String userName) throws DuplicateDataException,
 			DataNotFoundException, JargonException;
+
+	/**
+	 * Create many tickets at once, each with its limits and user, group and
+	 * host restrictions. Each path is looked up once, inheritance is set once
+	 * per collection, and large lists are split over several connections.
+	 * <p>
+	 * An error creating one ticket does not stop the others, and is reported
+	 * in the result for that ticket.
+	 * 
+	 * @param bulkTicketRequests
+	 *            {@code List} of {@link BulkTicketRequest}, each with a ticket
+	 *            as for {@code createTicketFromTicketObject()}, and the
+	 *            restrictions to add to it
+	 * @return {@code List} of {@link BulkTicketResult} in the order of the
+	 *         requests
+	 * @throws JargonException
+	 */
+	List<BulkTicketResult> createTicketsFromBulkTicketRequests(
+			List<BulkTicketRequest> bulkTicketRequests) throws JargonException;
+
+	/**
+	 * Update many tickets at once. The current state of the tickets and their
+	 * restrictions is read with a few batched queries, and then only the
+	 * expiration and limits that differ, and the restrictions that are
+	 * missing, are sent for each ticket. Restrictions are only added, never
+	 * removed.
+	 * <p>
+	 * A ticket that is not found, or an error updating one ticket, is reported
+	 * in the result for that ticket.
+	 * 
+	 * @param bulkTicketRequests
+	 *            {@code List} of {@link BulkTicketRequest}, each with a ticket
+	 *            holding the ticket string and the desired expiration and
+	 *            limits
+	 * @return {@code List} of {@link BulkTicketResult} in the order of the
+	 *         requests
+	 * @throws JargonException
+	 */
+	List<BulkTicketResult> updateTicketsFromBulkTicketRequests(
+			List<BulkTicketRequest> bulkTicketRequests) throws JargonException;
+
+	/**
+	 * Iterate over all tickets, reading the next page of results while the
+	 * current one is used, rather than listing one page per call. The path of
+	 * each ticket is not filled in. The iterator must be closed if it is not
+	 * read to the end.
+	 * 
+	 * @return {@link TicketIterator}
+	 * @throws JargonException
+	 */
+	TicketIterator iterateAllTickets() throws JargonException;
+
+	/**
+	 * Iterate over all tickets for collections, with their paths, reading the
+	 * next page of results while the current one is used. The iterator must
+	 * be closed if it is not read to the end.
+	 * 
+	 * @return {@link TicketIterator}
+	 * @throws JargonException
+	 */
+	TicketIterator iterateAllTicketsForCollections() throws JargonException;
+
+	/**
+	 * Iterate over all tickets for data objects, with their paths, reading the
+	 * next page of results while the current one is used. The iterator must
+	 * be closed if it is not read to the end.
+	 * 
+	 * @return {@link TicketIterator}
+	 * @throws JargonException
+	 */
+	TicketIterator iterateAllTicketsForDataObjects() throws JargonException;
 }
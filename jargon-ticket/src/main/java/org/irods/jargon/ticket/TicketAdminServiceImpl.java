@@ -1,8 +1,21 @@
 package org.irods.jargon.ticket;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.exception.DataNotFoundException;
@@ -20,6 +33,7 @@ import org.irods.jargon.core.pub.domain.ObjStat;
 import org.irods.jargon.core.pub.io.IRODSFile;
 import org.irods.jargon.core.query.AbstractIRODSQueryResultSet;
 import org.irods.jargon.core.query.GenQueryBuilderException;
+import org.irods.jargon.core.query.GenQueryResultIterator;
 import org.irods.jargon.core.query.IRODSGenQuery;
 import org.irods.jargon.core.query.IRODSGenQueryBuilder;
 import org.irods.jargon.core.query.IRODSQueryResultRow;
@@ -47,6 +61,24 @@ public final class TicketAdminServiceImpl extends AbstractTicketService
 	public static final Logger log = LoggerFactory
 			.getLogger(TicketAdminServiceImpl.class);
 
+	/**
+	 * Default number of connections used for bulk ticket operations
+	 */
+	public static final int DEFAULT_BULK_OPERATION_THREADS = 4;
+
+	/**
+	 * Number of ticket strings in each query for the current state of tickets
+	 * in a bulk update
+	 */
+	private static final int TICKET_QUERY_BATCH_SIZE = 100;
+
+	/**
+	 * Fewest tickets in a bulk operation for it to be split over connections
+	 */
+	private static final int MIN_TICKETS_PER_BULK_THREAD = 50;
+
+	private int bulkOperationThreads = DEFAULT_BULK_OPERATION_THREADS;
+
 	/**
 	 * Default constructor takes the objects necessary to communicate with iRODS
 	 * via Access Objects
@@ -1288,7 +1320,7 @@ public final class TicketAdminServiceImpl extends AbstractTicketService
 	 *            have been requested in a certain order.
 	 * @throws JargonException
 	 */
-	private void putResultDataIntoTicketCommonValues(final Ticket ticket,
+	private static void putResultDataIntoTicketCommonValues(final Ticket ticket,
 			final IRODSQueryResultRow row) throws JargonException {
 		ticket.setTicketId(row.getColumn(0));
 		ticket.setTicketString(row.getColumn(1));
@@ -1351,7 +1383,7 @@ public final class TicketAdminServiceImpl extends AbstractTicketService
 	 * @param objectTypeFromTicketData
 	 * @return
 	 */
-	private Ticket.TicketObjectType findObjectType(
+	private static Ticket.TicketObjectType findObjectType(
 			final String objectTypeFromTicketData) {
 		if (objectTypeFromTicketData == null
 				|| objectTypeFromTicketData.isEmpty()) {
@@ -1681,6 +1713,668 @@ public final class TicketAdminServiceImpl extends AbstractTicketService
 
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.ticket.TicketAdminService#
+	 * createTicketsFromBulkTicketRequests(java.util.List)
+	 */
+	@Override
+	public List<BulkTicketResult> createTicketsFromBulkTicketRequests(
+			final List<BulkTicketRequest> bulkTicketRequests)
+			throws JargonException {
+
+		log.info("createTicketsFromBulkTicketRequests()");
+
+		if (bulkTicketRequests == null) {
+			throw new IllegalArgumentException("null bulkTicketRequests");
+		}
+
+		for (BulkTicketRequest bulkTicketRequest : bulkTicketRequests) {
+			if (bulkTicketRequest == null) {
+				throw new IllegalArgumentException(
+						"null bulkTicketRequest in list");
+			}
+
+			if (bulkTicketRequest.getTicket().getType() == null) {
+				throw new IllegalArgumentException("null type in ticket");
+			}
+
+			if (bulkTicketRequest.getTicket().getIrodsAbsolutePath() == null
+					|| bulkTicketRequest.getTicket().getIrodsAbsolutePath()
+							.isEmpty()) {
+				throw new IllegalArgumentException(
+						"null or empty irodsAbsolutePath in ticket");
+			}
+		}
+
+		log.info("creating {} tickets", bulkTicketRequests.size());
+
+		final BulkTicketResult[] results = new BulkTicketResult[bulkTicketRequests
+				.size()];
+		final Set<String> collectionsWithInheritance = Collections
+				.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+		runBulkTicketSlices(bulkTicketRequests.size(), new BulkTicketSlice() {
+			@Override
+			public void process(final int fromIndex, final int toIndex)
+					throws JargonException {
+				ProtocolExtensionPoint pep = irodsAccessObjectFactory
+						.getProtocolExtensionPoint(irodsAccount);
+				Map<String, ObjStat> objStats = new HashMap<String, ObjStat>();
+				for (int i = fromIndex; i < toIndex; i++) {
+					results[i] = createTicketForBulkTicketRequest(
+							bulkTicketRequests.get(i), pep, objStats,
+							collectionsWithInheritance);
+				}
+			}
+		});
+
+		return Arrays.asList(results);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.ticket.TicketAdminService#
+	 * updateTicketsFromBulkTicketRequests(java.util.List)
+	 */
+	@Override
+	public List<BulkTicketResult> updateTicketsFromBulkTicketRequests(
+			final List<BulkTicketRequest> bulkTicketRequests)
+			throws JargonException {
+
+		log.info("updateTicketsFromBulkTicketRequests()");
+
+		if (bulkTicketRequests == null) {
+			throw new IllegalArgumentException("null bulkTicketRequests");
+		}
+
+		List<String> ticketStrings = new ArrayList<String>();
+		boolean anyUserRestrictions = false;
+		boolean anyGroupRestrictions = false;
+		boolean anyHostRestrictions = false;
+		for (BulkTicketRequest bulkTicketRequest : bulkTicketRequests) {
+			if (bulkTicketRequest == null) {
+				throw new IllegalArgumentException(
+						"null bulkTicketRequest in list");
+			}
+
+			String ticketString = bulkTicketRequest.getTicket()
+					.getTicketString();
+			if (ticketString == null || ticketString.isEmpty()) {
+				throw new IllegalArgumentException(
+						"null or empty ticketString in ticket");
+			}
+
+			ticketStrings.add(ticketString);
+			anyUserRestrictions |= !bulkTicketRequest.getUserRestrictions()
+					.isEmpty();
+			anyGroupRestrictions |= !bulkTicketRequest.getGroupRestrictions()
+					.isEmpty();
+			anyHostRestrictions |= !bulkTicketRequest.getHostRestrictions()
+					.isEmpty();
+		}
+
+		log.info("updating {} tickets", bulkTicketRequests.size());
+
+		/*
+		 * The current state of all of the tickets is read with a few queries
+		 * up front, rather than with a lookup per ticket, so that only the
+		 * modifications themselves are sent per ticket
+		 */
+		final Map<String, Ticket> actualTickets = findTicketsByTicketString(ticketStrings);
+		final Map<String, Set<String>> userRestrictions = anyUserRestrictions ? findRestrictionsByTicketString(
+				ticketStrings, RodsGenQueryEnum.COL_TICKET_ALLOWED_USER_NAME)
+				: new HashMap<String, Set<String>>();
+		final Map<String, Set<String>> groupRestrictions = anyGroupRestrictions ? findRestrictionsByTicketString(
+				ticketStrings, RodsGenQueryEnum.COL_TICKET_ALLOWED_GROUP_NAME)
+				: new HashMap<String, Set<String>>();
+		final Map<String, Set<String>> hostRestrictions = anyHostRestrictions ? findRestrictionsByTicketString(
+				ticketStrings, RodsGenQueryEnum.COL_TICKET_ALLOWED_HOST)
+				: new HashMap<String, Set<String>>();
+
+		final BulkTicketResult[] results = new BulkTicketResult[bulkTicketRequests
+				.size()];
+
+		runBulkTicketSlices(bulkTicketRequests.size(), new BulkTicketSlice() {
+			@Override
+			public void process(final int fromIndex, final int toIndex)
+					throws JargonException {
+				ProtocolExtensionPoint pep = irodsAccessObjectFactory
+						.getProtocolExtensionPoint(irodsAccount);
+				for (int i = fromIndex; i < toIndex; i++) {
+					BulkTicketRequest bulkTicketRequest = bulkTicketRequests
+							.get(i);
+					String ticketString = bulkTicketRequest.getTicket()
+							.getTicketString();
+					Ticket actualTicket = actualTickets.get(ticketString);
+					if (actualTicket == null) {
+						results[i] = BulkTicketResult.instanceForFailure(
+								bulkTicketRequest.getTicket(), TICKET_NOT_FOUND);
+						continue;
+					}
+
+					try {
+						sendTicketModifications(pep, bulkTicketRequest,
+								actualTicket, userRestrictions
+										.get(ticketString), groupRestrictions
+										.get(ticketString), hostRestrictions
+										.get(ticketString));
+						results[i] = BulkTicketResult
+								.instanceForSuccess(actualTicket);
+					} catch (JargonException e) {
+						log.warn("error updating ticket:" + ticketString, e);
+						results[i] = BulkTicketResult.instanceForFailure(
+								bulkTicketRequest.getTicket(), e.getMessage());
+					}
+				}
+			}
+		});
+
+		return Arrays.asList(results);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.ticket.TicketAdminService#iterateAllTickets()
+	 */
+	@Override
+	public TicketIterator iterateAllTickets() throws JargonException {
+		log.info("iterateAllTickets()");
+		try {
+			IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+			addSelectsForTicketsCommonToQueryBuilder(builder);
+			return new TicketIterator(executeTicketQueryAsIterator(builder),
+					null);
+		} catch (GenQueryBuilderException e) {
+			log.error("GenQueryBuilderException in ticket query", e);
+			throw new JargonException(
+					"genQueryBuilderException building ticket query", e);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.irods.jargon.ticket.TicketAdminService#iterateAllTicketsForCollections
+	 * ()
+	 */
+	@Override
+	public TicketIterator iterateAllTicketsForCollections()
+			throws JargonException {
+		log.info("iterateAllTicketsForCollections()");
+		try {
+			IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+			addSelectsForTicketsCommonToQueryBuilder(builder);
+			addQuerySelectsForListAllTicketsForCollections(builder);
+			return new TicketIterator(executeTicketQueryAsIterator(builder),
+					TicketObjectType.COLLECTION);
+		} catch (GenQueryBuilderException e) {
+			log.error("GenQueryBuilderException in ticket query", e);
+			throw new JargonException(
+					"genQueryBuilderException building ticket query", e);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.irods.jargon.ticket.TicketAdminService#iterateAllTicketsForDataObjects
+	 * ()
+	 */
+	@Override
+	public TicketIterator iterateAllTicketsForDataObjects()
+			throws JargonException {
+		log.info("iterateAllTicketsForDataObjects()");
+		try {
+			IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+			addSelectsForTicketsCommonToQueryBuilder(builder);
+			addQuerySelectsForListAllTicketsForDataObjects(builder);
+			return new TicketIterator(executeTicketQueryAsIterator(builder),
+					TicketObjectType.DATA_OBJECT);
+		} catch (GenQueryBuilderException e) {
+			log.error("GenQueryBuilderException in ticket query", e);
+			throw new JargonException(
+					"genQueryBuilderException building ticket query", e);
+		}
+	}
+
+	/**
+	 * Build a {@code Ticket} from a row of one of the ticket listing queries
+	 * 
+	 * @param row
+	 *            {@link IRODSQueryResultRow} with the common ticket columns,
+	 *            followed by the path columns for the listing type
+	 * @param listingType
+	 *            {@link TicketObjectType} of the listing, or {@code null} if
+	 *            the row has no path columns
+	 * @return {@link Ticket}
+	 * @throws JargonException
+	 */
+	static Ticket buildTicketFromResultRow(final IRODSQueryResultRow row,
+			final TicketObjectType listingType) throws JargonException {
+		Ticket ticket = new Ticket();
+		putResultDataIntoTicketCommonValues(ticket, row);
+		if (listingType == TicketObjectType.DATA_OBJECT) {
+			StringBuilder absPathBuilder = new StringBuilder();
+			absPathBuilder.append(row.getColumn(14));
+			absPathBuilder.append('/');
+			absPathBuilder.append(row.getColumn(13));
+			ticket.setIrodsAbsolutePath(absPathBuilder.toString());
+		} else if (listingType == TicketObjectType.COLLECTION) {
+			ticket.setIrodsAbsolutePath(row.getColumn(13));
+		}
+		ticket.setLastResult(row.isLastResult());
+		ticket.setCount(row.getRecordCount());
+		return ticket;
+	}
+
+	/**
+	 * Create one ticket of a bulk create, reporting rather than throwing
+	 * errors for the ticket
+	 * 
+	 * @param bulkTicketRequest
+	 * @param pep
+	 *            {@link ProtocolExtensionPoint} on the connection of the
+	 *            calling thread
+	 * @param objStats
+	 *            {@code Map} of the paths already looked up by this thread
+	 * @param collectionsWithInheritance
+	 *            {@code Set} of the collections where inheritance was set
+	 *            during this bulk create, shared by all threads
+	 * @return {@link BulkTicketResult}
+	 */
+	private BulkTicketResult createTicketForBulkTicketRequest(
+			final BulkTicketRequest bulkTicketRequest,
+			final ProtocolExtensionPoint pep,
+			final Map<String, ObjStat> objStats,
+			final Set<String> collectionsWithInheritance) {
+
+		Ticket ticket = bulkTicketRequest.getTicket();
+		String irodsAbsolutePath = ticket.getIrodsAbsolutePath();
+
+		try {
+			ObjStat objStat = objStats.get(irodsAbsolutePath);
+			if (objStat == null) {
+				objStat = irodsAccessObjectFactory
+						.getCollectionAndDataObjectListAndSearchAO(irodsAccount)
+						.retrieveObjectStatForPath(irodsAbsolutePath);
+				objStats.put(irodsAbsolutePath, objStat);
+			}
+
+			/*
+			 * Inheritance is set for a collection as in createTicket(), but
+			 * only once for all of the tickets on that collection
+			 */
+			if (objStat.isSomeTypeOfCollection()) {
+				ticket.setObjectType(TicketObjectType.COLLECTION);
+				if (collectionsWithInheritance.add(irodsAbsolutePath)) {
+					irodsAccessObjectFactory.getCollectionAO(irodsAccount)
+							.setAccessPermissionInherit(irodsAccount.getZone(),
+									irodsAbsolutePath, true);
+				}
+			} else {
+				ticket.setObjectType(TicketObjectType.DATA_OBJECT);
+			}
+
+			ticket.setOwnerName(irodsAccount.getUserName());
+			ticket.setOwnerZone(irodsAccount.getZone());
+
+			if (ticket.getTicketString() == null
+					|| ticket.getTicketString().isEmpty()) {
+				ticket.setTicketString(new TicketRandomString(15).nextString());
+			}
+
+			pep.irodsFunction(TicketAdminInp.instanceForCreate(
+					ticket.getType(), irodsAbsolutePath,
+					ticket.getTicketString()));
+			sendTicketModifications(pep, bulkTicketRequest, null, null, null,
+					null);
+			return BulkTicketResult.instanceForSuccess(ticket);
+
+		} catch (FileNotFoundException e) {
+			log.warn("file for ticket does not exist:{}", irodsAbsolutePath);
+			return BulkTicketResult.instanceForFailure(ticket,
+					"file for ticket does not exist");
+		} catch (JargonException e) {
+			log.warn("error creating ticket for path:" + irodsAbsolutePath, e);
+			return BulkTicketResult.instanceForFailure(ticket, e.getMessage());
+		}
+	}
+
+	/**
+	 * Send the modifications that bring a ticket to the values of the request,
+	 * back to back on one connection. Each restriction in the request that is
+	 * not already on the ticket is added.
+	 * 
+	 * @param pep
+	 *            {@link ProtocolExtensionPoint} on the connection of the
+	 *            calling thread
+	 * @param bulkTicketRequest
+	 *            {@link BulkTicketRequest} with the desired values
+	 * @param actualTicket
+	 *            {@link Ticket} as it is in iRODS, which is updated to the
+	 *            desired values, or {@code null} for a new ticket
+	 * @param userRestrictions
+	 *            {@code Set} of current user restrictions, may be
+	 *            {@code null}
+	 * @param groupRestrictions
+	 *            {@code Set} of current group restrictions, may be
+	 *            {@code null}
+	 * @param hostRestrictions
+	 *            {@code Set} of current host restrictions, may be
+	 *            {@code null}
+	 * @throws JargonException
+	 */
+	private void sendTicketModifications(final ProtocolExtensionPoint pep,
+			final BulkTicketRequest bulkTicketRequest,
+			final Ticket actualTicket, final Set<String> userRestrictions,
+			final Set<String> groupRestrictions,
+			final Set<String> hostRestrictions) throws JargonException {
+
+		Ticket desiredTicket = bulkTicketRequest.getTicket();
+		String ticketString = desiredTicket.getTicketString();
+
+		if (actualTicket == null ? desiredTicket.getExpireTime() != null
+				: !isDateSame(desiredTicket.getExpireTime(),
+						actualTicket.getExpireTime())) {
+			pep.irodsFunction(TicketAdminInp.instanceForModifyExpiration(
+					ticketString, desiredTicket.getExpireTime()));
+		}
+
+		if (actualTicket == null ? desiredTicket.getUsesLimit() > 0
+				: desiredTicket.getUsesLimit() != actualTicket.getUsesLimit()) {
+			pep.irodsFunction(TicketAdminInp.instanceForModifyNumberOfUses(
+					ticketString, desiredTicket.getUsesLimit()));
+		}
+
+		if (actualTicket == null ? desiredTicket.getWriteByteLimit() > 0
+				: desiredTicket.getWriteByteLimit() != actualTicket
+						.getWriteByteLimit()) {
+			pep.irodsFunction(TicketAdminInp.instanceForModifyByteWriteNumber(
+					ticketString, desiredTicket.getWriteByteLimit()));
+		}
+
+		if (actualTicket == null ? desiredTicket.getWriteFileLimit() > 0
+				: desiredTicket.getWriteFileLimit() != actualTicket
+						.getWriteFileLimit()) {
+			pep.irodsFunction(TicketAdminInp.instanceForModifyFileWriteNumber(
+					ticketString, desiredTicket.getWriteFileLimit()));
+		}
+
+		addMissingRestrictions(pep, ticketString,
+				TicketModifyAddOrRemoveTypeEnum.TICKET_MODIFY_USER,
+				bulkTicketRequest.getUserRestrictions(), userRestrictions);
+		addMissingRestrictions(pep, ticketString,
+				TicketModifyAddOrRemoveTypeEnum.TICKET_MODIFY_GROUP,
+				bulkTicketRequest.getGroupRestrictions(), groupRestrictions);
+		addMissingRestrictions(pep, ticketString,
+				TicketModifyAddOrRemoveTypeEnum.TICKET_MODIFY_HOST,
+				bulkTicketRequest.getHostRestrictions(), hostRestrictions);
+
+		if (actualTicket != null) {
+			actualTicket.setExpireTime(desiredTicket.getExpireTime());
+			actualTicket.setUsesLimit(desiredTicket.getUsesLimit());
+			actualTicket.setWriteByteLimit(desiredTicket.getWriteByteLimit());
+			actualTicket.setWriteFileLimit(desiredTicket.getWriteFileLimit());
+		}
+	}
+
+	private void addMissingRestrictions(final ProtocolExtensionPoint pep,
+			final String ticketString,
+			final TicketModifyAddOrRemoveTypeEnum restrictionType,
+			final List<String> desiredRestrictions,
+			final Set<String> currentRestrictions) throws JargonException {
+		for (String restriction : desiredRestrictions) {
+			if (currentRestrictions != null
+					&& currentRestrictions.contains(restriction)) {
+				continue;
+			}
+			pep.irodsFunction(TicketAdminInp.instanceForModifyAddAccess(
+					ticketString, restrictionType, restriction));
+		}
+	}
+
+	/**
+	 * Read the current values of the given tickets, a batch of ticket strings
+	 * per query
+	 * 
+	 * @param ticketStrings
+	 * @return {@code Map} of ticket string to {@link Ticket}, without the
+	 *         tickets that were not found
+	 * @throws JargonException
+	 */
+	private Map<String, Ticket> findTicketsByTicketString(
+			final List<String> ticketStrings) throws JargonException {
+
+		Map<String, Ticket> tickets = new HashMap<String, Ticket>();
+		try {
+			for (List<String> batch : partitionTicketStrings(ticketStrings)) {
+				IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true,
+						null);
+				addSelectsForTicketsCommonToQueryBuilder(builder);
+				builder.addConditionAsMultiValueCondition(
+						RodsGenQueryEnum.COL_TICKET_STRING,
+						QueryConditionOperators.IN, batch);
+				GenQueryResultIterator iterator = executeTicketQueryAsIterator(builder);
+				try {
+					while (iterator.hasNext()) {
+						Ticket ticket = buildTicketFromResultRow(
+								iterator.next(), null);
+						tickets.put(ticket.getTicketString(), ticket);
+					}
+				} finally {
+					iterator.close();
+				}
+			}
+		} catch (GenQueryBuilderException e) {
+			log.error("GenQueryBuilderException in ticket query", e);
+			throw new JargonException(
+					"genQueryBuilderException building ticket query", e);
+		}
+		return tickets;
+	}
+
+	/**
+	 * Read the current restrictions of one kind for the given tickets, a
+	 * batch of ticket strings per query
+	 * 
+	 * @param ticketStrings
+	 * @param restrictionColumn
+	 *            {@link RodsGenQueryEnum} for the user, group or host
+	 *            restriction
+	 * @return {@code Map} of ticket string to its restrictions
+	 * @throws JargonException
+	 */
+	private Map<String, Set<String>> findRestrictionsByTicketString(
+			final List<String> ticketStrings,
+			final RodsGenQueryEnum restrictionColumn) throws JargonException {
+
+		Map<String, Set<String>> restrictions = new HashMap<String, Set<String>>();
+		try {
+			for (List<String> batch : partitionTicketStrings(ticketStrings)) {
+				IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true,
+						null);
+				builder.addSelectAsGenQueryValue(
+						RodsGenQueryEnum.COL_TICKET_STRING)
+						.addSelectAsGenQueryValue(restrictionColumn)
+						.addConditionAsMultiValueCondition(
+								RodsGenQueryEnum.COL_TICKET_STRING,
+								QueryConditionOperators.IN, batch);
+				GenQueryResultIterator iterator = executeTicketQueryAsIterator(builder);
+				try {
+					while (iterator.hasNext()) {
+						IRODSQueryResultRow row = iterator.next();
+						Set<String> ticketRestrictions = restrictions.get(row
+								.getColumn(0));
+						if (ticketRestrictions == null) {
+							ticketRestrictions = new HashSet<String>();
+							restrictions.put(row.getColumn(0),
+									ticketRestrictions);
+						}
+						ticketRestrictions.add(row.getColumn(1));
+					}
+				} finally {
+					iterator.close();
+				}
+			}
+		} catch (GenQueryBuilderException e) {
+			log.error("GenQueryBuilderException in ticket query", e);
+			throw new JargonException(
+					"genQueryBuilderException building ticket query", e);
+		}
+		return restrictions;
+	}
+
+	private static List<List<String>> partitionTicketStrings(
+			final List<String> ticketStrings) {
+		List<String> distinct = new ArrayList<String>(new HashSet<String>(
+				ticketStrings));
+		List<List<String>> batches = new ArrayList<List<String>>();
+		for (int i = 0; i < distinct.size(); i += TICKET_QUERY_BATCH_SIZE) {
+			batches.add(distinct.subList(i,
+					Math.min(i + TICKET_QUERY_BATCH_SIZE, distinct.size())));
+		}
+		return batches;
+	}
+
+	/**
+	 * Run a ticket query as an iterator that follows the continuation of the
+	 * query, prefetching the next page
+	 * 
+	 * @param builder
+	 * @return {@link GenQueryResultIterator}
+	 * @throws GenQueryBuilderException
+	 * @throws JargonException
+	 */
+	private GenQueryResultIterator executeTicketQueryAsIterator(
+			final IRODSGenQueryBuilder builder)
+			throws GenQueryBuilderException, JargonException {
+		try {
+			return irodsAccessObjectFactory.getIRODSGenQueryExecutor(
+					irodsAccount).executeIRODSQueryAsIterator(
+					builder.exportIRODSQueryFromBuilder(irodsAccessObjectFactory
+							.getJargonProperties().getMaxFilesAndDirsQueryMax()),
+					"", true);
+		} catch (JargonQueryException e) {
+			log.error("query exception for ticket query", e);
+			throw new JargonException(ERROR_IN_TICKET_QUERY, e);
+		}
+	}
+
+	/**
+	 * Work on a contiguous range of the tickets of a bulk operation, on the
+	 * connection of the calling thread
+	 */
+	private interface BulkTicketSlice {
+		void process(int fromIndex, int toIndex) throws JargonException;
+	}
+
+	/**
+	 * Split a bulk operation over up to {@code bulkOperationThreads}
+	 * connections. Small operations are done on the calling thread. Each
+	 * worker thread closes its connection when done.
+	 * 
+	 * @param count
+	 *            {@code int} with the number of tickets
+	 * @param bulkTicketSlice
+	 *            {@link BulkTicketSlice} to run for each range
+	 * @throws JargonException
+	 */
+	private void runBulkTicketSlices(final int count,
+			final BulkTicketSlice bulkTicketSlice) throws JargonException {
+
+		int threads = Math.min(bulkOperationThreads, count
+				/ MIN_TICKETS_PER_BULK_THREAD);
+		if (threads <= 1) {
+			bulkTicketSlice.process(0, count);
+			return;
+		}
+
+		log.info("splitting bulk ticket operation over {} connections",
+				threads);
+		ExecutorService executorService = Executors.newFixedThreadPool(
+				threads, new ThreadFactory() {
+					@Override
+					public Thread newThread(final Runnable runnable) {
+						Thread thread = new Thread(runnable, "bulk-ticket");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+
+		try {
+			List<Future<Void>> futures = new ArrayList<Future<Void>>();
+			int sliceSize = (count + threads - 1) / threads;
+			for (int i = 0; i < count; i += sliceSize) {
+				final int fromIndex = i;
+				final int toIndex = Math.min(i + sliceSize, count);
+				futures.add(executorService
+						.submit(new Callable<Void>() {
+							@Override
+							public Void call() throws Exception {
+								try {
+									bulkTicketSlice.process(fromIndex, toIndex);
+									return null;
+								} finally {
+									irodsAccessObjectFactory
+											.closeSessionAndEatExceptions(irodsAccount);
+								}
+							}
+						}));
+			}
+
+			JargonException firstException = null;
+			for (Future<Void> future : futures) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					log.error("error in bulk ticket operation", e.getCause());
+					if (firstException == null) {
+						firstException = e.getCause() instanceof JargonException ? (JargonException) e
+								.getCause() : new JargonException(
+								"error in bulk ticket operation", e.getCause());
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new JargonException(
+							"interrupted during bulk ticket operation", e);
+				}
+			}
+
+			if (firstException != null) {
+				throw firstException;
+			}
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	/**
+	 * @return {@code int} with the most connections used for a bulk ticket
+	 *         operation
+	 */
+	public int getBulkOperationThreads() {
+		return bulkOperationThreads;
+	}
+
+	/**
+	 * @param bulkOperationThreads
+	 *            {@code int} with the most connections used for a bulk
+	 *            ticket operation, 1 does all of the work on the calling
+	 *            thread
+	 */
+	public void setBulkOperationThreads(final int bulkOperationThreads) {
+		if (bulkOperationThreads < 1) {
+			throw new IllegalArgumentException("bulkOperationThreads < 1");
+		}
+		this.bulkOperationThreads = bulkOperationThreads;
+	}
+
 	/**
 	 * compare two dates on their components, ignoring millis, as stuff goes to
 	 * irods as a serialized string in the protocol
@@ -0,0 +1,80 @@
+package org.irods.jargon.ticket;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.exception.JargonRuntimeException;
+import org.irods.jargon.core.query.GenQueryResultIterator;
+import org.irods.jargon.ticket.Ticket.TicketObjectType;
+
+/**
+ * Iterates over tickets in iRODS, reading the pages of the underlying ticket
+ * query as they are needed, with the next page requested in the background
+ * while the current page is read. Only a page or two of tickets is held in
+ * memory, so very large ticket listings may be processed without building a
+ * list or tracking partial start indexes.
+ * <p>
+ * The query is released in iRODS when the last ticket is read. If iteration
+ * stops early, {@code close()} must be called. Errors from iRODS while paging
+ * are thrown as {@link JargonRuntimeException}.
+ * <p>
+ * This object is not thread-safe, and should be consumed by one thread.
+ * 
+ * @author Mike Conway - DICE (www.irods.org)
+ * 
+ */
+public class TicketIterator implements Iterator<Ticket>, Closeable {
+
+	private final GenQueryResultIterator genQueryResultIterator;
+	private final TicketObjectType listingType;
+
+	/**
+	 * @param genQueryResultIterator
+	 *            {@link GenQueryResultIterator} over a ticket query with the
+	 *            columns of the ticket listings
+	 * @param listingType
+	 *            {@link TicketObjectType} if the query includes the path
+	 *            columns for collections or data objects, or {@code null}
+	 *            if it has only the common ticket columns
+	 */
+	TicketIterator(final GenQueryResultIterator genQueryResultIterator,
+			final TicketObjectType listingType) {
+		if (genQueryResultIterator == null) {
+			throw new IllegalArgumentException("null genQueryResultIterator");
+		}
+		this.genQueryResultIterator = genQueryResultIterator;
+		this.listingType = listingType;
+	}
+
+	@Override
+	public boolean hasNext() {
+		return genQueryResultIterator.hasNext();
+	}
+
+	@Override
+	public Ticket next() {
+		try {
+			return TicketAdminServiceImpl.buildTicketFromResultRow(
+					genQueryResultIterator.next(), listingType);
+		} catch (JargonException e) {
+			throw new JargonRuntimeException("error reading ticket from row",
+					e);
+		}
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("remove not supported");
+	}
+
+	/**
+	 * Release the query in iRODS, needed if iteration stops before the last
+	 * ticket
+	 */
+	@Override
+	public void close() {
+		genQueryResultIterator.close();
+	}
+
+}
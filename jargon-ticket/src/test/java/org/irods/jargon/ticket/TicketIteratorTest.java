@@ -0,0 +1,76 @@
+package org.irods.jargon.ticket;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.query.GenQueryResultIterator;
+import org.irods.jargon.core.query.IRODSQueryResultRow;
+import org.irods.jargon.ticket.Ticket.TicketObjectType;
+import org.irods.jargon.ticket.packinstr.TicketCreateModeEnum;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class TicketIteratorTest {
+
+	private static IRODSQueryResultRow buildRow(final String objectType,
+			final String... pathColumns) throws Exception {
+		IRODSQueryResultRow row = Mockito.mock(IRODSQueryResultRow.class);
+		String[] commonColumns = { "10", "ticketString1", "read", objectType,
+				"user", "zone1", "1", "5", "0", "2", "0", "1000", "" };
+		for (int i = 0; i < commonColumns.length; i++) {
+			Mockito.when(row.getColumn(i)).thenReturn(commonColumns[i]);
+		}
+		for (int i = 0; i < pathColumns.length; i++) {
+			Mockito.when(row.getColumn(commonColumns.length + i)).thenReturn(
+					pathColumns[i]);
+		}
+		Mockito.when(row.isLastResult()).thenReturn(true);
+		Mockito.when(row.getRecordCount()).thenReturn(1);
+		return row;
+	}
+
+	@Test
+	public void testNextForCollectionListing() throws Exception {
+		IRODSQueryResultRow row = buildRow("collection",
+				"/zone1/home/user/coll");
+		GenQueryResultIterator genQueryResultIterator = Mockito
+				.mock(GenQueryResultIterator.class);
+		Mockito.when(genQueryResultIterator.hasNext()).thenReturn(true, false);
+		Mockito.when(genQueryResultIterator.next()).thenReturn(row);
+
+		TicketIterator ticketIterator = new TicketIterator(
+				genQueryResultIterator, TicketObjectType.COLLECTION);
+		Assert.assertTrue(ticketIterator.hasNext());
+		Ticket ticket = ticketIterator.next();
+		Assert.assertFalse(ticketIterator.hasNext());
+		ticketIterator.close();
+
+		Assert.assertEquals("ticketString1", ticket.getTicketString());
+		Assert.assertEquals(TicketCreateModeEnum.READ, ticket.getType());
+		Assert.assertEquals(TicketObjectType.COLLECTION,
+				ticket.getObjectType());
+		Assert.assertEquals(5, ticket.getUsesLimit());
+		Assert.assertEquals(2, ticket.getWriteFileLimit());
+		Assert.assertEquals(1000L, ticket.getWriteByteLimit());
+		Assert.assertNull(ticket.getExpireTime());
+		Assert.assertEquals("/zone1/home/user/coll",
+				ticket.getIrodsAbsolutePath());
+		Mockito.verify(genQueryResultIterator).close();
+	}
+
+	@Test
+	public void testNextForDataObjectListing() throws Exception {
+		IRODSQueryResultRow row = buildRow("data", "file1.txt",
+				"/zone1/home/user");
+		GenQueryResultIterator genQueryResultIterator = Mockito
+				.mock(GenQueryResultIterator.class);
+		Mockito.when(genQueryResultIterator.next()).thenReturn(row);
+
+		Ticket ticket = new TicketIterator(genQueryResultIterator,
+				TicketObjectType.DATA_OBJECT).next();
+		Assert.assertEquals(TicketObjectType.DATA_OBJECT,
+				ticket.getObjectType());
+		Assert.assertEquals("/zone1/home/user/file1.txt",
+				ticket.getIrodsAbsolutePath());
+	}
+
+}
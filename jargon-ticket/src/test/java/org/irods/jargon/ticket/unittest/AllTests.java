@@ -4,6 +4,7 @@ import org.irods.jargon.ticket.TicektServiceFactoryImplTest;
 import org.irods.jargon.ticket.TicketAdminServiceImplTest;
 import org.irods.jargon.ticket.TicketClientOperationsImplTest;
 import org.irods.jargon.ticket.TicketDistributionServiceImplTest;
+import org.irods.jargon.ticket.TicketIteratorTest;
 import org.irods.jargon.ticket.packinstr.TicketAdminInpTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -12,7 +13,7 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({ TicketAdminServiceImplTest.class,
 		TicketClientOperationsImplTest.class, TicketAdminInpTest.class,
 		TicektServiceFactoryImplTest.class,
-		TicketDistributionServiceImplTest.class })
+		TicketDistributionServiceImplTest.class, TicketIteratorTest.class })
 /**
  * Suite to run all tests (except long running and functional), further refined by settings in testing.properites.  Some subtests may be shut
  * off by these properties.
@@ -1,15 +1,32 @@
 package org.irods.jargon.usertagging;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.exception.FileNotFoundException;
 import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.pub.BulkAVUOperationResponse;
+import org.irods.jargon.core.pub.BulkAVUOperationResponse.ResultStatus;
 import org.irods.jargon.core.pub.CollectionAndDataObjectListAndSearchAO;
 import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
+import org.irods.jargon.core.pub.domain.AvuData;
 import org.irods.jargon.core.pub.domain.ObjStat;
+import org.irods.jargon.core.query.MetaDataAndDomainData.MetadataDomain;
 import org.irods.jargon.core.utils.MiscIRODSUtils;
+import org.irods.jargon.usertagging.domain.BulkTagOperationResult;
 
 public abstract class AbstractIRODSTaggingService {
 
+	/**
+	 * Number of paths classified and updated together in bulk operations
+	 */
+	public static final int BULK_BATCH_SIZE = 500;
+
 	protected final IRODSAccessObjectFactory irodsAccessObjectFactory;
 	protected final IRODSAccount irodsAccount;
 
@@ -67,4 +84,100 @@ public abstract class AbstractIRODSTaggingService {
 		return objStat;
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Add or delete the same AVUs on each of the given paths. Paths are taken
+	 * in batches, and each batch is classified with a few GenQueries before
+	 * the AVU requests for its collections and data objects are sent together.
+	 * 
+	 * @param irodsAbsolutePaths
+	 *            {@code List<String>} with the paths
+	 * @param avuData
+	 *            {@code List} of {@link AvuData} to add or delete
+	 * @param add
+	 *            {@code boolean} of {@code true} to add, {@code false} to
+	 *            delete
+	 * @param bulkTaggingProgressListener
+	 *            {@link BulkTaggingProgressListener} told of each result, may
+	 *            be {@code null}
+	 * @return {@code List} of {@link BulkTagOperationResult} in the order of
+	 *         the paths
+	 * @throws JargonException
+	 */
+	protected List<BulkTagOperationResult> applyAvusToPaths(
+			final List<String> irodsAbsolutePaths,
+			final List<AvuData> avuData, final boolean add,
+			final BulkTaggingProgressListener bulkTaggingProgressListener)
+			throws JargonException {
+
+		if (irodsAbsolutePaths == null) {
+			throw new IllegalArgumentException("null irodsAbsolutePaths");
+		}
+
+		if (avuData == null || avuData.isEmpty()) {
+			throw new IllegalArgumentException("null or empty avuData");
+		}
+
+		BulkPathClassifier bulkPathClassifier = new BulkPathClassifier(
+				irodsAccessObjectFactory, irodsAccount);
+		List<BulkTagOperationResult> results = new ArrayList<BulkTagOperationResult>();
+		int totalCount = irodsAbsolutePaths.size();
+
+		for (int i = 0; i < totalCount; i += BULK_BATCH_SIZE) {
+			List<String> batch = irodsAbsolutePaths.subList(i,
+					Math.min(i + BULK_BATCH_SIZE, totalCount));
+			BulkPathClassifier.ClassifiedPaths classifiedPaths = bulkPathClassifier
+					.classify(batch);
+
+			Map<String, List<BulkAVUOperationResponse>> responses = new HashMap<String, List<BulkAVUOperationResponse>>();
+			if (!classifiedPaths.getCollectionPaths().isEmpty()) {
+				if (add) {
+					responses.putAll(irodsAccessObjectFactory.getCollectionAO(
+							irodsAccount).addBulkAVUMetadataToCollections(
+							classifiedPaths.getCollectionPaths(), avuData));
+				} else {
+					responses.putAll(irodsAccessObjectFactory.getCollectionAO(
+							irodsAccount).deleteBulkAVUMetadataFromCollections(
+							classifiedPaths.getCollectionPaths(), avuData));
+				}
+			}
+
+			if (!classifiedPaths.getDataObjectPaths().isEmpty()) {
+				if (add) {
+					responses.putAll(irodsAccessObjectFactory.getDataObjectAO(
+							irodsAccount).addBulkAVUMetadataToDataObjects(
+							classifiedPaths.getDataObjectPaths(), avuData));
+				} else {
+					responses.putAll(irodsAccessObjectFactory.getDataObjectAO(
+							irodsAccount).deleteBulkAVUMetadataFromDataObjects(
+							classifiedPaths.getDataObjectPaths(), avuData));
+				}
+			}
+
+			Set<String> collectionPaths = new HashSet<String>(
+					classifiedPaths.getCollectionPaths());
+			for (String path : batch) {
+				String normalizedPath = BulkPathClassifier.normalizePath(path);
+				BulkTagOperationResult result;
+				List<BulkAVUOperationResponse> pathResponses = responses
+						.get(normalizedPath);
+				if (pathResponses == null) {
+					result = BulkTagOperationResult.instance(normalizedPath,
+							null, ResultStatus.MISSING_METADATA_TARGET,
+							"path not found");
+				} else {
+					result = BulkTagOperationResult.instance(normalizedPath,
+							collectionPaths.contains(normalizedPath) ? MetadataDomain.COLLECTION
+									: MetadataDomain.DATA, pathResponses);
+				}
+				results.add(result);
+				if (bulkTaggingProgressListener != null) {
+					bulkTaggingProgressListener.pathCompleted(result,
+							results.size(), totalCount);
+				}
+			}
+		}
+
+		return results;
+	}
+
+}
@@ -0,0 +1,454 @@
+package org.irods.jargon.usertagging;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.exception.FileNotFoundException;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
+import org.irods.jargon.core.pub.domain.ObjStat;
+import org.irods.jargon.core.query.GenQueryBuilderException;
+import org.irods.jargon.core.query.GenQueryResultIterator;
+import org.irods.jargon.core.query.IRODSGenQueryBuilder;
+import org.irods.jargon.core.query.IRODSQueryResultRow;
+import org.irods.jargon.core.query.JargonQueryException;
+import org.irods.jargon.core.query.QueryConditionOperators;
+import org.irods.jargon.core.query.RodsGenQueryEnum;
+import org.irods.jargon.core.utils.MiscIRODSUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sorts a list of iRODS paths into collections, data objects and paths that do
+ * not exist, using GenQueries with {@code IN} conditions over batches of paths
+ * rather than an objStat for each path. This lets bulk tagging and starring
+ * work on large selections without a round trip per path to decide how each
+ * path is tagged.
+ * <p>
+ * Paths holding a single quote cannot be sent in an {@code IN} list, and are
+ * looked up one at a time.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class BulkPathClassifier {
+
+	public static final Logger log = LoggerFactory
+			.getLogger(BulkPathClassifier.class);
+
+	/**
+	 * Most values sent in one {@code IN} condition
+	 */
+	public static final int IN_BATCH_SIZE = 100;
+
+	private final IRODSAccessObjectFactory irodsAccessObjectFactory;
+	private final IRODSAccount irodsAccount;
+
+	/**
+	 * @param irodsAccessObjectFactory
+	 *            {@link IRODSAccessObjectFactory} to create iRODS services
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} that describes the iRODS server and user
+	 */
+	public BulkPathClassifier(
+			final IRODSAccessObjectFactory irodsAccessObjectFactory,
+			final IRODSAccount irodsAccount) {
+
+		if (irodsAccessObjectFactory == null) {
+			throw new IllegalArgumentException("null irodsAccessObjectFactory");
+		}
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		this.irodsAccessObjectFactory = irodsAccessObjectFactory;
+		this.irodsAccount = irodsAccount;
+	}
+
+	/**
+	 * Sort the given paths into collections, data objects and missing paths
+	 *
+	 * @param irodsAbsolutePaths
+	 *            {@code List<String>} with the paths, trailing '/' is ignored
+	 * @return {@link ClassifiedPaths}, with each list in the order given
+	 * @throws JargonException
+	 */
+	public ClassifiedPaths classify(final List<String> irodsAbsolutePaths)
+			throws JargonException {
+
+		if (irodsAbsolutePaths == null) {
+			throw new IllegalArgumentException("null irodsAbsolutePaths");
+		}
+
+		log.info("classify() for {} paths", irodsAbsolutePaths.size());
+
+		List<String> paths = new ArrayList<String>();
+		for (String path : irodsAbsolutePaths) {
+			if (path == null || path.isEmpty()) {
+				throw new IllegalArgumentException("null or empty path in list");
+			}
+			paths.add(normalizePath(path));
+		}
+
+		Set<String> collections = new HashSet<String>();
+		Set<String> dataObjects = new HashSet<String>();
+		List<String> quotedPaths = new ArrayList<String>();
+		List<String> inPaths = new ArrayList<String>();
+		for (String path : paths) {
+			if (path.indexOf('\'') >= 0) {
+				quotedPaths.add(path);
+			} else {
+				inPaths.add(path);
+			}
+		}
+
+		try {
+			for (Map.Entry<String, List<String>> zoneEntry : groupByZone(
+					inPaths).entrySet()) {
+				for (List<String> batch : partition(zoneEntry.getValue())) {
+					IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(
+							true, null);
+					builder.addSelectAsGenQueryValue(
+							RodsGenQueryEnum.COL_COLL_NAME)
+							.addConditionAsMultiValueCondition(
+									RodsGenQueryEnum.COL_COLL_NAME,
+									QueryConditionOperators.IN, batch);
+					for (IRODSQueryResultRow row : queryAllRows(builder,
+							zoneEntry.getKey())) {
+						collections.add(row.getColumn(0));
+					}
+				}
+			}
+
+			Map<String, List<String>> namesByParent = new LinkedHashMap<String, List<String>>();
+			for (String path : inPaths) {
+				if (collections.contains(path)) {
+					continue;
+				}
+				String parent = parentOf(path);
+				List<String> names = namesByParent.get(parent);
+				if (names == null) {
+					names = new ArrayList<String>();
+					namesByParent.put(parent, names);
+				}
+				names.add(nameOf(path));
+			}
+
+			for (Map.Entry<String, List<String>> parentEntry : namesByParent
+					.entrySet()) {
+				String zone = MiscIRODSUtils.getZoneInPath(parentEntry
+						.getKey());
+				for (List<String> batch : partition(parentEntry.getValue())) {
+					IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(
+							true, null);
+					builder.addSelectAsGenQueryValue(
+							RodsGenQueryEnum.COL_DATA_NAME)
+							.addConditionAsGenQueryField(
+									RodsGenQueryEnum.COL_COLL_NAME,
+									QueryConditionOperators.EQUAL,
+									parentEntry.getKey())
+							.addConditionAsMultiValueCondition(
+									RodsGenQueryEnum.COL_DATA_NAME,
+									QueryConditionOperators.IN, batch);
+					for (IRODSQueryResultRow row : queryAllRows(builder, zone)) {
+						dataObjects.add(childPath(parentEntry.getKey(),
+								row.getColumn(0)));
+					}
+				}
+			}
+		} catch (GenQueryBuilderException e) {
+			log.error("error building classification query", e);
+			throw new JargonException("error building classification query",
+					e);
+		}
+
+		for (String path : quotedPaths) {
+			try {
+				ObjStat objStat = irodsAccessObjectFactory
+						.getCollectionAndDataObjectListAndSearchAO(
+								irodsAccount).retrieveObjectStatForPath(path);
+				if (objStat.isSomeTypeOfCollection()) {
+					collections.add(path);
+				} else {
+					dataObjects.add(path);
+				}
+			} catch (FileNotFoundException e) {
+				log.debug("path not found:{}", path);
+			}
+		}
+
+		ClassifiedPaths classifiedPaths = new ClassifiedPaths();
+		for (String path : paths) {
+			if (collections.contains(path)) {
+				classifiedPaths.collectionPaths.add(path);
+			} else if (dataObjects.contains(path)) {
+				classifiedPaths.dataObjectPaths.add(path);
+			} else {
+				classifiedPaths.missingPaths.add(path);
+			}
+		}
+
+		log.info("classified {} collections, {} data objects, {} missing",
+				new Object[] { classifiedPaths.collectionPaths.size(),
+						classifiedPaths.dataObjectPaths.size(),
+						classifiedPaths.missingPaths.size() });
+		return classifiedPaths;
+	}
+
+	/**
+	 * Find the AVU with the given value and unit on each of the given
+	 * collections, for instance the star of a user
+	 *
+	 * @param collectionPaths
+	 *            {@code List<String>} with collection paths
+	 * @param avuValue
+	 *            {@code String} with the AVU value
+	 * @param avuUnit
+	 *            {@code String} with the AVU unit
+	 * @return {@code Map} of path to the AVU attribute, for the collections
+	 *         that have one
+	 * @throws JargonException
+	 */
+	public Map<String, String> findAvuAttributesOnCollections(
+			final List<String> collectionPaths, final String avuValue,
+			final String avuUnit) throws JargonException {
+
+		Map<String, String> attributes = new HashMap<String, String>();
+		try {
+			for (Map.Entry<String, List<String>> zoneEntry : groupByZone(
+					collectionPaths).entrySet()) {
+				for (List<String> batch : partitionWithQuotedAlone(zoneEntry
+						.getValue())) {
+					IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(
+							true, null);
+					builder.addSelectAsGenQueryValue(
+							RodsGenQueryEnum.COL_COLL_NAME)
+							.addSelectAsGenQueryValue(
+									RodsGenQueryEnum.COL_META_COLL_ATTR_NAME)
+							.addConditionAsGenQueryField(
+									RodsGenQueryEnum.COL_META_COLL_ATTR_VALUE,
+									QueryConditionOperators.EQUAL, avuValue)
+							.addConditionAsGenQueryField(
+									RodsGenQueryEnum.COL_META_COLL_ATTR_UNITS,
+									QueryConditionOperators.EQUAL, avuUnit);
+					addPathCondition(builder, RodsGenQueryEnum.COL_COLL_NAME,
+							batch);
+					for (IRODSQueryResultRow row : queryAllRows(builder,
+							zoneEntry.getKey())) {
+						attributes.put(row.getColumn(0), row.getColumn(1));
+					}
+				}
+			}
+		} catch (GenQueryBuilderException e) {
+			log.error("error building AVU query", e);
+			throw new JargonException("error building AVU query", e);
+		}
+		return attributes;
+	}
+
+	/**
+	 * Find the AVU with the given value and unit on each of the given data
+	 * objects, for instance the star of a user
+	 *
+	 * @param dataObjectPaths
+	 *            {@code List<String>} with data object paths
+	 * @param avuValue
+	 *            {@code String} with the AVU value
+	 * @param avuUnit
+	 *            {@code String} with the AVU unit
+	 * @return {@code Map} of path to the AVU attribute, for the data objects
+	 *         that have one
+	 * @throws JargonException
+	 */
+	public Map<String, String> findAvuAttributesOnDataObjects(
+			final List<String> dataObjectPaths, final String avuValue,
+			final String avuUnit) throws JargonException {
+
+		Map<String, List<String>> namesByParent = new LinkedHashMap<String, List<String>>();
+		for (String path : dataObjectPaths) {
+			String parent = parentOf(path);
+			List<String> names = namesByParent.get(parent);
+			if (names == null) {
+				names = new ArrayList<String>();
+				namesByParent.put(parent, names);
+			}
+			names.add(nameOf(path));
+		}
+
+		Map<String, String> attributes = new HashMap<String, String>();
+		try {
+			for (Map.Entry<String, List<String>> parentEntry : namesByParent
+					.entrySet()) {
+				String zone = MiscIRODSUtils.getZoneInPath(parentEntry
+						.getKey());
+				for (List<String> batch : partitionWithQuotedAlone(parentEntry
+						.getValue())) {
+					IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(
+							true, null);
+					builder.addSelectAsGenQueryValue(
+							RodsGenQueryEnum.COL_DATA_NAME)
+							.addSelectAsGenQueryValue(
+									RodsGenQueryEnum.COL_META_DATA_ATTR_NAME)
+							.addConditionAsGenQueryField(
+									RodsGenQueryEnum.COL_COLL_NAME,
+									QueryConditionOperators.EQUAL,
+									parentEntry.getKey())
+							.addConditionAsGenQueryField(
+									RodsGenQueryEnum.COL_META_DATA_ATTR_VALUE,
+									QueryConditionOperators.EQUAL, avuValue)
+							.addConditionAsGenQueryField(
+									RodsGenQueryEnum.COL_META_DATA_ATTR_UNITS,
+									QueryConditionOperators.EQUAL, avuUnit);
+					addPathCondition(builder, RodsGenQueryEnum.COL_DATA_NAME,
+							batch);
+					for (IRODSQueryResultRow row : queryAllRows(builder, zone)) {
+						attributes.put(
+								childPath(parentEntry.getKey(),
+										row.getColumn(0)), row.getColumn(1));
+					}
+				}
+			}
+		} catch (GenQueryBuilderException e) {
+			log.error("error building AVU query", e);
+			throw new JargonException("error building AVU query", e);
+		}
+		return attributes;
+	}
+
+	private void addPathCondition(final IRODSGenQueryBuilder builder,
+			final RodsGenQueryEnum field, final List<String> batch) {
+		if (batch.size() == 1) {
+			builder.addConditionAsGenQueryField(field,
+					QueryConditionOperators.EQUAL, batch.get(0));
+		} else {
+			builder.addConditionAsMultiValueCondition(field,
+					QueryConditionOperators.IN, batch);
+		}
+	}
+
+	private List<IRODSQueryResultRow> queryAllRows(
+			final IRODSGenQueryBuilder builder, final String zone)
+			throws JargonException, GenQueryBuilderException {
+
+		List<IRODSQueryResultRow> rows = new ArrayList<IRODSQueryResultRow>();
+		GenQueryResultIterator iterator;
+		try {
+			iterator = irodsAccessObjectFactory.getIRODSGenQueryExecutor(
+					irodsAccount).executeIRODSQueryAsIterator(
+					builder.exportIRODSQueryFromBuilder(irodsAccessObjectFactory
+							.getJargonProperties().getMaxFilesAndDirsQueryMax()),
+					zone, false);
+		} catch (JargonQueryException e) {
+			log.error("query error", e);
+			throw new JargonException("query error", e);
+		}
+
+		try {
+			while (iterator.hasNext()) {
+				rows.add(iterator.next());
+			}
+		} finally {
+			iterator.close();
+		}
+		return rows;
+	}
+
+	private static Map<String, List<String>> groupByZone(
+			final List<String> paths) {
+		Map<String, List<String>> pathsByZone = new LinkedHashMap<String, List<String>>();
+		for (String path : paths) {
+			String zone = MiscIRODSUtils.getZoneInPath(path);
+			List<String> zonePaths = pathsByZone.get(zone);
+			if (zonePaths == null) {
+				zonePaths = new ArrayList<String>();
+				pathsByZone.put(zone, zonePaths);
+			}
+			zonePaths.add(path);
+		}
+		return pathsByZone;
+	}
+
+	private static List<List<String>> partition(final List<String> values) {
+		List<List<String>> batches = new ArrayList<List<String>>();
+		for (int i = 0; i < values.size(); i += IN_BATCH_SIZE) {
+			batches.add(values.subList(i,
+					Math.min(i + IN_BATCH_SIZE, values.size())));
+		}
+		return batches;
+	}
+
+	/**
+	 * Batches for an {@code IN} condition, with values holding a quote each
+	 * in a batch of their own, to be sent as an {@code EQUAL} condition
+	 */
+	private static List<List<String>> partitionWithQuotedAlone(
+			final List<String> values) {
+		List<String> plain = new ArrayList<String>();
+		List<List<String>> batches = new ArrayList<List<String>>();
+		for (String value : values) {
+			if (value.indexOf('\'') >= 0) {
+				batches.add(Collections.singletonList(value));
+			} else {
+				plain.add(value);
+			}
+		}
+		batches.addAll(partition(plain));
+		return batches;
+	}
+
+	/**
+	 * @param path
+	 *            {@code String} with an absolute path
+	 * @return {@code String} with the path as it is given in
+	 *         {@link ClassifiedPaths} and bulk results, without a trailing '/'
+	 */
+	public static String normalizePath(final String path) {
+		if (path.length() > 1 && path.endsWith("/")) {
+			return path.substring(0, path.length() - 1);
+		}
+		return path;
+	}
+
+	static String parentOf(final String path) {
+		int lastSlash = path.lastIndexOf('/');
+		return lastSlash <= 0 ? "/" : path.substring(0, lastSlash);
+	}
+
+	static String nameOf(final String path) {
+		return path.substring(path.lastIndexOf('/') + 1);
+	}
+
+	private static String childPath(final String parent, final String name) {
+		return "/".equals(parent) ? "/" + name : parent + "/" + name;
+	}
+
+	/**
+	 * Paths sorted by what they are in iRODS
+	 */
+	public static class ClassifiedPaths {
+		private final List<String> collectionPaths = new ArrayList<String>();
+		private final List<String> dataObjectPaths = new ArrayList<String>();
+		private final List<String> missingPaths = new ArrayList<String>();
+
+		public List<String> getCollectionPaths() {
+			return collectionPaths;
+		}
+
+		public List<String> getDataObjectPaths() {
+			return dataObjectPaths;
+		}
+
+		public List<String> getMissingPaths() {
+			return missingPaths;
+		}
+	}
+
+}
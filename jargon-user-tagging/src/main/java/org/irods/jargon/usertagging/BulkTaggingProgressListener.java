@@ -0,0 +1,28 @@
+package org.irods.jargon.usertagging;
+
+import org.irods.jargon.usertagging.domain.BulkTagOperationResult;
+
+/**
+ * Receives progress of a bulk tagging or starring operation, one call for each
+ * path as its result is known
+ * 
+ * @author Mike Conway - DICE (www.irods.org)
+ * 
+ */
+public interface BulkTaggingProgressListener {
+
+	/**
+	 * Called as the result for a path is known. This is called on the thread
+	 * that runs the bulk operation, and should return quickly.
+	 * 
+	 * @param bulkTagOperationResult
+	 *            {@link BulkTagOperationResult} for the path
+	 * @param completedCount
+	 *            {@code int} with the number of paths done so far
+	 * @param totalCount
+	 *            {@code int} with the number of paths in the operation
+	 */
+	void pathCompleted(BulkTagOperationResult bulkTagOperationResult,
+			int completedCount, int totalCount);
+
+}
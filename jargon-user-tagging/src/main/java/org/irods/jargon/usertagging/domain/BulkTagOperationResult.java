@@ -0,0 +1,147 @@
+package org.irods.jargon.usertagging.domain;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+import org.irods.jargon.core.pub.BulkAVUOperationResponse;
+import org.irods.jargon.core.pub.BulkAVUOperationResponse.ResultStatus;
+import org.irods.jargon.core.query.MetaDataAndDomainData.MetadataDomain;
+
+/**
+ * Result of a bulk tagging or starring operation for one path. The result
+ * holds the status for the path as a whole, which is the first status other
+ * than {@code OK} in the responses for each AVU, or {@code OK} if there is
+ * none.
+ * 
+ * @author Mike Conway - DICE (www.irods.org)
+ * 
+ */
+public final class BulkTagOperationResult implements Serializable {
+
+	private static final long serialVersionUID = -3015584390128845718L;
+	private final String irodsAbsolutePath;
+	private final MetadataDomain metadataDomain;
+	private final ResultStatus resultStatus;
+	private final String message;
+	private final List<BulkAVUOperationResponse> avuResponses;
+
+	/**
+	 * Build a result from the responses for each AVU sent to the path
+	 * 
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the path
+	 * @param metadataDomain
+	 *            {@link MetadataDomain} that the path was found to be
+	 * @param avuResponses
+	 *            {@code List} of {@link BulkAVUOperationResponse}
+	 * @return {@link BulkTagOperationResult}
+	 */
+	public static BulkTagOperationResult instance(
+			final String irodsAbsolutePath,
+			final MetadataDomain metadataDomain,
+			final List<BulkAVUOperationResponse> avuResponses) {
+
+		if (avuResponses == null) {
+			throw new IllegalArgumentException("null avuResponses");
+		}
+
+		ResultStatus resultStatus = ResultStatus.OK;
+		String message = "";
+		for (BulkAVUOperationResponse avuResponse : avuResponses) {
+			if (avuResponse.getResultStatus() != ResultStatus.OK) {
+				resultStatus = avuResponse.getResultStatus();
+				message = avuResponse.getMessage();
+				break;
+			}
+		}
+
+		return new BulkTagOperationResult(irodsAbsolutePath, metadataDomain,
+				resultStatus, message, avuResponses);
+	}
+
+	/**
+	 * Build a result for a path that needed no AVU requests, or could not
+	 * have them sent
+	 * 
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the path
+	 * @param metadataDomain
+	 *            {@link MetadataDomain} that the path was found to be, or
+	 *            {@code null} if it was not found
+	 * @param resultStatus
+	 *            {@link ResultStatus} for the path
+	 * @param message
+	 *            {@code String} describing the result
+	 * @return {@link BulkTagOperationResult}
+	 */
+	public static BulkTagOperationResult instance(
+			final String irodsAbsolutePath,
+			final MetadataDomain metadataDomain,
+			final ResultStatus resultStatus, final String message) {
+		return new BulkTagOperationResult(irodsAbsolutePath, metadataDomain,
+				resultStatus, message,
+				Collections.<BulkAVUOperationResponse> emptyList());
+	}
+
+	private BulkTagOperationResult(final String irodsAbsolutePath,
+			final MetadataDomain metadataDomain,
+			final ResultStatus resultStatus, final String message,
+			final List<BulkAVUOperationResponse> avuResponses) {
+
+		if (irodsAbsolutePath == null || irodsAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException(
+					"null or empty irodsAbsolutePath");
+		}
+
+		if (resultStatus == null) {
+			throw new IllegalArgumentException("null resultStatus");
+		}
+
+		this.irodsAbsolutePath = irodsAbsolutePath;
+		this.metadataDomain = metadataDomain;
+		this.resultStatus = resultStatus;
+		this.message = message == null ? "" : message;
+		this.avuResponses = avuResponses;
+	}
+
+	public String getIrodsAbsolutePath() {
+		return irodsAbsolutePath;
+	}
+
+	/**
+	 * @return {@link MetadataDomain} of the path, or {@code null} if it was
+	 *         not found
+	 */
+	public MetadataDomain getMetadataDomain() {
+		return metadataDomain;
+	}
+
+	public ResultStatus getResultStatus() {
+		return resultStatus;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public List<BulkAVUOperationResponse> getAvuResponses() {
+		return avuResponses;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("BulkTagOperationResult:");
+		sb.append("\n   irodsAbsolutePath:");
+		sb.append(irodsAbsolutePath);
+		sb.append("\n   metadataDomain:");
+		sb.append(metadataDomain);
+		sb.append("\n   resultStatus:");
+		sb.append(resultStatus);
+		sb.append("\n   message:");
+		sb.append(message);
+		return sb.toString();
+	}
+
+}
@@ -155,6 +155,66 @@ public interface IRODSSharingService {
 			String userName, String userZone)
 			throws OperationNotSupportedByThisServerException, JargonException;
 
+	/**
+	 * Retrieve a page of the collections shared by a given user, as
+	 * determined by the owner of that collection. The page is cut in the
+	 * catalog by one specific query, which also returns the total number of
+	 * shares, so each share has its count, total records and last result set
+	 * for paging.
+	 * <p>
+	 * Note that this method uses Specific Query, and the
+	 * listSharedCollectionsOwnedByUserPaged query alias must be provided, as
+	 * set up by the script in the jargon-user-tagging project. The page size
+	 * is the {@code maxFilesAndDirsQueryMax} jargon property.
+	 * 
+	 * @param userName
+	 *            {@code String} with the name of the user who is doing the
+	 *            sharing, based on the owner of the collection.
+	 * @param userZone
+	 *            {@code String} with the zone for the user. This may be
+	 *            set to blank, in which case the zone of the logged in user
+	 *            will be used
+	 * @param offset
+	 *            {@code int} with the offset of the first share to return,
+	 *            0 for the first page
+	 * @return {@code List} of {@link IRODSSharedFileOrCollection} that is
+	 *         shared by the user
+	 * @throws OperationNotSupportedByThisServerException
+	 *             if specific query support is not enabled, or the paged
+	 *             query is not loaded
+	 * @throws JargonException
+	 */
+	List<IRODSSharedFileOrCollection> listSharedCollectionsOwnedByAUser(
+			String userName, String userZone, int offset)
+			throws OperationNotSupportedByThisServerException, JargonException;
+
+	/**
+	 * Retrieve a page of the collections shared with a given user by another
+	 * user, in the same way as the paged
+	 * {@code listSharedCollectionsOwnedByAUser()}. The
+	 * listSharedCollectionsSharedWithUserPaged query alias must be provided.
+	 * 
+	 * @param userName
+	 *            {@code String} with the name of the user the collections
+	 *            are shared with
+	 * @param userZone
+	 *            {@code String} with the zone for the user. This may be
+	 *            set to blank, in which case the zone of the logged in user
+	 *            will be used
+	 * @param offset
+	 *            {@code int} with the offset of the first share to return,
+	 *            0 for the first page
+	 * @return {@code List} of {@link IRODSSharedFileOrCollection} that is
+	 *         shared by a party with the user
+	 * @throws OperationNotSupportedByThisServerException
+	 *             if specific query support is not enabled, or the paged
+	 *             query is not loaded
+	 * @throws JargonException
+	 */
+	List<IRODSSharedFileOrCollection> listSharedCollectionsSharedWithUser(
+			String userName, String userZone, int offset)
+			throws OperationNotSupportedByThisServerException, JargonException;
+
 	/**
 	 * Handy method to retrieve ACL share details for a share at the given
 	 * absolute path. Note that if there is no share, an empty list is returned.
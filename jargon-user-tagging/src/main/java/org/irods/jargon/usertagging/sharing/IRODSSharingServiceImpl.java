@@ -12,6 +12,8 @@ import org.irods.jargon.core.exception.DuplicateDataException;
 import org.irods.jargon.core.exception.FileNotFoundException;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.exception.OperationNotSupportedByThisServerException;
+import org.irods.jargon.core.pub.BulkAccessControlEntry;
+import org.irods.jargon.core.pub.BulkAccessControlResponse;
 import org.irods.jargon.core.pub.CollectionAO;
 import org.irods.jargon.core.pub.CollectionAndDataObjectListAndSearchAO;
 import org.irods.jargon.core.pub.DataObjectAO;
@@ -73,6 +75,23 @@ public class IRODSSharingServiceImpl extends AbstractIRODSTaggingService
 	public static final Logger log = LoggerFactory
 			.getLogger(IRODSSharingServiceImpl.class);
 
+	/**
+	 * Specific query alias for a page of the collections shared by a user,
+	 * with the total count of shares in the last column
+	 */
+	public static final String LIST_SHARED_OWNED_BY_USER_PAGED_QUERY = "listSharedCollectionsOwnedByUserPaged";
+
+	/**
+	 * Specific query alias for a page of the collections shared with a user,
+	 * with the total count of shares in the last column
+	 */
+	public static final String LIST_SHARED_WITH_USER_PAGED_QUERY = "listSharedCollectionsSharedWithUserPaged";
+
+	/**
+	 * Column of the total count in the paged share queries
+	 */
+	private static final int PAGED_TOTAL_COUNT_COLUMN = 8;
+
 	/**
 	 * @param irodsAccessObjectFactory
 	 *            {@link IRODSAccessObjectFactory} to create iRODS services
@@ -549,15 +568,8 @@ public class IRODSSharingServiceImpl extends AbstractIRODSTaggingService
 				MiscIRODSUtils.getZoneInPath(absPath),
 				irodsSharedFileOrCollection.getDomainUniqueName(), true);
 		log.info("inheritance set, now setting the ACLs desired...");
-		for (ShareUser shareUser : irodsSharedFileOrCollection.getShareUsers()) {
-			log.info("shareUser:{}", shareUser);
-			// FIXMME: need objstat lookup optimization
-			// assume recursive is true..
-			collectionAO.setAccessPermission(shareUser.getZone(),
-					irodsSharedFileOrCollection.getDomainUniqueName(),
-					shareUser.getUserName(), true,
-					shareUser.getFilePermission());
-		}
+		// assume recursive is true..
+		setSharePermissions(irodsSharedFileOrCollection, true);
 	}
 
 	/**
@@ -579,13 +591,58 @@ public class IRODSSharingServiceImpl extends AbstractIRODSTaggingService
 		dataObjectAO.addAVUMetadata(
 				irodsSharedFileOrCollection.getDomainUniqueName(), avuData);
 		log.info("inheritance set, now setting the ACLs desired...");
+		setSharePermissions(irodsSharedFileOrCollection, false);
+	}
+
+	/**
+	 * Give each share user their permission on the shared path, with the path
+	 * looked up once for all the users. As when each user was given access in
+	 * turn, this stops at the first user that cannot be given access, and
+	 * throws the exception iRODS gave for that user, such as
+	 * {@code InvalidUserException}. Users earlier in the list keep their
+	 * access.
+	 *
+	 * @param irodsSharedFileOrCollection
+	 * @param recursive
+	 * @throws JargonException
+	 * @throws FileNotFoundException
+	 *             if the shared path does not exist
+	 */
+	private void setSharePermissions(
+			final IRODSSharedFileOrCollection irodsSharedFileOrCollection,
+			final boolean recursive) throws JargonException {
+		List<BulkAccessControlEntry> bulkAccessControlEntries = new ArrayList<BulkAccessControlEntry>();
 		for (ShareUser shareUser : irodsSharedFileOrCollection.getShareUsers()) {
 			log.info("shareUser:{}", shareUser);
-			// FIXMME: need objstat lookup optimization
-			// assume recursive is true..
-			dataObjectAO.setAccessPermission(shareUser.getZone(),
-					irodsSharedFileOrCollection.getDomainUniqueName(),
-					shareUser.getUserName(), shareUser.getFilePermission());
+			bulkAccessControlEntries.add(BulkAccessControlEntry.instance(
+					shareUser.getUserName(), shareUser.getZone(),
+					shareUser.getFilePermission()));
+		}
+
+		if (bulkAccessControlEntries.isEmpty()) {
+			log.info("no share users");
+			return;
+		}
+
+		List<String> absolutePaths = new ArrayList<String>();
+		absolutePaths.add(irodsSharedFileOrCollection.getDomainUniqueName());
+		List<BulkAccessControlResponse> responses = getIrodsAccessObjectFactory()
+				.getCollectionAO(getIrodsAccount()).setAccessPermissionsInBulk(
+						absolutePaths, bulkAccessControlEntries, recursive,
+						false, true);
+
+		for (BulkAccessControlResponse response : responses) {
+			if (response.getResultStatus() == BulkAccessControlResponse.ResultStatus.MISSING_TARGET) {
+				log.error("shared path not found:{}", response);
+				throw new FileNotFoundException("shared path not found");
+			} else if (response.getResultStatus() != BulkAccessControlResponse.ResultStatus.OK) {
+				log.error("unable to set share permission:{}", response);
+				if (response.getJargonException() != null) {
+					throw response.getJargonException();
+				}
+				throw new JargonException("unable to set share permission:"
+						+ response.getMessage());
+			}
 		}
 	}
 
@@ -630,7 +687,7 @@ public class IRODSSharingServiceImpl extends AbstractIRODSTaggingService
 		 */
 		List<String> arguments = new ArrayList<String>();
 		arguments.add(userName);
-		arguments.add(userZone);
+		arguments.add(myZone);
 
 		SpecificQuery specificQuery = SpecificQuery.instanceArguments(
 				"listSharedCollectionsOwnedByUser", arguments, 0, "");
@@ -690,7 +747,7 @@ public class IRODSSharingServiceImpl extends AbstractIRODSTaggingService
 		 */
 		List<String> arguments = new ArrayList<String>();
 		arguments.add(userName);
-		arguments.add(userZone);
+		arguments.add(myZone);
 		arguments.add(userName);
 
 		SpecificQuery specificQuery = SpecificQuery.instanceArguments(
@@ -708,6 +765,122 @@ public class IRODSSharingServiceImpl extends AbstractIRODSTaggingService
 
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.usertagging.sharing.IRODSSharingService#
+	 * listSharedCollectionsOwnedByAUser(java.lang.String, java.lang.String,
+	 * int)
+	 */
+	@Override
+	public List<IRODSSharedFileOrCollection> listSharedCollectionsOwnedByAUser(
+			final String userName, final String userZone, final int offset)
+			throws OperationNotSupportedByThisServerException, JargonException {
+		log.info("listSharedCollectionsOwnedByAUser() with offset:{}", offset);
+
+		if (userName == null || userName.isEmpty()) {
+			throw new IllegalArgumentException("null or empty userName");
+		}
+
+		List<String> arguments = new ArrayList<String>();
+		arguments.add(userName);
+		arguments.add(zoneOrLoggedInZone(userZone));
+		return listSharesPage(LIST_SHARED_OWNED_BY_USER_PAGED_QUERY,
+				arguments, offset);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.usertagging.sharing.IRODSSharingService#
+	 * listSharedCollectionsSharedWithUser(java.lang.String, java.lang.String,
+	 * int)
+	 */
+	@Override
+	public List<IRODSSharedFileOrCollection> listSharedCollectionsSharedWithUser(
+			final String userName, final String userZone, final int offset)
+			throws OperationNotSupportedByThisServerException, JargonException {
+		log.info("listSharedCollectionsSharedWithUser() with offset:{}",
+				offset);
+
+		if (userName == null || userName.isEmpty()) {
+			throw new IllegalArgumentException("null or empty userName");
+		}
+
+		List<String> arguments = new ArrayList<String>();
+		arguments.add(userName);
+		arguments.add(zoneOrLoggedInZone(userZone));
+		arguments.add(userName);
+		return listSharesPage(LIST_SHARED_WITH_USER_PAGED_QUERY, arguments,
+				offset);
+	}
+
+	/**
+	 * Run one of the paged share queries for the page at the given offset.
+	 * The page size and offset are bound as the last two arguments, so the
+	 * page is cut by the catalog, and the total number of shares comes back
+	 * in each row, so no other query is needed to page through the shares.
+	 * 
+	 * @param queryAlias
+	 *            {@code String} with the paged specific query alias
+	 * @param arguments
+	 *            {@code List<String>} with the arguments before the page size
+	 *            and offset
+	 * @param offset
+	 *            {@code int} with the offset of the first share in the page
+	 * @return {@code List} of {@link IRODSSharedFileOrCollection} with count
+	 *         and total records set
+	 * @throws OperationNotSupportedByThisServerException
+	 * @throws JargonException
+	 */
+	private List<IRODSSharedFileOrCollection> listSharesPage(
+			final String queryAlias, final List<String> arguments,
+			final int offset)
+			throws OperationNotSupportedByThisServerException, JargonException {
+
+		if (offset < 0) {
+			throw new IllegalArgumentException("offset < 0");
+		}
+
+		int pageSize = getIrodsAccessObjectFactory().getJargonProperties()
+				.getMaxFilesAndDirsQueryMax();
+		arguments.add(String.valueOf(pageSize));
+		arguments.add(String.valueOf(offset));
+
+		SpecificQuery specificQuery = SpecificQuery.instanceArguments(
+				queryAlias, arguments, 0, "");
+		SpecificQueryResultSet specificQueryResultSet = runSpecificQuery(
+				specificQuery, offset, true);
+
+		List<IRODSSharedFileOrCollection> irodsSharedFileOrCollections = new ArrayList<IRODSSharedFileOrCollection>(
+				specificQueryResultSet.getResults().size());
+		int totalRecords = 0;
+		for (IRODSQueryResultRow row : specificQueryResultSet.getResults()) {
+			IRODSSharedFileOrCollection irodsSharedFileOrCollection = new IRODSSharedFileOrCollection(
+					MetadataDomain.COLLECTION, row.getColumn(2),
+					row.getColumn(5), row.getColumn(3), row.getColumn(4),
+					new ArrayList<ShareUser>());
+			totalRecords = Integer.parseInt(row
+					.getColumn(PAGED_TOTAL_COUNT_COLUMN));
+			irodsSharedFileOrCollection.setCount(row.getRecordCount());
+			irodsSharedFileOrCollection.setTotalRecords(totalRecords);
+			irodsSharedFileOrCollection
+					.setLastResult(row.getRecordCount() >= totalRecords);
+			irodsSharedFileOrCollections.add(irodsSharedFileOrCollection);
+		}
+
+		log.info("listed {} shares of {}", irodsSharedFileOrCollections.size(),
+				totalRecords);
+		return irodsSharedFileOrCollections;
+	}
+
+	private String zoneOrLoggedInZone(final String userZone) {
+		if (userZone == null || userZone.isEmpty()) {
+			return getIrodsAccount().getZone();
+		}
+		return userZone;
+	}
+
 	/**
 	 * @param specificQueryResultSet
 	 * @param irodsSharedFileOrCollections
@@ -776,18 +949,45 @@ public class IRODSSharingServiceImpl extends AbstractIRODSTaggingService
 	private SpecificQueryResultSet runSpecificQuery(
 			final SpecificQuery specificQuery)
 			throws OperationNotSupportedByThisServerException, JargonException {
+		return runSpecificQuery(specificQuery, 0, false);
+	}
+
+	/**
+	 * @param specificQuery
+	 * @param userDefinedOffset
+	 *            {@code int} with the offset bound in the query, so that the
+	 *            record counts of the rows are from the start of the listing
+	 * @param pagedQuery
+	 *            {@code boolean} of {@code true} for the paged share queries,
+	 *            which may be missing where the other sharing queries are
+	 *            loaded
+	 * @throws JargonException
+	 * @throws OperationNotSupportedByThisServerException
+	 */
+	private SpecificQueryResultSet runSpecificQuery(
+			final SpecificQuery specificQuery, final int userDefinedOffset,
+			final boolean pagedQuery)
+			throws OperationNotSupportedByThisServerException, JargonException {
 
 		checkSpecificQuerySupport();
 		try {
 			SpecificQueryAO queryAO = getIrodsAccessObjectFactory()
 					.getSpecificQueryAO(getIrodsAccount());
 
-			return queryAO.executeSpecificQueryUsingAlias(specificQuery,
-					getIrodsAccessObjectFactory().getJargonProperties()
-							.getMaxFilesAndDirsQueryMax());
+			SpecificQueryResultSet specificQueryResultSet = queryAO
+					.executeSpecificQueryUsingAlias(specificQuery,
+							getIrodsAccessObjectFactory().getJargonProperties()
+									.getMaxFilesAndDirsQueryMax(),
+							userDefinedOffset);
+			indicateSharingSupport(true);
+			return specificQueryResultSet;
 
 		} catch (DataNotFoundException dnf) {
 			log.error("data not found error in specific query", dnf);
+			if (pagedQuery) {
+				throw new OperationNotSupportedByThisServerException(
+						"the paged specific queries for shares need to be loaded");
+			}
 			indicateSharingSupport(false);
 			throw new OperationNotSupportedByThisServerException(
 					"either the server does not support specific query, or the specific queries need to determine shares are not loaded");
@@ -804,21 +1004,31 @@ public class IRODSSharingServiceImpl extends AbstractIRODSTaggingService
 	private void checkSpecificQuerySupport() throws JargonException,
 			OperationNotSupportedByThisServerException {
 
+		/*
+		 * The outcome of an earlier probe is kept per host and zone in the
+		 * discovered server properties cache, so the server properties are
+		 * only consulted the first time
+		 */
+		if (isDeterminedThatSharingQueriesNotSupported()) {
+			throw new OperationNotSupportedByThisServerException(
+					"specific queries needed for sharing are not supported");
+		}
+
+		if (isDeterminedThatSharingQueriesSupported()) {
+			return;
+		}
+
 		if (!getIrodsAccessObjectFactory().getIRODSServerProperties(
 				getIrodsAccount()).isSupportsSpecificQuery()) {
 			log.error(
 					"specific query is not supported by this iRODS server:{}",
 					getIrodsAccessObjectFactory().getIRODSServerProperties(
 							getIrodsAccount()));
+			indicateSharingSupport(false);
 			throw new OperationNotSupportedByThisServerException(
 					"specific query not supported by this iRODS version");
 		}
 
-		if (isDeterminedThatSharingQueriesNotSupported()) {
-			throw new OperationNotSupportedByThisServerException(
-					"specific queries needed for sharing are not supported");
-		}
-
 	}
 
 	/**
@@ -847,6 +1057,25 @@ public class IRODSSharingServiceImpl extends AbstractIRODSTaggingService
 
 	}
 
+	/**
+	 * Will return {@code true} if a sharing specific query has already run
+	 * on this host and zone
+	 * 
+	 * @return
+	 */
+	private boolean isDeterminedThatSharingQueriesSupported() {
+		if (!getIrodsAccessObjectFactory()
+				.isUsingDynamicServerPropertiesCache()) {
+			return false;
+		}
+
+		return getIrodsAccessObjectFactory()
+				.getDiscoveredServerPropertiesCache().retrieveValue(
+						getIrodsAccount().getHost(),
+						getIrodsAccount().getZone(),
+						IRODSSharingService.SHARING_ENABLED_PROPERTY) != null;
+	}
+
 	/**
 	 * Will return {@code true} if I have already checked, and know that
 	 * the sharing specific queries are not set up on iRODS.
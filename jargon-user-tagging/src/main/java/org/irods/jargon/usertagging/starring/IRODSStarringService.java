@@ -4,6 +4,8 @@ import java.util.List;
 
 import org.irods.jargon.core.exception.FileNotFoundException;
 import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.usertagging.BulkTaggingProgressListener;
+import org.irods.jargon.usertagging.domain.BulkTagOperationResult;
 import org.irods.jargon.usertagging.domain.IRODSStarredFileOrCollection;
 
 /**
@@ -100,4 +102,50 @@ public interface IRODSStarringService {
 	List<IRODSStarredFileOrCollection> listStarredDataObjects(
 			final int pagingOffset) throws JargonException;
 
+	/**
+	 * Star each of a list of files or collections. The paths are sorted into
+	 * data objects and collections, and their current stars found, with a few
+	 * queries for each batch of paths, and the stars are then added to each
+	 * batch together. Paths that are already starred are left as they are,
+	 * keeping their description, and paths that are not found are reported in
+	 * their result rather than thrown.
+	 * 
+	 * @param irodsAbsolutePaths
+	 *            {@code List<String>} with the absolute paths of files and
+	 *            collections
+	 * @param description
+	 *            {@code String} with an optional free text description. Note
+	 *            that this should be set to blank if not used.
+	 * @param bulkTaggingProgressListener
+	 *            {@link BulkTaggingProgressListener} told of the result of
+	 *            each path, may be {@code null}
+	 * @return {@code List} of {@link BulkTagOperationResult} in the order of
+	 *         the paths
+	 * @throws JargonException
+	 */
+	List<BulkTagOperationResult> starFilesOrCollections(
+			List<String> irodsAbsolutePaths, String description,
+			BulkTaggingProgressListener bulkTaggingProgressListener)
+			throws JargonException;
+
+	/**
+	 * Un-star each of a list of files or collections, in the same way as
+	 * {@code starFilesOrCollections()}. Paths that are not starred are treated
+	 * as successful.
+	 * 
+	 * @param irodsAbsolutePaths
+	 *            {@code List<String>} with the absolute paths of files and
+	 *            collections
+	 * @param bulkTaggingProgressListener
+	 *            {@link BulkTaggingProgressListener} told of the result of
+	 *            each path, may be {@code null}
+	 * @return {@code List} of {@link BulkTagOperationResult} in the order of
+	 *         the paths
+	 * @throws JargonException
+	 */
+	List<BulkTagOperationResult> unstarFilesOrCollections(
+			List<String> irodsAbsolutePaths,
+			BulkTaggingProgressListener bulkTaggingProgressListener)
+			throws JargonException;
+
 }
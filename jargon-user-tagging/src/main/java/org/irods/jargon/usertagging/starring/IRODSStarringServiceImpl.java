@@ -4,14 +4,22 @@
 package org.irods.jargon.usertagging.starring;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.exception.DataNotFoundException;
 import org.irods.jargon.core.exception.DuplicateDataException;
 import org.irods.jargon.core.exception.FileNotFoundException;
 import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.pub.BulkAVUOperationResponse;
+import org.irods.jargon.core.pub.BulkAVUOperationResponse.ResultStatus;
 import org.irods.jargon.core.pub.CollectionAO;
 import org.irods.jargon.core.pub.CollectionAndDataObjectListAndSearchAO;
 import org.irods.jargon.core.pub.DataObjectAO;
@@ -24,8 +32,12 @@ import org.irods.jargon.core.query.AVUQueryElement.AVUQueryPart;
 import org.irods.jargon.core.query.AVUQueryOperatorEnum;
 import org.irods.jargon.core.query.JargonQueryException;
 import org.irods.jargon.core.query.MetaDataAndDomainData;
+import org.irods.jargon.core.query.MetaDataAndDomainData.MetadataDomain;
 import org.irods.jargon.core.utils.MiscIRODSUtils;
 import org.irods.jargon.usertagging.AbstractIRODSTaggingService;
+import org.irods.jargon.usertagging.BulkPathClassifier;
+import org.irods.jargon.usertagging.BulkTaggingProgressListener;
+import org.irods.jargon.usertagging.domain.BulkTagOperationResult;
 import org.irods.jargon.usertagging.domain.IRODSStarredFileOrCollection;
 import org.irods.jargon.usertagging.tags.UserTaggingConstants;
 import org.slf4j.Logger;
@@ -111,15 +123,7 @@ public class IRODSStarringServiceImpl extends AbstractIRODSTaggingService
 		log.info("description:{}", description);
 		log.info("for user:{}", irodsAccount.getUserName());
 
-		String myDescr;
-		if (description.isEmpty()) {
-			StringBuilder sb = new StringBuilder();
-			sb.append("Starred at:");
-			sb.append(new Date());
-			myDescr = sb.toString();
-		} else {
-			myDescr = description;
-		}
+		String myDescr = descriptionOrDefault(description);
 
 		log.info("deciding whether a file or collection...");
 		ObjStat objStat = getObjStatForAbsolutePath(irodsAbsolutePath);
@@ -280,6 +284,257 @@ public class IRODSStarringServiceImpl extends AbstractIRODSTaggingService
 
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.usertagging.starring.IRODSStarringService#
+	 * starFilesOrCollections(java.util.List, java.lang.String,
+	 * org.irods.jargon.usertagging.BulkTaggingProgressListener)
+	 */
+	@Override
+	public List<BulkTagOperationResult> starFilesOrCollections(
+			final List<String> irodsAbsolutePaths, final String description,
+			final BulkTaggingProgressListener bulkTaggingProgressListener)
+			throws JargonException {
+
+		log.info("starFilesOrCollections()");
+
+		if (irodsAbsolutePaths == null) {
+			throw new IllegalArgumentException("null irodsAbsolutePaths");
+		}
+
+		if (description == null) {
+			throw new IllegalArgumentException("null description");
+		}
+
+		List<AvuData> starAvu = buildStarAvu(descriptionOrDefault(description));
+		BulkPathClassifier bulkPathClassifier = new BulkPathClassifier(
+				irodsAccessObjectFactory, irodsAccount);
+		List<BulkTagOperationResult> results = new ArrayList<BulkTagOperationResult>();
+		int totalCount = irodsAbsolutePaths.size();
+
+		for (int i = 0; i < totalCount; i += BULK_BATCH_SIZE) {
+			List<String> batch = irodsAbsolutePaths.subList(i,
+					Math.min(i + BULK_BATCH_SIZE, totalCount));
+			BulkPathClassifier.ClassifiedPaths classifiedPaths = bulkPathClassifier
+					.classify(batch);
+			Map<String, String> currentStars = findCurrentStars(
+					bulkPathClassifier, classifiedPaths);
+
+			/*
+			 * Paths already starred keep their star and description, the rest
+			 * are starred together
+			 */
+			List<String> collectionsToStar = new ArrayList<String>();
+			for (String path : classifiedPaths.getCollectionPaths()) {
+				if (!currentStars.containsKey(path)) {
+					collectionsToStar.add(path);
+				}
+			}
+
+			List<String> dataObjectsToStar = new ArrayList<String>();
+			for (String path : classifiedPaths.getDataObjectPaths()) {
+				if (!currentStars.containsKey(path)) {
+					dataObjectsToStar.add(path);
+				}
+			}
+
+			Map<String, List<BulkAVUOperationResponse>> responses = new HashMap<String, List<BulkAVUOperationResponse>>();
+			if (!collectionsToStar.isEmpty()) {
+				responses.putAll(getIrodsAccessObjectFactory().getCollectionAO(
+						getIrodsAccount()).addBulkAVUMetadataToCollections(
+						collectionsToStar, starAvu));
+			}
+
+			if (!dataObjectsToStar.isEmpty()) {
+				responses.putAll(irodsAccessObjectFactory.getDataObjectAO(
+						irodsAccount).addBulkAVUMetadataToDataObjects(
+						dataObjectsToStar, starAvu));
+			}
+
+			addBatchResults(batch, classifiedPaths, currentStars, responses,
+					"already starred", results, totalCount,
+					bulkTaggingProgressListener);
+		}
+
+		log.info("starred {} paths", totalCount);
+		return results;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.irods.jargon.usertagging.starring.IRODSStarringService#
+	 * unstarFilesOrCollections(java.util.List,
+	 * org.irods.jargon.usertagging.BulkTaggingProgressListener)
+	 */
+	@Override
+	public List<BulkTagOperationResult> unstarFilesOrCollections(
+			final List<String> irodsAbsolutePaths,
+			final BulkTaggingProgressListener bulkTaggingProgressListener)
+			throws JargonException {
+
+		log.info("unstarFilesOrCollections()");
+
+		if (irodsAbsolutePaths == null) {
+			throw new IllegalArgumentException("null irodsAbsolutePaths");
+		}
+
+		BulkPathClassifier bulkPathClassifier = new BulkPathClassifier(
+				irodsAccessObjectFactory, irodsAccount);
+		List<BulkTagOperationResult> results = new ArrayList<BulkTagOperationResult>();
+		int totalCount = irodsAbsolutePaths.size();
+
+		for (int i = 0; i < totalCount; i += BULK_BATCH_SIZE) {
+			List<String> batch = irodsAbsolutePaths.subList(i,
+					Math.min(i + BULK_BATCH_SIZE, totalCount));
+			BulkPathClassifier.ClassifiedPaths classifiedPaths = bulkPathClassifier
+					.classify(batch);
+			Map<String, String> currentStars = findCurrentStars(
+					bulkPathClassifier, classifiedPaths);
+			Set<String> collectionPaths = new HashSet<String>(
+					classifiedPaths.getCollectionPaths());
+
+			/*
+			 * The description is the attribute of the star AVU, so paths are
+			 * grouped by description and each group is unstarred together
+			 */
+			Map<String, List<String>> collectionsByDescription = new LinkedHashMap<String, List<String>>();
+			Map<String, List<String>> dataObjectsByDescription = new LinkedHashMap<String, List<String>>();
+			for (Map.Entry<String, String> star : currentStars.entrySet()) {
+				Map<String, List<String>> byDescription = collectionPaths
+						.contains(star.getKey()) ? collectionsByDescription
+						: dataObjectsByDescription;
+				List<String> paths = byDescription.get(star.getValue());
+				if (paths == null) {
+					paths = new ArrayList<String>();
+					byDescription.put(star.getValue(), paths);
+				}
+				paths.add(star.getKey());
+			}
+
+			Map<String, List<BulkAVUOperationResponse>> responses = new HashMap<String, List<BulkAVUOperationResponse>>();
+			for (Map.Entry<String, List<String>> group : collectionsByDescription
+					.entrySet()) {
+				responses.putAll(getIrodsAccessObjectFactory().getCollectionAO(
+						getIrodsAccount()).deleteBulkAVUMetadataFromCollections(
+						group.getValue(), buildStarAvu(group.getKey())));
+			}
+
+			for (Map.Entry<String, List<String>> group : dataObjectsByDescription
+					.entrySet()) {
+				responses.putAll(irodsAccessObjectFactory.getDataObjectAO(
+						irodsAccount).deleteBulkAVUMetadataFromDataObjects(
+						group.getValue(), buildStarAvu(group.getKey())));
+			}
+
+			Map<String, String> notStarred = new HashMap<String, String>();
+			for (String path : classifiedPaths.getCollectionPaths()) {
+				if (!currentStars.containsKey(path)) {
+					notStarred.put(path, null);
+				}
+			}
+			for (String path : classifiedPaths.getDataObjectPaths()) {
+				if (!currentStars.containsKey(path)) {
+					notStarred.put(path, null);
+				}
+			}
+
+			addBatchResults(batch, classifiedPaths, notStarred, responses,
+					"not starred", results, totalCount,
+					bulkTaggingProgressListener);
+		}
+
+		log.info("unstarred {} paths", totalCount);
+		return results;
+	}
+
+	/**
+	 * Find the star of the logged in user on each classified path
+	 * 
+	 * @return {@code Map} of path to the description of its star
+	 */
+	private Map<String, String> findCurrentStars(
+			final BulkPathClassifier bulkPathClassifier,
+			final BulkPathClassifier.ClassifiedPaths classifiedPaths)
+			throws JargonException {
+		Map<String, String> currentStars = new HashMap<String, String>();
+		if (!classifiedPaths.getCollectionPaths().isEmpty()) {
+			currentStars.putAll(bulkPathClassifier
+					.findAvuAttributesOnCollections(
+							classifiedPaths.getCollectionPaths(),
+							getIrodsAccount().getUserName(),
+							UserTaggingConstants.STAR_AVU_UNIT));
+		}
+
+		if (!classifiedPaths.getDataObjectPaths().isEmpty()) {
+			currentStars.putAll(bulkPathClassifier
+					.findAvuAttributesOnDataObjects(
+							classifiedPaths.getDataObjectPaths(),
+							getIrodsAccount().getUserName(),
+							UserTaggingConstants.STAR_AVU_UNIT));
+		}
+		return currentStars;
+	}
+
+	/**
+	 * Add the results for a batch in the order of its paths, and tell the
+	 * listener of each. Paths in {@code skippedPaths} needed no change and are
+	 * reported as successful with the given message.
+	 */
+	private void addBatchResults(final List<String> batch,
+			final BulkPathClassifier.ClassifiedPaths classifiedPaths,
+			final Map<String, String> skippedPaths,
+			final Map<String, List<BulkAVUOperationResponse>> responses,
+			final String skippedMessage,
+			final List<BulkTagOperationResult> results, final int totalCount,
+			final BulkTaggingProgressListener bulkTaggingProgressListener) {
+
+		Set<String> collectionPaths = new HashSet<String>(
+				classifiedPaths.getCollectionPaths());
+		for (String path : batch) {
+			String normalizedPath = BulkPathClassifier.normalizePath(path);
+			MetadataDomain metadataDomain = collectionPaths
+					.contains(normalizedPath) ? MetadataDomain.COLLECTION
+					: MetadataDomain.DATA;
+			BulkTagOperationResult result;
+			List<BulkAVUOperationResponse> pathResponses = responses
+					.get(normalizedPath);
+			if (pathResponses != null) {
+				result = BulkTagOperationResult.instance(normalizedPath,
+						metadataDomain, pathResponses);
+			} else if (skippedPaths.containsKey(normalizedPath)) {
+				result = BulkTagOperationResult.instance(normalizedPath,
+						metadataDomain, ResultStatus.OK, skippedMessage);
+			} else {
+				result = BulkTagOperationResult.instance(normalizedPath, null,
+						ResultStatus.MISSING_METADATA_TARGET, "path not found");
+			}
+			results.add(result);
+			if (bulkTaggingProgressListener != null) {
+				bulkTaggingProgressListener.pathCompleted(result,
+						results.size(), totalCount);
+			}
+		}
+	}
+
+	private List<AvuData> buildStarAvu(final String description)
+			throws JargonException {
+		return Collections.singletonList(AvuData.instance(description,
+				getIrodsAccount().getUserName(),
+				UserTaggingConstants.STAR_AVU_UNIT));
+	}
+
+	private String descriptionOrDefault(final String description) {
+		if (!description.isEmpty()) {
+			return description;
+		}
+		StringBuilder sb = new StringBuilder();
+		sb.append("Starred at:");
+		sb.append(new Date());
+		return sb.toString();
+	}
+
 	/**
 	 * @return
 	 * @throws JargonException
@@ -1,6 +1,10 @@
 package org.irods.jargon.usertagging.tags;
 
+import java.util.List;
+
 import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.usertagging.BulkTaggingProgressListener;
+import org.irods.jargon.usertagging.domain.BulkTagOperationResult;
 import org.irods.jargon.usertagging.domain.IRODSTagGrouping;
 import org.irods.jargon.usertagging.domain.TagQuerySearchResult;
 
@@ -106,4 +110,49 @@ public interface FreeTaggingService {
 	void updateTagsForUserForADataObjectOrCollection(String irodsAbsolutePath,
 			String userName, String tags) throws JargonException;
 
+	/**
+	 * Add each tag in a free tag string, for the logged-in user, to each of a
+	 * list of data objects and collections. Tags already on a path are left as
+	 * they are, and other tags on the path are not removed.
+	 * 
+	 * @param irodsAbsolutePaths
+	 *            {@code List<String>} with the absolute paths of data objects
+	 *            and collections
+	 * @param tags
+	 *            {@code String} which is the space-delimited free form tag
+	 *            set
+	 * @param bulkTaggingProgressListener
+	 *            {@link BulkTaggingProgressListener} told of the result of
+	 *            each path, may be {@code null}
+	 * @return {@code List} of {@link BulkTagOperationResult} in the order of
+	 *         the paths
+	 * @throws JargonException
+	 */
+	List<BulkTagOperationResult> addFreeTagsToPaths(
+			List<String> irodsAbsolutePaths, String tags,
+			BulkTaggingProgressListener bulkTaggingProgressListener)
+			throws JargonException;
+
+	/**
+	 * Remove each tag in a free tag string, for the logged-in user, from each
+	 * of a list of data objects and collections
+	 * 
+	 * @param irodsAbsolutePaths
+	 *            {@code List<String>} with the absolute paths of data objects
+	 *            and collections
+	 * @param tags
+	 *            {@code String} which is the space-delimited free form tag
+	 *            set
+	 * @param bulkTaggingProgressListener
+	 *            {@link BulkTaggingProgressListener} told of the result of
+	 *            each path, may be {@code null}
+	 * @return {@code List} of {@link BulkTagOperationResult} in the order of
+	 *         the paths
+	 * @throws JargonException
+	 */
+	List<BulkTagOperationResult> removeFreeTagsFromPaths(
+			List<String> irodsAbsolutePaths, String tags,
+			BulkTaggingProgressListener bulkTaggingProgressListener)
+			throws JargonException;
+
 }
@@ -25,6 +25,8 @@ import org.irods.jargon.core.query.QueryConditionOperators;
 import org.irods.jargon.core.query.RodsGenQueryEnum;
 import org.irods.jargon.core.query.UserAnnotatedCatalogItem;
 import org.irods.jargon.usertagging.AbstractIRODSTaggingService;
+import org.irods.jargon.usertagging.BulkTaggingProgressListener;
+import org.irods.jargon.usertagging.domain.BulkTagOperationResult;
 import org.irods.jargon.usertagging.domain.IRODSTagGrouping;
 import org.irods.jargon.usertagging.domain.IRODSTagValue;
 import org.irods.jargon.usertagging.domain.TagQuerySearchResult;
@@ -77,6 +79,30 @@ public final class FreeTaggingServiceImpl extends AbstractIRODSTaggingService
 				irodsAccount, null);
 	}
 
+	/**
+	 * Static initializer for a service whose tag updates are kept in the
+	 * given {@link UserTagCloudCache}
+	 * 
+	 * @param irodsAccessObjectFactory
+	 *            {@code IRODSAccessObjectFactory} that can create various
+	 *            iRODS Access Objects.
+	 * @param irodsAccount
+	 *            {@code IRODSAccount} that describes the target server and
+	 *            credentials.
+	 * @param userTagCloudCache
+	 *            {@link UserTagCloudCache} to update, may be {@code null}
+	 * @return {@code FreeTaggingService} implementation instance.
+	 */
+	public static FreeTaggingService instance(
+			final IRODSAccessObjectFactory irodsAccessObjectFactory,
+			final IRODSAccount irodsAccount,
+			final UserTagCloudCache userTagCloudCache) {
+		return new FreeTaggingServiceImpl(irodsAccessObjectFactory,
+				irodsAccount, IRODSTaggingServiceImpl.instance(
+						irodsAccessObjectFactory, irodsAccount,
+						userTagCloudCache));
+	}
+
 	/**
 	 * Static initializer that allows a {@code IRODSTaggingService}
 	 * implementation to be passed in at construction time. Otherwise a new,
@@ -592,4 +618,61 @@ public final class FreeTaggingServiceImpl extends AbstractIRODSTaggingService
 
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.irods.jargon.usertagging.tags.FreeTaggingService#addFreeTagsToPaths
+	 * (java.util.List, java.lang.String,
+	 * org.irods.jargon.usertagging.BulkTaggingProgressListener)
+	 */
+	@Override
+	public List<BulkTagOperationResult> addFreeTagsToPaths(
+			final List<String> irodsAbsolutePaths, final String tags,
+			final BulkTaggingProgressListener bulkTaggingProgressListener)
+			throws JargonException {
+
+		log.info("addFreeTagsToPaths()");
+		return irodsTaggingService.addTagsToPaths(irodsAbsolutePaths,
+				buildTagValuesForLoggedInUser(tags),
+				bulkTaggingProgressListener);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.irods.jargon.usertagging.tags.FreeTaggingService#removeFreeTagsFromPaths
+	 * (java.util.List, java.lang.String,
+	 * org.irods.jargon.usertagging.BulkTaggingProgressListener)
+	 */
+	@Override
+	public List<BulkTagOperationResult> removeFreeTagsFromPaths(
+			final List<String> irodsAbsolutePaths, final String tags,
+			final BulkTaggingProgressListener bulkTaggingProgressListener)
+			throws JargonException {
+
+		log.info("removeFreeTagsFromPaths()");
+		return irodsTaggingService.removeTagsFromPaths(irodsAbsolutePaths,
+				buildTagValuesForLoggedInUser(tags),
+				bulkTaggingProgressListener);
+	}
+
+	private List<IRODSTagValue> buildTagValuesForLoggedInUser(
+			final String tags) throws JargonException {
+
+		if (tags == null || tags.trim().isEmpty()) {
+			throw new IllegalArgumentException("null or empty tags");
+		}
+
+		List<IRODSTagValue> irodsTagValues = new ArrayList<IRODSTagValue>();
+		for (String tag : extractIndividualTagsFromFreeTagString(tags)) {
+			if (!tag.isEmpty()) {
+				irodsTagValues.add(new IRODSTagValue(tag, irodsAccount
+						.getUserName()));
+			}
+		}
+		return irodsTagValues;
+	}
+
 }
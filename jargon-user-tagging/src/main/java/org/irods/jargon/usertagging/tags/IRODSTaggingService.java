@@ -6,6 +6,8 @@ import org.irods.jargon.core.exception.DataNotFoundException;
 import org.irods.jargon.core.exception.DuplicateDataException;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.query.MetaDataAndDomainData.MetadataDomain;
+import org.irods.jargon.usertagging.BulkTaggingProgressListener;
+import org.irods.jargon.usertagging.domain.BulkTagOperationResult;
 import org.irods.jargon.usertagging.domain.IRODSTagValue;
 
 /**
@@ -369,4 +371,53 @@ public interface IRODSTaggingService {
 	void checkAndUpdateDescriptionOnCollection(String collectionAbsolutePath,
 			IRODSTagValue irodsDescriptionValue) throws JargonException;
 
+	/**
+	 * Add the given tags to each of a list of data objects and collections.
+	 * The paths are sorted into data objects and collections with a few
+	 * queries for each batch of paths, rather than by looking up each path,
+	 * and the tags are then added to each batch together. A path that is not
+	 * found, or that already has a tag, is reported in its result rather than
+	 * thrown.
+	 * 
+	 * @param irodsAbsolutePaths
+	 *            {@code List<String>} with the absolute paths of data objects
+	 *            and collections
+	 * @param irodsTagValues
+	 *            {@code List} of {@link IRODSTagValue} to add to each path
+	 * @param bulkTaggingProgressListener
+	 *            {@link BulkTaggingProgressListener} told of the result of
+	 *            each path, may be {@code null}
+	 * @return {@code List} of {@link BulkTagOperationResult} in the order of
+	 *         the paths
+	 * @throws JargonException
+	 */
+	List<BulkTagOperationResult> addTagsToPaths(
+			List<String> irodsAbsolutePaths,
+			List<IRODSTagValue> irodsTagValues,
+			BulkTaggingProgressListener bulkTaggingProgressListener)
+			throws JargonException;
+
+	/**
+	 * Remove the given tags from each of a list of data objects and
+	 * collections, in the same way as {@code addTagsToPaths()}
+	 * 
+	 * @param irodsAbsolutePaths
+	 *            {@code List<String>} with the absolute paths of data objects
+	 *            and collections
+	 * @param irodsTagValues
+	 *            {@code List} of {@link IRODSTagValue} to remove from each
+	 *            path
+	 * @param bulkTaggingProgressListener
+	 *            {@link BulkTaggingProgressListener} told of the result of
+	 *            each path, may be {@code null}
+	 * @return {@code List} of {@link BulkTagOperationResult} in the order of
+	 *         the paths
+	 * @throws JargonException
+	 */
+	List<BulkTagOperationResult> removeTagsFromPaths(
+			List<String> irodsAbsolutePaths,
+			List<IRODSTagValue> irodsTagValues,
+			BulkTaggingProgressListener bulkTaggingProgressListener)
+			throws JargonException;
+
 }
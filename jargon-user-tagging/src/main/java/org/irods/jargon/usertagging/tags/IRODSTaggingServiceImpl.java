@@ -11,6 +11,8 @@ import org.irods.jargon.core.exception.DataNotFoundException;
 import org.irods.jargon.core.exception.DuplicateDataException;
 import org.irods.jargon.core.exception.FileNotFoundException;
 import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.pub.BulkAVUOperationResponse;
+import org.irods.jargon.core.pub.BulkAVUOperationResponse.ResultStatus;
 import org.irods.jargon.core.pub.CollectionAO;
 import org.irods.jargon.core.pub.DataObjectAO;
 import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
@@ -23,6 +25,8 @@ import org.irods.jargon.core.query.JargonQueryException;
 import org.irods.jargon.core.query.MetaDataAndDomainData;
 import org.irods.jargon.core.query.MetaDataAndDomainData.MetadataDomain;
 import org.irods.jargon.usertagging.AbstractIRODSTaggingService;
+import org.irods.jargon.usertagging.BulkTaggingProgressListener;
+import org.irods.jargon.usertagging.domain.BulkTagOperationResult;
 import org.irods.jargon.usertagging.domain.IRODSTagValue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,6 +57,8 @@ public final class IRODSTaggingServiceImpl extends AbstractIRODSTaggingService
 	public static final Logger log = LoggerFactory
 			.getLogger(IRODSTaggingServiceImpl.class);
 
+	private final UserTagCloudCache userTagCloudCache;
+
 	/**
 	 * Static initializer used to create instances of the service.
 	 * 
@@ -69,7 +75,30 @@ public final class IRODSTaggingServiceImpl extends AbstractIRODSTaggingService
 			final IRODSAccessObjectFactory irodsAccessObjectFactory,
 			final IRODSAccount irodsAccount) {
 		return new IRODSTaggingServiceImpl(irodsAccessObjectFactory,
-				irodsAccount);
+				irodsAccount, null);
+	}
+
+	/**
+	 * Static initializer used to create instances of the service that keep a
+	 * shared {@link UserTagCloudCache} up to date as tags are added and
+	 * removed.
+	 * 
+	 * @param irodsAccessObjectFactory
+	 *            {@code IRODSAccessObjectFactory} that can create various
+	 *            iRODS Access Objects.
+	 * @param irodsAccount
+	 *            {@code IRODSAccount} that describes the target server and
+	 *            credentials.
+	 * @param userTagCloudCache
+	 *            {@link UserTagCloudCache} to update, may be {@code null}
+	 * @return instance of the {@code IRODSTaggingServiceImpl}
+	 */
+	public static IRODSTaggingService instance(
+			final IRODSAccessObjectFactory irodsAccessObjectFactory,
+			final IRODSAccount irodsAccount,
+			final UserTagCloudCache userTagCloudCache) {
+		return new IRODSTaggingServiceImpl(irodsAccessObjectFactory,
+				irodsAccount, userTagCloudCache);
 	}
 
 	/**
@@ -82,13 +111,17 @@ public final class IRODSTaggingServiceImpl extends AbstractIRODSTaggingService
 	 * @param irodsAccount
 	 *            {@code IRODSAccount} that describes the target server and
 	 *            credentials.
+	 * @param userTagCloudCache
+	 *            {@link UserTagCloudCache} to update, may be {@code null}
 	 * @throws JargonException
 	 */
 	private IRODSTaggingServiceImpl(
 			final IRODSAccessObjectFactory irodsAccessObjectFactory,
-			final IRODSAccount irodsAccount) {
+			final IRODSAccount irodsAccount,
+			final UserTagCloudCache userTagCloudCache) {
 
 		super(irodsAccessObjectFactory, irodsAccount);
+		this.userTagCloudCache = userTagCloudCache;
 
 	}
 
@@ -127,6 +160,10 @@ public final class IRODSTaggingServiceImpl extends AbstractIRODSTaggingService
 			throw new DataNotFoundException(
 					"did not find data object in query", fnf);
 		}
+		if (userTagCloudCache != null) {
+			userTagCloudCache.tagAdded(irodsAccount, irodsTagValue,
+					MetadataDomain.DATA);
+		}
 		log.debug("tag added successfully");
 
 	}
@@ -343,6 +380,10 @@ public final class IRODSTaggingServiceImpl extends AbstractIRODSTaggingService
 
 		try {
 			dataObjectAO.deleteAVUMetadata(dataObjectAbsolutePath, avuData);
+			if (userTagCloudCache != null) {
+				userTagCloudCache.tagRemoved(irodsAccount, irodsTagValue,
+						MetadataDomain.DATA);
+			}
 		} catch (FileNotFoundException fnf) {
 			log.warn("tag AVU missing when deleting, silently ignore");
 		} catch (DataNotFoundException dnf) {
@@ -653,6 +694,10 @@ public final class IRODSTaggingServiceImpl extends AbstractIRODSTaggingService
 		CollectionAO collectionAO = irodsAccessObjectFactory
 				.getCollectionAO(irodsAccount);
 		collectionAO.addAVUMetadata(collectionAbsolutePath, avuData);
+		if (userTagCloudCache != null) {
+			userTagCloudCache.tagAdded(irodsAccount, irodsTagValue,
+					MetadataDomain.COLLECTION);
+		}
 		log.debug("tag added successfully");
 
 	}
@@ -814,6 +859,10 @@ public final class IRODSTaggingServiceImpl extends AbstractIRODSTaggingService
 		CollectionAO collectionAO = irodsAccessObjectFactory
 				.getCollectionAO(irodsAccount);
 		collectionAO.deleteAVUMetadata(irodsAbsolutePath, avuData);
+		if (userTagCloudCache != null) {
+			userTagCloudCache.tagRemoved(irodsAccount, irodsTagValue,
+					MetadataDomain.COLLECTION);
+		}
 		log.debug("tag removed successfully");
 
 	}
@@ -971,4 +1020,94 @@ public final class IRODSTaggingServiceImpl extends AbstractIRODSTaggingService
 
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.irods.jargon.usertagging.tags.IRODSTaggingService#addTagsToPaths(
+	 * java.util.List, java.util.List,
+	 * org.irods.jargon.usertagging.BulkTaggingProgressListener)
+	 */
+	@Override
+	public List<BulkTagOperationResult> addTagsToPaths(
+			final List<String> irodsAbsolutePaths,
+			final List<IRODSTagValue> irodsTagValues,
+			final BulkTaggingProgressListener bulkTaggingProgressListener)
+			throws JargonException {
+
+		log.info("addTagsToPaths()");
+		List<BulkTagOperationResult> results = applyAvusToPaths(
+				irodsAbsolutePaths, buildTagAvuData(irodsTagValues), true,
+				bulkTaggingProgressListener);
+		updateTagCloudCacheFromResults(results, true);
+		return results;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.irods.jargon.usertagging.tags.IRODSTaggingService#removeTagsFromPaths
+	 * (java.util.List, java.util.List,
+	 * org.irods.jargon.usertagging.BulkTaggingProgressListener)
+	 */
+	@Override
+	public List<BulkTagOperationResult> removeTagsFromPaths(
+			final List<String> irodsAbsolutePaths,
+			final List<IRODSTagValue> irodsTagValues,
+			final BulkTaggingProgressListener bulkTaggingProgressListener)
+			throws JargonException {
+
+		log.info("removeTagsFromPaths()");
+		List<BulkTagOperationResult> results = applyAvusToPaths(
+				irodsAbsolutePaths, buildTagAvuData(irodsTagValues), false,
+				bulkTaggingProgressListener);
+		updateTagCloudCacheFromResults(results, false);
+		return results;
+	}
+
+	private List<AvuData> buildTagAvuData(
+			final List<IRODSTagValue> irodsTagValues) throws JargonException {
+
+		if (irodsTagValues == null || irodsTagValues.isEmpty()) {
+			throw new IllegalArgumentException("null or empty irodsTagValues");
+		}
+
+		List<AvuData> avuData = new ArrayList<AvuData>();
+		for (IRODSTagValue irodsTagValue : irodsTagValues) {
+			avuData.add(AvuData.instance(irodsTagValue.getTagData(),
+					irodsTagValue.getTagUser(),
+					UserTaggingConstants.TAG_AVU_UNIT));
+		}
+		return avuData;
+	}
+
+	private void updateTagCloudCacheFromResults(
+			final List<BulkTagOperationResult> results, final boolean added)
+			throws JargonException {
+
+		if (userTagCloudCache == null) {
+			return;
+		}
+
+		for (BulkTagOperationResult result : results) {
+			for (BulkAVUOperationResponse avuResponse : result
+					.getAvuResponses()) {
+				if (avuResponse.getResultStatus() != ResultStatus.OK) {
+					continue;
+				}
+				IRODSTagValue irodsTagValue = new IRODSTagValue(avuResponse
+						.getAvuData().getAttribute(), avuResponse.getAvuData()
+						.getValue());
+				if (added) {
+					userTagCloudCache.tagAdded(irodsAccount, irodsTagValue,
+							result.getMetadataDomain());
+				} else {
+					userTagCloudCache.tagRemoved(irodsAccount, irodsTagValue,
+							result.getMetadataDomain());
+				}
+			}
+		}
+	}
+
 }
@@ -4,7 +4,9 @@ import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
 
 /**
- * Factory for different user tagging service classes.
+ * Factory for different user tagging service classes. The services created
+ * share one {@link UserTagCloudCache}, so tag clouds are computed once and
+ * kept current as tags are updated through these services.
  * 
  * @author Mike Conway - DICE (www.irods.org)
  * 
@@ -12,6 +14,8 @@ import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
 public class TaggingServiceFactoryImpl implements TaggingServiceFactory {
 
 	private final IRODSAccessObjectFactory irodsAccessObjectFactory;
+	private final UserTagCloudCache userTagCloudCache = new UserTagCloudCache(
+			UserTagCloudCache.DEFAULT_TIME_TO_LIVE_MILLIS);
 
 	public TaggingServiceFactoryImpl(
 			final IRODSAccessObjectFactory irodsAccessObjectFactory) {
@@ -42,7 +46,7 @@ public class TaggingServiceFactoryImpl implements TaggingServiceFactory {
 		}
 
 		return FreeTaggingServiceImpl.instance(irodsAccessObjectFactory,
-				irodsAccount);
+				irodsAccount, userTagCloudCache);
 
 	}
 
@@ -64,7 +68,7 @@ public class TaggingServiceFactoryImpl implements TaggingServiceFactory {
 		}
 
 		return IRODSTaggingServiceImpl.instance(irodsAccessObjectFactory,
-				irodsAccount);
+				irodsAccount, userTagCloudCache);
 
 	}
 
@@ -86,10 +90,17 @@ public class TaggingServiceFactoryImpl implements TaggingServiceFactory {
 		}
 
 		return UserTagCloudServiceImpl.instance(irodsAccessObjectFactory,
-				irodsAccount);
+				irodsAccount, userTagCloudCache);
 
 	}
 
+	/**
+	 * @return the {@link UserTagCloudCache} shared by the services
+	 */
+	public UserTagCloudCache getUserTagCloudCache() {
+		return userTagCloudCache;
+	}
+
 	private void checkDependencies() {
 		if (irodsAccessObjectFactory == null) {
 			throw new IllegalArgumentException(
@@ -0,0 +1,355 @@
+package org.irods.jargon.usertagging.tags;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.query.MetaDataAndDomainData.MetadataDomain;
+import org.irods.jargon.usertagging.domain.IRODSTagValue;
+import org.irods.jargon.usertagging.domain.TagCloudEntry;
+import org.irods.jargon.usertagging.domain.UserTagCloudView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of user tag clouds, so that a tag cloud shown on every page of an
+ * application is not computed with aggregate queries on every request. The
+ * cloud is kept per user on each grid, and is updated in place as the
+ * {@link IRODSTaggingServiceImpl} adds and removes tags, so it stays current
+ * without being computed again.
+ * <p>
+ * Entries still expire after a time to live, so that tags added outside of
+ * this application, or by another node, are picked up. A single instance is
+ * meant to be shared by the services of an application, as the
+ * {@link TaggingServiceFactoryImpl} does.
+ * <p>
+ * Each user's cloud has a generation that is advanced by every change. A
+ * cloud that is computed from iRODS is only cached if the generation has not
+ * changed since the computation began, so that a tag added while the cloud
+ * was computed is not lost.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class UserTagCloudCache {
+
+	public static final Logger log = LoggerFactory
+			.getLogger(UserTagCloudCache.class);
+
+	/**
+	 * Default time to live for a cached cloud, ten minutes
+	 */
+	public static final long DEFAULT_TIME_TO_LIVE_MILLIS = 10 * 60 * 1000L;
+
+	private final long timeToLiveMillis;
+	private final Map<String, CachedCloud> cache = new ConcurrentHashMap<String, CachedCloud>();
+	private final ConcurrentHashMap<String, AtomicLong> generations = new ConcurrentHashMap<String, AtomicLong>();
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+
+	/**
+	 * @param timeToLiveMillis
+	 *            {@code long} with the time a cloud is kept, in milliseconds.
+	 *            0 turns off caching.
+	 */
+	public UserTagCloudCache(final long timeToLiveMillis) {
+		if (timeToLiveMillis < 0) {
+			throw new IllegalArgumentException("timeToLiveMillis < 0");
+		}
+		this.timeToLiveMillis = timeToLiveMillis;
+	}
+
+	/**
+	 * Get the cached cloud for the user of the given account
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} of the user
+	 * @return {@link UserTagCloudView} that is a copy of the cached cloud, or
+	 *         {@code null} if none is cached or the cached one has expired
+	 * @throws JargonException
+	 */
+	public UserTagCloudView get(final IRODSAccount irodsAccount)
+			throws JargonException {
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		String key = computeKey(irodsAccount, irodsAccount.getUserName());
+		CachedCloud cachedCloud = cache.get(key);
+		if (cachedCloud != null
+				&& System.currentTimeMillis() - cachedCloud.cachedAt > timeToLiveMillis) {
+			cache.remove(key);
+			cachedCloud = null;
+		}
+
+		if (cachedCloud == null) {
+			missCount.incrementAndGet();
+			return null;
+		}
+
+		hitCount.incrementAndGet();
+		return cachedCloud.toUserTagCloudView(irodsAccount.getUserName());
+	}
+
+	/**
+	 * Get the generation of the cloud of the user of the given account, to be
+	 * taken before the cloud is computed and given to
+	 * {@link #put(IRODSAccount, UserTagCloudView, long)}
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} of the user
+	 * @return {@code long} with the current generation
+	 */
+	public long getGeneration(final IRODSAccount irodsAccount) {
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		return generationFor(
+				computeKey(irodsAccount, irodsAccount.getUserName())).get();
+	}
+
+	/**
+	 * Cache the complete tag cloud of the user of the given account
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} of the user
+	 * @param userTagCloudView
+	 *            {@link UserTagCloudView} with the tags on both data objects
+	 *            and collections
+	 */
+	public void put(final IRODSAccount irodsAccount,
+			final UserTagCloudView userTagCloudView) {
+		put(irodsAccount, userTagCloudView, getGeneration(irodsAccount));
+	}
+
+	/**
+	 * Cache the complete tag cloud of the user of the given account, if the
+	 * cloud has not changed since the given generation
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} of the user
+	 * @param userTagCloudView
+	 *            {@link UserTagCloudView} with the tags on both data objects
+	 *            and collections
+	 * @param generation
+	 *            {@code long} from {@link #getGeneration(IRODSAccount)},
+	 *            taken before the cloud was computed
+	 * @return {@code boolean} that is {@code true} if the cloud was cached
+	 */
+	public boolean put(final IRODSAccount irodsAccount,
+			final UserTagCloudView userTagCloudView, final long generation) {
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (userTagCloudView == null) {
+			throw new IllegalArgumentException("null userTagCloudView");
+		}
+
+		if (timeToLiveMillis == 0) {
+			return false;
+		}
+
+		CachedCloud cachedCloud = new CachedCloud();
+		for (TagCloudEntry tagCloudEntry : userTagCloudView
+				.getTagCloudEntries().values()) {
+			cachedCloud.counts.put(tagCloudEntry.getIrodsTagValue()
+					.getTagData(),
+					new int[] { tagCloudEntry.getCountOfFiles(),
+							tagCloudEntry.getCountOfCollections() });
+		}
+
+		String key = computeKey(irodsAccount, irodsAccount.getUserName());
+		AtomicLong currentGeneration = generationFor(key);
+		synchronized (currentGeneration) {
+			if (currentGeneration.get() != generation) {
+				log.debug("tag cloud changed while computed, not cached");
+				return false;
+			}
+			cache.put(key, cachedCloud);
+		}
+		return true;
+	}
+
+	/**
+	 * Count a tag added to a data object or collection in the cached cloud of
+	 * the tag user, if there is one
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} used to add the tag
+	 * @param irodsTagValue
+	 *            {@link IRODSTagValue} that was added
+	 * @param metadataDomain
+	 *            {@link MetadataDomain} of {@code DATA} or
+	 *            {@code COLLECTION}
+	 */
+	public void tagAdded(final IRODSAccount irodsAccount,
+			final IRODSTagValue irodsTagValue,
+			final MetadataDomain metadataDomain) {
+		adjustCount(irodsAccount, irodsTagValue, metadataDomain, 1);
+	}
+
+	/**
+	 * Remove a tag from a data object or collection from the cached cloud of
+	 * the tag user, if there is one
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} used to remove the tag
+	 * @param irodsTagValue
+	 *            {@link IRODSTagValue} that was removed
+	 * @param metadataDomain
+	 *            {@link MetadataDomain} of {@code DATA} or
+	 *            {@code COLLECTION}
+	 */
+	public void tagRemoved(final IRODSAccount irodsAccount,
+			final IRODSTagValue irodsTagValue,
+			final MetadataDomain metadataDomain) {
+		adjustCount(irodsAccount, irodsTagValue, metadataDomain, -1);
+	}
+
+	private void adjustCount(final IRODSAccount irodsAccount,
+			final IRODSTagValue irodsTagValue,
+			final MetadataDomain metadataDomain, final int delta) {
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (irodsTagValue == null) {
+			throw new IllegalArgumentException("null irodsTagValue");
+		}
+
+		int index;
+		if (metadataDomain == MetadataDomain.DATA) {
+			index = 0;
+		} else if (metadataDomain == MetadataDomain.COLLECTION) {
+			index = 1;
+		} else {
+			throw new IllegalArgumentException("unsupported metadataDomain");
+		}
+
+		String key = computeKey(irodsAccount, irodsTagValue.getTagUser());
+		AtomicLong generation = generationFor(key);
+		synchronized (generation) {
+			generation.incrementAndGet();
+			CachedCloud cachedCloud = cache.get(key);
+			if (cachedCloud == null) {
+				return;
+			}
+
+			synchronized (cachedCloud) {
+				int[] counts = cachedCloud.counts.get(irodsTagValue
+						.getTagData());
+				if (counts == null) {
+					if (delta < 0) {
+						return;
+					}
+					counts = new int[2];
+					cachedCloud.counts.put(irodsTagValue.getTagData(), counts);
+				}
+
+				counts[index] = Math.max(0, counts[index] + delta);
+				if (counts[0] == 0 && counts[1] == 0) {
+					cachedCloud.counts.remove(irodsTagValue.getTagData());
+				}
+			}
+		}
+		log.debug("updated cached tag cloud for tag:{}", irodsTagValue);
+	}
+
+	/**
+	 * Remove the cached cloud of a user, so that it is computed again
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for the grid
+	 * @param userName
+	 *            {@code String} with the user whose cloud is removed
+	 */
+	public void invalidate(final IRODSAccount irodsAccount,
+			final String userName) {
+		String key = computeKey(irodsAccount, userName);
+		AtomicLong generation = generationFor(key);
+		synchronized (generation) {
+			generation.incrementAndGet();
+			cache.remove(key);
+		}
+	}
+
+	/**
+	 * Remove all cached clouds
+	 */
+	public void clear() {
+		for (AtomicLong generation : generations.values()) {
+			synchronized (generation) {
+				generation.incrementAndGet();
+			}
+		}
+		cache.clear();
+	}
+
+	/**
+	 * @return {@code long} with the number of lookups that found a cloud
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * @return {@code long} with the number of lookups that did not
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * Get the generation of a key, which is also the lock held while the
+	 * cloud of the key is changed
+	 */
+	private AtomicLong generationFor(final String key) {
+		AtomicLong generation = generations.get(key);
+		if (generation == null) {
+			generations.putIfAbsent(key, new AtomicLong());
+			generation = generations.get(key);
+		}
+		return generation;
+	}
+
+	static String computeKey(final IRODSAccount irodsAccount,
+			final String userName) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(irodsAccount.getHost());
+		sb.append(':');
+		sb.append(irodsAccount.getPort());
+		sb.append(':');
+		sb.append(irodsAccount.getZone());
+		sb.append(':');
+		sb.append(userName);
+		return sb.toString();
+	}
+
+	/**
+	 * Counts of files and collections by tag, guarded by the instance
+	 */
+	private static class CachedCloud {
+		private final Map<String, int[]> counts = new TreeMap<String, int[]>();
+		private final long cachedAt = System.currentTimeMillis();
+
+		synchronized UserTagCloudView toUserTagCloudView(final String userName)
+				throws JargonException {
+			TreeMap<IRODSTagValue, TagCloudEntry> tagCloudEntries = new TreeMap<IRODSTagValue, TagCloudEntry>();
+			for (Map.Entry<String, int[]> entry : counts.entrySet()) {
+				IRODSTagValue irodsTagValue = new IRODSTagValue(
+						entry.getKey(), userName);
+				tagCloudEntries.put(irodsTagValue, new TagCloudEntry(
+						irodsTagValue, entry.getValue()[0],
+						entry.getValue()[1]));
+			}
+			return UserTagCloudView.instance(userName, tagCloudEntries);
+		}
+	}
+
+}
@@ -5,15 +5,23 @@ package org.irods.jargon.usertagging.tags;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
-import org.irods.jargon.core.pub.IRODSGenQueryExecutor;
-import org.irods.jargon.core.query.IRODSGenQuery;
+import org.irods.jargon.core.query.GenQueryBuilderException;
+import org.irods.jargon.core.query.GenQueryField.SelectFieldTypes;
+import org.irods.jargon.core.query.GenQueryResultIterator;
+import org.irods.jargon.core.query.IRODSGenQueryBuilder;
 import org.irods.jargon.core.query.IRODSQueryResultRow;
-import org.irods.jargon.core.query.IRODSQueryResultSetInterface;
 import org.irods.jargon.core.query.JargonQueryException;
+import org.irods.jargon.core.query.QueryConditionOperators;
 import org.irods.jargon.core.query.RodsGenQueryEnum;
 import org.irods.jargon.core.utils.IRODSDataConversionUtil;
 import org.irods.jargon.usertagging.AbstractIRODSTaggingService;
@@ -24,7 +32,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Service for query and processing of a user tag cloud.
+ * Service for query and processing of a user tag cloud. The data object and
+ * collection clouds are queried at the same time, and all pages of each are
+ * read. When the service is given a {@link UserTagCloudCache} the complete
+ * cloud is kept there for later requests.
  * 
  * @author Mike Conway - DICE (www.irods.org)
  * 
@@ -41,6 +52,8 @@ public final class UserTagCloudServiceImpl extends AbstractIRODSTaggingService
 	public static final String AND = " AND ";
 	public static final String QUOTE = "'";
 
+	private final UserTagCloudCache userTagCloudCache;
+
 	/**
 	 * Static initializer used to create instances of the service.
 	 * 
@@ -56,7 +69,30 @@ public final class UserTagCloudServiceImpl extends AbstractIRODSTaggingService
 			final IRODSAccessObjectFactory irodsAccessObjectFactory,
 			final IRODSAccount irodsAccount) {
 		return new UserTagCloudServiceImpl(irodsAccessObjectFactory,
-				irodsAccount);
+				irodsAccount, null);
+	}
+
+	/**
+	 * Static initializer used to create instances of the service that keep
+	 * tag clouds in a shared {@link UserTagCloudCache}.
+	 * 
+	 * @param irodsAccessObjectFactory
+	 *            {@code IRODSAccessObjectFactory} that can create various
+	 *            iRODS Access Objects.
+	 * @param irodsAccount
+	 *            {@code IRODSAccount} that describes the target server and
+	 *            credentials.
+	 * @param userTagCloudCache
+	 *            {@link UserTagCloudCache} for computed clouds, may be
+	 *            {@code null}
+	 * @return instance of the {@code UserTagCloudServiceImpl}
+	 */
+	public static UserTagCloudService instance(
+			final IRODSAccessObjectFactory irodsAccessObjectFactory,
+			final IRODSAccount irodsAccount,
+			final UserTagCloudCache userTagCloudCache) {
+		return new UserTagCloudServiceImpl(irodsAccessObjectFactory,
+				irodsAccount, userTagCloudCache);
 	}
 
 	/**
@@ -69,11 +105,16 @@ public final class UserTagCloudServiceImpl extends AbstractIRODSTaggingService
 	 * @param irodsAccount
 	 *            {@code IRODSAccount} that describes the target server and
 	 *            credentials.
+	 * @param userTagCloudCache
+	 *            {@link UserTagCloudCache} for computed clouds, may be
+	 *            {@code null}
 	 */
 	private UserTagCloudServiceImpl(
 			final IRODSAccessObjectFactory irodsAccessObjectFactory,
-			final IRODSAccount irodsAccount) {
+			final IRODSAccount irodsAccount,
+			final UserTagCloudCache userTagCloudCache) {
 		super(irodsAccessObjectFactory, irodsAccount);
+		this.userTagCloudCache = userTagCloudCache;
 	}
 
 	/*
@@ -83,10 +124,23 @@ public final class UserTagCloudServiceImpl extends AbstractIRODSTaggingService
 	 */
 	@Override
 	public UserTagCloudView getTagCloud() throws JargonException {
-		UserTagCloudView userTagCloudView = UserTagCloudView.instance(
-				irodsAccount.getUserName(),
-				buildTagCloudEntryListForDataObjects(""),
-				buildTagCloudEntryListForCollections(""));
+		log.info("getTagCloud");
+
+		long generation = 0L;
+		if (userTagCloudCache != null) {
+			generation = userTagCloudCache.getGeneration(irodsAccount);
+			UserTagCloudView cachedView = userTagCloudCache.get(irodsAccount);
+			if (cachedView != null) {
+				log.info("returning cached tag cloud");
+				return cachedView;
+			}
+		}
+
+		UserTagCloudView userTagCloudView = buildTagCloudForBothDomains("");
+
+		if (userTagCloudCache != null) {
+			userTagCloudCache.put(irodsAccount, userTagCloudView, generation);
+		}
 		return userTagCloudView;
 	}
 
@@ -101,6 +155,19 @@ public final class UserTagCloudServiceImpl extends AbstractIRODSTaggingService
 	public UserTagCloudView getTagCloudForDataObjects() throws JargonException {
 
 		log.info("getTagCloudForDataObjects");
+		UserTagCloudView cachedView = getCachedTagCloud();
+		if (cachedView != null) {
+			List<TagCloudEntry> dataObjectEntries = new ArrayList<TagCloudEntry>();
+			for (TagCloudEntry tagCloudEntry : cachedView.getTagCloudEntries()
+					.values()) {
+				if (tagCloudEntry.getCountOfFiles() > 0) {
+					dataObjectEntries.add(tagCloudEntry);
+				}
+			}
+			return UserTagCloudView.instance(irodsAccount.getUserName(),
+					dataObjectEntries, new ArrayList<TagCloudEntry>());
+		}
+
 		UserTagCloudView userTagCloudView = UserTagCloudView.instance(
 				irodsAccount.getUserName(),
 				buildTagCloudEntryListForDataObjects(""),
@@ -120,6 +187,19 @@ public final class UserTagCloudServiceImpl extends AbstractIRODSTaggingService
 	public UserTagCloudView getTagCloudForCollections() throws JargonException {
 
 		log.info("getTagCloudForCollections");
+		UserTagCloudView cachedView = getCachedTagCloud();
+		if (cachedView != null) {
+			List<TagCloudEntry> collectionEntries = new ArrayList<TagCloudEntry>();
+			for (TagCloudEntry tagCloudEntry : cachedView.getTagCloudEntries()
+					.values()) {
+				if (tagCloudEntry.getCountOfCollections() > 0) {
+					collectionEntries.add(tagCloudEntry);
+				}
+			}
+			return UserTagCloudView.instance(irodsAccount.getUserName(),
+					new ArrayList<TagCloudEntry>(), collectionEntries);
+		}
+
 		List<TagCloudEntry> collectionTagCloudEntries = buildTagCloudEntryListForCollections("");
 		UserTagCloudView userTagCloudView = UserTagCloudView.instance(
 				irodsAccount.getUserName(), new ArrayList<TagCloudEntry>(),
@@ -128,6 +208,71 @@ public final class UserTagCloudServiceImpl extends AbstractIRODSTaggingService
 
 	}
 
+	/**
+	 * @return the cached complete cloud, or {@code null} if there is no cache
+	 *         or no cached cloud
+	 */
+	private UserTagCloudView getCachedTagCloud() throws JargonException {
+		if (userTagCloudCache == null) {
+			return null;
+		}
+		return userTagCloudCache.get(irodsAccount);
+	}
+
+	/**
+	 * Build the cloud for data objects and collections, running the
+	 * collection query on a second connection while the data object query
+	 * runs on this one
+	 */
+	private UserTagCloudView buildTagCloudForBothDomains(
+			final String searchTagName) throws JargonException {
+
+		ExecutorService executorService = Executors
+				.newSingleThreadExecutor(new ThreadFactory() {
+					@Override
+					public Thread newThread(final Runnable runnable) {
+						Thread thread = new Thread(runnable,
+								"tag-cloud-collections");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+
+		try {
+			Future<List<TagCloudEntry>> collectionEntries = executorService
+					.submit(new Callable<List<TagCloudEntry>>() {
+						@Override
+						public List<TagCloudEntry> call() throws Exception {
+							try {
+								return buildTagCloudEntryListForCollections(searchTagName);
+							} finally {
+								irodsAccessObjectFactory
+										.closeSessionAndEatExceptions(irodsAccount);
+							}
+						}
+					});
+
+			List<TagCloudEntry> dataObjectEntries = buildTagCloudEntryListForDataObjects(searchTagName);
+
+			return UserTagCloudView.instance(irodsAccount.getUserName(),
+					dataObjectEntries, collectionEntries.get());
+
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof JargonException) {
+				throw (JargonException) cause;
+			}
+			log.error("error building collection tag cloud", cause);
+			throw new JargonException("error building collection tag cloud",
+					cause);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JargonException("interrupted building tag cloud", e);
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
 	/**
 	 * Shared method to build a tag cloud list for collections. This will
 	 * default to the user name in the given iRODS account
@@ -144,64 +289,46 @@ public final class UserTagCloudServiceImpl extends AbstractIRODSTaggingService
 			throw new IllegalArgumentException("null searchTagName");
 		}
 
-		// create a GenQuery to get the cloud info
-		StringBuilder sb = new StringBuilder();
-		sb.append("SELECT COUNT(");
-		sb.append(RodsGenQueryEnum.COL_COLL_NAME.getName());
-		sb.append(")");
-		sb.append(COMMA_SPACE);
-		sb.append(RodsGenQueryEnum.COL_META_COLL_ATTR_NAME.getName());
-		sb.append(" WHERE ");
-		sb.append(RodsGenQueryEnum.COL_META_COLL_ATTR_UNITS.getName());
-		sb.append(EQUAL_QUOTE);
-		sb.append(UserTaggingConstants.TAG_AVU_UNIT);
-		sb.append(QUOTE_SPACE);
-		sb.append(AND);
-		sb.append(RodsGenQueryEnum.COL_META_COLL_ATTR_VALUE.getName());
-		sb.append(EQUAL_QUOTE);
-		sb.append(irodsAccount.getUserName());
-		sb.append(QUOTE);
-
-		if (!searchTagName.isEmpty()) {
-			sb.append(' ');
-			sb.append(AND);
-			sb.append(RodsGenQueryEnum.COL_META_COLL_ATTR_NAME.getName());
-			sb.append(" LIKE '%");
-			sb.append(searchTagName);
-			sb.append("%'");
-		}
-
-		String cloudQuery = sb.toString();
-		log.debug("cloud tag query:{}", cloudQuery);
-
-		IRODSGenQuery irodsQuery = IRODSGenQuery.instance(cloudQuery, 2000);
-		IRODSGenQueryExecutor irodsGenQueryExecutor = irodsAccessObjectFactory
-				.getIRODSGenQueryExecutor(irodsAccount);
-		IRODSQueryResultSetInterface resultSet;
+		List<TagCloudEntry> tagCloudEntries = new ArrayList<TagCloudEntry>();
+		IRODSTagValue irodsTagValue;
 
 		try {
-			resultSet = irodsGenQueryExecutor.executeIRODSQuery(irodsQuery, 0);
-		} catch (JargonQueryException e) {
+			IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+			builder.addSelectAsAgregateGenQueryValue(
+					RodsGenQueryEnum.COL_COLL_NAME, SelectFieldTypes.COUNT)
+					.addSelectAsGenQueryValue(
+							RodsGenQueryEnum.COL_META_COLL_ATTR_NAME)
+					.addConditionAsGenQueryField(
+							RodsGenQueryEnum.COL_META_COLL_ATTR_UNITS,
+							QueryConditionOperators.EQUAL,
+							UserTaggingConstants.TAG_AVU_UNIT)
+					.addConditionAsGenQueryField(
+							RodsGenQueryEnum.COL_META_COLL_ATTR_VALUE,
+							QueryConditionOperators.EQUAL,
+							irodsAccount.getUserName());
+
+			if (!searchTagName.isEmpty()) {
+				builder.addConditionAsGenQueryField(
+						RodsGenQueryEnum.COL_META_COLL_ATTR_NAME,
+						QueryConditionOperators.LIKE, "%" + searchTagName
+								+ "%");
+			}
+
+			for (IRODSQueryResultRow resultRow : queryAllPages(builder)) {
+				log.debug("count coll:{}", resultRow.getColumn(0));
+				log.debug("tag name:{}", resultRow.getColumn(1));
+				irodsTagValue = new IRODSTagValue(resultRow.getColumn(1),
+						irodsAccount.getUserName());
+				tagCloudEntries.add(new TagCloudEntry(irodsTagValue, 0,
+						IRODSDataConversionUtil
+								.getIntOrZeroFromIRODSValue(resultRow
+										.getColumn(0))));
+			}
+		} catch (GenQueryBuilderException e) {
 			log.error("irods query error", e);
 			throw new JargonException(e);
 		}
 
-		List<TagCloudEntry> tagCloudEntries = new ArrayList<TagCloudEntry>();
-
-		IRODSTagValue irodsTagValue;
-
-		for (IRODSQueryResultRow resultRow : resultSet.getResults()) {
-			log.debug("count coll:{}", resultRow.getColumn(0));
-			log.debug("tag name:{}", resultRow.getColumn(1));
-			irodsTagValue = new IRODSTagValue(resultRow.getColumn(1),
-					irodsAccount.getUserName());
-			tagCloudEntries
-					.add(new TagCloudEntry(irodsTagValue, 0,
-							IRODSDataConversionUtil
-									.getIntOrZeroFromIRODSValue(resultRow
-											.getColumn(0))));
-		}
-
 		return tagCloudEntries;
 
 	}
@@ -223,70 +350,79 @@ public final class UserTagCloudServiceImpl extends AbstractIRODSTaggingService
 		log.info("buildTagCloudEntryListForDataObjects, user={}",
 				irodsAccount.getUserName());
 
-		// create a GenQuery to get the cloud info
-		StringBuilder sb = new StringBuilder();
-		sb.append("SELECT COUNT(");
-		sb.append(RodsGenQueryEnum.COL_DATA_NAME.getName());
-		sb.append(')');
-		sb.append(COMMA_SPACE);
-		sb.append("COUNT(");
-		sb.append(RodsGenQueryEnum.COL_COLL_NAME.getName());
-		sb.append(")");
-		sb.append(COMMA_SPACE);
-		sb.append(RodsGenQueryEnum.COL_META_DATA_ATTR_NAME.getName());
-		sb.append(" WHERE ");
-		sb.append(RodsGenQueryEnum.COL_META_DATA_ATTR_UNITS.getName());
-		sb.append(EQUAL_QUOTE);
-		sb.append(UserTaggingConstants.TAG_AVU_UNIT);
-		sb.append(QUOTE_SPACE);
-		sb.append(AND);
-		sb.append(RodsGenQueryEnum.COL_META_DATA_ATTR_VALUE.getName());
-		sb.append(EQUAL_QUOTE);
-		sb.append(irodsAccount.getUserName());
-		sb.append(QUOTE);
-
-		if (!searchTagName.isEmpty()) {
-			sb.append(' ');
-			sb.append(AND);
-			sb.append(RodsGenQueryEnum.COL_META_DATA_ATTR_NAME.getName());
-			sb.append(" LIKE '%");
-			sb.append(searchTagName);
-			sb.append("%'");
+		List<TagCloudEntry> tagCloudEntries = new ArrayList<TagCloudEntry>();
+		IRODSTagValue irodsTagValue;
+
+		try {
+			IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+			builder.addSelectAsAgregateGenQueryValue(
+					RodsGenQueryEnum.COL_DATA_NAME, SelectFieldTypes.COUNT)
+					.addSelectAsGenQueryValue(
+							RodsGenQueryEnum.COL_META_DATA_ATTR_NAME)
+					.addConditionAsGenQueryField(
+							RodsGenQueryEnum.COL_META_DATA_ATTR_UNITS,
+							QueryConditionOperators.EQUAL,
+							UserTaggingConstants.TAG_AVU_UNIT)
+					.addConditionAsGenQueryField(
+							RodsGenQueryEnum.COL_META_DATA_ATTR_VALUE,
+							QueryConditionOperators.EQUAL,
+							irodsAccount.getUserName());
+
+			if (!searchTagName.isEmpty()) {
+				builder.addConditionAsGenQueryField(
+						RodsGenQueryEnum.COL_META_DATA_ATTR_NAME,
+						QueryConditionOperators.LIKE, "%" + searchTagName
+								+ "%");
+			}
+
+			for (IRODSQueryResultRow resultRow : queryAllPages(builder)) {
+				log.debug("count data:{}", resultRow.getColumn(0));
+				log.debug("tag name:{}", resultRow.getColumn(1));
+				irodsTagValue = new IRODSTagValue(resultRow.getColumn(1),
+						irodsAccount.getUserName());
+				tagCloudEntries.add(new TagCloudEntry(irodsTagValue,
+						IRODSDataConversionUtil
+								.getIntOrZeroFromIRODSValue(resultRow
+										.getColumn(0)), 0));
+			}
+		} catch (GenQueryBuilderException e) {
+			log.error("irods query error", e);
+			throw new JargonException(e);
 		}
 
-		String cloudQuery = sb.toString();
-		log.debug("cloud tag query:{}", cloudQuery);
+		return tagCloudEntries;
+
+	}
 
-		IRODSGenQuery irodsQuery = IRODSGenQuery.instance(cloudQuery, 2000);
-		IRODSGenQueryExecutor irodsGenQueryExecutor = irodsAccessObjectFactory
-				.getIRODSGenQueryExecutor(irodsAccount);
-		IRODSQueryResultSetInterface resultSet;
+	/**
+	 * Run the query and read every page of results, following the
+	 * continuation past the page size
+	 */
+	private List<IRODSQueryResultRow> queryAllPages(
+			final IRODSGenQueryBuilder builder) throws JargonException,
+			GenQueryBuilderException {
 
+		List<IRODSQueryResultRow> resultRows = new ArrayList<IRODSQueryResultRow>();
+		GenQueryResultIterator iterator;
 		try {
-			resultSet = irodsGenQueryExecutor.executeIRODSQuery(irodsQuery, 0);
+			iterator = irodsAccessObjectFactory.getIRODSGenQueryExecutor(
+					irodsAccount).executeIRODSQueryAsIterator(
+					builder.exportIRODSQueryFromBuilder(irodsAccessObjectFactory
+							.getJargonProperties().getMaxFilesAndDirsQueryMax()),
+					"", false);
 		} catch (JargonQueryException e) {
 			log.error("irods query error", e);
 			throw new JargonException(e);
 		}
 
-		List<TagCloudEntry> tagCloudEntries = new ArrayList<TagCloudEntry>();
-		IRODSTagValue irodsTagValue;
-
-		for (IRODSQueryResultRow resultRow : resultSet.getResults()) {
-			log.debug("count data:{}", resultRow.getColumn(0));
-			log.debug("count coll:{}", resultRow.getColumn(1));
-			log.debug("tag name:{}", resultRow.getColumn(2));
-			irodsTagValue = new IRODSTagValue(resultRow.getColumn(2),
-					irodsAccount.getUserName());
-			tagCloudEntries
-					.add(new TagCloudEntry(irodsTagValue,
-							IRODSDataConversionUtil
-									.getIntOrZeroFromIRODSValue(resultRow
-											.getColumn(0)), 0));
+		try {
+			while (iterator.hasNext()) {
+				resultRows.add(iterator.next());
+			}
+		} finally {
+			iterator.close();
 		}
-
-		return tagCloudEntries;
-
+		return resultRows;
 	}
 
 	/*
@@ -304,11 +440,11 @@ public final class UserTagCloudServiceImpl extends AbstractIRODSTaggingService
 				irodsAccount.getUserName());
 		log.info("tag search term:{}", tagSearchTerm);
 
-		UserTagCloudView userTagCloudView = UserTagCloudView.instance(
-				irodsAccount.getUserName(),
-				buildTagCloudEntryListForDataObjects(tagSearchTerm),
-				buildTagCloudEntryListForCollections(tagSearchTerm));
-		return userTagCloudView;
+		if (tagSearchTerm == null) {
+			throw new IllegalArgumentException("null tagSearchTerm");
+		}
+
+		return buildTagCloudForBothDomains(tagSearchTerm);
 
 	}
 
@@ -0,0 +1,111 @@
+package org.irods.jargon.usertagging;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.SettableJargonProperties;
+import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
+import org.irods.jargon.core.pub.IRODSGenQueryExecutor;
+import org.irods.jargon.core.query.GenQueryResultIterator;
+import org.irods.jargon.core.query.IRODSGenQueryFromBuilder;
+import org.irods.jargon.core.query.IRODSQueryResultRow;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class BulkPathClassifierTest {
+
+	private static GenQueryResultIterator buildIterator(final String... values)
+			throws Exception {
+		GenQueryResultIterator iterator = Mockito
+				.mock(GenQueryResultIterator.class);
+		List<IRODSQueryResultRow> rows = new ArrayList<IRODSQueryResultRow>();
+		for (String value : values) {
+			IRODSQueryResultRow row = Mockito.mock(IRODSQueryResultRow.class);
+			Mockito.when(row.getColumn(0)).thenReturn(value);
+			rows.add(row);
+		}
+		final Iterator<IRODSQueryResultRow> rowIterator = rows
+				.iterator();
+		Mockito.when(iterator.hasNext()).thenAnswer(
+				new Answer<Boolean>() {
+					@Override
+					public Boolean answer(
+							final InvocationOnMock invocation) {
+						return rowIterator.hasNext();
+					}
+				});
+		Mockito.when(iterator.next()).thenAnswer(
+				new Answer<IRODSQueryResultRow>() {
+					@Override
+					public IRODSQueryResultRow answer(
+							final InvocationOnMock invocation) {
+						return rowIterator.next();
+					}
+				});
+		return iterator;
+	}
+
+	@Test
+	public void testClassifyCollectionsDataObjectsAndMissing()
+			throws Exception {
+		IRODSAccount irodsAccount = IRODSAccount.instance("host", 1247,
+				"user", "pwd", "/zone1/home/user", "zone1", "");
+		IRODSAccessObjectFactory irodsAccessObjectFactory = Mockito
+				.mock(IRODSAccessObjectFactory.class);
+		SettableJargonProperties jargonProperties = new SettableJargonProperties();
+		Mockito.when(irodsAccessObjectFactory.getJargonProperties())
+				.thenReturn(jargonProperties);
+		IRODSGenQueryExecutor irodsGenQueryExecutor = Mockito
+				.mock(IRODSGenQueryExecutor.class);
+		Mockito.when(
+				irodsAccessObjectFactory.getIRODSGenQueryExecutor(irodsAccount))
+				.thenReturn(irodsGenQueryExecutor);
+
+		GenQueryResultIterator collectionIterator = buildIterator("/zone1/home/user/coll");
+		GenQueryResultIterator dataObjectIterator = buildIterator("file1.txt");
+		Mockito.when(
+				irodsGenQueryExecutor.executeIRODSQueryAsIterator(
+						Matchers.any(IRODSGenQueryFromBuilder.class),
+						Matchers.eq("zone1"), Matchers.eq(false)))
+				.thenReturn(collectionIterator, dataObjectIterator);
+
+		List<String> paths = new ArrayList<String>();
+		paths.add("/zone1/home/user/file1.txt");
+		paths.add("/zone1/home/user/coll/");
+		paths.add("/zone1/home/user/gone.txt");
+
+		BulkPathClassifier.ClassifiedPaths classifiedPaths = new BulkPathClassifier(
+				irodsAccessObjectFactory, irodsAccount).classify(paths);
+
+		Assert.assertEquals(1, classifiedPaths.getCollectionPaths().size());
+		Assert.assertEquals("/zone1/home/user/coll", classifiedPaths
+				.getCollectionPaths().get(0));
+		Assert.assertEquals(1, classifiedPaths.getDataObjectPaths().size());
+		Assert.assertEquals("/zone1/home/user/file1.txt", classifiedPaths
+				.getDataObjectPaths().get(0));
+		Assert.assertEquals(1, classifiedPaths.getMissingPaths().size());
+		Assert.assertEquals("/zone1/home/user/gone.txt", classifiedPaths
+				.getMissingPaths().get(0));
+		Mockito.verify(collectionIterator).close();
+		Mockito.verify(dataObjectIterator).close();
+	}
+
+	@Test
+	public void testParentAndName() throws Exception {
+		Assert.assertEquals("/zone1/home",
+				BulkPathClassifier.parentOf("/zone1/home/user"));
+		Assert.assertEquals("user",
+				BulkPathClassifier.nameOf("/zone1/home/user"));
+		Assert.assertEquals("/", BulkPathClassifier.parentOf("/zone1"));
+		Assert.assertEquals("/zone1/home",
+				BulkPathClassifier.normalizePath("/zone1/home/"));
+	}
+
+}
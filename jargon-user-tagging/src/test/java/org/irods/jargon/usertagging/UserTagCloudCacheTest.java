@@ -0,0 +1,139 @@
+package org.irods.jargon.usertagging;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
+import org.irods.jargon.core.query.MetaDataAndDomainData.MetadataDomain;
+import org.irods.jargon.usertagging.domain.IRODSTagValue;
+import org.irods.jargon.usertagging.domain.TagCloudEntry;
+import org.irods.jargon.usertagging.domain.UserTagCloudView;
+import org.irods.jargon.usertagging.tags.UserTagCloudCache;
+import org.irods.jargon.usertagging.tags.UserTagCloudService;
+import org.irods.jargon.usertagging.tags.UserTagCloudServiceImpl;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class UserTagCloudCacheTest {
+
+	private static IRODSAccount buildAccount() throws Exception {
+		return IRODSAccount.instance("host", 1247, "user", "pwd",
+				"/zone1/home/user", "zone1", "");
+	}
+
+	@Test
+	public void testTagAddedAndRemovedUpdateCachedCloud() throws Exception {
+		IRODSAccount irodsAccount = buildAccount();
+		UserTagCloudCache cache = new UserTagCloudCache(
+				UserTagCloudCache.DEFAULT_TIME_TO_LIVE_MILLIS);
+		Assert.assertNull(cache.get(irodsAccount));
+
+		List<TagCloudEntry> fileEntries = new ArrayList<TagCloudEntry>();
+		fileEntries.add(new TagCloudEntry(new IRODSTagValue("red", "user"), 2,
+				0));
+		cache.put(irodsAccount, UserTagCloudView.instance("user", fileEntries,
+				new ArrayList<TagCloudEntry>()));
+
+		cache.tagAdded(irodsAccount, new IRODSTagValue("red", "user"),
+				MetadataDomain.COLLECTION);
+		cache.tagAdded(irodsAccount, new IRODSTagValue("blue", "user"),
+				MetadataDomain.DATA);
+		cache.tagRemoved(irodsAccount, new IRODSTagValue("red", "user"),
+				MetadataDomain.DATA);
+
+		UserTagCloudView view = cache.get(irodsAccount);
+		TagCloudEntry red = view.getTagCloudEntries().get(
+				new IRODSTagValue("red", "user"));
+		Assert.assertEquals(1, red.getCountOfFiles());
+		Assert.assertEquals(1, red.getCountOfCollections());
+		Assert.assertEquals(1,
+				view.getTagCloudEntries()
+						.get(new IRODSTagValue("blue", "user"))
+						.getCountOfFiles());
+
+		cache.tagRemoved(irodsAccount, new IRODSTagValue("blue", "user"),
+				MetadataDomain.DATA);
+		Assert.assertNull("tag with no uses should be dropped", cache
+				.get(irodsAccount).getTagCloudEntries()
+				.get(new IRODSTagValue("blue", "user")));
+	}
+
+	@Test
+	public void testTagOfOtherUserDoesNotChangeCloud() throws Exception {
+		IRODSAccount irodsAccount = buildAccount();
+		UserTagCloudCache cache = new UserTagCloudCache(
+				UserTagCloudCache.DEFAULT_TIME_TO_LIVE_MILLIS);
+		cache.put(irodsAccount, UserTagCloudView.instance("user",
+				new ArrayList<TagCloudEntry>(), new ArrayList<TagCloudEntry>()));
+		cache.tagAdded(irodsAccount, new IRODSTagValue("red", "other"),
+				MetadataDomain.DATA);
+		Assert.assertTrue(cache.get(irodsAccount).getTagCloudEntries()
+				.isEmpty());
+	}
+
+	@Test
+	public void testPutSkippedWhenTagAddedWhileComputed() throws Exception {
+		IRODSAccount irodsAccount = buildAccount();
+		UserTagCloudCache cache = new UserTagCloudCache(
+				UserTagCloudCache.DEFAULT_TIME_TO_LIVE_MILLIS);
+		long generation = cache.getGeneration(irodsAccount);
+
+		// tag added after the computation began, and not in its result
+		cache.tagAdded(irodsAccount, new IRODSTagValue("red", "user"),
+				MetadataDomain.DATA);
+
+		Assert.assertFalse(cache.put(irodsAccount, UserTagCloudView.instance(
+				"user", new ArrayList<TagCloudEntry>(),
+				new ArrayList<TagCloudEntry>()), generation));
+		Assert.assertNull("stale cloud should not be cached",
+				cache.get(irodsAccount));
+
+		Assert.assertTrue(cache.put(irodsAccount, UserTagCloudView.instance(
+				"user", new ArrayList<TagCloudEntry>(),
+				new ArrayList<TagCloudEntry>()), cache
+				.getGeneration(irodsAccount)));
+		Assert.assertNotNull(cache.get(irodsAccount));
+	}
+
+	@Test
+	public void testCachedDomainCloudsOnlyHaveTagsOfTheirDomain()
+			throws Exception {
+		IRODSAccount irodsAccount = buildAccount();
+		UserTagCloudCache cache = new UserTagCloudCache(
+				UserTagCloudCache.DEFAULT_TIME_TO_LIVE_MILLIS);
+		List<TagCloudEntry> fileEntries = new ArrayList<TagCloudEntry>();
+		fileEntries.add(new TagCloudEntry(new IRODSTagValue("file", "user"),
+				2, 0));
+		fileEntries.add(new TagCloudEntry(new IRODSTagValue("both", "user"),
+				1, 0));
+		List<TagCloudEntry> collectionEntries = new ArrayList<TagCloudEntry>();
+		collectionEntries.add(new TagCloudEntry(new IRODSTagValue("coll",
+				"user"), 0, 3));
+		collectionEntries.add(new TagCloudEntry(new IRODSTagValue("both",
+				"user"), 0, 1));
+		cache.put(irodsAccount, UserTagCloudView.instance("user", fileEntries,
+				collectionEntries));
+
+		IRODSAccessObjectFactory irodsAccessObjectFactory = Mockito
+				.mock(IRODSAccessObjectFactory.class);
+		UserTagCloudService userTagCloudService = UserTagCloudServiceImpl
+				.instance(irodsAccessObjectFactory, irodsAccount, cache);
+
+		UserTagCloudView dataObjectCloud = userTagCloudService
+				.getTagCloudForDataObjects();
+		Assert.assertEquals(2, dataObjectCloud.getTagCloudEntries().size());
+		Assert.assertNull(dataObjectCloud.getTagCloudEntries().get(
+				new IRODSTagValue("coll", "user")));
+
+		UserTagCloudView collectionCloud = userTagCloudService
+				.getTagCloudForCollections();
+		Assert.assertEquals(2, collectionCloud.getTagCloudEntries().size());
+		Assert.assertNull(collectionCloud.getTagCloudEntries().get(
+				new IRODSTagValue("file", "user")));
+		Mockito.verifyZeroInteractions(irodsAccessObjectFactory);
+	}
+
+}
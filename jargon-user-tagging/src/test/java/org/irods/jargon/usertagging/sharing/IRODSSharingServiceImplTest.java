@@ -10,6 +10,7 @@ import junit.framework.Assert;
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.exception.DataNotFoundException;
 import org.irods.jargon.core.exception.FileNotFoundException;
+import org.irods.jargon.core.exception.InvalidUserException;
 import org.irods.jargon.core.protovalues.FilePermissionEnum;
 import org.irods.jargon.core.pub.DataTransferOperations;
 import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
@@ -212,6 +213,58 @@ public class IRODSSharingServiceImplTest {
 
 	}
 
+	@Test
+	public void testListCollectionsSharedWithUserPaged() throws Exception {
+		String testDirName = "testListCollectionsSharedWithUserPaged";
+		String targetIrodsCollection = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(
+						testingProperties, IRODS_TEST_SUBDIR_PATH + '/'
+								+ testDirName);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper
+				.buildIRODSAccountFromTestProperties(testingProperties);
+		IRODSAccessObjectFactory accessObjectFactory = irodsFileSystem
+				.getIRODSAccessObjectFactory();
+
+		IRODSSharingService irodsSharingService = new IRODSSharingServiceImpl(
+				accessObjectFactory, irodsAccount);
+
+		IRODSAccount secondaryAccount = testingPropertiesHelper
+				.buildIRODSAccountFromSecondaryTestProperties(testingProperties);
+
+		IRODSFile irodsFile = accessObjectFactory.getIRODSFileFactory(
+				irodsAccount).instanceIRODSFile(targetIrodsCollection);
+		irodsFile.mkdirs();
+		List<ShareUser> shareUsers = new ArrayList<ShareUser>();
+		shareUsers.add(new ShareUser(secondaryAccount.getUserName(),
+				secondaryAccount.getZone(), FilePermissionEnum.WRITE));
+		IRODSSharedFileOrCollection irodsSharedFile = new IRODSSharedFileOrCollection(
+				MetadataDomain.COLLECTION, irodsFile.getAbsolutePath(),
+				testDirName, irodsAccount.getUserName(),
+				irodsAccount.getZone(), shareUsers);
+		irodsSharingService.createShare(irodsSharedFile);
+
+		List<IRODSSharedFileOrCollection> actual = irodsSharingService
+				.listSharedCollectionsSharedWithUser(
+						secondaryAccount.getUserName(),
+						secondaryAccount.getZone(), 0);
+		Assert.assertFalse("did not get expected collections", actual.isEmpty());
+
+		IRODSSharedFileOrCollection last = actual.get(actual.size() - 1);
+		Assert.assertTrue("did not set total records",
+				last.getTotalRecords() >= actual.size());
+		Assert.assertEquals(actual.size(), last.getCount());
+
+		List<IRODSSharedFileOrCollection> unpaged = irodsSharingService
+				.listSharedCollectionsSharedWithUser(
+						secondaryAccount.getUserName(),
+						secondaryAccount.getZone());
+		Assert.assertEquals("paged and unpaged listing differ",
+				unpaged.get(0).getDomainUniqueName(), actual.get(0)
+						.getDomainUniqueName());
+
+	}
+
 	@Test(expected = ShareAlreadyExistsException.class)
 	public void testCreateDuplicateShareCollection() throws Exception {
 		String testDirName = "testCreateDuplicateShareCollection";
@@ -480,6 +533,37 @@ public class IRODSSharingServiceImplTest {
 
 	}
 
+	@Test(expected = InvalidUserException.class)
+	public void testCreateShareCollectionInvalidUser() throws Exception {
+		String testDirName = "testCreateShareCollectionInvalidUser";
+		String targetIrodsCollection = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(
+						testingProperties, IRODS_TEST_SUBDIR_PATH + '/'
+								+ testDirName);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper
+				.buildIRODSAccountFromTestProperties(testingProperties);
+		IRODSAccessObjectFactory accessObjectFactory = irodsFileSystem
+				.getIRODSAccessObjectFactory();
+
+		IRODSFile irodsFile = accessObjectFactory.getIRODSFileFactory(
+				irodsAccount).instanceIRODSFile(targetIrodsCollection);
+		irodsFile.mkdirs();
+
+		IRODSSharingService irodsSharingService = new IRODSSharingServiceImpl(
+				accessObjectFactory, irodsAccount);
+
+		List<ShareUser> shareUsers = new ArrayList<ShareUser>();
+		shareUsers.add(new ShareUser("testCreateShareCollectionNoSuchUser",
+				irodsAccount.getZone(), FilePermissionEnum.WRITE));
+		IRODSSharedFileOrCollection irodsSharedFile = new IRODSSharedFileOrCollection(
+				MetadataDomain.COLLECTION, irodsFile.getAbsolutePath(),
+				testDirName, irodsAccount.getUserName(),
+				irodsAccount.getZone(), shareUsers);
+		irodsSharingService.createShare(irodsSharedFile);
+
+	}
+
 	@Test(expected = IllegalArgumentException.class)
 	public void testCreateShareCollectionNull() throws Exception {
 
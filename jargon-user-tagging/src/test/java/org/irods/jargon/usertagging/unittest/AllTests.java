@@ -1,8 +1,10 @@
 package org.irods.jargon.usertagging.unittest;
 
+import org.irods.jargon.usertagging.BulkPathClassifierTest;
 import org.irods.jargon.usertagging.FreeTaggingServiceImplTest;
 import org.irods.jargon.usertagging.IRODSTaggingServiceTest;
 import org.irods.jargon.usertagging.TaggingServiceFactoryImplTest;
+import org.irods.jargon.usertagging.UserTagCloudCacheTest;
 import org.irods.jargon.usertagging.UserTagCloudServiceImplTest;
 import org.irods.jargon.usertagging.domain.IRODSTagGroupingTest;
 import org.irods.jargon.usertagging.domain.IRODSTagValueTest;
@@ -20,7 +22,8 @@ import org.junit.runners.Suite;
 		TagCloudEntryTest.class, UserTagCloudViewTest.class,
 		UserTagCloudServiceImplTest.class, TagQuerySearchResultTest.class,
 		TaggingServiceFactoryImplTest.class,
-		IRODSStarringServiceImplTest.class, IRODSSharingServiceImplTest.class })
+		IRODSStarringServiceImplTest.class, IRODSSharingServiceImplTest.class,
+		UserTagCloudCacheTest.class, BulkPathClassifierTest.class })
 public class AllTests {
 
 }
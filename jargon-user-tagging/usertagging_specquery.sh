@@ -4,3 +4,9 @@ iadmin asq "SELECT DISTINCT r_coll_main.coll_id, r_coll_main.parent_coll_name, r
 
 
 iadmin asq "SELECT DISTINCT r_coll_main.coll_id, r_coll_main.parent_coll_name, r_coll_main.coll_name, r_coll_main.coll_owner_name, r_coll_main.coll_owner_zone, r_meta_main.meta_attr_name, r_meta_main.meta_attr_value, r_meta_main.meta_attr_unit FROM r_coll_main JOIN r_objt_metamap ON r_coll_main.coll_id = r_objt_metamap.object_id JOIN r_meta_main ON r_objt_metamap.meta_id = r_meta_main.meta_id JOIN r_objt_access ON r_coll_main.coll_id = r_objt_access.object_id JOIN r_user_main ON r_objt_access.user_id = r_user_main.user_id WHERE r_meta_main.meta_attr_unit = 'iRODSUserTagging:Share' AND (r_user_main.user_name = ? OR r_user_main.user_name = 'anonymous') AND r_user_main.zone_name = ? AND r_coll_main.coll_owner_name <> ? ORDER BY r_coll_main.parent_coll_name ASC, r_coll_main.coll_name ASC" listSharedCollectionsSharedWithUser
+
+
+iadmin asq "SELECT shares.coll_id, shares.parent_coll_name, shares.coll_name, shares.coll_owner_name, shares.coll_owner_zone, shares.meta_attr_name, shares.meta_attr_value, shares.meta_attr_unit, COUNT(*) OVER () AS total_count FROM (SELECT DISTINCT r_coll_main.coll_id, r_coll_main.parent_coll_name, r_coll_main.coll_name, r_coll_main.coll_owner_name, r_coll_main.coll_owner_zone, r_meta_main.meta_attr_name, r_meta_main.meta_attr_value, r_meta_main.meta_attr_unit FROM r_coll_main JOIN r_objt_metamap ON r_coll_main.coll_id = r_objt_metamap.object_id JOIN r_meta_main ON r_objt_metamap.meta_id = r_meta_main.meta_id WHERE r_meta_main.meta_attr_unit = 'iRODSUserTagging:Share' AND r_coll_main.coll_owner_name = ? AND r_coll_main.coll_owner_zone = ?) shares ORDER BY shares.parent_coll_name ASC, shares.coll_name ASC LIMIT ? OFFSET ?" listSharedCollectionsOwnedByUserPaged
+
+
+iadmin asq "SELECT shares.coll_id, shares.parent_coll_name, shares.coll_name, shares.coll_owner_name, shares.coll_owner_zone, shares.meta_attr_name, shares.meta_attr_value, shares.meta_attr_unit, COUNT(*) OVER () AS total_count FROM (SELECT DISTINCT r_coll_main.coll_id, r_coll_main.parent_coll_name, r_coll_main.coll_name, r_coll_main.coll_owner_name, r_coll_main.coll_owner_zone, r_meta_main.meta_attr_name, r_meta_main.meta_attr_value, r_meta_main.meta_attr_unit FROM r_coll_main JOIN r_objt_metamap ON r_coll_main.coll_id = r_objt_metamap.object_id JOIN r_meta_main ON r_objt_metamap.meta_id = r_meta_main.meta_id JOIN r_objt_access ON r_coll_main.coll_id = r_objt_access.object_id JOIN r_user_main ON r_objt_access.user_id = r_user_main.user_id WHERE r_meta_main.meta_attr_unit = 'iRODSUserTagging:Share' AND (r_user_main.user_name = ? OR r_user_main.user_name = 'anonymous') AND r_user_main.zone_name = ? AND r_coll_main.coll_owner_name <> ?) shares ORDER BY shares.parent_coll_name ASC, shares.coll_name ASC LIMIT ? OFFSET ?" listSharedCollectionsSharedWithUserPaged